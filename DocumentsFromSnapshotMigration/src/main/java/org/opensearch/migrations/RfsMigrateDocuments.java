@@ -33,6 +33,7 @@ import org.opensearch.migrations.bulkload.common.OpenSearchClient;
 import org.opensearch.migrations.bulkload.common.OpenSearchClientFactory;
 import org.opensearch.migrations.bulkload.common.S3Repo;
 import org.opensearch.migrations.bulkload.common.S3Uri;
+import org.opensearch.migrations.bulkload.common.SnapshotMetadataDiskCache;
 import org.opensearch.migrations.bulkload.common.SnapshotReadFailures;
 import org.opensearch.migrations.bulkload.common.SourceRepo;
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
@@ -57,6 +58,7 @@ import org.opensearch.migrations.bulkload.workcoordination.WorkItemTimeProvider;
 import org.opensearch.migrations.bulkload.worker.CompletionStatus;
 import org.opensearch.migrations.bulkload.worker.ShardWorkPreparer;
 import org.opensearch.migrations.bulkload.worker.WorkItemCursor;
+import org.opensearch.migrations.cluster.DiskCachedClusterSnapshotReader;
 import org.opensearch.migrations.cluster.SnapshotReaderRegistry;
 import org.opensearch.migrations.jcommander.EnvVarParameterPuller;
 import org.opensearch.migrations.jcommander.JsonCommandLineParser;
@@ -195,6 +197,14 @@ public class RfsMigrateDocuments {
             description = "The absolute path to the directory where we'll put the Lucene docs. Required when --source-type is SNAPSHOT.")
         public String luceneDir;
 
+        @Parameter(required = false,
+            names = { "--snapshot-metadata-cache-dir", "--snapshotMetadataCacheDir" },
+            description = "Optional. Directory in which decoded index and shard metadata from the snapshot is cached "
+                + "so that later workers sharing the directory can skip downloading and decoding it. "
+                + "Snapshots from ES 1.x and 2.x, which have no snapshot UUID, are not cached. "
+                + "Only used when --source-type is SNAPSHOT.")
+        public String snapshotMetadataCacheDir;
+
         @Parameter(required = false,
             names = { "--clean-local-dirs", "--cleanLocalDirs" },
             description = "Optional. If enabled, deletes s3LocalDir and luceneDir before running. Default: false")
@@ -261,6 +271,15 @@ public class RfsMigrateDocuments {
                 "used to communicate to the target, default " + DEFAULT_BATCH_CONCURRENCY)
         int maxConnections = DEFAULT_BATCH_CONCURRENCY;
 
+        @Parameter(required = false,
+            names = { "--document-transform-threads", "--documentTransformThreads" },
+            description = "Optional.  The number of threads that each bulk request's documents are split across " +
+                "while they are being transformed.  Only used when a document transformer is configured.  " +
+                "When greater than 1, each call to the transformer is given only a contiguous slice of the bulk " +
+                "request's documents rather than all of them, so transformations that depend on seeing the whole " +
+                "batch at once should leave this at 1.  Default: 1")
+        int documentTransformThreads = 1;
+
         @Parameter(required = false,
             names = { "--server-generated-ids" },
             description = "Optional. Controls document ID generation on target. " +
@@ -733,6 +752,13 @@ public class RfsMigrateDocuments {
 
             var sourceResourceProvider = SnapshotReaderRegistry.getSnapshotReader(
                 arguments.sourceVersion, sourceRepo, arguments.versionStrictness.allowLooseVersionMatches);
+            if (arguments.snapshotMetadataCacheDir != null) {
+                sourceResourceProvider = new DiskCachedClusterSnapshotReader(sourceResourceProvider,
+                    new SnapshotMetadataDiskCache(Paths.get(arguments.snapshotMetadataCacheDir),
+                        snapshotLocalDirPath == null
+                            ? arguments.s3RepoUri
+                            : snapshotLocalDirPath.toAbsolutePath().normalize().toString()));
+            }
 
             var extractor = SnapshotExtractor.create(
                 arguments.sourceVersion, sourceResourceProvider, sourceRepo);
@@ -793,6 +819,7 @@ public class RfsMigrateDocuments {
             .maxBytesPerBatch(arguments.numBytesPerBulkRequest)
             .batchConcurrency(arguments.maxConnections)
             .transformerSupplier(docTransformerSupplier)
+            .transformParallelism(arguments.documentTransformThreads)
             .allowServerGeneratedIds(useServerGeneratedIds)
             .allowlist(allowlist)
             .workCoordinator(scopedWorkCoordinator)
@@ -60,6 +60,8 @@ public class DocumentMigrationBootstrap {
     @Builder.Default
     private final Supplier<IJsonTransformer> transformerSupplier = null;
     @Builder.Default
+    private final int transformParallelism = 1;
+    @Builder.Default
     private final boolean allowServerGeneratedIds = false;
     @Builder.Default
     private final DocumentExceptionAllowlist allowlist = DocumentExceptionAllowlist.empty();
@@ -91,7 +93,7 @@ public class DocumentMigrationBootstrap {
         var source = documentSource;
         var contextRef = new AtomicReference<IDocumentMigrationContexts.IDocumentReindexContext>();
         var sink = new OpenSearchDocumentSink(
-            targetClient, transformerSupplier, allowServerGeneratedIds, allowlist,
+            targetClient, transformerSupplier, transformParallelism, allowServerGeneratedIds, allowlist,
             () -> {
                 var ctx = contextRef.get();
                 return ctx != null ? ctx.createBulkRequest() : null;
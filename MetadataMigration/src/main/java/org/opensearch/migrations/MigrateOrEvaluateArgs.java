@@ -109,6 +109,25 @@ public class MigrateOrEvaluateArgs {
     )
     public boolean allowExistingIndexes = false;
 
+    @Parameter(required = false,
+        names = { "--metadata-creation-concurrency" },
+        description = "Maximum number of templates or indexes that are created (or checked, during evaluate) on the "
+            + "target cluster at the same time. Component templates are always created before index templates. "
+            + "Default: 4",
+        arity = 1
+    )
+    public int metadataCreationConcurrency = 4;
+
+    @Parameter(required = false,
+        names = { "--skip-unchanged" },
+        description = "Fingerprint each transformed template and index and skip the ones that an earlier migrate run "
+            + "created from an identical body and that still exist on the target. Fingerprints of created items are stored on the target in the "
+            + "'.migrations_metadata_fingerprints' index; delete it to force every item to be re-checked. "
+            + "Evaluate reports which items would be skipped.",
+        arity = 0
+    )
+    public boolean skipUnchanged = false;
+
     // Accepted for parity with RfsMigrateDocuments but not used by MetadataMigration.
     // The orchestration layer forwards a shared config bag to both CLIs.
     @Parameter(required = false,
@@ -63,6 +63,19 @@ public class Items implements JsonOutput {
             && indexes.isEmpty() && aliases.isEmpty();
     }
 
+    /**
+     * Number of items that were not sent because an earlier run already created them from an identical body.
+     * Aliases aren't fingerprinted themselves; they only take on the result of the index that they belong to,
+     * so they aren't counted.
+     */
+    public long getSkippedUnchangedCount() {
+        return Stream.of(indexTemplates, componentTemplates, indexes)
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .filter(r -> r.getFailureType() == CreationFailureType.SKIPPED_UNCHANGED)
+            .count();
+    }
+
     public List<String> getAllErrors() {
         var errors = new ArrayList<String>();
         if (failureMessage != null) {
@@ -95,6 +108,15 @@ public class Items implements JsonOutput {
         appendSection(sb, "Indexes", getIndexes());
         appendSection(sb, "Aliases", getAliases());
 
+        var skippedUnchanged = getSkippedUnchangedCount();
+        if (skippedUnchanged > 0) {
+            sb.append(Format.indentToLevel(1))
+                .append("Skipped ")
+                .append(skippedUnchanged)
+                .append(" item(s) unchanged since the last migration")
+                .append(System.lineSeparator());
+        }
+
         return sb.toString();
     }
 
@@ -196,6 +218,7 @@ public class Items implements JsonOutput {
         buildArray("componentTemplates", componentTemplates, root);
         buildArray("indexes",          indexes,          root);
         buildArray("aliases",          aliases,          root);
+        root.put("skippedUnchanged", getSkippedUnchangedCount());
 
         if (failureMessage != null) {
             root.put("failureMessage", failureMessage);
@@ -21,6 +21,7 @@ public class Evaluate extends MigratorEvaluatorBase {
 
         try {
             log.info("Running Metadata Evaluation");
+            validateArguments();
 
             var clusters = createClusters();
             evaluateResult.clusters(clusters);
@@ -20,6 +20,7 @@ public class Migrate extends MigratorEvaluatorBase {
 
         try {
             log.info("Running Metadata Migration");
+            validateArguments();
 
             var clusters = createClusters();
             migrateResult.clusters(clusters);
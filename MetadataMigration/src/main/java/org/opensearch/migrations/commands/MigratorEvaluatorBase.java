@@ -10,6 +10,8 @@ import org.opensearch.migrations.MigrationMode;
 import org.opensearch.migrations.Version;
 import org.opensearch.migrations.bulkload.common.FilterScheme;
 import org.opensearch.migrations.bulkload.common.SnapshotReadFailures;
+import org.opensearch.migrations.bulkload.models.CachingIndexMetadataFactory;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
 import org.opensearch.migrations.bulkload.transformers.FanOutCompositeTransformer;
 import org.opensearch.migrations.bulkload.transformers.Transformer;
 import org.opensearch.migrations.bulkload.transformers.TransformerMapper;
@@ -23,9 +25,11 @@ import org.opensearch.migrations.cli.Transformers;
 import org.opensearch.migrations.cluster.ClusterWriterRegistry;
 import org.opensearch.migrations.metadata.CreationResult;
 import org.opensearch.migrations.metadata.GlobalMetadataCreatorResults;
+import org.opensearch.migrations.metadata.MetadataFingerprints;
 import org.opensearch.migrations.metadata.tracing.RootMetadataMigrationContext;
 import org.opensearch.migrations.transform.TransformerConfigUtils;
 
+import com.beust.jcommander.ParameterException;
 import lombok.extern.slf4j.Slf4j;
 
 /** Shared functionality between migration and evaluation commands */
@@ -45,6 +49,17 @@ public abstract class MigratorEvaluatorBase {
         this.clusterReaderCliExtractor = new ClusterReaderExtractor(arguments);
     }
 
+    /**
+     * Rejects argument values that can only be checked after parsing, before anything is read
+     * from the source or sent to the target.
+     */
+    protected void validateArguments() {
+        if (arguments.metadataCreationConcurrency < 1) {
+            throw new ParameterException("--metadata-creation-concurrency must be at least 1, got "
+                + arguments.metadataCreationConcurrency);
+        }
+    }
+
     protected Clusters createClusters() {
         var clusters = Clusters.builder();
         var sourceCluster = clusterReaderCliExtractor.extractClusterReader();
@@ -115,7 +130,12 @@ public abstract class MigratorEvaluatorBase {
         items.dryRun(migrationMode.equals(MigrationMode.SIMULATE));
         items.succeedOnEmpty(arguments.succeedOnEmpty);
         items.allowExistingIndexes(arguments.allowExistingIndexes);
-        var metadataResults = migrateGlobalMetadata(migrationMode, clusters, transformer, context);
+        var fingerprints = arguments.skipUnchanged
+            ? MetadataFingerprints.load(clusters.getTarget().getMetadataFingerprintStore())
+            : MetadataFingerprints.DISABLED;
+        var metadataResults = migrateGlobalMetadata(migrationMode, clusters, transformer, fingerprints, context);
+        // Index metadata is read once for sourceless validation and again for creation; parse each index only once.
+        var indexMetadataFactory = new CachingIndexMetadataFactory(clusters.getSource().getIndexMetadata());
 
         var indexTemplates = new ArrayList<CreationResult>();
         indexTemplates.addAll(metadataResults.getLegacyTemplates());
@@ -125,9 +145,9 @@ public abstract class MigratorEvaluatorBase {
 
         if (metadataResults.fatalIssueCount() == 0) {
             // Validate sourceless indices before proceeding with migration
-            validateSourcelessIndices(clusters);
+            validateSourcelessIndices(indexMetadataFactory);
 
-            var indexResults = migrateIndices(migrationMode, clusters, transformer, context);
+            var indexResults = migrateIndices(migrationMode, clusters, indexMetadataFactory, transformer, fingerprints, context);
             items.indexes(indexResults.getIndexes());
             items.aliases(indexResults.getAliases());
         } else {
@@ -137,29 +157,50 @@ public abstract class MigratorEvaluatorBase {
             items.failureMessage("Encountered " + metadataResults.fatalIssueCount() + " fatal issue(s) while moving global objects.");
         }
 
+        if (migrationMode == MigrationMode.PERFORM) {
+            fingerprints.save();
+        }
+
         return items.build();
     }
 
-    private GlobalMetadataCreatorResults migrateGlobalMetadata(MigrationMode mode, Clusters clusters, Transformer transformer, RootMetadataMigrationContext context) {
+    private GlobalMetadataCreatorResults migrateGlobalMetadata(
+        MigrationMode mode,
+        Clusters clusters,
+        Transformer transformer,
+        MetadataFingerprints fingerprints,
+        RootMetadataMigrationContext context
+    ) {
         var metadataRunner = new MetadataRunner(
             arguments.snapshotName,
             clusters.getSource().getGlobalMetadata(),
             clusters.getTarget().getGlobalMetadataCreator(),
-            transformer
+            transformer,
+            arguments.metadataCreationConcurrency,
+            fingerprints
         );
         var metadataResults = metadataRunner.migrateMetadata(mode, context.createMetadataMigrationContext());
         log.info("Metadata copy complete.");
         return metadataResults;
     }
 
-    private IndexMetadataResults migrateIndices(MigrationMode mode, Clusters clusters, Transformer transformer, RootMetadataMigrationContext context) {
+    private IndexMetadataResults migrateIndices(
+        MigrationMode mode,
+        Clusters clusters,
+        IndexMetadata.Factory indexMetadataFactory,
+        Transformer transformer,
+        MetadataFingerprints fingerprints,
+        RootMetadataMigrationContext context
+    ) {
         var indexRunner = new IndexRunner(
             arguments.snapshotName,
-            clusters.getSource().getIndexMetadata(),
+            indexMetadataFactory,
             clusters.getTarget().getIndexCreator(),
             transformer,
             arguments.dataFilterArgs.indexAllowlist,
-            clusters.getTarget().getAwarenessAttributeSettings()
+            clusters.getTarget().getAwarenessAttributeSettings(),
+            arguments.metadataCreationConcurrency,
+            fingerprints
         );
         var indexResults = indexRunner.migrateIndices(mode, context.createIndexContext());
         log.info("Index copy complete.");
@@ -208,8 +249,7 @@ public abstract class MigratorEvaluatorBase {
      * Validates that no selected indices have _source disabled unless --enable-sourceless-migrations is set.
      * Throws ParameterException if sourceless indices are found without the flag.
      */
-    protected void validateSourcelessIndices(Clusters clusters) {
-        var metadataFactory = clusters.getSource().getIndexMetadata();
+    protected void validateSourcelessIndices(IndexMetadata.Factory metadataFactory) {
         var repoDataProvider = metadataFactory.getRepoDataProvider();
         var skipFilter = FilterScheme.filterByAllowList(arguments.dataFilterArgs.indexAllowlist, FilterScheme.FilterContext.INDEX).negate();
         var sourcelessIndices = new ArrayList<String>();
@@ -229,7 +269,7 @@ public abstract class MigratorEvaluatorBase {
         }
 
         if (!sourcelessIndices.isEmpty() && !arguments.enableSourcelessMigrations) {
-            throw new com.beust.jcommander.ParameterException(
+            throw new ParameterException(
                 "The following indices have _source disabled or partial (includes/excludes): " + sourcelessIndices + ". "
                 + "Document backfill will not be able to migrate these indices without the "
                 + "--enable-sourceless-migrations flag on both metadata migration and backfill commands. "
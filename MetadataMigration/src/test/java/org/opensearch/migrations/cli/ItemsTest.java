@@ -346,6 +346,33 @@ public class ItemsTest {
 
     }
 
+    @Test
+    void testSkippedUnchangedItemsAreCountedAndNotFatal() throws Exception {
+        var items = createEmptyItemsBuilder()
+            .componentTemplates(List.of(
+                CreationResult.builder().name("ct1").failureType(CreationFailureType.SKIPPED_UNCHANGED).build()
+            ))
+            .indexes(List.of(
+                CreationResult.builder().name("i1").failureType(CreationFailureType.SKIPPED_UNCHANGED).build(),
+                CreationResult.builder().name("i2").build()
+            ))
+            .aliases(List.of(
+                CreationResult.builder().name("a1").failureType(CreationFailureType.SKIPPED_UNCHANGED).build()
+            ))
+            .build();
+
+        // the alias only follows its index, so it isn't counted as an item of its own
+        assertThat(items.getSkippedUnchangedCount(), equalTo(2L));
+
+        var stringOutput = items.asCliOutput();
+        assertThat(stringOutput, containsString("WARN - i1 unchanged since the last migration"));
+        assertThat(stringOutput, containsString("Skipped 2 item(s) unchanged since the last migration"));
+
+        var jsonOutput = items.asJsonOutput();
+        assertThat(jsonOutput.toPrettyString(), jsonOutput.get("skippedUnchanged").asLong(), equalTo(2L));
+        assertThat(jsonOutput.toPrettyString(), jsonOutput.get("errors").size(), equalTo(0));
+    }
+
     private ItemsBuilder createEmptyItemsBuilder() {
         return Items.builder()
             .dryRun(false)
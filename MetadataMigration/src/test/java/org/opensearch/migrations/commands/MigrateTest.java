@@ -14,7 +14,9 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 class MigrateTest {
 
@@ -33,6 +35,22 @@ class MigrateTest {
         assertThat(result.getErrorMessage(), equalTo("Invalid parameter: No details on the source cluster found, please supply a connection details or a snapshot"));
     }
 
+    @Test
+    void migrate_rejectsNonPositiveCreationConcurrencyBeforeReadingClusters() {
+        var args = new MigrateArgs();
+        args.metadataCreationConcurrency = 0;
+        var context = mock(RootMetadataMigrationContext.class);
+        var meta = new MetadataMigration();
+
+        var migrate = spy(meta.migrate(args));
+        var result = migrate.execute(context);
+
+        assertThat(result.getExitCode(), equalTo(Migrate.INVALID_PARAMETER_CODE));
+        assertThat(result.getErrorMessage(),
+            equalTo("Invalid parameter: --metadata-creation-concurrency must be at least 1, got 0"));
+        verify(migrate, never()).createClusters();
+    }
+
     @Test
     void migrate_failsUnexpectedException() {
         var args = new MigrateArgs();
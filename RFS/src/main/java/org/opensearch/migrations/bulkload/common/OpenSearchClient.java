@@ -417,6 +417,123 @@ public abstract class OpenSearchClient {
         }
     }
 
+    /**
+     * Reads every document of a metadata fingerprint index written by {@link #putMetadataFingerprints}, keyed by
+     * document id. Returns an empty map if the index does not exist yet, and throws if the scroll is lost part way
+     * through rather than returning a partial set.
+     */
+    public Map<String, String> getMetadataFingerprints(String indexName) {
+        log.info("Starting getMetadataFingerprints for index={}", indexName);
+        long startTime = System.currentTimeMillis();
+        var fingerprints = new HashMap<String, String>();
+        var firstPage = readJson(indexName + "/_search?scroll=1m",
+            "{\"size\":1000,\"sort\":[\"_doc\"],\"_source\":[\"fingerprint\"]}", true);
+        if (firstPage.isPresent()) {
+            var page = firstPage.get();
+            String scrollId = null;
+            try {
+                while (true) {
+                    scrollId = page.path("_scroll_id").asText(null);
+                    var hits = page.path("hits").path("hits");
+                    if (hits.isEmpty()) {
+                        break;
+                    }
+                    hits.forEach(hit -> fingerprints.put(hit.path("_id").asText(), hit.path("_source").path("fingerprint").asText()));
+                    var scrollBody = OBJECT_MAPPER.createObjectNode()
+                        .put("scroll", "1m")
+                        .put("scroll_id", scrollId);
+                    page = readJson("_search/scroll", scrollBody.toString(), false).orElseThrow();
+                }
+            } finally {
+                clearScroll(scrollId);
+            }
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Completed getMetadataFingerprints for index={} in {} ms, found {}", indexName, duration, fingerprints.size());
+        return fingerprints;
+    }
+
+    /**
+     * Posts the body and parses the response. A 404 is returned as empty when {@code notFoundIsEmpty} is set and is
+     * otherwise a failure, like any other non-200 status.
+     */
+    private Optional<ObjectNode> readJson(String path, String body, boolean notFoundIsEmpty) {
+        var response = client.postAsync(path, body, null).flatMap(resp -> {
+            if (resp.statusCode == HttpURLConnection.HTTP_OK || resp.statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                return Mono.just(resp);
+            } else {
+                return Mono.error(new OperationFailed("Could not read: " + path + ". " + getString(resp), resp));
+            }
+        })
+            .doOnError(e -> log.error(e.getMessage()))
+            .retryWhen(CHECK_IF_ITEM_EXISTS_RETRY_STRATEGY)
+            .block();
+        assert response != null : ("response should not be null; it should either be a valid response or an "
+            + "exception should have been thrown.");
+        if (response.statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            if (notFoundIsEmpty) {
+                return Optional.empty();
+            }
+            throw new OperationFailed("Could not read: " + path + ". " + getString(response), response);
+        }
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(response.body, ObjectNode.class));
+        } catch (Exception e) {
+            throw new OperationFailed("Could not parse response for: " + path, response);
+        }
+    }
+
+    /** Releases a scroll context early. Failures are only logged since the context expires on its own. */
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        var body = OBJECT_MAPPER.createObjectNode().put("scroll_id", scrollId);
+        try {
+            var response = client.deleteAsync("_search/scroll", body.toString(), null).block();
+            if (response != null && response.statusCode != HttpURLConnection.HTTP_OK
+                && response.statusCode != HttpURLConnection.HTTP_NOT_FOUND) {
+                log.atWarn().setMessage("Unable to clear scroll context: {}").addArgument(() -> getString(response)).log();
+            }
+        } catch (Exception e) {
+            log.atWarn().setCause(e).setMessage("Unable to clear scroll context").log();
+        }
+    }
+
+    /**
+     * Upserts one {@code {"fingerprint": ...}} document per entry into the given index, creating it with dynamic
+     * mappings if needed. Throws if any document could not be written.
+     */
+    public void putMetadataFingerprints(String indexName, Map<String, String> fingerprintsById) {
+        if (fingerprintsById.isEmpty()) {
+            return;
+        }
+        log.info("Starting putMetadataFingerprints for index={} with {} entries", indexName, fingerprintsById.size());
+        long startTime = System.currentTimeMillis();
+        var body = new StringBuilder();
+        fingerprintsById.forEach((id, fingerprint) -> {
+            var action = OBJECT_MAPPER.createObjectNode();
+            action.putObject("index").put("_id", id);
+            var doc = OBJECT_MAPPER.createObjectNode().put("fingerprint", fingerprint);
+            body.append(action).append('\n').append(doc).append('\n');
+        });
+        var path = getBulkRequestPath(indexName) + "?refresh=true";
+        var response = client.postAsync(path, body.toString(), null).flatMap(resp -> {
+            var bulkResponse = new BulkResponse(resp.statusCode, resp.statusText, resp.headers, resp.body);
+            if (!bulkResponse.hasBadStatusCode() && !bulkResponse.hasFailedOperations()) {
+                return Mono.just(resp);
+            } else {
+                return Mono.error(new OperationFailed("Could not write metadata fingerprints: " + getString(resp), resp));
+            }
+        })
+            .doOnError(e -> log.error(e.getMessage()))
+            .retryWhen(CHECK_IF_ITEM_EXISTS_RETRY_STRATEGY)
+            .block();
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Completed putMetadataFingerprints for index={} in {} ms with statusCode={}",
+            indexName, duration, response != null ? response.statusCode : "null");
+    }
+
     protected abstract String getBulkRequestPath(String indexName);
 
     protected Retry getBulkRetryStrategy() {
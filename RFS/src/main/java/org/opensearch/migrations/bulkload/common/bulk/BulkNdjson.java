@@ -105,7 +105,7 @@ public final class BulkNdjson {
             for (var doc : docs) {
                 String opType = doc.operation() == Document.Operation.DELETE ? "delete" : "index";
                 String docId = stripIds ? null : doc.id();
-                String routing = doc.hints().get(Document.HINT_ROUTING);
+                String routing = doc.routing();
                 var meta = doc.operation() == Document.Operation.DELETE
                     ? DeleteOperationMeta.builder().id(docId).index(indexName).routing(routing).build()
                     : IndexOperationMeta.builder().id(docId).index(indexName).routing(routing).build();
@@ -2,9 +2,11 @@ package org.opensearch.migrations.bulkload.common.bulk;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.enums.SchemaVersion;
 import org.opensearch.migrations.bulkload.common.bulk.operations.DeleteOperationMeta;
 import org.opensearch.migrations.bulkload.common.bulk.operations.IndexOperationMeta;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
@@ -27,17 +29,10 @@ public class BulkOperationConverter {
      * Convert a {@link Document} to a {@link BulkOperationSpec} for the given index.
      */
     public static BulkOperationSpec fromDocument(Document doc, String indexName) {
-        Map<String, Object> document;
-        try {
-            document = doc.source() != null
-                ? OBJECT_MAPPER.readValue(doc.source(), new TypeReference<>() {})
-                : Map.of();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        Map<String, Object> document = doc.source() != null ? readSource(doc) : Map.of();
 
-        String routing = doc.hints().get(Document.HINT_ROUTING);
-        String type = doc.hints().get(Document.HINT_TYPE);
+        String routing = doc.routing();
+        String type = doc.type();
 
         if (doc.operation() == Document.Operation.DELETE) {
             return DeleteOp.builder()
@@ -60,4 +55,38 @@ public class BulkOperationConverter {
             .document(document)
             .build();
     }
+
+    /**
+     * Convert a {@link Document} straight to the map that {@link #fromDocument} would produce once serialized,
+     * i.e. the shape that document transformers expect for a {@link BulkOperationSpec}, without building the
+     * bulk operation first.  The returned maps are mutable so that transformers can edit them in place.
+     */
+    public static Map<String, Object> toTransformerInput(Document doc, String indexName) {
+        var operation = new LinkedHashMap<String, Object>();
+        operation.put("_id", doc.id());
+        operation.put("_index", indexName);
+        if (doc.type() != null) {
+            operation.put("_type", doc.type());
+        }
+        if (doc.routing() != null) {
+            operation.put("routing", doc.routing());
+        }
+
+        boolean isDelete = doc.operation() == Document.Operation.DELETE;
+        var opSpec = new LinkedHashMap<String, Object>();
+        opSpec.put("schema", SchemaVersion.RFS_OPENSEARCH_BULK_V1.getValue());
+        opSpec.put("document", doc.source() != null ? readSource(doc) : new LinkedHashMap<String, Object>());
+        opSpec.put(BulkOperationSpec.INCLUDE_DOCUMENT_KEY, !isDelete);
+        opSpec.put(BulkOperationSpec.OPERATION_TYPE_KEY, isDelete ? DeleteOp.OP_TYPE_VALUE : IndexOp.OP_TYPE_VALUE);
+        opSpec.put("operation", operation);
+        return opSpec;
+    }
+
+    private static Map<String, Object> readSource(Document doc) {
+        try {
+            return OBJECT_MAPPER.readValue(doc.source(), new TypeReference<>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
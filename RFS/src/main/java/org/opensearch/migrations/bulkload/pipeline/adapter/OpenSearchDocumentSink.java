@@ -1,7 +1,10 @@
 package org.opensearch.migrations.bulkload.pipeline.adapter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -19,7 +22,9 @@ import org.opensearch.migrations.transform.IJsonTransformer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -30,7 +35,11 @@ import reactor.core.scheduler.Schedulers;
  * ({@link BulkOperationSpec}) and sends them via {@link OpenSearchClient#sendBulkRequest}.
  *
  * <p>Supports optional document transformation via {@link IJsonTransformer} and
- * configurable exception allowlisting for idempotent migrations.
+ * configurable exception allowlisting for idempotent migrations.  Each thread that transforms
+ * documents gets its own transformer from the supplier.  With a transform parallelism greater
+ * than one, a batch is split into that many contiguous slices that are transformed concurrently
+ * on a bounded pool and then put back together in their original order, so every transformer
+ * call still receives (and returns) a list of operations.
  */
 @Slf4j
 public class OpenSearchDocumentSink implements DocumentSink {
@@ -38,7 +47,13 @@ public class OpenSearchDocumentSink implements DocumentSink {
     private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createDefaultMapper();
 
     private final OpenSearchClient client;
-    private final IJsonTransformer transformer;
+    // null when no transformer is configured
+    private final ThreadLocal<IJsonTransformer> threadTransformers;
+    // every transformer handed out by threadTransformers, so that close() can close them all
+    private final Set<IJsonTransformer> createdTransformers = ConcurrentHashMap.newKeySet();
+    private final int transformParallelism;
+    // only created when batches are transformed in parallel
+    private final Scheduler transformSchedulerOrNull;
     private final boolean allowServerGeneratedIds;
     private final DocumentExceptionAllowlist allowlist;
     private final Supplier<IRfsContexts.IRequestContext> requestContextSupplier;
@@ -50,8 +65,35 @@ public class OpenSearchDocumentSink implements DocumentSink {
         DocumentExceptionAllowlist allowlist,
         Supplier<IRfsContexts.IRequestContext> requestContextSupplier
     ) {
+        this(client, transformerSupplier, 1, allowServerGeneratedIds, allowlist, requestContextSupplier);
+    }
+
+    /**
+     * @param transformParallelism how many slices of each batch to transform concurrently.  With 1, batches are
+     *                             transformed on the thread that subscribes to {@link #writeBatch}.
+     */
+    public OpenSearchDocumentSink(
+        OpenSearchClient client,
+        Supplier<IJsonTransformer> transformerSupplier,
+        int transformParallelism,
+        boolean allowServerGeneratedIds,
+        DocumentExceptionAllowlist allowlist,
+        Supplier<IRfsContexts.IRequestContext> requestContextSupplier
+    ) {
+        if (transformParallelism < 1) {
+            throw new IllegalArgumentException("transformParallelism must be at least 1, but was "
+                + transformParallelism);
+        }
         this.client = client;
-        this.transformer = transformerSupplier != null ? transformerSupplier.get() : null;
+        this.threadTransformers = transformerSupplier == null ? null : ThreadLocal.withInitial(() -> {
+            var transformer = transformerSupplier.get();
+            createdTransformers.add(transformer);
+            return transformer;
+        });
+        this.transformParallelism = transformParallelism;
+        this.transformSchedulerOrNull = transformerSupplier != null && transformParallelism > 1
+            ? Schedulers.newParallel("documentTransform", transformParallelism, true)
+            : null;
         this.allowServerGeneratedIds = allowServerGeneratedIds;
         this.allowlist = allowlist != null ? allowlist : DocumentExceptionAllowlist.empty();
         this.requestContextSupplier = requestContextSupplier;
@@ -95,36 +137,60 @@ public class OpenSearchDocumentSink implements DocumentSink {
         var requestContext = requestContextSupplier != null ? requestContextSupplier.get() : null;
 
         Mono<OpenSearchClient.BulkResponse> bulkMono;
-        if (transformer == null) {
+        if (threadTransformers == null) {
             // Fast path: skip byte[]→Map→byte[] round-trip, write raw source bytes directly
             bulkMono = client.sendBulkRequestRaw(collectionName, batch,
                 requestContext, allowServerGeneratedIds, allowlist);
         } else {
-            var bulkOps = batch.stream()
-                .map(doc -> BulkOperationConverter.fromDocument(doc, collectionName))
-                .collect(Collectors.toList());
-            List<BulkOperationSpec> opsToSend = applyTransformation(bulkOps);
-            bulkMono = client.sendBulkRequest(collectionName, opsToSend,
-                requestContext, allowServerGeneratedIds, allowlist);
+            bulkMono = transformBatch(collectionName, batch)
+                .flatMap(opsToSend -> client.sendBulkRequest(collectionName, opsToSend,
+                    requestContext, allowServerGeneratedIds, allowlist));
         }
 
         return bulkMono.then(Mono.just(new BatchResult(batch.size(), bytesInBatch)));
     }
 
-    @SuppressWarnings("unchecked")
-    private List<BulkOperationSpec> applyTransformation(List<BulkOperationSpec> ops) {
-        if (transformer == null) {
-            return ops;
+    private Mono<List<BulkOperationSpec>> transformBatch(String collectionName, List<Document> batch) {
+        if (transformSchedulerOrNull == null || batch.size() < 2) {
+            return Mono.fromCallable(() -> transformSlice(collectionName, batch));
+        }
+        int sliceSize = (batch.size() + transformParallelism - 1) / transformParallelism;
+        var slices = new ArrayList<List<Document>>();
+        for (int start = 0; start < batch.size(); start += sliceSize) {
+            slices.add(batch.subList(start, Math.min(start + sliceSize, batch.size())));
         }
-        var asMaps = ops.stream()
-            .map(op -> OBJECT_MAPPER.convertValue(op, Map.class))
+        // flatMapSequential runs the slices concurrently but emits their results in the order of the slices
+        return Flux.fromIterable(slices)
+            .flatMapSequential(slice -> Mono.fromCallable(() -> transformSlice(collectionName, slice))
+                .subscribeOn(transformSchedulerOrNull), slices.size())
+            .<List<BulkOperationSpec>>collect(ArrayList::new, List::addAll);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BulkOperationSpec> transformSlice(String collectionName, List<Document> slice) {
+        var asMaps = slice.stream()
+            .map(doc -> BulkOperationConverter.toTransformerInput(doc, collectionName))
             .toList();
-        var transformed = transformer.transformJson(asMaps);
-        if (transformed instanceof List) {
-            return ((List<Map<String, Object>>) transformed).stream()
-                .map(item -> OBJECT_MAPPER.convertValue(item, BulkOperationSpec.class))
-                .collect(Collectors.toList());
+        var transformed = threadTransformers.get().transformJson(asMaps);
+        var resultMaps = transformed instanceof List ? (List<Map<String, Object>>) transformed : asMaps;
+        return resultMaps.stream()
+            .map(item -> OBJECT_MAPPER.convertValue(item, BulkOperationSpec.class))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+        if (transformSchedulerOrNull != null) {
+            transformSchedulerOrNull.dispose();
+        }
+        for (var transformer : createdTransformers) {
+            createdTransformers.remove(transformer);
+            try {
+                transformer.close();
+            } catch (Exception e) {
+                log.atWarn().setMessage("Failed to close document transformer {}")
+                    .addArgument(transformer).setCause(e).log();
+            }
         }
-        return ops;
     }
 }
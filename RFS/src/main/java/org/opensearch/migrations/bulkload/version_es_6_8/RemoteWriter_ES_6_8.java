@@ -8,10 +8,12 @@ import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 import org.opensearch.migrations.bulkload.models.DataFilterArgs;
 import org.opensearch.migrations.bulkload.version_os_2_11.GlobalMetadataCreator_OS_2_11;
 import org.opensearch.migrations.bulkload.version_os_2_11.IndexCreator_OS_2_11;
+import org.opensearch.migrations.bulkload.version_os_2_11.MetadataFingerprintStore_OS_2_11;
 import org.opensearch.migrations.cluster.ClusterWriter;
 import org.opensearch.migrations.cluster.RemoteCluster;
 import org.opensearch.migrations.metadata.GlobalMetadataCreator;
 import org.opensearch.migrations.metadata.IndexCreator;
+import org.opensearch.migrations.metadata.MetadataFingerprintStore;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -69,6 +71,11 @@ public class RemoteWriter_ES_6_8 implements RemoteCluster, ClusterWriter {
         return new IndexCreator_OS_2_11(getClient());
     }
 
+    @Override
+    public MetadataFingerprintStore getMetadataFingerprintStore() {
+        return new MetadataFingerprintStore_OS_2_11(getClient());
+    }
+
     @Override
     public Version getVersion() {
         if (version == null) {
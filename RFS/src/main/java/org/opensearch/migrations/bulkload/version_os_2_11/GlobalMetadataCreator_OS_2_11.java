@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 import org.opensearch.migrations.MigrationMode;
 import org.opensearch.migrations.bulkload.common.FilterScheme;
@@ -16,12 +16,16 @@ import org.opensearch.migrations.metadata.CreationResult;
 import org.opensearch.migrations.metadata.CreationResult.CreationFailureType;
 import org.opensearch.migrations.metadata.GlobalMetadataCreator;
 import org.opensearch.migrations.metadata.GlobalMetadataCreatorResults;
+import org.opensearch.migrations.metadata.MetadataFingerprints;
 import org.opensearch.migrations.metadata.tracing.IMetadataMigrationContexts.IClusterMetadataContext;
 import org.opensearch.migrations.parsing.ObjectNodeUtils;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @AllArgsConstructor
 @Slf4j
@@ -36,12 +40,44 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
         GlobalMetadata root,
         MigrationMode mode,
         IClusterMetadataContext context) {
+        return create(root, mode, context, 1);
+    }
+
+    @Override
+    public GlobalMetadataCreatorResults create(
+        GlobalMetadata root,
+        MigrationMode mode,
+        IClusterMetadataContext context,
+        int concurrency) {
+        return create(root, mode, context, concurrency, MetadataFingerprints.DISABLED);
+    }
+
+    /**
+     * Templates within a phase are independent of each other and are created up to
+     * {@code concurrency} at a time. The phases themselves stay sequential because composable
+     * index templates may reference component templates, which must already exist on the target.
+     *
+     * @param concurrency must be >= 1
+     */
+    @Override
+    public GlobalMetadataCreatorResults create(
+        GlobalMetadata root,
+        MigrationMode mode,
+        IClusterMetadataContext context,
+        int concurrency,
+        MetadataFingerprints fingerprints) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be >= 1, got " + concurrency);
+        }
         log.info("Setting Global Metadata");
 
         var results = GlobalMetadataCreatorResults.builder();
-        results.legacyTemplates(createLegacyTemplates(root, mode, context));
-        results.componentTemplates(createComponentTemplates(root, mode, context));
-        results.indexTemplates(createIndexTemplates(root, mode, context));
+        results.legacyTemplates(createTemplates(root.getTemplates(), legacyTemplateAllowlist,
+            TemplateTypes.LEGACY_INDEX_TEMPLATE, mode, context, concurrency, fingerprints));
+        results.componentTemplates(createTemplates(root.getComponentTemplates(), componentTemplateAllowlist,
+            TemplateTypes.COMPONENT_TEMPLATE, mode, context, concurrency, fingerprints));
+        results.indexTemplates(createTemplates(root.getIndexTemplates(), indexTemplateAllowlist,
+            TemplateTypes.INDEX_TEMPLATE, mode, context, concurrency, fingerprints));
         return results.build();
     }
 
@@ -51,7 +87,9 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
             legacyTemplateAllowlist,
             TemplateTypes.LEGACY_INDEX_TEMPLATE,
             mode,
-            context
+            context,
+            1,
+            MetadataFingerprints.DISABLED
         );
     }
 
@@ -61,7 +99,9 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
             componentTemplateAllowlist,
             TemplateTypes.COMPONENT_TEMPLATE,
             mode,
-            context
+            context,
+            1,
+            MetadataFingerprints.DISABLED
         );
     }
 
@@ -71,7 +111,9 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
             indexTemplateAllowlist,
             TemplateTypes.INDEX_TEMPLATE,
             mode,
-            context
+            context,
+            1,
+            MetadataFingerprints.DISABLED
         );
     }
 
@@ -115,7 +157,9 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
         List<String> templateAllowlist,
         TemplateTypes templateType,
         MigrationMode mode,
-        IClusterMetadataContext context
+        IClusterMetadataContext context,
+        int concurrency,
+        MetadataFingerprints fingerprints
     ) {
 
         log.info("Setting {} ...", templateType);
@@ -127,7 +171,7 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
 
         var templatesToCreate = getAllTemplates(templates);
 
-        return processTemplateCreation(templatesToCreate, templateType, templateAllowlist, mode, context);
+        return processTemplateCreation(templatesToCreate, templateType, templateAllowlist, mode, context, concurrency, fingerprints);
     }
 
     Map<String, ObjectNode> getAllTemplates(ObjectNode templates) {
@@ -146,42 +190,70 @@ public class GlobalMetadataCreator_OS_2_11 implements GlobalMetadataCreator {
             TemplateTypes templateType,
             List<String> templateAllowList,
             MigrationMode mode,
-            IClusterMetadataContext context
+            IClusterMetadataContext context,
+            int concurrency,
+            MetadataFingerprints fingerprints
         ) {
         var skipCreation = FilterScheme.filterByAllowList(templateAllowList, templateType.filterContext).negate();
 
-        return templatesToCreate.entrySet().stream().map(kvp -> {
-            var templateName = kvp.getKey();
-            var templateBody = kvp.getValue();
+        return Flux.fromIterable(templatesToCreate.entrySet())
+            .flatMapSequential(
+                kvp -> Mono.fromCallable(() -> processTemplate(kvp.getKey(), kvp.getValue(), templateType, templateAllowList, skipCreation, mode, context, fingerprints))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                concurrency
+            )
+            .collectList()
+            .block();
+    }
+
+    private CreationResult processTemplate(
+            String templateName,
+            ObjectNode templateBody,
+            TemplateTypes templateType,
+            List<String> templateAllowList,
+            Predicate<String> skipCreation,
+            MigrationMode mode,
+            IClusterMetadataContext context,
+            MetadataFingerprints fingerprints
+        ) {
+        String[] problemSettings = { "settings.mapping.single_type", "settings.mapper.dynamic" };
+        for (var field : problemSettings) {
+            ObjectNodeUtils.removeFieldsByPath(templateBody, field);
+        }
 
-            String[] problemSettings = { "settings.mapping.single_type", "settings.mapper.dynamic" };
-            for (var field : problemSettings) {
-                ObjectNodeUtils.removeFieldsByPath(templateBody, field);
-            }
+        var creationResult = CreationResult.builder().name(templateName);
 
-            var creationResult = CreationResult.builder().name(templateName);
+        if (skipCreation.test(templateName)) {
+            log.atInfo().setMessage("Template {} was skipped due to allowlist filter {}").addArgument(templateName).addArgument(templateAllowList).log();
+            return creationResult.failureType(CreationFailureType.SKIPPED_DUE_TO_FILTER).build();
+        }
 
-            if (skipCreation.test(templateName)) {
-                log.atInfo().setMessage("Template {} was skipped due to allowlist filter {}").addArgument(templateName).addArgument(templateAllowList).log();
-                return creationResult.failureType(CreationFailureType.SKIPPED_DUE_TO_FILTER).build();
-            }
+        var fingerprint = fingerprints.fingerprintIfEnabled(templateBody);
+        if (fingerprints.isUnchanged(templateType.name(), templateName, fingerprint,
+                () -> templateType.alreadyExistsCheck.templateAlreadyExists(client, templateName))) {
+            log.info("{} {} is unchanged since the last migration, skipping", templateType, templateName);
+            return creationResult.failureType(CreationFailureType.SKIPPED_UNCHANGED).build();
+        }
 
-            log.info("Creating {}: {}", templateType, templateName);
-            try {
-                if (mode == MigrationMode.SIMULATE) {
-                    if (templateType.alreadyExistsCheck.templateAlreadyExists(client, templateName)) {
-                        creationResult.failureType(CreationFailureType.METADATA_ALREADY_EXISTS);
-                        log.warn("Template {} already exists on the target, it will not be created during a migration", templateName);
-                    }
-                } else if (mode == MigrationMode.PERFORM) {
-                    createTemplateWithRetry(templateType, templateName, templateBody, context, creationResult);
+        log.info("Creating {}: {}", templateType, templateName);
+        try {
+            if (mode == MigrationMode.SIMULATE) {
+                if (templateType.alreadyExistsCheck.templateAlreadyExists(client, templateName)) {
+                    creationResult.failureType(CreationFailureType.METADATA_ALREADY_EXISTS);
+                    log.warn("Template {} already exists on the target, it will not be created during a migration", templateName);
                 }
-            } catch (Exception e) {
-                creationResult.failureType(CreationFailureType.TARGET_CLUSTER_FAILURE);
-                creationResult.exception(e);
+            } else if (mode == MigrationMode.PERFORM) {
+                createTemplateWithRetry(templateType, templateName, templateBody, context, creationResult);
             }
-            return creationResult.build();
-        }).collect(Collectors.toList());
+        } catch (Exception e) {
+            creationResult.failureType(CreationFailureType.TARGET_CLUSTER_FAILURE);
+            creationResult.exception(e);
+        }
+        var result = creationResult.build();
+        if (mode == MigrationMode.PERFORM && result.wasSuccessful()) {
+            fingerprints.recordCreated(templateType.name(), templateName, fingerprint);
+        }
+        return result;
     }
 
     private void createTemplateWithRetry(
@@ -93,6 +93,11 @@ public class IndexCreator_OS_2_11 implements IndexCreator {
         return result.build();
     }
 
+    @Override
+    public boolean indexExists(String indexName) {
+        return client.hasIndex(indexName);
+    }
+
     private void checkForReplicaCountIncompatibility(ObjectNode settings, AwarenessAttributeSettings awarenessAttributeSettings) throws IncompatibleReplicaCountException {
         if (!awarenessAttributeSettings.isBalanceEnabled()) {
             return;
@@ -0,0 +1,29 @@
+package org.opensearch.migrations.bulkload.version_os_2_11;
+
+import java.util.Map;
+
+import org.opensearch.migrations.bulkload.common.OpenSearchClient;
+import org.opensearch.migrations.metadata.MetadataFingerprintStore;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Keeps fingerprints as one document per item in a dedicated index on the target cluster, so they live next to the
+ * objects they describe and are gone when the target is reset.
+ */
+@AllArgsConstructor
+public class MetadataFingerprintStore_OS_2_11 implements MetadataFingerprintStore {
+    public static final String FINGERPRINT_INDEX_NAME = ".migrations_metadata_fingerprints";
+
+    private final OpenSearchClient client;
+
+    @Override
+    public Map<String, String> load() {
+        return client.getMetadataFingerprints(FINGERPRINT_INDEX_NAME);
+    }
+
+    @Override
+    public void save(Map<String, String> fingerprintsByItemId) {
+        client.putMetadataFingerprints(FINGERPRINT_INDEX_NAME, fingerprintsByItemId);
+    }
+}
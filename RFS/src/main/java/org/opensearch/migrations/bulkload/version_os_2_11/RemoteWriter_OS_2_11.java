@@ -12,6 +12,7 @@ import org.opensearch.migrations.cluster.ClusterWriter;
 import org.opensearch.migrations.cluster.RemoteCluster;
 import org.opensearch.migrations.metadata.GlobalMetadataCreator;
 import org.opensearch.migrations.metadata.IndexCreator;
+import org.opensearch.migrations.metadata.MetadataFingerprintStore;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -70,6 +71,11 @@ public class RemoteWriter_OS_2_11 implements RemoteCluster, ClusterWriter {
         return new IndexCreator_OS_2_11(getClient());
     }
 
+    @Override
+    public MetadataFingerprintStore getMetadataFingerprintStore() {
+        return new MetadataFingerprintStore_OS_2_11(getClient());
+    }
+
     @Override
     public Version getVersion() {
         if (version == null) {
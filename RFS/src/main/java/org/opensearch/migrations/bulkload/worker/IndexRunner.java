@@ -13,13 +13,16 @@ import org.opensearch.migrations.bulkload.transformers.Transformer;
 import org.opensearch.migrations.metadata.CreationResult;
 import org.opensearch.migrations.metadata.CreationResult.CreationFailureType;
 import org.opensearch.migrations.metadata.IndexCreator;
+import org.opensearch.migrations.metadata.MetadataFingerprints;
 import org.opensearch.migrations.metadata.tracing.IMetadataMigrationContexts.ICreateIndexContext;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
-@AllArgsConstructor
 public class IndexRunner {
 
     private final String snapshotName;
@@ -28,31 +31,83 @@ public class IndexRunner {
     private final Transformer transformer;
     private final List<String> indexAllowlist;
     private final AwarenessAttributeSettings awarenessAttributeSettings;
+    private final int creationConcurrency;
+    private final MetadataFingerprints fingerprints;
+
+    public IndexRunner(String snapshotName,
+                       IndexMetadata.Factory metadataFactory,
+                       IndexCreator indexCreator,
+                       Transformer transformer,
+                       List<String> indexAllowlist,
+                       AwarenessAttributeSettings awarenessAttributeSettings) {
+        this(snapshotName, metadataFactory, indexCreator, transformer, indexAllowlist, awarenessAttributeSettings, 1,
+            MetadataFingerprints.DISABLED);
+    }
+
+    /**
+     * @param creationConcurrency max number of indices whose creation requests may be in flight
+     *                            against the target at once (must be >= 1)
+     * @param fingerprints        indices created from an identical body by an earlier run are
+     *                            skipped, and indices created by this run are recorded
+     */
+    public IndexRunner(String snapshotName,
+                       IndexMetadata.Factory metadataFactory,
+                       IndexCreator indexCreator,
+                       Transformer transformer,
+                       List<String> indexAllowlist,
+                       AwarenessAttributeSettings awarenessAttributeSettings,
+                       int creationConcurrency,
+                       MetadataFingerprints fingerprints) {
+        if (creationConcurrency < 1) {
+            throw new IllegalArgumentException("creationConcurrency must be >= 1, got " + creationConcurrency);
+        }
+        this.snapshotName = snapshotName;
+        this.metadataFactory = metadataFactory;
+        this.indexCreator = indexCreator;
+        this.transformer = transformer;
+        this.indexAllowlist = indexAllowlist;
+        this.awarenessAttributeSettings = awarenessAttributeSettings;
+        this.creationConcurrency = creationConcurrency;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * An index whose metadata has been read and transformed, ready to be sent to the target.
+     * {@code resolvedResults} is set instead of {@code transformedIndices} when the outcome is
+     * already known without contacting the target (filtered out, or transformation failed).
+     */
+    private record PlannedIndex(String indexName,
+                                JsonNode aliases,
+                                List<IndexMetadata> transformedIndices,
+                                List<CreationResult> resolvedResults) {}
 
     public IndexMetadataResults migrateIndices(MigrationMode mode, ICreateIndexContext context) {
         var repoDataProvider = metadataFactory.getRepoDataProvider();
-        var results = IndexMetadataResults.builder();
         var skipCreation = FilterScheme.filterByAllowList(indexAllowlist, FilterScheme.FilterContext.INDEX).negate();
 
+        // Reading and transforming stays on the calling thread since transformers (e.g. scripted
+        // custom transforms) are not guaranteed to be thread-safe; only the round-trips to the
+        // target fan out, which is where the time goes on clusters with many indices.
+        var plannedIndices = new ArrayList<PlannedIndex>();
         for (SnapshotRepo.Index index : repoDataProvider.getIndicesInSnapshot(snapshotName)) {
-            List<CreationResult> creationResults;
-            if (skipCreation.test(index.getName())) {
-                log.atInfo()
-                        .setMessage("Index {} was not part of the allowlist and will not be migrated.")
-                        .addArgument(index.getName())
-                        .log();
-                creationResults = List.of(CreationResult.builder()
-                        .name(index.getName())
-                        .failureType(CreationFailureType.SKIPPED_DUE_TO_FILTER)
-                        .build());
-            } else {
-                creationResults = createIndex(index.getName(), mode, context);
-            }
+            plannedIndices.add(planIndex(index.getName(), skipCreation.test(index.getName())));
+        }
 
+        var creationResultsPerIndex = Flux.fromIterable(plannedIndices)
+            .flatMapSequential(
+                planned -> Mono.fromCallable(() -> createPlannedIndex(planned, mode, context))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                creationConcurrency
+            )
+            .collectList()
+            .block();
+
+        var results = IndexMetadataResults.builder();
+        for (int i = 0; i < plannedIndices.size(); i++) {
+            var creationResults = creationResultsPerIndex.get(i);
             creationResults.forEach(results::index);
 
-            var indexMetadata = metadataFactory.fromRepo(snapshotName, index.getName());
-            indexMetadata.getAliases().fieldNames().forEachRemaining(alias -> {
+            plannedIndices.get(i).aliases().fieldNames().forEachRemaining(alias -> {
                 var aliasResult = CreationResult.builder().name(alias);
                 if (!creationResults.isEmpty()) {
                     aliasResult.failureType(creationResults.get(0).getFailureType());
@@ -63,26 +118,59 @@ public class IndexRunner {
         return results.build();
     }
 
-    private List<CreationResult> createIndex(String indexName, MigrationMode mode, ICreateIndexContext context) {
+    private PlannedIndex planIndex(String indexName, boolean skip) {
         var originalIndexMetadata = metadataFactory.fromRepo(snapshotName, indexName);
-        var indexMetadata = originalIndexMetadata.deepCopy();
-        List<CreationResult> creationResults = new ArrayList<>();
+        var aliases = originalIndexMetadata.getAliases();
+        if (skip) {
+            log.atInfo()
+                    .setMessage("Index {} was not part of the allowlist and will not be migrated.")
+                    .addArgument(indexName)
+                    .log();
+            return new PlannedIndex(indexName, aliases, null, List.of(CreationResult.builder()
+                    .name(indexName)
+                    .failureType(CreationFailureType.SKIPPED_DUE_TO_FILTER)
+                    .build()));
+        }
+
         try {
-            List<IndexMetadata> transformedMetadataList = transformer.transformIndexMetadata(indexMetadata);
-            for (IndexMetadata transformedMetadata : transformedMetadataList) {
-                creationResults.add(createInner(indexName, mode, context, transformedMetadata));
-            }
+            var transformedMetadataList = transformer.transformIndexMetadata(originalIndexMetadata.deepCopy());
+            return new PlannedIndex(indexName, aliases, transformedMetadataList, null);
         } catch (Exception e) {
             log.atError()
                 .setMessage("Index Creation failed with error \"{}\":")
                 .addArgument(CreationFailureType.UNABLE_TO_TRANSFORM_FAILURE.getMessage())
                 .setCause(e)
                 .log();
-            creationResults.add(CreationResult.builder()
+            return new PlannedIndex(indexName, aliases, null, List.of(CreationResult.builder()
                 .name(indexName)
                 .exception(new IndexTransformationException(indexName, e))
                 .failureType(CreationFailureType.UNABLE_TO_TRANSFORM_FAILURE)
-                .build());
+                .build()));
+        }
+    }
+
+    private List<CreationResult> createPlannedIndex(PlannedIndex planned, MigrationMode mode, ICreateIndexContext context) {
+        if (planned.resolvedResults() != null) {
+            return planned.resolvedResults();
+        }
+        List<CreationResult> creationResults = new ArrayList<>();
+        for (IndexMetadata transformedMetadata : planned.transformedIndices()) {
+            var fingerprint = fingerprints.fingerprintIfEnabled(transformedMetadata.getRawJson());
+            var indexName = transformedMetadata.getName();
+            if (fingerprints.isUnchanged(MetadataFingerprints.INDEX_KIND, indexName, fingerprint,
+                    () -> indexCreator.indexExists(indexName))) {
+                log.info("Index {} is unchanged since the last migration, skipping", indexName);
+                creationResults.add(CreationResult.builder()
+                    .name(indexName)
+                    .failureType(CreationFailureType.SKIPPED_UNCHANGED)
+                    .build());
+                continue;
+            }
+            var result = createInner(planned.indexName(), mode, context, transformedMetadata);
+            if (mode == MigrationMode.PERFORM && result.wasSuccessful()) {
+                fingerprints.recordCreated(MetadataFingerprints.INDEX_KIND, indexName, fingerprint);
+            }
+            creationResults.add(result);
         }
         return creationResults;
     }
@@ -5,6 +5,7 @@ import org.opensearch.migrations.bulkload.models.GlobalMetadata;
 import org.opensearch.migrations.bulkload.transformers.Transformer;
 import org.opensearch.migrations.metadata.GlobalMetadataCreator;
 import org.opensearch.migrations.metadata.GlobalMetadataCreatorResults;
+import org.opensearch.migrations.metadata.MetadataFingerprints;
 import org.opensearch.migrations.metadata.tracing.IMetadataMigrationContexts.IClusterMetadataContext;
 
 import lombok.AllArgsConstructor;
@@ -18,12 +19,21 @@ public class MetadataRunner {
     private final GlobalMetadata.Factory metadataFactory;
     private final GlobalMetadataCreator metadataCreator;
     private final Transformer transformer;
+    private final int creationConcurrency;
+    private final MetadataFingerprints fingerprints;
+
+    public MetadataRunner(String snapshotName,
+                          GlobalMetadata.Factory metadataFactory,
+                          GlobalMetadataCreator metadataCreator,
+                          Transformer transformer) {
+        this(snapshotName, metadataFactory, metadataCreator, transformer, 1, MetadataFingerprints.DISABLED);
+    }
 
     public GlobalMetadataCreatorResults migrateMetadata(MigrationMode mode, IClusterMetadataContext context) {
         log.info("Migrating the Templates...");
         var globalMetadata = metadataFactory.fromRepo(snapshotName);
         var transformedRoot = transformer.transformGlobalMetadata(globalMetadata);
-        var results = metadataCreator.create(transformedRoot, mode, context);
+        var results = metadataCreator.create(transformedRoot, mode, context, creationConcurrency, fingerprints);
         log.info("Templates migration complete");
         return results;
     }
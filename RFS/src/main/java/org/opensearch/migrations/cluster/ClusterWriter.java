@@ -5,6 +5,7 @@ import org.opensearch.migrations.Version;
 import org.opensearch.migrations.bulkload.models.DataFilterArgs;
 import org.opensearch.migrations.metadata.GlobalMetadataCreator;
 import org.opensearch.migrations.metadata.IndexCreator;
+import org.opensearch.migrations.metadata.MetadataFingerprintStore;
 
 /** Writes data onto a cluster */
 public interface ClusterWriter extends VersionSpecificCluster {
@@ -21,6 +22,9 @@ public interface ClusterWriter extends VersionSpecificCluster {
     /** Creates indices */
     public IndexCreator getIndexCreator();
 
+    /** Stores fingerprints of created metadata items for incremental migrations */
+    public MetadataFingerprintStore getMetadataFingerprintStore();
+
     /** Gets the awareness attribute settings of the cluster */
     AwarenessAttributeSettings getAwarenessAttributeSettings();
 
@@ -9,4 +9,31 @@ public interface GlobalMetadataCreator {
         GlobalMetadata metadata,
         MigrationMode mode,
         IClusterMetadataContext context);
+
+    /**
+     * Same as {@link #create(GlobalMetadata, MigrationMode, IClusterMetadataContext)}, allowing up to
+     * {@code concurrency} independent creation requests in flight at once. Implementations that do not
+     * support concurrent creation fall back to the sequential path.
+     */
+    default GlobalMetadataCreatorResults create(
+        GlobalMetadata metadata,
+        MigrationMode mode,
+        IClusterMetadataContext context,
+        int concurrency) {
+        return create(metadata, mode, context);
+    }
+
+    /**
+     * Same as {@link #create(GlobalMetadata, MigrationMode, IClusterMetadataContext, int)}, reporting items whose
+     * fingerprint matches an earlier run as {@link CreationResult.CreationFailureType#SKIPPED_UNCHANGED} instead of
+     * sending them. Implementations that do not support fingerprints migrate every item.
+     */
+    default GlobalMetadataCreatorResults create(
+        GlobalMetadata metadata,
+        MigrationMode mode,
+        IClusterMetadataContext context,
+        int concurrency,
+        MetadataFingerprints fingerprints) {
+        return create(metadata, mode, context, concurrency);
+    }
 }
@@ -12,4 +12,7 @@ public interface IndexCreator {
         AwarenessAttributeSettings awarenessAttributeSettings,
         ICreateIndexContext context
     );
+
+    /** Returns true if an index with this name currently exists on the target */
+    public boolean indexExists(String indexName);
 }
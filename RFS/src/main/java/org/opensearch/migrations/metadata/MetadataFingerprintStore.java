@@ -0,0 +1,12 @@
+package org.opensearch.migrations.metadata;
+
+import java.util.Map;
+
+/** Persists the fingerprints of metadata items that have been created on a target cluster */
+public interface MetadataFingerprintStore {
+    /** All stored fingerprints keyed by item id, empty if nothing has been stored yet */
+    Map<String, String> load();
+
+    /** Adds or replaces the fingerprints for the given item ids */
+    void save(Map<String, String> fingerprintsByItemId);
+}
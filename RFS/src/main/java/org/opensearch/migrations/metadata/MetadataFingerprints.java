@@ -0,0 +1,118 @@
+package org.opensearch.migrations.metadata;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fingerprints of the transformed metadata items that earlier runs created on the target, used to skip items that
+ * have not changed since. A fingerprint is the SHA-256 of the item's canonical JSON (object keys sorted), so it only
+ * changes when the body that would be sent to the target changes.
+ *
+ * <p>Items created during this run are collected and written back with {@link #save()}. Items that already existed
+ * on the target or failed are not recorded, so they are re-evaluated on the next run.
+ */
+@Slf4j
+public class MetadataFingerprints {
+    public static final String INDEX_KIND = "index";
+
+    /** Never reports an item as unchanged and never records anything */
+    public static final MetadataFingerprints DISABLED = new MetadataFingerprints(null, Map.of());
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+        .enable(JsonNodeFeature.WRITE_PROPERTIES_SORTED)
+        .build();
+
+    private final MetadataFingerprintStore store;
+    private final Map<String, String> previous;
+    private final Map<String, String> created = new ConcurrentHashMap<>();
+
+    private MetadataFingerprints(MetadataFingerprintStore store, Map<String, String> previous) {
+        this.store = store;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the stored fingerprints. If they cannot be read every item is treated as changed, which is the same
+     * behavior as a run without fingerprints.
+     */
+    public static MetadataFingerprints load(MetadataFingerprintStore store) {
+        try {
+            var previous = store.load();
+            log.info("Loaded {} metadata fingerprint(s) from the target", previous.size());
+            return new MetadataFingerprints(store, previous);
+        } catch (Exception e) {
+            log.atWarn().setCause(e).setMessage("Unable to load metadata fingerprints, all items will be migrated").log();
+            return new MetadataFingerprints(store, Map.of());
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    public static String fingerprint(JsonNode body) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(CANONICAL_MAPPER.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to fingerprint metadata item", e);
+        }
+    }
+
+    /**
+     * Fingerprint of the body about to be sent, or null when disabled. Take it before sending, since creation retries
+     * may strip unsupported parts of the body in place.
+     */
+    public String fingerprintIfEnabled(JsonNode body) {
+        return isEnabled() ? fingerprint(body) : null;
+    }
+
+    /**
+     * True when an earlier run created this item from a body with the same fingerprint and the item is still on the
+     * target. {@code existsOnTarget} is only called when the fingerprint matches, so an item that was deleted since
+     * (or a target that was reset without the fingerprint index) is created again rather than skipped.
+     */
+    public boolean isUnchanged(String kind, String name, String fingerprint, BooleanSupplier existsOnTarget) {
+        return fingerprint != null
+            && fingerprint.equals(previous.get(itemId(kind, name)))
+            && existsOnTarget.getAsBoolean();
+    }
+
+    /** Remembers that this item was created from a body with this fingerprint, to be persisted by {@link #save()} */
+    public void recordCreated(String kind, String name, String fingerprint) {
+        if (isEnabled() && fingerprint != null) {
+            created.put(itemId(kind, name), fingerprint);
+        }
+    }
+
+    /**
+     * Writes the fingerprints recorded during this run. Failure is logged rather than thrown since the items were
+     * migrated successfully; the next run will just re-check them.
+     */
+    public void save() {
+        if (!isEnabled() || created.isEmpty()) {
+            return;
+        }
+        try {
+            store.save(Map.copyOf(created));
+            log.info("Saved {} metadata fingerprint(s) to the target", created.size());
+        } catch (Exception e) {
+            log.atWarn().setCause(e).setMessage("Unable to save metadata fingerprints, unchanged items will be re-checked next run").log();
+        }
+    }
+
+    private static String itemId(String kind, String name) {
+        return kind + "/" + name;
+    }
+}
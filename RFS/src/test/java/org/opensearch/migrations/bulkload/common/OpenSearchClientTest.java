@@ -407,4 +407,39 @@ class OpenSearchClientTest {
         verify(restClient).putAsync(any(), any(), any());
         verifyNoMoreInteractions(restClient);
     }
+
+    @Test
+    void testGetMetadataFingerprints_missingIndexIsEmpty() {
+        when(restClient.postAsync(eq("fingerprints/_search?scroll=1m"), any(), any()))
+            .thenReturn(Mono.just(new HttpResponse(404, "", null, "no such index")));
+
+        assertThat(openSearchClient.getMetadataFingerprints("fingerprints"), equalTo(Map.of()));
+        verify(restClient, times(0)).deleteAsync(any(), any(), any());
+    }
+
+    @Test
+    void testGetMetadataFingerprints_pagesAndClearsScroll() {
+        when(restClient.postAsync(eq("fingerprints/_search?scroll=1m"), any(), any()))
+            .thenReturn(Mono.just(new HttpResponse(200, "", null,
+                "{\"_scroll_id\":\"s1\",\"hits\":{\"hits\":[{\"_id\":\"index/a\",\"_source\":{\"fingerprint\":\"fa\"}}]}}")));
+        when(restClient.postAsync(eq("_search/scroll"), any(), any()))
+            .thenReturn(Mono.just(new HttpResponse(200, "", null, "{\"_scroll_id\":\"s2\",\"hits\":{\"hits\":[]}}")));
+        when(restClient.deleteAsync(any(), any(), any())).thenReturn(Mono.just(new HttpResponse(200, "", null, "{}")));
+
+        assertThat(openSearchClient.getMetadataFingerprints("fingerprints"), equalTo(Map.of("index/a", "fa")));
+        verify(restClient).deleteAsync(eq("_search/scroll"), eq("{\"scroll_id\":\"s2\"}"), any());
+    }
+
+    @Test
+    void testGetMetadataFingerprints_lostScrollFailsInsteadOfReturningPartialResults() {
+        when(restClient.postAsync(eq("fingerprints/_search?scroll=1m"), any(), any()))
+            .thenReturn(Mono.just(new HttpResponse(200, "", null,
+                "{\"_scroll_id\":\"s1\",\"hits\":{\"hits\":[{\"_id\":\"index/a\",\"_source\":{\"fingerprint\":\"fa\"}}]}}")));
+        when(restClient.postAsync(eq("_search/scroll"), any(), any()))
+            .thenReturn(Mono.just(new HttpResponse(404, "", null, "search_context_missing_exception")));
+        when(restClient.deleteAsync(any(), any(), any())).thenReturn(Mono.just(new HttpResponse(404, "", null, "{}")));
+
+        assertThrows(OpenSearchClient.OperationFailed.class, () -> openSearchClient.getMetadataFingerprints("fingerprints"));
+        verify(restClient).deleteAsync(eq("_search/scroll"), eq("{\"scroll_id\":\"s1\"}"), any());
+    }
 }
@@ -0,0 +1,24 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+import java.util.Map;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class BulkOperationConverterTest {
+    @ParameterizedTest
+    @EnumSource(Document.Operation.class)
+    public void testTransformerInputMatchesSerializedBulkOperation(Document.Operation operation) {
+        var doc = new Document("id1", "{\"a\":{\"b\":[1,2]}}".getBytes(), operation, "type1", "r1",
+            Document.NO_LUCENE_DOC_NUMBER, Map.of(), Map.of());
+
+        var expected = ObjectMapperFactory.createDefaultMapper()
+            .convertValue(BulkOperationConverter.fromDocument(doc, "idx"), Map.class);
+
+        Assertions.assertEquals(expected, BulkOperationConverter.toTransformerInput(doc, "idx"));
+    }
+}
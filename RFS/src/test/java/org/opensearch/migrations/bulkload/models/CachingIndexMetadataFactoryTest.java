@@ -0,0 +1,33 @@
+package org.opensearch.migrations.bulkload.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CachingIndexMetadataFactoryTest {
+
+    @Test
+    void fromRepo_readsEachIndexOncePerSnapshot() {
+        var delegate = mock(IndexMetadata.Factory.class);
+        doAnswer(invocation -> mock(IndexMetadata.class)).when(delegate).fromRepo("snap", "a");
+        doAnswer(invocation -> mock(IndexMetadata.class)).when(delegate).fromRepo("snap", "b");
+        doAnswer(invocation -> mock(IndexMetadata.class)).when(delegate).fromRepo("other", "a");
+        var factory = new CachingIndexMetadataFactory(delegate);
+
+        var first = factory.fromRepo("snap", "a");
+        assertThat(factory.fromRepo("snap", "a"), sameInstance(first));
+        assertThat(factory.fromRepo("snap", "b"), not(sameInstance(first)));
+        assertThat(factory.fromRepo("other", "a"), not(sameInstance(first)));
+        factory.fromRepo("snap", "b");
+
+        verify(delegate, times(1)).fromRepo("snap", "a");
+        verify(delegate, times(1)).fromRepo("snap", "b");
+        verify(delegate, times(1)).fromRepo("other", "a");
+    }
+}
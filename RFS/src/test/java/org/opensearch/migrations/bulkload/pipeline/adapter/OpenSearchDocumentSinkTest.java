@@ -2,14 +2,23 @@ package org.opensearch.migrations.bulkload.pipeline.adapter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
 import org.opensearch.migrations.bulkload.common.OpenSearchClient;
+import org.opensearch.migrations.bulkload.common.bulk.BulkOperationSpec;
+import org.opensearch.migrations.bulkload.common.bulk.metadata.BaseMetadata;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
 import org.opensearch.migrations.transform.IJsonTransformer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
@@ -155,6 +164,45 @@ class OpenSearchDocumentSinkTest {
         verify(client, never()).sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void writeBatch_parallelTransform_keepsBatchOrderAndPassesListsPerThread() {
+        when(client.sendBulkRequest(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
+
+        var transformersCreated = new AtomicInteger();
+        var sliceSizesByThread = new ConcurrentHashMap<String, List<Integer>>();
+        Supplier<IJsonTransformer> transformerSupplier = () -> {
+            transformersCreated.incrementAndGet();
+            return input -> {
+                var ops = (List<Map<String, Object>>) input;
+                sliceSizesByThread.computeIfAbsent(Thread.currentThread().getName(),
+                    k -> new CopyOnWriteArrayList<>()).add(ops.size());
+                ops.forEach(op -> ((Map<String, Object>) op.get("document")).put("transformed", true));
+                return ops;
+            };
+        };
+        var docs = IntStream.range(0, 10)
+            .mapToObj(i -> doc("d" + i, "{\"n\":" + i + "}"))
+            .collect(Collectors.toList());
+
+        try (var sink = new OpenSearchDocumentSink(client, transformerSupplier, 4, false,
+            DocumentExceptionAllowlist.empty(), null)) {
+            sink.writeBatch("idx", docs).block();
+        }
+
+        var sentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(client).sendBulkRequest(eq("idx"), sentCaptor.capture(), isNull(), eq(false), any());
+        var sent = (List<BulkOperationSpec>) sentCaptor.getValue();
+        assertEquals(docs.stream().map(Document::id).collect(Collectors.toList()),
+            sent.stream().map(op -> ((BaseMetadata) op.getOperation()).getId()).collect(Collectors.toList()));
+        sent.forEach(op -> assertEquals(true, op.getDocument().get("transformed")));
+        // each transformer call gets a contiguous slice of the batch, on a thread with its own transformer
+        assertEquals(4, sliceSizesByThread.size());
+        assertEquals(4, transformersCreated.get());
+        assertEquals(List.of(1, 3, 3, 3), sliceSizesByThread.values().stream()
+            .flatMap(List::stream).sorted().collect(Collectors.toList()));
+    }
+
     private static Document doc(String id, String json) {
         return new Document(id, json.getBytes(), Document.Operation.UPSERT, Map.of(), Map.of());
     }
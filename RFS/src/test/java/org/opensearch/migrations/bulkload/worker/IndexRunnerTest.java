@@ -0,0 +1,128 @@
+package org.opensearch.migrations.bulkload.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.opensearch.migrations.MigrationMode;
+import org.opensearch.migrations.bulkload.common.SnapshotRepo;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
+import org.opensearch.migrations.bulkload.transformers.Transformer;
+import org.opensearch.migrations.metadata.CreationResult;
+import org.opensearch.migrations.metadata.CreationResult.CreationFailureType;
+import org.opensearch.migrations.metadata.IndexCreator;
+import org.opensearch.migrations.metadata.MetadataFingerprintStore;
+import org.opensearch.migrations.metadata.MetadataFingerprints;
+import org.opensearch.migrations.metadata.tracing.IMetadataMigrationContexts.ICreateIndexContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class IndexRunnerTest {
+    private static final String SNAPSHOT_NAME = "snap";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final IndexMetadata.Factory metadataFactory = mock(IndexMetadata.Factory.class);
+    private final Transformer transformer = mock(Transformer.class);
+    private final List<String> indexNames = new ArrayList<>();
+
+    private void givenIndices(int count) {
+        var repoDataProvider = mock(SnapshotRepo.Provider.class);
+        var indices = new ArrayList<SnapshotRepo.Index>();
+        for (int i = 0; i < count; i++) {
+            var name = "index-" + i;
+            indexNames.add(name);
+            var index = mock(SnapshotRepo.Index.class);
+            doReturn(name).when(index).getName();
+            indices.add(index);
+        }
+        doReturn(indices).when(repoDataProvider).getIndicesInSnapshot(SNAPSHOT_NAME);
+        doReturn(repoDataProvider).when(metadataFactory).getRepoDataProvider();
+
+        doAnswer(invocation -> {
+            var metadata = mock(IndexMetadata.class);
+            doReturn(invocation.getArgument(1)).when(metadata).getName();
+            doReturn(MAPPER.createObjectNode()).when(metadata).getAliases();
+            doReturn(MAPPER.createObjectNode()).when(metadata).getRawJson();
+            doReturn(metadata).when(metadata).deepCopy();
+            return metadata;
+        }).when(metadataFactory).fromRepo(any(), anyString());
+        doAnswer(invocation -> List.of(invocation.getArgument(0))).when(transformer).transformIndexMetadata(any());
+    }
+
+    private IndexRunner createRunner(IndexCreator indexCreator, int concurrency) {
+        return new IndexRunner(SNAPSHOT_NAME, metadataFactory, indexCreator, transformer, List.of(), null,
+            concurrency, MetadataFingerprints.DISABLED);
+    }
+
+    @Test
+    void migrateIndices_keepsSnapshotOrderAndBoundsConcurrency() {
+        givenIndices(24);
+        var concurrency = 4;
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        var indexCreator = mock(IndexCreator.class);
+        doAnswer(invocation -> {
+            IndexMetadata index = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // earlier indices take longer, so they finish after the ones started alongside them
+                Thread.sleep(indexNames.size() - indexNames.indexOf(index.getName()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return CreationResult.builder().name(index.getName()).build();
+        }).when(indexCreator).create(any(), any(), any(), any());
+
+        var results = createRunner(indexCreator, concurrency)
+            .migrateIndices(MigrationMode.PERFORM, mock(ICreateIndexContext.class));
+
+        var resultNames = results.getIndexes().stream().map(CreationResult::getName).collect(Collectors.toList());
+        assertThat(resultNames, equalTo(indexNames));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(concurrency));
+        assertThat(maxInFlight.get(), greaterThan(1));
+    }
+
+    @Test
+    void migrateIndices_recreatesUnchangedIndexThatIsMissingFromTarget() {
+        givenIndices(2);
+        var store = mock(MetadataFingerprintStore.class);
+        var unchanged = MetadataFingerprints.fingerprint(MAPPER.createObjectNode());
+        doReturn(Map.of("index/index-0", unchanged, "index/index-1", unchanged)).when(store).load();
+        var fingerprints = MetadataFingerprints.load(store);
+
+        var indexCreator = mock(IndexCreator.class);
+        doReturn(true).when(indexCreator).indexExists("index-0");
+        doReturn(false).when(indexCreator).indexExists("index-1");
+        doReturn(CreationResult.builder().name("index-1").build()).when(indexCreator).create(any(), any(), any(), any());
+
+        var results = new IndexRunner(SNAPSHOT_NAME, metadataFactory, indexCreator, transformer, List.of(), null, 1,
+            fingerprints).migrateIndices(MigrationMode.PERFORM, mock(ICreateIndexContext.class));
+
+        assertThat(results.getIndexes().get(0).getFailureType(), equalTo(CreationFailureType.SKIPPED_UNCHANGED));
+        assertThat(results.getIndexes().get(1).wasSuccessful(), equalTo(true));
+        verify(indexCreator, times(1)).create(any(), any(), any(), any());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> createRunner(mock(IndexCreator.class), 0));
+    }
+}
@@ -0,0 +1,98 @@
+package org.opensearch.migrations.metadata;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MetadataFingerprintsTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static class InMemoryStore implements MetadataFingerprintStore {
+        final Map<String, String> stored = new HashMap<>();
+
+        @Override
+        public Map<String, String> load() {
+            return Map.copyOf(stored);
+        }
+
+        @Override
+        public void save(Map<String, String> fingerprintsByItemId) {
+            stored.putAll(fingerprintsByItemId);
+        }
+    }
+
+    @Test
+    void testFingerprintIgnoresKeyOrder() throws Exception {
+        var a = MAPPER.readTree("{\"settings\":{\"b\":1,\"a\":2},\"mappings\":{}}");
+        var b = MAPPER.readTree("{\"mappings\":{},\"settings\":{\"a\":2,\"b\":1}}");
+        var c = MAPPER.readTree("{\"mappings\":{},\"settings\":{\"a\":2,\"b\":3}}");
+
+        assertThat(MetadataFingerprints.fingerprint(a), equalTo(MetadataFingerprints.fingerprint(b)));
+        assertThat(MetadataFingerprints.fingerprint(a), not(equalTo(MetadataFingerprints.fingerprint(c))));
+    }
+
+    @Test
+    void testCreatedItemsAreUnchangedOnNextRun() throws Exception {
+        var store = new InMemoryStore();
+        var body = MAPPER.readTree("{\"settings\":{\"number_of_shards\":1}}");
+        var changedBody = MAPPER.readTree("{\"settings\":{\"number_of_shards\":2}}");
+
+        var firstRun = MetadataFingerprints.load(store);
+        var fingerprint = firstRun.fingerprintIfEnabled(body);
+        assertThat(firstRun.isUnchanged("index", "idx", fingerprint, () -> true), is(false));
+        firstRun.recordCreated("index", "idx", fingerprint);
+        firstRun.save();
+
+        var secondRun = MetadataFingerprints.load(store);
+        assertThat(secondRun.isUnchanged("index", "idx", secondRun.fingerprintIfEnabled(body), () -> true), is(true));
+        assertThat(secondRun.isUnchanged("index", "idx", secondRun.fingerprintIfEnabled(changedBody), () -> true), is(false));
+        assertThat(secondRun.isUnchanged("INDEX_TEMPLATE", "idx", secondRun.fingerprintIfEnabled(body), () -> true), is(false));
+    }
+
+    @Test
+    void testItemMissingFromTargetIsNotUnchanged() throws Exception {
+        var store = new InMemoryStore();
+        var body = MAPPER.readTree("{\"settings\":{\"number_of_shards\":1}}");
+        var firstRun = MetadataFingerprints.load(store);
+        firstRun.recordCreated("index", "idx", firstRun.fingerprintIfEnabled(body));
+        firstRun.save();
+
+        var secondRun = MetadataFingerprints.load(store);
+        assertThat(secondRun.isUnchanged("index", "idx", secondRun.fingerprintIfEnabled(body), () -> false), is(false));
+    }
+
+    @Test
+    void testDisabledNeverSkips() throws Exception {
+        var body = MAPPER.readTree("{}");
+        var disabled = MetadataFingerprints.DISABLED;
+        var fingerprint = disabled.fingerprintIfEnabled(body);
+
+        disabled.recordCreated("index", "idx", fingerprint);
+        disabled.save();
+        assertThat(disabled.isUnchanged("index", "idx", fingerprint, () -> true), is(false));
+    }
+
+    @Test
+    void testLoadFailureFallsBackToFullMigration() throws Exception {
+        var store = new InMemoryStore() {
+            @Override
+            public Map<String, String> load() {
+                throw new IllegalStateException("target unavailable");
+            }
+        };
+        var fingerprints = MetadataFingerprints.load(store);
+        var fingerprint = fingerprints.fingerprintIfEnabled(MAPPER.readTree("{}"));
+
+        assertThat(fingerprints.isUnchanged("index", "idx", fingerprint, () -> true), is(false));
+        fingerprints.recordCreated("index", "idx", fingerprint);
+        fingerprints.save();
+        assertThat(store.stored.size(), equalTo(1));
+    }
+}
@@ -0,0 +1,46 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.BulkNdjson;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures encoding a batch of {@link Document}s into the NDJSON body of a bulk request via
+ * {@link BulkNdjson#toRawNdjsonBytes}.  Batches are sized so every parameterization encodes about
+ * the same number of bytes, which keeps the per-op scores comparable across doc sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkNdjsonBenchmark {
+
+    @Param({"1024", "10240", "1048576"})
+    public int docSizeBytes;
+
+    private final ObjectMapper mapper = ObjectMapperFactory.createDefaultMapper();
+    private List<Document> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batch = SyntheticDocs.documents(SyntheticDocs.docsPerBatch(docSizeBytes), docSizeBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeBatch() {
+        return BulkNdjson.toRawNdjsonBytes(batch, "benchmark-index", false, mapper);
+    }
+}
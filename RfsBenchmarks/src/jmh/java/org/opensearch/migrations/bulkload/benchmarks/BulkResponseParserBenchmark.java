@@ -0,0 +1,69 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
+import org.opensearch.migrations.bulkload.http.BulkRequestGenerator;
+import org.opensearch.migrations.bulkload.http.BulkRequestGenerator.BulkItemResponseEntry;
+import org.opensearch.migrations.parsing.BulkResponseParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures scanning a bulk response for per-item outcomes.  Responses are generated with
+ * {@link BulkRequestGenerator} (the same fixture the unit tests use) with a configurable share of
+ * failed items, since failures carry a nested error object that the parser has to walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkResponseParserBenchmark {
+
+    @Param({"100", "1000"})
+    public int itemCount;
+
+    @Param({"0", "10", "50"})
+    public int failurePercent;
+
+    private String bulkResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(22L);
+        var items = new ArrayList<BulkItemResponseEntry>(itemCount);
+        boolean anyFailures = false;
+        for (int i = 0; i < itemCount; i++) {
+            var docId = "doc-" + i;
+            if (random.nextInt(100) < failurePercent) {
+                items.add(BulkRequestGenerator.itemEntryFailure(docId));
+                anyFailures = true;
+            } else {
+                items.add(BulkRequestGenerator.itemEntry(docId));
+            }
+        }
+        bulkResponse = BulkRequestGenerator.bulkItemResponse(anyFailures, items);
+    }
+
+    @Benchmark
+    public List<String> findSuccessDocs() throws IOException {
+        return BulkResponseParser.findSuccessDocs(bulkResponse);
+    }
+
+    @Benchmark
+    public BitSet getFailedPositions() {
+        return BulkResponseParser.getFailedPositions(bulkResponse, DocumentExceptionAllowlist.empty());
+    }
+}
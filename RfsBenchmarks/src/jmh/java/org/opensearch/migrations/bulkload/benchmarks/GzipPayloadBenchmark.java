@@ -0,0 +1,57 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.BulkNdjson;
+import org.opensearch.migrations.bulkload.common.http.GzipPayloadRequestTransformer;
+import org.opensearch.migrations.bulkload.common.http.TransformedRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures request-body compression through {@link GzipPayloadRequestTransformer}, the same
+ * transformer the {@code RestClient} applies when bulk compression is enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GzipPayloadBenchmark {
+
+    private static final Map<String, List<String>> GZIP_HEADERS = Map.of(
+        GzipPayloadRequestTransformer.CONTENT_ENCODING_HEADER_NAME,
+        List.of(GzipPayloadRequestTransformer.GZIP_CONTENT_ENCODING_HEADER_VALUE)
+    );
+
+    @Param({"1024", "10240", "1048576"})
+    public int docSizeBytes;
+
+    private final GzipPayloadRequestTransformer transformer = new GzipPayloadRequestTransformer();
+    private byte[] bulkBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var batch = SyntheticDocs.documents(SyntheticDocs.docsPerBatch(docSizeBytes), docSizeBytes);
+        bulkBody = BulkNdjson.toRawNdjsonBytes(batch, "benchmark-index", false,
+            ObjectMapperFactory.createDefaultMapper());
+    }
+
+    @Benchmark
+    public ByteBuffer gzipBulkBody() {
+        return transformer.transform("POST", "/_bulk", GZIP_HEADERS, Mono.just(ByteBuffer.wrap(bulkBody)))
+            .flatMap(TransformedRequest::getBody)
+            .block();
+    }
+}
@@ -0,0 +1,75 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.BulkNdjson;
+import org.opensearch.migrations.bulkload.common.http.GzipPayloadRequestTransformer;
+import org.opensearch.migrations.bulkload.common.http.TransformedRequest;
+import org.opensearch.migrations.bulkload.http.BulkRequestGenerator;
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
+import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+import org.opensearch.migrations.bulkload.pipeline.sink.DocumentSink;
+import org.opensearch.migrations.parsing.BulkResponseParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link DocumentSink} that performs all of the CPU work of the OpenSearch sink — NDJSON encoding,
+ * optional gzip, and bulk-response scanning — against an all-success response generated in
+ * memory, so end-to-end pipeline benchmarks are not bounded by a network or a live cluster.
+ */
+public class InMemoryDocumentSink implements DocumentSink {
+    private static final Map<String, List<String>> GZIP_HEADERS = Map.of(
+        GzipPayloadRequestTransformer.CONTENT_ENCODING_HEADER_NAME,
+        List.of(GzipPayloadRequestTransformer.GZIP_CONTENT_ENCODING_HEADER_VALUE)
+    );
+
+    private final ObjectMapper mapper = ObjectMapperFactory.createDefaultMapper();
+    private final GzipPayloadRequestTransformer gzipTransformer = new GzipPayloadRequestTransformer();
+    private final boolean compress;
+
+    @Getter
+    private final AtomicLong wireBytes = new AtomicLong();
+    @Getter
+    private final AtomicLong acknowledgedDocs = new AtomicLong();
+
+    public InMemoryDocumentSink(boolean compress) {
+        this.compress = compress;
+    }
+
+    @Override
+    public Mono<Void> createCollection(CollectionMetadata metadata) {
+        return Mono.empty();
+    }
+
+    @Override
+    @SneakyThrows
+    public Mono<BatchResult> writeBatch(String collectionName, List<Document> batch) {
+        var body = ByteBuffer.wrap(BulkNdjson.toRawNdjsonBytes(batch, collectionName, false, mapper));
+        if (compress) {
+            body = gzipTransformer.transform("POST", "/_bulk", GZIP_HEADERS, Mono.just(body))
+                .flatMap(TransformedRequest::getBody)
+                .block();
+        }
+        wireBytes.addAndGet(body.remaining());
+
+        var items = new ArrayList<BulkRequestGenerator.BulkItemResponseEntry>(batch.size());
+        for (var doc : batch) {
+            items.add(BulkRequestGenerator.itemEntry(doc.id()));
+        }
+        var acknowledged = BulkResponseParser.findSuccessDocs(BulkRequestGenerator.bulkItemResponse(false, items));
+        acknowledgedDocs.addAndGet(acknowledged.size());
+
+        long bytesInBatch = batch.stream().mapToLong(Document::sourceLength).sum();
+        return Mono.just(new BatchResult(batch.size(), bytesInBatch));
+    }
+}
@@ -0,0 +1,103 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.opensearch.migrations.Version;
+import org.opensearch.migrations.bulkload.common.FileSystemRepo;
+import org.opensearch.migrations.bulkload.common.SnapshotShardUnpacker;
+import org.opensearch.migrations.bulkload.common.SourceRepoAccessor;
+import org.opensearch.migrations.bulkload.common.TestResources;
+import org.opensearch.migrations.bulkload.lucene.LuceneIndexReader;
+import org.opensearch.migrations.bulkload.lucene.LuceneReader;
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+import org.opensearch.migrations.bulkload.pipeline.adapter.LuceneAdapter;
+import org.opensearch.migrations.cluster.SnapshotReaderRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures reading every live document of a shard from an unpacked snapshot and converting it to
+ * the pipeline IR via {@link LuceneAdapter}.  Uses the small update/delete snapshots that the
+ * reader unit tests already rely on, so the numbers track per-document overhead (segment setup,
+ * stored-field decoding, live-docs filtering) rather than raw disk throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LuceneReadBenchmark {
+    private static final String INDEX_NAME = "test_updates_deletes";
+
+    @Param({"ES_6_8", "ES_7_10_W_SOFT", "ES_7_10_WO_SOFT"})
+    public String snapshotFixture;
+
+    private final LuceneAdapter adapter = new LuceneAdapter(true);
+    private Path unpackDir;
+    private LuceneIndexReader indexReader;
+    private String segmentsFileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        TestResources.Snapshot snapshot;
+        Version version;
+        switch (snapshotFixture) {
+            case "ES_6_8" -> {
+                snapshot = TestResources.SNAPSHOT_ES_6_8;
+                version = Version.fromString("ES 6.8");
+            }
+            case "ES_7_10_W_SOFT" -> {
+                snapshot = TestResources.SNAPSHOT_ES_7_10_W_SOFT;
+                version = Version.fromString("ES 7.10");
+            }
+            case "ES_7_10_WO_SOFT" -> {
+                snapshot = TestResources.SNAPSHOT_ES_7_10_WO_SOFT;
+                version = Version.fromString("ES 7.10");
+            }
+            default -> throw new IllegalArgumentException("Unknown snapshot fixture: " + snapshotFixture);
+        }
+
+        var repo = new FileSystemRepo(snapshot.dir, SnapshotReaderRegistry.getSnapshotFileFinder(version, true));
+        var snapshotReader = SnapshotReaderRegistry.getSnapshotReader(version, repo, false);
+        var shardMetadata = snapshotReader.getShardMetadata().fromRepo(snapshot.name, INDEX_NAME, 0);
+
+        var filesToUnpack = new TreeSet<ShardFileInfo>(Comparator.comparing(ShardFileInfo::key));
+        filesToUnpack.addAll(shardMetadata.getFiles());
+        unpackDir = Files.createTempDirectory("rfs-benchmark-");
+        var luceneDir = new SnapshotShardUnpacker.Factory(new SourceRepoAccessor(repo), unpackDir)
+            .create(filesToUnpack, INDEX_NAME, shardMetadata.getIndexId(), 0)
+            .unpack();
+
+        indexReader = new LuceneIndexReader.Factory(snapshotReader).getReader(luceneDir);
+        segmentsFileName = shardMetadata.getSegmentFileName();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(unpackDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long readShardToDocuments() {
+        var count = LuceneReader.streamDocumentChanges(indexReader, segmentsFileName)
+            .map(adapter::fromLucene)
+            .count()
+            .block();
+        return count != null ? count : 0;
+    }
+}
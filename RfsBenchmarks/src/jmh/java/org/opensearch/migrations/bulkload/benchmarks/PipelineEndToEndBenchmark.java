@@ -0,0 +1,100 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.opensearch.migrations.bulkload.pipeline.DocumentMigrationPipeline;
+import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+import org.opensearch.migrations.bulkload.pipeline.model.Partition;
+import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs the full {@link DocumentMigrationPipeline} (batching, bounded concurrency, progress
+ * tracking) from a pre-materialized in-memory source into an {@link InMemoryDocumentSink}.  The
+ * score is the time to migrate roughly 16 MB per partition, so
+ * comparing doc sizes shows how much of the cost is per-document rather than per-byte.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineEndToEndBenchmark {
+    private static final String COLLECTION = "benchmark-index";
+    private static final int PARTITIONS = 4;
+    private static final int BYTES_PER_PARTITION = 16 * 1024 * 1024;
+
+    @Param({"1024", "10240", "1048576"})
+    public int docSizeBytes;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    private List<List<Document>> partitionDocs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int docsPerPartition = Math.max(1, BYTES_PER_PARTITION / docSizeBytes);
+        var docs = SyntheticDocs.documents(docsPerPartition, docSizeBytes);
+        partitionDocs = IntStream.range(0, PARTITIONS).mapToObj(i -> docs).toList();
+    }
+
+    @Benchmark
+    public long migrateAll() {
+        var sink = new InMemoryDocumentSink(compress);
+        var pipeline = new DocumentMigrationPipeline(
+            new PreloadedSource(partitionDocs),
+            sink,
+            SyntheticDocs.docsPerBatch(docSizeBytes),
+            SyntheticDocs.TARGET_BATCH_BYTES,
+            PARTITIONS,
+            10
+        );
+        pipeline.migrateAll().blockLast();
+        return sink.getWireBytes().get();
+    }
+
+    private record PreloadedPartition(String collectionName, int index) implements Partition {
+        @Override
+        public String name() {
+            return "preloaded/" + collectionName + "/" + index;
+        }
+    }
+
+    private record PreloadedSource(List<List<Document>> partitionDocs) implements DocumentSource {
+        @Override
+        public List<String> listCollections() {
+            return List.of(COLLECTION);
+        }
+
+        @Override
+        public List<Partition> listPartitions(String collectionName) {
+            return IntStream.range(0, partitionDocs.size())
+                .mapToObj(i -> (Partition) new PreloadedPartition(collectionName, i))
+                .toList();
+        }
+
+        @Override
+        public CollectionMetadata readCollectionMetadata(String collectionName) {
+            return new CollectionMetadata(collectionName, partitionDocs.size(), Map.of());
+        }
+
+        @Override
+        public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+            var docs = partitionDocs.get(((PreloadedPartition) partition).index());
+            return Flux.fromIterable(docs.subList((int) startingDocOffset, docs.size()));
+        }
+    }
+}
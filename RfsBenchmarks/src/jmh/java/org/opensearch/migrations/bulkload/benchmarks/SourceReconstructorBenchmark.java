@@ -0,0 +1,143 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.bulkload.lucene.BitSetConverter;
+import org.opensearch.migrations.bulkload.lucene.DocValueFieldInfo;
+import org.opensearch.migrations.bulkload.lucene.LuceneDocument;
+import org.opensearch.migrations.bulkload.lucene.LuceneField;
+import org.opensearch.migrations.bulkload.lucene.LuceneLeafReader;
+import org.opensearch.migrations.bulkload.lucene.SourceReconstructor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link SourceReconstructor#reconstructSource} for a document without {@code _source},
+ * half of whose fields are recovered from stored fields and half from doc_values.
+ *
+ * <p>The leaf reader is an in-memory stand-in so the score reflects reconstruction work (field
+ * walking, nesting, type coercion, JSON serialization) rather than Lucene codec I/O, which
+ * {@link LuceneReadBenchmark} covers separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SourceReconstructorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private LuceneLeafReader reader;
+    private LuceneDocument document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var storedFields = new ArrayList<LuceneField>();
+        var docValueFields = new ArrayList<DocValueFieldInfo>();
+        for (int i = 0; i < fieldCount; i++) {
+            if (i % 2 == 0) {
+                storedFields.add(i % 4 == 0
+                    ? new StoredField("stored_str_" + i, "value number " + i, null)
+                    : new StoredField("stored_num_" + i, null, (long) i * 31));
+            } else {
+                docValueFields.add(new DocValueFieldInfo.Simple(
+                    (i % 4 == 1 ? "dv_num_" : "dv_kw_") + i,
+                    i % 4 == 1 ? DocValueFieldInfo.DocValueType.NUMERIC : DocValueFieldInfo.DocValueType.SORTED,
+                    false
+                ));
+            }
+        }
+        document = () -> storedFields;
+        reader = new InMemoryLeafReader(docValueFields);
+    }
+
+    @Benchmark
+    public String reconstructSource() {
+        return SourceReconstructor.reconstructSource(reader, 0, document, null);
+    }
+
+    private record StoredField(String name, String stringValue, Number numericValue) implements LuceneField {
+        @Override
+        public String asUid() {
+            return null;
+        }
+
+        @Override
+        public byte[] utf8Value() {
+            return null;
+        }
+
+        @Override
+        public String utf8ToStringValue() {
+            return null;
+        }
+    }
+
+    private static final class InMemoryLeafReader implements LuceneLeafReader {
+        private final List<DocValueFieldInfo> docValueFields;
+
+        InMemoryLeafReader(List<DocValueFieldInfo> docValueFields) {
+            this.docValueFields = docValueFields;
+        }
+
+        @Override
+        public LuceneDocument document(int luceneDocId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BitSetConverter.FixedLengthBitSet getLiveDocs() {
+            return null;
+        }
+
+        @Override
+        public int maxDoc() {
+            return 1;
+        }
+
+        @Override
+        public String getContextString() {
+            return "in-memory";
+        }
+
+        @Override
+        public String getSegmentName() {
+            return "_0";
+        }
+
+        @Override
+        public String getSegmentInfoString() {
+            return "in-memory";
+        }
+
+        @Override
+        public LuceneLeafReader newView() {
+            return this;
+        }
+
+        @Override
+        public Iterable<DocValueFieldInfo> getDocValueFields() {
+            return docValueFields;
+        }
+
+        @Override
+        public Object getNumericValue(int docId, String fieldName) {
+            return (long) fieldName.length() * 1_000L + docId;
+        }
+
+        @Override
+        public Object getSortedValue(int docId, String fieldName) {
+            return "kw-" + fieldName;
+        }
+    }
+}
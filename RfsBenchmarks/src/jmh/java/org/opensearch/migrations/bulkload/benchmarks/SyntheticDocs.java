@@ -0,0 +1,64 @@
+package org.opensearch.migrations.bulkload.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Deterministic synthetic JSON documents used as benchmark fixtures.  Bodies look like typical
+ * log/catalog documents (a handful of short keyword/numeric fields followed by free text) and are
+ * padded to approximately the requested size so that stage costs can be compared at 1 KB, 10 KB
+ * and 1 MB per document.
+ */
+@UtilityClass
+public class SyntheticDocs {
+    public static final int SIZE_1KB = 1024;
+    public static final int SIZE_10KB = 10 * 1024;
+    public static final int SIZE_1MB = 1024 * 1024;
+
+    /** Roughly the byte budget of a default RFS bulk request; used to size batches per doc size. */
+    public static final int TARGET_BATCH_BYTES = 10 * 1024 * 1024;
+
+    private static final String[] WORDS = {
+        "migration", "snapshot", "shard", "segment", "cluster", "document", "replica", "index",
+        "opensearch", "lucene", "mapping", "field", "keyword", "analyzer", "token", "bulk"
+    };
+
+    public static int docsPerBatch(int docSizeBytes) {
+        return Math.max(1, Math.min(1000, TARGET_BATCH_BYTES / docSizeBytes));
+    }
+
+    public static byte[] jsonBody(int docNum, int targetSizeBytes) {
+        var random = new Random(docNum);
+        var sb = new StringBuilder(targetSizeBytes + 64);
+        sb.append("{\"id\":").append(docNum)
+            .append(",\"category\":\"").append(WORDS[random.nextInt(WORDS.length)]).append('"')
+            .append(",\"price\":").append(random.nextInt(100_000) / 100.0)
+            .append(",\"in_stock\":").append(random.nextBoolean())
+            .append(",\"tags\":[\"").append(WORDS[random.nextInt(WORDS.length)])
+            .append("\",\"").append(WORDS[random.nextInt(WORDS.length)]).append("\"]")
+            .append(",\"description\":\"");
+        while (sb.length() < targetSizeBytes - 2) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        sb.append("\"}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Document document(int docNum, int targetSizeBytes) {
+        return new Document("doc-" + docNum, jsonBody(docNum, targetSizeBytes), Document.Operation.UPSERT);
+    }
+
+    public static List<Document> documents(int count, int targetSizeBytes) {
+        var docs = new ArrayList<Document>(count);
+        for (int i = 0; i < count; i++) {
+            docs.add(document(i, targetSizeBytes));
+        }
+        return docs;
+    }
+}
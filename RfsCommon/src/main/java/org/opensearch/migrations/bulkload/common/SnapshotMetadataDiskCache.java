@@ -0,0 +1,129 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk cache of decoded snapshot metadata blobs, shared by every worker process that points at the same directory.
+ *
+ * <p>Entries hold the metadata tree after checksum validation, decompression and SMILE/JSON decoding, re-encoded as
+ * plain SMILE, so a hit costs one small local file read instead of a repository download plus decode. Entries are
+ * keyed by repository and snapshot UUID; a snapshot's metadata never changes once written, so entries never need
+ * invalidation. Callers must only use the cache for snapshots that have a real UUID: older formats identify a
+ * snapshot by its name, which is reused when a snapshot is deleted and taken again. The directory layout carries a
+ * format version so that an incompatible change can coexist with older entries.
+ *
+ * <p>Writes go to a temporary file that is atomically moved into place, so concurrent workers either see a complete
+ * entry or none. Unreadable entries are treated as misses and rewritten.
+ */
+@Slf4j
+public class SnapshotMetadataDiskCache {
+    static final String FORMAT_VERSION = "v2";
+    private static final String FILE_SUFFIX = ".smile";
+    private static final int MAX_STRING_LENGTH = 100 * 1024 * 1024; // matches ObjectMapperFactory
+
+    private final Path repositoryRoot;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * @param repositoryId identifies the snapshot repository (e.g. its S3 URI or absolute path) so that repositories
+     *                     sharing a cache directory never see each other's entries
+     */
+    public SnapshotMetadataDiskCache(Path cacheRoot, String repositoryId) {
+        this.repositoryRoot = cacheRoot.resolve(FORMAT_VERSION).resolve(hashRepositoryId(repositoryId));
+        var smileFactory = SmileFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder()
+                .maxStringLength(MAX_STRING_LENGTH)
+                .maxNameLength(MAX_STRING_LENGTH)
+                .build())
+            .build();
+        this.smileMapper = new ObjectMapper(smileFactory);
+    }
+
+    /**
+     * The id to cache a snapshot's entries under, or empty when the repository format has no snapshot UUID (ES 1.x and
+     * 2.x, where the id is the name) and the snapshot's metadata must not be cached.
+     */
+    public static Optional<String> cacheableSnapshotId(SnapshotRepo.Provider repoDataProvider, String snapshotName) {
+        return Optional.ofNullable(repoDataProvider.getSnapshotId(snapshotName))
+            .filter(snapshotId -> !snapshotId.equals(snapshotName));
+    }
+
+    public Optional<JsonNode> getIndexMetadata(String snapshotId, String indexId) {
+        return read(indexMetadataPath(snapshotId, indexId));
+    }
+
+    public void putIndexMetadata(String snapshotId, String indexId, JsonNode root) {
+        write(indexMetadataPath(snapshotId, indexId), root);
+    }
+
+    public Optional<JsonNode> getShardMetadata(String snapshotId, String indexId, int shardId) {
+        return read(shardMetadataPath(snapshotId, indexId, shardId));
+    }
+
+    public void putShardMetadata(String snapshotId, String indexId, int shardId, JsonNode root) {
+        write(shardMetadataPath(snapshotId, indexId, shardId), root);
+    }
+
+    private static String hashRepositoryId(String repositoryId) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(repositoryId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path indexMetadataPath(String snapshotId, String indexId) {
+        return repositoryRoot.resolve(snapshotId).resolve("indices").resolve(indexId + FILE_SUFFIX);
+    }
+
+    private Path shardMetadataPath(String snapshotId, String indexId, int shardId) {
+        return repositoryRoot.resolve(snapshotId).resolve("shards").resolve(indexId).resolve(shardId + FILE_SUFFIX);
+    }
+
+    private Optional<JsonNode> read(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(smileMapper.readTree(path.toFile()));
+        } catch (IOException e) {
+            log.atWarn().setCause(e).setMessage("Ignoring unreadable snapshot metadata cache entry {}").addArgument(path).log();
+            return Optional.empty();
+        }
+    }
+
+    private void write(Path path, JsonNode root) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            smileMapper.writeValue(tempFile.toFile(), root);
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // The cache is only an optimization; the caller already has the metadata it needs.
+            log.atWarn().setCause(e).setMessage("Unable to write snapshot metadata cache entry {}").addArgument(path).log();
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Best effort cleanup
+                }
+            }
+        }
+    }
+}
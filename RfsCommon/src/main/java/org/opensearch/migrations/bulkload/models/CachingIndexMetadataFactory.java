@@ -0,0 +1,57 @@
+package org.opensearch.migrations.bulkload.models;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensearch.migrations.bulkload.common.SnapshotRepo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Wraps an {@link IndexMetadata.Factory} so that each index's metadata blob is read and parsed at
+ * most once for the lifetime of this instance. Intended to be scoped to a single metadata
+ * migration run, where the same index is otherwise looked up several times (sourceless
+ * validation, index creation, alias reporting).
+ *
+ * <p>Cached instances are shared between callers: anything that mutates the returned metadata
+ * (e.g. transformers) must operate on {@link IndexMetadata#deepCopy()}.
+ */
+public class CachingIndexMetadataFactory implements IndexMetadata.Factory {
+    private final IndexMetadata.Factory delegate;
+    private final Map<CacheKey, IndexMetadata> cache = new ConcurrentHashMap<>();
+
+    private record CacheKey(String snapshotName, String indexName) {}
+
+    public CachingIndexMetadataFactory(IndexMetadata.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public IndexMetadata fromRepo(String snapshotName, String indexName) {
+        return cache.computeIfAbsent(
+            new CacheKey(snapshotName, indexName),
+            key -> delegate.fromRepo(key.snapshotName(), key.indexName())
+        );
+    }
+
+    @Override
+    public IndexMetadata fromJsonNode(JsonNode root, String indexId, String indexName) {
+        return delegate.fromJsonNode(root, indexId, indexName);
+    }
+
+    @Override
+    public SmileFactory getSmileFactory() {
+        return delegate.getSmileFactory();
+    }
+
+    @Override
+    public String getIndexFileId(String snapshotName, String indexName) {
+        return delegate.getIndexFileId(snapshotName, indexName);
+    }
+
+    @Override
+    public SnapshotRepo.Provider getRepoDataProvider() {
+        return delegate.getRepoDataProvider();
+    }
+}
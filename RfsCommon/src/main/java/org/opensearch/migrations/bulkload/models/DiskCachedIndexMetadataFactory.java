@@ -0,0 +1,70 @@
+package org.opensearch.migrations.bulkload.models;
+
+import org.opensearch.migrations.bulkload.common.SnapshotMetadataDiskCache;
+import org.opensearch.migrations.bulkload.common.SnapshotRepo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Wraps an {@link IndexMetadata.Factory} so that decoded index metadata is read from, and saved to, a
+ * {@link SnapshotMetadataDiskCache} shared across processes. Each call still builds a fresh {@link IndexMetadata}
+ * from the cached tree, so callers may mutate what they get back.
+ *
+ * <p>Snapshots without a UUID are passed straight through to the delegate, including its own {@code fromRepo}, so
+ * factories that do not read a metadata blob (e.g. Solr backups) are unaffected.
+ */
+public class DiskCachedIndexMetadataFactory implements IndexMetadata.Factory {
+    private final IndexMetadata.Factory delegate;
+    private final SnapshotMetadataDiskCache cache;
+
+    public DiskCachedIndexMetadataFactory(IndexMetadata.Factory delegate, SnapshotMetadataDiskCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public IndexMetadata fromRepo(String snapshotName, String indexName) {
+        if (SnapshotMetadataDiskCache.cacheableSnapshotId(getRepoDataProvider(), snapshotName).isEmpty()) {
+            return delegate.fromRepo(snapshotName, indexName);
+        }
+        String indexId = getRepoDataProvider().getIndexId(indexName);
+        return fromJsonNode(readJsonNode(snapshotName, indexName), indexId, indexName);
+    }
+
+    @Override
+    public JsonNode readJsonNode(String snapshotName, String indexName) {
+        var repoDataProvider = getRepoDataProvider();
+        var cacheableSnapshotId = SnapshotMetadataDiskCache.cacheableSnapshotId(repoDataProvider, snapshotName);
+        if (cacheableSnapshotId.isEmpty()) {
+            return delegate.readJsonNode(snapshotName, indexName);
+        }
+        String snapshotId = cacheableSnapshotId.get();
+        String indexId = repoDataProvider.getIndexId(indexName);
+        return cache.getIndexMetadata(snapshotId, indexId).orElseGet(() -> {
+            var root = delegate.readJsonNode(snapshotName, indexName);
+            cache.putIndexMetadata(snapshotId, indexId, root);
+            return root;
+        });
+    }
+
+    @Override
+    public IndexMetadata fromJsonNode(JsonNode root, String indexId, String indexName) {
+        return delegate.fromJsonNode(root, indexId, indexName);
+    }
+
+    @Override
+    public SmileFactory getSmileFactory() {
+        return delegate.getSmileFactory();
+    }
+
+    @Override
+    public String getIndexFileId(String snapshotName, String indexName) {
+        return delegate.getIndexFileId(snapshotName, indexName);
+    }
+
+    @Override
+    public SnapshotRepo.Provider getRepoDataProvider() {
+        return delegate.getRepoDataProvider();
+    }
+}
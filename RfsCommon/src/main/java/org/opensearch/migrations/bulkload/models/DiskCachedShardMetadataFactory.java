@@ -0,0 +1,62 @@
+package org.opensearch.migrations.bulkload.models;
+
+import org.opensearch.migrations.bulkload.common.SnapshotMetadataDiskCache;
+import org.opensearch.migrations.bulkload.common.SnapshotRepo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Wraps a {@link ShardMetadata.Factory} so that decoded shard metadata, including the shard's file list, is read
+ * from, and saved to, a {@link SnapshotMetadataDiskCache} shared across processes. Snapshots without a UUID are
+ * passed straight through to the delegate.
+ */
+public class DiskCachedShardMetadataFactory implements ShardMetadata.Factory {
+    private final ShardMetadata.Factory delegate;
+    private final SnapshotMetadataDiskCache cache;
+
+    public DiskCachedShardMetadataFactory(ShardMetadata.Factory delegate, SnapshotMetadataDiskCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ShardMetadata fromRepo(String snapshotName, String indexName, int shardId) {
+        if (SnapshotMetadataDiskCache.cacheableSnapshotId(getRepoDataProvider(), snapshotName).isEmpty()) {
+            return delegate.fromRepo(snapshotName, indexName, shardId);
+        }
+        String indexId = getRepoDataProvider().getIndexId(indexName);
+        return fromJsonNode(readJsonNode(snapshotName, indexName, shardId), indexId, indexName, shardId);
+    }
+
+    @Override
+    public JsonNode readJsonNode(String snapshotName, String indexName, int shardId) {
+        var repoDataProvider = getRepoDataProvider();
+        var cacheableSnapshotId = SnapshotMetadataDiskCache.cacheableSnapshotId(repoDataProvider, snapshotName);
+        if (cacheableSnapshotId.isEmpty()) {
+            return delegate.readJsonNode(snapshotName, indexName, shardId);
+        }
+        String snapshotId = cacheableSnapshotId.get();
+        String indexId = repoDataProvider.getIndexId(indexName);
+        return cache.getShardMetadata(snapshotId, indexId, shardId).orElseGet(() -> {
+            var root = delegate.readJsonNode(snapshotName, indexName, shardId);
+            cache.putShardMetadata(snapshotId, indexId, shardId, root);
+            return root;
+        });
+    }
+
+    @Override
+    public ShardMetadata fromJsonNode(JsonNode root, String indexId, String indexName, int shardId) {
+        return delegate.fromJsonNode(root, indexId, indexName, shardId);
+    }
+
+    @Override
+    public SmileFactory getSmileFactory() {
+        return delegate.getSmileFactory();
+    }
+
+    @Override
+    public SnapshotRepo.Provider getRepoDataProvider() {
+        return delegate.getRepoDataProvider();
+    }
+}
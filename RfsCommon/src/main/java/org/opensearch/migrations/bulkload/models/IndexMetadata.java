@@ -165,13 +165,18 @@ public interface IndexMetadata extends Index {
         }
 
         default IndexMetadata fromRepo(String snapshotName, String indexName) {
-            SmileFactory smileFactory = getSmileFactory();
             String indexId = getRepoDataProvider().getIndexId(indexName);
-            String indexFileId = getIndexFileId(snapshotName, indexName);
-            JsonNode root = getJsonNode(indexId, indexFileId, smileFactory);
+            JsonNode root = readJsonNode(snapshotName, indexName);
             return fromJsonNode(root, indexId, indexName);
         }
 
+        /** Reads and decodes the index metadata blob into the tree that {@link #fromJsonNode} expects */
+        default JsonNode readJsonNode(String snapshotName, String indexName) {
+            String indexId = getRepoDataProvider().getIndexId(indexName);
+            String indexFileId = getIndexFileId(snapshotName, indexName);
+            return getJsonNode(indexId, indexFileId, getSmileFactory());
+        }
+
         // Version-specific implementation
         IndexMetadata fromJsonNode(JsonNode root, String indexId, String indexName);
 
@@ -76,13 +76,18 @@ public interface ShardMetadata {
         }
 
         default ShardMetadata fromRepo(String snapshotName, String indexName, int shardId) {
-            SmileFactory smileFactory = getSmileFactory();
-            String snapshotId = getRepoDataProvider().getSnapshotId(snapshotName);
             String indexId = getRepoDataProvider().getIndexId(indexName);
-            JsonNode root = getJsonNode(snapshotId, indexId, shardId, smileFactory);
+            JsonNode root = readJsonNode(snapshotName, indexName, shardId);
             return fromJsonNode(root, indexId, indexName, shardId);
         }
 
+        /** Reads and decodes the shard metadata blob into the tree that {@link #fromJsonNode} expects */
+        default JsonNode readJsonNode(String snapshotName, String indexName, int shardId) {
+            String snapshotId = getRepoDataProvider().getSnapshotId(snapshotName);
+            String indexId = getRepoDataProvider().getIndexId(indexName);
+            return getJsonNode(snapshotId, indexId, shardId, getSmileFactory());
+        }
+
         // Version-specific implementation
         public ShardMetadata fromJsonNode(JsonNode root, String indexId, String indexName, int shardId);
 
@@ -0,0 +1,94 @@
+package org.opensearch.migrations.cluster;
+
+import org.opensearch.migrations.Version;
+import org.opensearch.migrations.bulkload.common.SnapshotFileFinder;
+import org.opensearch.migrations.bulkload.common.SnapshotMetadataDiskCache;
+import org.opensearch.migrations.bulkload.common.SourceRepo;
+import org.opensearch.migrations.bulkload.models.DiskCachedIndexMetadataFactory;
+import org.opensearch.migrations.bulkload.models.DiskCachedShardMetadataFactory;
+import org.opensearch.migrations.bulkload.models.GlobalMetadata;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
+import org.opensearch.migrations.bulkload.models.ShardMetadata;
+
+/**
+ * An already-initialized {@link ClusterSnapshotReader} whose index and shard metadata factories go through a
+ * {@link SnapshotMetadataDiskCache}, so that worker processes sharing the cache directory decode each snapshot
+ * metadata blob only once between them. Only snapshot readers are wrapped; remote cluster readers and Solr backups
+ * do not read snapshot metadata blobs and are not cached.
+ */
+public class DiskCachedClusterSnapshotReader implements ClusterSnapshotReader {
+    private final ClusterSnapshotReader delegate;
+    private final SnapshotMetadataDiskCache cache;
+
+    public DiskCachedClusterSnapshotReader(ClusterSnapshotReader delegate, SnapshotMetadataDiskCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ClusterSnapshotReader initialize(Version version) {
+        delegate.initialize(version);
+        return this;
+    }
+
+    @Override
+    public ClusterSnapshotReader initialize(SourceRepo sourceRepo) {
+        delegate.initialize(sourceRepo);
+        return this;
+    }
+
+    @Override
+    public IndexMetadata.Factory getIndexMetadata() {
+        return new DiskCachedIndexMetadataFactory(delegate.getIndexMetadata(), cache);
+    }
+
+    @Override
+    public ShardMetadata.Factory getShardMetadata() {
+        return new DiskCachedShardMetadataFactory(delegate.getShardMetadata(), cache);
+    }
+
+    @Override
+    public GlobalMetadata.Factory getGlobalMetadata() {
+        return delegate.getGlobalMetadata();
+    }
+
+    @Override
+    public SnapshotCapabilities getCapabilities() {
+        return delegate.getCapabilities();
+    }
+
+    @Override
+    public SourceRepo getSourceRepo() {
+        return delegate.getSourceRepo();
+    }
+
+    @Override
+    public SnapshotFileFinder getSnapshotFileFinder() {
+        return delegate.getSnapshotFileFinder();
+    }
+
+    @Override
+    public boolean compatibleWith(Version version) {
+        return delegate.compatibleWith(version);
+    }
+
+    @Override
+    public boolean looseCompatibleWith(Version version) {
+        return delegate.looseCompatibleWith(version);
+    }
+
+    @Override
+    public Version getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public String getFriendlyTypeName() {
+        return delegate.getFriendlyTypeName();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -256,6 +256,10 @@ public class RestClient {
         return putAsync(path, body, context).block();
     }
 
+    public Mono<HttpResponse> deleteAsync(String path, String body, IRfsContexts.IRequestContext context) {
+        return asyncRequest(HttpMethod.DELETE, path, body, null, context);
+    }
+
     private static void removeIfPresent(ChannelPipeline p, String name) {
         var h = p.get(name);
         if (h != null) {
@@ -1,6 +1,5 @@
 package org.opensearch.migrations.bulkload.pipeline.adapter;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.opensearch.migrations.bulkload.common.DocumentChangeType;
@@ -13,8 +12,8 @@ import org.opensearch.migrations.bulkload.pipeline.model.Document;
  * <p>This adapter is the bridge between the existing codebase and the clean pipeline.
  * It lives in the adapter package — the pipeline core never imports Lucene types directly.
  *
- * <p>Populates {@link Document#hints()} with ES-specific fields ({@code _type}, {@code routing})
- * and {@link Document#sourceMetadata()} with diagnostic info ({@code luceneDocNumber}).
+ * <p>Populates the typed ES hint fields ({@link Document#type()}, {@link Document#routing()}) and
+ * the diagnostic {@link Document#luceneDocNumber()} directly, so no per-document maps are allocated.
  */
 public final class LuceneAdapter {
 
@@ -26,7 +25,7 @@ public final class LuceneAdapter {
 
     /**
      * @param emitDocType when true, propagates the ES {@code _type} field into
-     *                    {@link Document#hints()} for downstream transformers that need it
+     *                    {@link Document#type()} for downstream transformers that need it
      *                    (e.g. TypeMappingSanitizationTransformer for ES 5.x multi-type indices)
      */
     public LuceneAdapter(boolean emitDocType) {
@@ -34,20 +33,15 @@ public final class LuceneAdapter {
     }
 
     public Document fromLucene(LuceneDocumentChange luceneDoc) {
-        var hints = new HashMap<String, String>();
-        if (emitDocType && luceneDoc.getType() != null) {
-            hints.put(Document.HINT_TYPE, luceneDoc.getType());
-        }
-        if (luceneDoc.getRouting() != null) {
-            hints.put(Document.HINT_ROUTING, luceneDoc.getRouting());
-        }
-
         return new Document(
             luceneDoc.getId(),
             luceneDoc.getSource(),
             mapOperation(luceneDoc.getOperation()),
-            hints,
-            Map.of(Document.SOURCE_META_LUCENE_DOC_NUMBER, luceneDoc.getLuceneDocNumber())
+            emitDocType ? luceneDoc.getType() : null,
+            luceneDoc.getRouting(),
+            luceneDoc.getLuceneDocNumber(),
+            Map.of(),
+            Map.of()
         );
     }
 
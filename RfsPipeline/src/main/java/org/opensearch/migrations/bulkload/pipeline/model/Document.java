@@ -1,5 +1,7 @@
 package org.opensearch.migrations.bulkload.pipeline.model;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -7,25 +9,38 @@ import java.util.Objects;
  * Source-agnostic document — the clean IR boundary between reading (any source)
  * and writing (any target).
  *
- * <p>Unlike source-specific types, this carries no source-coupled fields. ES-specific
- * concepts like {@code _type} and {@code routing} are carried in the opaque {@code hints}
- * map, which the pipeline core never reads — only source adapters populate it and
- * sink adapters consume it.
+ * <p>Unlike source-specific types, this carries no source-coupled behavior. The well-known
+ * ES hints ({@code _type}, {@code routing}) and the Lucene doc number are held in dedicated
+ * nullable/sentinel fields so that the per-document hot path allocates no maps at all.
+ * Anything else a source needs to carry lives in the {@code extraHints} /
+ * {@code extraSourceMetadata} maps, which default to the shared empty map. The pipeline core
+ * never reads any of these — only source adapters populate them and sink adapters consume them.
  *
- * <p>This is a value type: two {@code Document} instances with the same fields are equal.
+ * <p>{@link #hints()} and {@link #sourceMetadata()} still expose the combined view as a map for
+ * callers that want the generic shape; they are only materialized when called.
  *
- * @param id             the document identifier, must not be null
- * @param source         the document body bytes, nullable for DELETE operations
- * @param operation      the operation type (UPSERT or DELETE), must not be null
- * @param hints          sink-specific routing hints (opaque to pipeline), never null
- * @param sourceMetadata source-specific diagnostic info (opaque to pipeline), never null
+ * <p>This is a value type: two {@code Document} instances with the same fields are equal. The
+ * map-based constructor folds well-known keys into their typed fields, so a document built either
+ * way compares equal to the other.
+ *
+ * @param id                  the document identifier, must not be null
+ * @param source              the document body bytes, nullable for DELETE operations
+ * @param operation           the operation type (UPSERT or DELETE), must not be null
+ * @param type                the ES {@code _type} hint, nullable
+ * @param routing             the ES {@code routing} hint, nullable
+ * @param luceneDocNumber     the Lucene doc number for diagnostics, or {@link #NO_LUCENE_DOC_NUMBER}
+ * @param extraHints          additional sink-specific hints (opaque to pipeline), never null
+ * @param extraSourceMetadata additional source-specific diagnostic info (opaque to pipeline), never null
  */
 public record Document(
     String id,
     byte[] source,
     Operation operation,
-    Map<String, String> hints,
-    Map<String, Object> sourceMetadata
+    String type,
+    String routing,
+    int luceneDocNumber,
+    Map<String, String> extraHints,
+    Map<String, Object> extraSourceMetadata
 ) {
     /** Well-known hint keys for ES-compatible sinks. */
     public static final String HINT_TYPE = "_type";
@@ -34,6 +49,9 @@ public record Document(
     /** Well-known sourceMetadata keys for Lucene-based sources. */
     public static final String SOURCE_META_LUCENE_DOC_NUMBER = "luceneDocNumber";
 
+    /** Sentinel for {@link #luceneDocNumber()} when the source is not Lucene-based. */
+    public static final int NO_LUCENE_DOC_NUMBER = -1;
+
     /** The type of document operation. */
     public enum Operation {
         /** Create or replace a document. */
@@ -45,12 +63,94 @@ public record Document(
     public Document {
         Objects.requireNonNull(id, "id must not be null");
         Objects.requireNonNull(operation, "operation must not be null");
-        hints = hints != null ? Map.copyOf(hints) : Map.of();
-        sourceMetadata = sourceMetadata != null ? Map.copyOf(sourceMetadata) : Map.of();
+        // Map.copyOf returns its argument unchanged for maps that are already immutable
+        // (including Map.of()), so the common case does not allocate here.
+        extraHints = extraHints != null ? Map.copyOf(extraHints) : Map.of();
+        extraSourceMetadata = extraSourceMetadata != null ? Map.copyOf(extraSourceMetadata) : Map.of();
+        if (extraHints.containsKey(HINT_TYPE) || extraHints.containsKey(HINT_ROUTING)) {
+            throw new IllegalArgumentException("Well-known hints must be passed as typed fields, not in extraHints");
+        }
+        if (extraSourceMetadata.containsKey(SOURCE_META_LUCENE_DOC_NUMBER)) {
+            throw new IllegalArgumentException(
+                "luceneDocNumber must be passed as a typed field, not in extraSourceMetadata");
+        }
+    }
+
+    /** A document with no hints and no source metadata. */
+    public Document(String id, byte[] source, Operation operation) {
+        this(id, source, operation, null, null, NO_LUCENE_DOC_NUMBER, Map.of(), Map.of());
+    }
+
+    /**
+     * Builds a document from generic hint/metadata maps, moving the well-known keys into their
+     * typed fields. Prefer the canonical constructor on hot paths.
+     */
+    public Document(
+        String id,
+        byte[] source,
+        Operation operation,
+        Map<String, String> hints,
+        Map<String, Object> sourceMetadata
+    ) {
+        this(
+            id,
+            source,
+            operation,
+            hints != null ? hints.get(HINT_TYPE) : null,
+            hints != null ? hints.get(HINT_ROUTING) : null,
+            luceneDocNumberFrom(sourceMetadata),
+            without(hints, HINT_TYPE, HINT_ROUTING),
+            without(sourceMetadata, SOURCE_META_LUCENE_DOC_NUMBER)
+        );
     }
 
     /** Returns the length of the source bytes, or 0 if source is null (e.g. DELETE operations). */
     public int sourceLength() {
         return source != null ? source.length : 0;
     }
+
+    /** Sink-specific routing hints (opaque to pipeline), including {@code _type} and {@code routing} when set. */
+    public Map<String, String> hints() {
+        if (type == null && routing == null) {
+            return extraHints;
+        }
+        var all = new HashMap<String, String>(extraHints.size() + 2);
+        all.putAll(extraHints);
+        if (type != null) {
+            all.put(HINT_TYPE, type);
+        }
+        if (routing != null) {
+            all.put(HINT_ROUTING, routing);
+        }
+        return Collections.unmodifiableMap(all);
+    }
+
+    /** Source-specific diagnostic info (opaque to pipeline), including {@code luceneDocNumber} when set. */
+    public Map<String, Object> sourceMetadata() {
+        if (luceneDocNumber == NO_LUCENE_DOC_NUMBER) {
+            return extraSourceMetadata;
+        }
+        var all = new HashMap<String, Object>(extraSourceMetadata.size() + 1);
+        all.putAll(extraSourceMetadata);
+        all.put(SOURCE_META_LUCENE_DOC_NUMBER, luceneDocNumber);
+        return Collections.unmodifiableMap(all);
+    }
+
+    private static int luceneDocNumberFrom(Map<String, Object> sourceMetadata) {
+        if (sourceMetadata != null && sourceMetadata.get(SOURCE_META_LUCENE_DOC_NUMBER) instanceof Number n) {
+            return n.intValue();
+        }
+        return NO_LUCENE_DOC_NUMBER;
+    }
+
+    private static <V> Map<String, V> without(Map<String, V> map, String... keys) {
+        if (map == null || map.isEmpty()) {
+            return Map.of();
+        }
+        var remaining = new HashMap<>(map);
+        for (var key : keys) {
+            remaining.remove(key);
+        }
+        return remaining;
+    }
 }
@@ -0,0 +1,64 @@
+package org.opensearch.migrations.bulkload.pipeline.model;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentTest {
+
+    private static final byte[] SOURCE = "{\"a\":1}".getBytes();
+
+    @Test
+    void mapConstructor_foldsWellKnownKeysIntoTypedFields() {
+        var doc = new Document("d1", SOURCE, Document.Operation.UPSERT,
+            Map.of(Document.HINT_TYPE, "t", Document.HINT_ROUTING, "r", "custom", "x"),
+            Map.of(Document.SOURCE_META_LUCENE_DOC_NUMBER, 42, "segment", "_0"));
+
+        assertEquals("t", doc.type());
+        assertEquals("r", doc.routing());
+        assertEquals(42, doc.luceneDocNumber());
+        assertEquals(Map.of("custom", "x"), doc.extraHints());
+        assertEquals(Map.of("segment", "_0"), doc.extraSourceMetadata());
+    }
+
+    @Test
+    void typedAndMapConstructors_produceEqualDocuments() {
+        var typed = new Document("d1", SOURCE, Document.Operation.UPSERT, "t", "r", 7, Map.of(), Map.of());
+        var fromMaps = new Document("d1", SOURCE, Document.Operation.UPSERT,
+            Map.of(Document.HINT_TYPE, "t", Document.HINT_ROUTING, "r"),
+            Map.of(Document.SOURCE_META_LUCENE_DOC_NUMBER, 7));
+
+        assertEquals(typed, fromMaps);
+        assertEquals(typed.hashCode(), fromMaps.hashCode());
+    }
+
+    @Test
+    void hintsAndSourceMetadata_exposeCombinedView() {
+        var doc = new Document("d1", SOURCE, Document.Operation.UPSERT, "t", null, 3, Map.of("k", "v"), Map.of());
+
+        assertEquals(Map.of(Document.HINT_TYPE, "t", "k", "v"), doc.hints());
+        assertEquals(Map.of(Document.SOURCE_META_LUCENE_DOC_NUMBER, 3), doc.sourceMetadata());
+    }
+
+    @Test
+    void plainDocument_sharesEmptyMaps() {
+        var doc = new Document("d1", SOURCE, Document.Operation.UPSERT);
+
+        assertNull(doc.type());
+        assertNull(doc.routing());
+        assertEquals(Document.NO_LUCENE_DOC_NUMBER, doc.luceneDocNumber());
+        assertSame(Map.of(), doc.hints());
+        assertSame(Map.of(), doc.sourceMetadata());
+    }
+
+    @Test
+    void wellKnownKeysInExtraMaps_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Document("d1", SOURCE, Document.Operation.UPSERT,
+            null, null, Document.NO_LUCENE_DOC_NUMBER, Map.of(Document.HINT_ROUTING, "r"), Map.of()));
+    }
+}
@@ -62,13 +62,7 @@ public class SyntheticDocumentSource implements DocumentSource {
             .map(docNum -> {
                 String id = synth.collectionName() + "-" + synth.index() + "-" + docNum;
                 String body = "{\"field\":\"value-" + docNum + "\",\"partition\":" + synth.index() + "}";
-                return new Document(
-                    id,
-                    body.getBytes(StandardCharsets.UTF_8),
-                    Document.Operation.UPSERT,
-                    Map.of(),
-                    Map.of()
-                );
+                return new Document(id, body.getBytes(StandardCharsets.UTF_8), Document.Operation.UPSERT);
             });
     }
 
@@ -23,8 +23,9 @@ import reactor.core.publisher.Flux;
  * Real {@link DocumentSource} adapter that reads documents from a Lucene snapshot
  * via the existing {@link SnapshotExtractor}.
  *
- * <p>Converts Lucene-specific types to the clean pipeline IR, populating
- * {@link Document#hints()} and {@link Document#sourceMetadata()} via {@link LuceneAdapter}.
+ * <p>Converts Lucene-specific types to the clean pipeline IR via {@link LuceneAdapter}, which sets the
+ * document's typed type, routing and Lucene doc number fields.  {@link Document#hints()} and
+ * {@link Document#sourceMetadata()} are only views over those fields, built when called.
  *
  * <p>Supports optional delta mode: when {@code previousSnapshotName} and {@code deltaMode}
  * are set, reads delta changes between two snapshots.
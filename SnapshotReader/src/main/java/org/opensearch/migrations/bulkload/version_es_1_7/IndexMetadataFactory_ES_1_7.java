@@ -21,11 +21,15 @@ public class IndexMetadataFactory_ES_1_7 implements IndexMetadata.Factory {
 
     @Override
     public IndexMetadata fromRepo(String snapshotName, String indexName) {
+        return fromJsonNode(readJsonNode(snapshotName, indexName), indexName, indexName);
+    }
+
+    @Override
+    public JsonNode readJsonNode(String snapshotName, String indexName) {
         try {
             SnapshotRepoES17 es17Repo = (SnapshotRepoES17) getRepoDataProvider();
             byte[] data = es17Repo.getIndexMetadataFile(indexName, snapshotName);
-            JsonNode root = objectMapper.readTree(data);
-            return fromJsonNode(root.get(indexName), indexName, indexName);
+            return objectMapper.readTree(data).get(indexName);
         } catch (Exception e) {
             throw new RfsException("Could not load index metadata for index: " + indexName, e);
         }
@@ -57,7 +57,7 @@ public class ShardMetadataFactory_ES_1_7 implements ShardMetadata.Factory {
     }
 
     @Override
-    public ShardMetadata fromRepo(String snapshotName, String indexName, int shardId) {
+    public JsonNode readJsonNode(String snapshotName, String indexName, int shardId) {
         try {
             SnapshotRepoES17 repo = (SnapshotRepoES17) getRepoDataProvider();
             String snapshotId = repo.getSnapshotId(snapshotName);
@@ -65,8 +65,7 @@ public class ShardMetadataFactory_ES_1_7 implements ShardMetadata.Factory {
             Path path = repo.getShardMetadataFilePath(snapshotId, indexId, shardId);
 
             try (InputStream in = Files.newInputStream(path)) {
-                JsonNode root = ObjectMapperFactory.createDefaultMapper().readTree(in);
-                return fromJsonNode(root, indexId, indexName, shardId);
+                return ObjectMapperFactory.createDefaultMapper().readTree(in);
             }
         } catch (Exception e) {
             throw new ShardMetadata.CouldNotParseShardMetadata(
@@ -0,0 +1,115 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.opensearch.migrations.Version;
+import org.opensearch.migrations.bulkload.models.DiskCachedIndexMetadataFactory;
+import org.opensearch.migrations.bulkload.models.DiskCachedShardMetadataFactory;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+import org.opensearch.migrations.cluster.ClusterSnapshotReader;
+import org.opensearch.migrations.cluster.SnapshotReaderRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SnapshotMetadataDiskCacheTest {
+    private static final String INDEX_NAME = "test_updates_deletes";
+    private static final String REPOSITORY_ID = "/snapshots/repo";
+
+    @TempDir
+    Path cacheDir;
+
+    private static ClusterSnapshotReader snapshotReader() {
+        var version = Version.fromString("ES 7.10");
+        var snapshot = TestResources.SNAPSHOT_ES_7_10_W_SOFT;
+        var repo = new FileSystemRepo(snapshot.dir, SnapshotReaderRegistry.getSnapshotFileFinder(version, true));
+        return SnapshotReaderRegistry.getSnapshotReader(version, repo, false);
+    }
+
+    @Test
+    void testShardMetadataIsDecodedOncePerCacheDirectory() {
+        var snapshotName = TestResources.SNAPSHOT_ES_7_10_W_SOFT.name;
+        var uncached = snapshotReader().getShardMetadata().fromRepo(snapshotName, INDEX_NAME, 0);
+
+        // Two factories stand in for two worker processes sharing the cache directory
+        var delegate = spy(snapshotReader().getShardMetadata());
+        var firstWorker = new DiskCachedShardMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, REPOSITORY_ID));
+        var secondWorker = new DiskCachedShardMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, REPOSITORY_ID));
+
+        var first = firstWorker.fromRepo(snapshotName, INDEX_NAME, 0);
+        var second = secondWorker.fromRepo(snapshotName, INDEX_NAME, 0);
+
+        verify(delegate, times(1)).readJsonNode(anyString(), anyString(), anyInt());
+        for (var meta : List.of(first, second)) {
+            assertThat(meta.getSegmentFileName(), equalTo(uncached.getSegmentFileName()));
+            assertThat(meta.getIndexId(), equalTo(uncached.getIndexId()));
+            assertThat(meta.getFiles().stream().map(ShardFileInfo::key).toList(),
+                equalTo(uncached.getFiles().stream().map(ShardFileInfo::key).toList()));
+        }
+    }
+
+    @Test
+    void testCorruptEntryIsTreatedAsMiss() throws Exception {
+        var snapshotName = TestResources.SNAPSHOT_ES_7_10_W_SOFT.name;
+        var delegate = spy(snapshotReader().getIndexMetadata());
+        var factory = new DiskCachedIndexMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, REPOSITORY_ID));
+
+        var expected = factory.fromRepo(snapshotName, INDEX_NAME);
+        try (var entries = Files.walk(cacheDir)) {
+            for (var entry : entries.filter(Files::isRegularFile).toList()) {
+                Files.write(entry, new byte[] { 1, 2, 3 });
+            }
+        }
+        var reread = factory.fromRepo(snapshotName, INDEX_NAME);
+
+        verify(delegate, times(2)).readJsonNode(anyString(), anyString());
+        assertThat(reread.getNumberOfShards(), equalTo(expected.getNumberOfShards()));
+        assertThat(reread.getMappings().equals(expected.getMappings()), is(true));
+    }
+
+    @Test
+    void testRepositoriesSharingACacheDirectoryDoNotShareEntries() {
+        var snapshotName = TestResources.SNAPSHOT_ES_7_10_W_SOFT.name;
+        var delegate = spy(snapshotReader().getIndexMetadata());
+        var firstRepo = new DiskCachedIndexMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, "s3://a/repo"));
+        var secondRepo = new DiskCachedIndexMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, "s3://b/repo"));
+
+        firstRepo.fromRepo(snapshotName, INDEX_NAME);
+        secondRepo.fromRepo(snapshotName, INDEX_NAME);
+        firstRepo.fromRepo(snapshotName, INDEX_NAME);
+
+        verify(delegate, times(2)).readJsonNode(anyString(), anyString());
+    }
+
+    @Test
+    void testSnapshotsWithoutUuidAreNotCached() throws Exception {
+        // ES 1.x and 2.x repositories identify a snapshot by its name, which can be reused for a different snapshot
+        var repoDataProvider = mock(SnapshotRepo.Provider.class);
+        when(repoDataProvider.getSnapshotId("snap")).thenReturn("snap");
+        var delegate = mock(IndexMetadata.Factory.class);
+        when(delegate.getRepoDataProvider()).thenReturn(repoDataProvider);
+        var factory = new DiskCachedIndexMetadataFactory(delegate, new SnapshotMetadataDiskCache(cacheDir, REPOSITORY_ID));
+
+        factory.fromRepo("snap", INDEX_NAME);
+        factory.fromRepo("snap", INDEX_NAME);
+
+        verify(delegate, times(2)).fromRepo("snap", INDEX_NAME);
+        try (var entries = Files.walk(cacheDir)) {
+            assertThat(entries.anyMatch(Files::isRegularFile), is(false));
+        }
+    }
+}
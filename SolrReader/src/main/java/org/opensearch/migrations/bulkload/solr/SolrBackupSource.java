@@ -322,6 +322,6 @@ public class SolrBackupSource implements DocumentSource {
         if (source == null) {
             source = "{}".getBytes(StandardCharsets.UTF_8);
         }
-        return new Document(id, source, Document.Operation.UPSERT, Map.of(), Map.of());
+        return new Document(id, source, Document.Operation.UPSERT);
     }
 }
@@ -2,16 +2,18 @@ package org.opensearch.migrations.trafficcapture.kafkaoffloader;
 
 import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
 
 import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
+import org.opensearch.migrations.trafficcapture.ByteBufferPool;
 import org.opensearch.migrations.trafficcapture.CodedOutputStreamHolder;
+import org.opensearch.migrations.trafficcapture.GatheringCodedOutputStreamHolder;
 import org.opensearch.migrations.trafficcapture.IChannelConnectionCaptureSerializer;
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.OrderedStreamLifecyleManager;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.IRootKafkaOffloaderContext;
 
 import com.google.protobuf.CodedOutputStream;
@@ -23,7 +25,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 
 @Slf4j
-public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMetadata> {
+public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMetadata>, AutoCloseable {
 
     public static final String DEFAULT_TOPIC_NAME_FOR_TRAFFIC = "logging-traffic-topic";
     // This value encapsulates overhead we should reserve for a given Producer record to account for record key bytes
@@ -33,23 +35,85 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
 
     private final IRootKafkaOffloaderContext rootScope;
     private final String nodeId;
-    // Potential future optimization here to use a direct buffer (e.g. nio) instead of byte array
     private final Producer<String, byte[]> producer;
     private final String topicNameForTraffic;
-    private final int bufferSize;
+    // Every stream needs a buffer that can hold a full Kafka message, so recycle them rather than allocating one
+    // per flush.  Records only need the written prefix, which is copied out before the buffer goes back.
+    private final ByteBufferPool bufferPool;
+    private final TrafficStreamCompression compression;
+    // When set, streams are packed into shared records rather than each being sent as its own record
+    private final KafkaRecordCoalescer coalescerOrNull;
+    // When set, large payloads are copied into each record straight from the Netty buffers that they were read
+    // from, rather than into a stream buffer first and then out of it again
+    private final boolean retainPayloads;
 
     public KafkaCaptureFactory(
         IRootKafkaOffloaderContext rootScope,
         String nodeId,
         Producer<String, byte[]> producer,
         String topicNameForTraffic,
-        int messageSize
+        int messageSize,
+        int maxPooledBuffers,
+        @NonNull TrafficStreamCompression compression,
+        KafkaRecordCoalescer coalescerOrNull,
+        boolean retainPayloads
     ) {
         this.rootScope = rootScope;
         this.nodeId = nodeId;
         this.producer = producer;
         this.topicNameForTraffic = topicNameForTraffic;
-        this.bufferSize = messageSize - KAFKA_MESSAGE_OVERHEAD_BYTES;
+        this.bufferPool = new ByteBufferPool(messageSize - KAFKA_MESSAGE_OVERHEAD_BYTES, maxPooledBuffers);
+        this.compression = compression;
+        this.coalescerOrNull = coalescerOrNull;
+        this.retainPayloads = retainPayloads;
+    }
+
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        int maxPooledBuffers,
+        @NonNull TrafficStreamCompression compression,
+        KafkaRecordCoalescer coalescerOrNull
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, maxPooledBuffers, compression,
+            coalescerOrNull, false);
+    }
+
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        int maxPooledBuffers,
+        @NonNull TrafficStreamCompression compression
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, maxPooledBuffers, compression, null);
+    }
+
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        int maxPooledBuffers
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, maxPooledBuffers,
+            TrafficStreamCompression.DISABLED);
+    }
+
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, ByteBufferPool.DEFAULT_MAX_POOLED_BUFFERS);
     }
 
     public KafkaCaptureFactory(
@@ -61,6 +125,10 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         this(rootScope, nodeId, producer, DEFAULT_TOPIC_NAME_FOR_TRAFFIC, messageSize);
     }
 
+    ByteBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     @Override
     public IChannelConnectionCaptureSerializer<RecordMetadata> createOffloader(IConnectionContext ctx) {
         return new StreamChannelConnectionCaptureSerializer<>(
@@ -70,6 +138,25 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         );
     }
 
+    @Override
+    public void sendBufferedCaptures() {
+        if (coalescerOrNull != null) {
+            coalescerOrNull.sendPending();
+        }
+    }
+
+    /**
+     * Sends any streams that the coalescer is still holding and then closes the producer, which waits for
+     * everything that has been sent to be acknowledged.
+     */
+    @Override
+    public void close() {
+        if (coalescerOrNull != null) {
+            coalescerOrNull.close();
+        }
+        producer.close();
+    }
+
     @AllArgsConstructor
     static class CodedOutputStreamWrapper implements CodedOutputStreamHolder {
         private final CodedOutputStream codedOutputStream;
@@ -99,11 +186,13 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         }
 
         @Override
-        public CodedOutputStreamWrapper createStream() {
+        public CodedOutputStreamHolder createStream() {
             telemetryContext.addEvent("streamCreated");
 
-            ByteBuffer bb = ByteBuffer.allocate(bufferSize);
-            return new CodedOutputStreamWrapper(CodedOutputStream.newInstance(bb), bb);
+            ByteBuffer bb = bufferPool.acquire();
+            return retainPayloads
+                ? new GatheringCodedOutputStreamHolder(bb)
+                : new CodedOutputStreamWrapper(CodedOutputStream.newInstance(bb), bb);
         }
 
         @Override
@@ -111,30 +200,48 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
             CodedOutputStreamHolder outputStreamHolder,
             int index
         ) {
-            if (!(outputStreamHolder instanceof CodedOutputStreamWrapper)) {
+            byte[] recordBytes;
+            // The record owns its own (possibly compressed) copy of the bytes, so the (much larger) stream buffer
+            // and any payloads that it held onto can be reused right away
+            if (outputStreamHolder instanceof GatheringCodedOutputStreamHolder) {
+                var gosh = (GatheringCodedOutputStreamHolder) outputStreamHolder;
+                try {
+                    recordBytes = compression.compress(gosh.toByteArray());
+                } finally {
+                    gosh.release();
+                    bufferPool.release(gosh.getByteBuffer());
+                }
+            } else if (outputStreamHolder instanceof CodedOutputStreamWrapper) {
+                var byteBuffer = ((CodedOutputStreamWrapper) outputStreamHolder).byteBuffer;
+                recordBytes = compression.compress(byteBuffer.array(), 0, byteBuffer.position());
+                bufferPool.release(byteBuffer);
+            } else {
                 throw new IllegalArgumentException(
                     "Unknown outputStreamHolder sent back to StreamManager: " + outputStreamHolder
                 );
             }
-            var osh = (CodedOutputStreamWrapper) outputStreamHolder;
 
             final var connectionId = telemetryContext.getConnectionId();
 
             String recordId = String.format("%s.%d", connectionId, index);
-            var byteBuffer = osh.byteBuffer;
-            ProducerRecord<String, byte[]> kafkaRecord = new ProducerRecord<>(
-                topicNameForTraffic,
-                recordId,
-                Arrays.copyOfRange(byteBuffer.array(), 0, byteBuffer.position())
-            );
-            log.debug("Sending Kafka producer record: {} for topic: {}", recordId, topicNameForTraffic);
 
             var flushContext = rootScope.createKafkaRecordContext(
                 telemetryContext,
                 topicNameForTraffic,
                 recordId,
-                kafkaRecord.value().length
+                recordBytes.length
             );
+            CompletableFuture<RecordMetadata> sendFuture;
+            if (coalescerOrNull != null) {
+                log.debug("Coalescing traffic stream: {} for topic: {}", recordId, topicNameForTraffic);
+                sendFuture = coalescerOrNull.add(recordId, connectionId, recordBytes);
+            } else {
+                log.debug("Sending Kafka producer record: {} for topic: {}", recordId, topicNameForTraffic);
+                // Keying by the connection (rather than by recordId) puts all of a connection's streams onto one
+                // partition, so that replayers sharing a consumer group each see whole connections, in order
+                sendFuture = sendFullyAsync(producer,
+                    new ProducerRecord<>(topicNameForTraffic, connectionId, recordBytes));
+            }
             /*
              * The default KafkaProducer comes with built-in retry and error-handling logic that suits many cases. From the
              * documentation here for retry: https://kafka.apache.org/35/javadoc/org/apache/kafka/clients/producer/KafkaProducer.html
@@ -145,7 +252,7 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
              * retried or not retried at all: https://kafka.apache.org/35/javadoc/org/apache/kafka/common/errors/RetriableException.html
              * as well as basic retry backoff
              */
-            return sendFullyAsync(producer, kafkaRecord).whenComplete(((recordMetadata, throwable) -> {
+            return sendFuture.whenComplete(((recordMetadata, throwable) -> {
                 if (throwable != null) {
                     flushContext.addTraceException(throwable, true);
                     log.error("Error sending producer record: {}", recordId, throwable);
@@ -0,0 +1,204 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.trafficcapture.TrafficStreamBatchFormat;
+
+import com.google.protobuf.CodedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+/**
+ * Packs the TrafficStreams flushed by many connections into fewer, larger Kafka records (see
+ * {@link TrafficStreamBatchFormat}), so that short-lived connections don't each pay Kafka's per-record overhead.
+ *
+ * <p>Connections are hashed onto a fixed number of buckets.  Each bucket fills one batch at a time and sends it
+ * once the next stream wouldn't fit or once the batch's linger time has passed, whichever comes first.  All of
+ * a bucket's records share one key, so every stream from a connection lands on the same partition.  The stream
+ * manager of each connection only hands over a stream once the previous one has been acknowledged, so a
+ * connection's streams stay in order within that partition.  A stream too large to share a record is sent on
+ * its own, as a plain TrafficStream record, but still with its bucket's key so that it lands on that same
+ * partition.
+ *
+ * <p>The future returned for each stream completes when the record holding it has been acknowledged, so a
+ * request that waits for its capture to be offloaded may also wait for up to the linger time.  Once the
+ * coalescer has been closed, each stream is sent as soon as it's added.
+ */
+@Slf4j
+public class KafkaRecordCoalescer implements AutoCloseable {
+    public static final Duration DEFAULT_LINGER = Duration.ofMillis(5);
+    public static final int DEFAULT_NUM_BUCKETS = 16;
+
+    private final Producer<String, byte[]> producer;
+    private final String topic;
+    private final int maxRecordBytes;
+    private final Duration linger;
+    private final Bucket[] buckets;
+    private final ScheduledExecutorService lingerScheduler;
+
+    /**
+     * @param maxRecordBytes the largest record value to send, which must leave room for the record's key,
+     *                       headers and Kafka's own overhead within the broker's message size limit
+     */
+    public KafkaRecordCoalescer(
+        Producer<String, byte[]> producer,
+        String topic,
+        String nodeId,
+        int maxRecordBytes,
+        Duration linger,
+        int numBuckets
+    ) {
+        if (numBuckets <= 0) {
+            throw new IllegalArgumentException("numBuckets must be positive");
+        }
+        this.producer = producer;
+        this.topic = topic;
+        this.maxRecordBytes = maxRecordBytes;
+        this.linger = linger;
+        this.buckets = new Bucket[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            buckets[i] = new Bucket(nodeId + ".batch." + i);
+        }
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "kafkaRecordCoalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param recordId identifies the stream in logs
+     * @return a future that completes once the record holding trafficStream has been acknowledged
+     */
+    public CompletableFuture<RecordMetadata> add(String recordId, String connectionId, byte[] trafficStream) {
+        var bucket = buckets[Math.floorMod(connectionId.hashCode(), buckets.length)];
+        if (TrafficStreamBatchFormat.computeEntrySize(trafficStream.length) > maxRecordBytes) {
+            log.atDebug().setMessage("Sending traffic stream {} on its own since it's too large to coalesce")
+                .addArgument(recordId).log();
+            return KafkaCaptureFactory.sendFullyAsync(producer,
+                new ProducerRecord<>(topic, bucket.recordKey, trafficStream));
+        }
+        return bucket.add(trafficStream);
+    }
+
+    /**
+     * Sends every bucket's partially filled batch now rather than when its linger time passes, so that streams
+     * that were added together go out together (see {@code GroupCommitFlusher}).
+     */
+    public void sendPending() {
+        for (var bucket : buckets) {
+            bucket.sendIfNotEmpty();
+        }
+    }
+
+    /** Sends every pending batch and stops the linger thread */
+    @Override
+    public void close() {
+        // Shut down first, so that anything added from here on is sent by add() rather than left to linger
+        lingerScheduler.shutdown();
+        sendPending();
+    }
+
+    private class Bucket {
+        private final String recordKey;
+        private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream();
+        private CodedOutputStream batchStream = CodedOutputStream.newInstance(batchBytes);
+        private List<CompletableFuture<RecordMetadata>> waiters = new ArrayList<>();
+        private int batchSize;
+        private long batchNumber;
+
+        Bucket(String recordKey) {
+            this.recordKey = recordKey;
+        }
+
+        synchronized CompletableFuture<RecordMetadata> add(byte[] trafficStream) {
+            var entrySize = TrafficStreamBatchFormat.computeEntrySize(trafficStream.length);
+            if (batchSize + entrySize > maxRecordBytes) {
+                send();
+            }
+            if (waiters.isEmpty()) {
+                var batchToLingerFor = batchNumber;
+                try {
+                    lingerScheduler.schedule(() -> sendIfStillOpen(batchToLingerFor), linger.toNanos(),
+                        TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // closed, so the batch is sent below instead
+                }
+            }
+            try {
+                TrafficStreamBatchFormat.writeEntry(batchStream, trafficStream, 0, trafficStream.length);
+            } catch (IOException e) {
+                // the stream writes into memory, so this doesn't happen in practice
+                return CompletableFuture.failedFuture(e);
+            }
+            batchSize += entrySize;
+            var waiter = new CompletableFuture<RecordMetadata>();
+            waiters.add(waiter);
+            if (lingerScheduler.isShutdown()) {
+                send();
+            }
+            return waiter;
+        }
+
+        synchronized void sendIfStillOpen(long lingeringBatchNumber) {
+            if (batchNumber == lingeringBatchNumber && !waiters.isEmpty()) {
+                send();
+            }
+        }
+
+        synchronized void sendIfNotEmpty() {
+            if (!waiters.isEmpty()) {
+                send();
+            }
+        }
+
+        private void send() {
+            byte[] value;
+            try {
+                batchStream.flush();
+                value = batchBytes.toByteArray();
+            } catch (IOException e) {
+                waiters.forEach(w -> w.completeExceptionally(e));
+                startNextBatch();
+                return;
+            }
+            var batchWaiters = waiters;
+            var record = new ProducerRecord<>(topic, null, recordKey, value, List.of(
+                new RecordHeader(TrafficStreamBatchFormat.RECORD_FORMAT_HEADER,
+                    TrafficStreamBatchFormat.getBatchHeaderValue())
+            ));
+            log.atDebug().setMessage("Sending {} coalesced traffic streams ({} bytes) as {}")
+                .addArgument(batchWaiters::size).addArgument(value.length).addArgument(recordKey).log();
+            startNextBatch();
+            KafkaCaptureFactory.sendFullyAsync(producer, record).whenComplete((metadata, throwable) -> {
+                for (var waiter : batchWaiters) {
+                    if (throwable != null) {
+                        waiter.completeExceptionally(throwable);
+                    } else {
+                        waiter.complete(metadata);
+                    }
+                }
+            });
+        }
+
+        private void startNextBatch() {
+            batchBytes.reset();
+            batchStream = CodedOutputStream.newInstance(batchBytes);
+            waiters = new ArrayList<>();
+            batchSize = 0;
+            batchNumber++;
+        }
+    }
+}
@@ -89,6 +89,49 @@ public class KafkaCaptureFactoryTest {
         producer.close();
     }
 
+    @Test
+    public void testStreamBuffersAreRecycledAcrossFlushes() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            true,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            1024 * 1024
+        );
+        var offloader = kafkaCaptureFactory.createOffloader(createCtx());
+
+        var ts = Instant.now();
+        var payloads = List.of("FirstPayload-with-a-longer-body", "Second", "Third");
+        for (var payload : payloads) {
+            var bb = Unpooled.wrappedBuffer(payload.getBytes(StandardCharsets.UTF_8));
+            offloader.addReadEvent(ts, bb);
+            offloader.flushCommitAndResetStream(false).get(1, TimeUnit.SECONDS);
+            bb.release();
+        }
+
+        // Every flush reused the same stream buffer, yet each record only carries its own bytes
+        Assertions.assertEquals(1, kafkaCaptureFactory.getBufferPool().getPooledBufferCount());
+        var history = producer.history();
+        Assertions.assertEquals(payloads.size(), history.size());
+        // every record from the connection is keyed (and so partitioned) by the connection
+        history.forEach(r -> Assertions.assertEquals("test", r.key()));
+        for (int i = 0; i < payloads.size(); i++) {
+            var value = history.get(i).value();
+            Assertions.assertTrue(value.length < 1024);
+            var valueStr = new String(value, StandardCharsets.ISO_8859_1);
+            Assertions.assertTrue(valueStr.contains(payloads.get(i)));
+            for (int j = 0; j < i; j++) {
+                Assertions.assertFalse(valueStr.contains(payloads.get(j)));
+            }
+        }
+        producer.close();
+    }
+
     private static ConnectionContext createCtx() {
         return new ConnectionContext(new TestRootKafkaOffloaderContext(), "test", "test");
     }
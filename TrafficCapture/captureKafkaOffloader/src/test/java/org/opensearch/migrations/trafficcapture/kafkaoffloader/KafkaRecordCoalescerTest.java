@@ -0,0 +1,110 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.trafficcapture.TrafficStreamBatchFormat;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KafkaRecordCoalescerTest {
+    private static final String TOPIC = "test_topic";
+    private static final String NODE_ID = "test_node_id";
+
+    private static MockProducer<String, byte[]> makeProducer() {
+        return new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    private static byte[] makeTrafficStream(String connectionId, int index) {
+        return TrafficStream.newBuilder()
+            .setNodeId(NODE_ID)
+            .setConnectionId(connectionId)
+            .setNumberOfThisLastChunk(index)
+            .build()
+            .toByteArray();
+    }
+
+    private static List<TrafficStream> parseBatch(ProducerRecord<String, byte[]> kafkaRecord) throws Exception {
+        var header = kafkaRecord.headers().lastHeader(TrafficStreamBatchFormat.RECORD_FORMAT_HEADER);
+        Assertions.assertNotNull(header);
+        Assertions.assertTrue(TrafficStreamBatchFormat.isBatch(header.value()));
+        return TrafficStreamCompression.DISABLED.parseBatch(kafkaRecord.value());
+    }
+
+    @Test
+    public void testStreamsFromManyConnectionsShareOneRecordAfterLinger() throws Exception {
+        var producer = makeProducer();
+        var coalescer = new KafkaRecordCoalescer(producer, TOPIC, NODE_ID, 1024 * 1024, Duration.ofMillis(50), 1);
+
+        var futures = List.of(
+            coalescer.add("a.0", "a", makeTrafficStream("a", 0)),
+            coalescer.add("b.0", "b", makeTrafficStream("b", 0)),
+            coalescer.add("a.1", "a", makeTrafficStream("a", 1))
+        );
+        for (var future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        var history = producer.history();
+        Assertions.assertEquals(1, history.size());
+        Assertions.assertEquals(NODE_ID + ".batch.0", history.get(0).key());
+        var trafficStreams = parseBatch(history.get(0));
+        Assertions.assertEquals(List.of("a", "b", "a"),
+            trafficStreams.stream().map(TrafficStream::getConnectionId).toList());
+        Assertions.assertEquals(1, trafficStreams.get(2).getNumberOfThisLastChunk());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaitingForLinger() throws Exception {
+        var producer = makeProducer();
+        var stream = makeTrafficStream("a", 0);
+        var maxRecordBytes = 2 * TrafficStreamBatchFormat.computeEntrySize(stream.length);
+        var coalescer = new KafkaRecordCoalescer(producer, TOPIC, NODE_ID, maxRecordBytes, Duration.ofHours(1), 1);
+
+        var first = coalescer.add("a.0", "a", stream);
+        var second = coalescer.add("b.0", "b", makeTrafficStream("b", 0));
+        var third = coalescer.add("c.0", "c", makeTrafficStream("c", 0));
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        Assertions.assertFalse(third.isDone());
+        Assertions.assertEquals(2, parseBatch(producer.history().get(0)).size());
+    }
+
+    @Test
+    public void testCloseSendsPendingBatchesWithoutWaitingForLinger() throws Exception {
+        var producer = makeProducer();
+        var coalescer = new KafkaRecordCoalescer(producer, TOPIC, NODE_ID, 1024 * 1024, Duration.ofHours(1), 1);
+
+        var pending = coalescer.add("a.0", "a", makeTrafficStream("a", 0));
+        Assertions.assertFalse(pending.isDone());
+        coalescer.close();
+        pending.get(10, TimeUnit.SECONDS);
+
+        coalescer.add("b.0", "b", makeTrafficStream("b", 0)).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, producer.history().size());
+    }
+
+    @Test
+    public void testStreamTooLargeToCoalesceIsSentOnItsOwn() throws Exception {
+        var producer = makeProducer();
+        var stream = makeTrafficStream("a", 0);
+        var coalescer = new KafkaRecordCoalescer(producer, TOPIC, NODE_ID, stream.length, Duration.ofHours(1), 4);
+
+        coalescer.add("a.0", "a", stream).get(10, TimeUnit.SECONDS);
+
+        var kafkaRecord = producer.history().get(0);
+        // keyed like the batches that the connection's smaller streams go into, so they share a partition
+        Assertions.assertEquals(NODE_ID + ".batch." + Math.floorMod("a".hashCode(), 4), kafkaRecord.key());
+        Assertions.assertNull(kafkaRecord.headers().lastHeader(TrafficStreamBatchFormat.RECORD_FORMAT_HEADER));
+        Assertions.assertEquals("a", TrafficStream.parseFrom(kafkaRecord.value()).getConnectionId());
+    }
+}
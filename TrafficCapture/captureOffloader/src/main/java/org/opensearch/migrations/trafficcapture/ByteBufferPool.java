@@ -0,0 +1,64 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of equally sized heap buffers for capture streams.
+ *
+ * <p>Each capture stream needs a buffer as large as the largest record the offloader may emit
+ * (typically around a megabyte for Kafka), while most streams only fill a small prefix before they
+ * are flushed. Recycling those buffers keeps that per-stream allocation off the proxy's hot path.
+ * Buffers that are never released (e.g. for abandoned connections) are simply garbage collected,
+ * and releases beyond {@code maxPooledBuffers} are dropped, so the pool never holds more than
+ * {@code maxPooledBuffers * bufferSize} bytes while idle.
+ */
+public class ByteBufferPool {
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 32;
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+
+    public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        if (maxPooledBuffers <= 0) {
+            throw new IllegalArgumentException("maxPooledBuffers must be positive: " + maxPooledBuffers);
+        }
+        this.bufferSize = bufferSize;
+        this.freeBuffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+    }
+
+    public ByteBufferPool(int bufferSize) {
+        this(bufferSize, DEFAULT_MAX_POOLED_BUFFERS);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /** Returns a cleared buffer of {@link #getBufferSize()} bytes, reusing a released one when available. */
+    public ByteBuffer acquire() {
+        var bb = freeBuffers.poll();
+        return bb != null ? bb : ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Hands a buffer back for reuse.  The caller must not touch the buffer (or anything that wraps
+     * it) afterward.
+     */
+    public void release(ByteBuffer bb) {
+        if (bb.capacity() != bufferSize || bb.isDirect()) {
+            throw new IllegalArgumentException("Buffer was not acquired from this pool: " + bb);
+        }
+        bb.clear();
+        freeBuffers.offer(bb);
+    }
+
+    /** Number of idle buffers that are ready to be handed out again. */
+    public int getPooledBufferCount() {
+        return freeBuffers.size();
+    }
+}
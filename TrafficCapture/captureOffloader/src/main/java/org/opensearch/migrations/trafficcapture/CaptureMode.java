@@ -0,0 +1,26 @@
+package org.opensearch.migrations.trafficcapture;
+
+import org.opensearch.migrations.trafficcapture.protos.CaptureModeChange;
+
+/**
+ * How much of the traffic going through the proxy is being captured.  Values are ordered from the
+ * most complete to the least, so that {@link #compareTo} can be used to check for "at least this
+ * degraded".  See {@link OffloaderHealthMonitor} for when each one is used.
+ */
+public enum CaptureMode {
+    /** Every request and response is captured. */
+    FULL,
+    /**
+     * Large, non-mutating requests only have the reads up to the end of their headers captured and are
+     * then marked as dropped.  Everything else is still captured in full.
+     */
+    HEADERS_ONLY,
+    /** Only a random sample of requests is captured.  The rest are passed through without capture. */
+    SAMPLED,
+    /** Nothing is captured.  Requests are only proxied. */
+    PASS_THROUGH;
+
+    public CaptureModeChange.Mode toProto() {
+        return CaptureModeChange.Mode.forNumber(ordinal());
+    }
+}
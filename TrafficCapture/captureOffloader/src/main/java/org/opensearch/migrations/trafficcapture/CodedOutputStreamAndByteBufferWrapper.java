@@ -14,7 +14,12 @@ public class CodedOutputStreamAndByteBufferWrapper implements CodedOutputStreamH
     private final ByteBuffer byteBuffer;
 
     public CodedOutputStreamAndByteBufferWrapper(int bufferSize) {
-        this.byteBuffer = ByteBuffer.allocate(bufferSize);
+        this(ByteBuffer.allocate(bufferSize));
+    }
+
+    /** Writes into {@code byteBuffer} (e.g. one from a {@link ByteBufferPool}) starting at its current position */
+    public CodedOutputStreamAndByteBufferWrapper(@NonNull ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer;
         outputStream = CodedOutputStream.newInstance(byteBuffer);
     }
 
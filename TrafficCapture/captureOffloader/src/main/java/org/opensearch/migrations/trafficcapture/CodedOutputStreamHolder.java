@@ -24,7 +24,15 @@ public interface CodedOutputStreamHolder {
      */
     default int getOutputStreamSpaceLeft() {
         var limit = getOutputStreamBytesLimit();
-        return (limit != -1) ? limit - getOutputStream().getTotalBytesWritten() : -1;
+        return (limit != -1) ? limit - getTotalBytesWritten() : -1;
+    }
+
+    /**
+     * Returns how many bytes of the TrafficStream have been written so far, which is everything written to
+     * {@link #getOutputStream()} unless the holder also keeps some of the stream elsewhere.
+     */
+    default int getTotalBytesWritten() {
+        return getOutputStream().getTotalBytesWritten();
     }
 
     @NonNull
@@ -5,7 +5,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 
@@ -25,31 +24,51 @@ import lombok.extern.slf4j.Slf4j;
 public class FileConnectionCaptureFactory implements IConnectionCaptureFactory<Void> {
     private final BiFunction<String, Integer, FileOutputStream> outputStreamCreator;
     private final String nodeId;
-    private final int bufferSize;
+    private final ByteBufferPool bufferPool;
+    // When set, large payloads are written to the file straight from the Netty buffers that they were read from
+    private final boolean retainPayloads;
 
     public FileConnectionCaptureFactory(
         String nodeId,
         int bufferSize,
-        BiFunction<String, Integer, FileOutputStream> outputStreamCreator
+        BiFunction<String, Integer, FileOutputStream> outputStreamCreator,
+        boolean retainPayloads
     ) {
         this.nodeId = nodeId;
         this.outputStreamCreator = outputStreamCreator;
-        this.bufferSize = bufferSize;
+        this.bufferPool = new ByteBufferPool(bufferSize);
+        this.retainPayloads = retainPayloads;
+    }
+
+    public FileConnectionCaptureFactory(
+        String nodeId,
+        int bufferSize,
+        BiFunction<String, Integer, FileOutputStream> outputStreamCreator
+    ) {
+        this(nodeId, bufferSize, outputStreamCreator, false);
     }
 
     public FileConnectionCaptureFactory(String nodeId, int bufferSize, Path rootPath) {
-        this(nodeId, bufferSize, (id, n) -> {
+        this(nodeId, bufferSize, makeFileCreator(rootPath));
+    }
+
+    public FileConnectionCaptureFactory(String nodeId, String path, int bufferSize) {
+        this(nodeId, bufferSize, Paths.get(path));
+    }
+
+    public FileConnectionCaptureFactory(String nodeId, String path, int bufferSize, boolean retainPayloads) {
+        this(nodeId, bufferSize, makeFileCreator(Paths.get(path)), retainPayloads);
+    }
+
+    private static BiFunction<String, Integer, FileOutputStream> makeFileCreator(Path rootPath) {
+        return (id, n) -> {
             try {
                 var filePath = rootPath.resolve(id + "_" + n.toString() + ".protocap");
                 return new FileOutputStream(filePath.toString());
             } catch (FileNotFoundException e) {
                 throw Lombok.sneakyThrow(e);
             }
-        });
-    }
-
-    public FileConnectionCaptureFactory(String nodeId, String path, int bufferSize) {
-        this(nodeId, bufferSize, Paths.get(path));
+        };
     }
 
     @AllArgsConstructor
@@ -57,12 +76,27 @@ public class FileConnectionCaptureFactory implements IConnectionCaptureFactory<V
         String connectionId;
 
         @Override
-        public CodedOutputStreamAndByteBufferWrapper createStream() {
-            return new CodedOutputStreamAndByteBufferWrapper(bufferSize);
+        public CodedOutputStreamHolder createStream() {
+            return retainPayloads
+                ? new GatheringCodedOutputStreamHolder(bufferPool.acquire())
+                : new CodedOutputStreamAndByteBufferWrapper(bufferPool.acquire());
         }
 
         @Override
         public CompletableFuture<Void> kickoffCloseStream(CodedOutputStreamHolder outputStreamHolder, int index) {
+            if (outputStreamHolder instanceof GatheringCodedOutputStreamHolder) {
+                var gosh = (GatheringCodedOutputStreamHolder) outputStreamHolder;
+                return CompletableFuture.runAsync(() -> {
+                    try (FileOutputStream fs = outputStreamCreator.apply(connectionId, index)) {
+                        gosh.writeTo(fs.getChannel());
+                    } catch (IOException e) {
+                        throw Lombok.sneakyThrow(e);
+                    } finally {
+                        gosh.release();
+                        bufferPool.release(gosh.getByteBuffer());
+                    }
+                });
+            }
             if (!(outputStreamHolder instanceof CodedOutputStreamAndByteBufferWrapper)) {
                 throw new IllegalArgumentException(
                     "Unknown outputStreamHolder sent back to StreamManager: " + outputStreamHolder
@@ -73,11 +107,13 @@ public class FileConnectionCaptureFactory implements IConnectionCaptureFactory<V
                 try {
                     try (FileOutputStream fs = outputStreamCreator.apply(connectionId, index)) {
                         var bb = osh.getByteBuffer();
-                        fs.write(Arrays.copyOfRange(bb.array(), 0, bb.position()));
+                        fs.write(bb.array(), 0, bb.position());
                         fs.flush();
                     }
                 } catch (IOException e) {
                     throw Lombok.sneakyThrow(e);
+                } finally {
+                    bufferPool.release(osh.getByteBuffer());
                 }
             }).thenApply(v -> null);
         }
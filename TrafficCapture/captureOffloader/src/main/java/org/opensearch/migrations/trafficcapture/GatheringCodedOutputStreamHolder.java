@@ -0,0 +1,125 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A {@link CodedOutputStreamHolder} that keeps large payloads as retained slices of the ByteBufs that they were
+ * observed in rather than copying them into the output stream.  The protobuf framing (tags, lengths, timestamps
+ * and small payloads) is written into {@link #getByteBuffer()} as usual, and {@link #getNioBuffers()} interleaves
+ * that framing with the retained payloads so that offloaders can hand the whole TrafficStream to a gathering
+ * write without assembling it first.
+ *
+ * <p>Holding onto a payload keeps the (usually pooled) Netty buffer that it came from alive until
+ * {@link #release()} is called, which offloaders do once the stream has been written out.  Streams that stay open
+ * for a long time (e.g. for idle keep-alive connections) therefore keep the buffers of their last few requests
+ * from being reused.
+ */
+public class GatheringCodedOutputStreamHolder implements CodedOutputStreamHolder {
+    /** Payloads smaller than this are cheaper to copy than to track as separate buffers. */
+    public static final int DEFAULT_MIN_RETAINED_PAYLOAD_BYTES = 1024;
+
+    @Getter
+    @NonNull
+    private final CodedOutputStream outputStream;
+    @Getter
+    @NonNull
+    private final ByteBuffer byteBuffer;
+    @Getter
+    private final int minRetainedPayloadBytes;
+    private final List<ByteBuf> retainedPayloads = new ArrayList<>();
+    // how many framing bytes had been written when each of retainedPayloads was appended
+    private final List<Integer> framingBytesBeforePayloads = new ArrayList<>();
+    private int retainedPayloadBytes;
+
+    /** Writes framing into {@code byteBuffer}, which must be cleared (e.g. one from a {@link ByteBufferPool}) */
+    public GatheringCodedOutputStreamHolder(@NonNull ByteBuffer byteBuffer, int minRetainedPayloadBytes) {
+        this.byteBuffer = byteBuffer;
+        this.outputStream = CodedOutputStream.newInstance(byteBuffer);
+        this.minRetainedPayloadBytes = minRetainedPayloadBytes;
+    }
+
+    public GatheringCodedOutputStreamHolder(@NonNull ByteBuffer byteBuffer) {
+        this(byteBuffer, DEFAULT_MIN_RETAINED_PAYLOAD_BYTES);
+    }
+
+    @Override
+    public int getOutputStreamBytesLimit() {
+        return byteBuffer.limit();
+    }
+
+    @Override
+    public int getTotalBytesWritten() {
+        return outputStream.getTotalBytesWritten() + retainedPayloadBytes;
+    }
+
+    /**
+     * Appends the readable bytes of payload to the stream, right after everything that has been written to the
+     * output stream so far.  This takes over the caller's reference to payload.
+     */
+    public void appendRetainedPayload(@NonNull ByteBuf payload) {
+        framingBytesBeforePayloads.add(outputStream.getTotalBytesWritten());
+        retainedPayloads.add(payload);
+        retainedPayloadBytes += payload.readableBytes();
+    }
+
+    /**
+     * @return the serialized TrafficStream, in order, as buffers that share content with the framing buffer and
+     * with the retained payloads.  The output stream must have been flushed first.
+     */
+    public ByteBuffer[] getNioBuffers() {
+        var buffers = new ArrayList<ByteBuffer>(2 * retainedPayloads.size() + 1);
+        var framing = byteBuffer.duplicate().flip();
+        int framingStart = 0;
+        for (int i = 0; i < retainedPayloads.size(); i++) {
+            int framingEnd = framingBytesBeforePayloads.get(i);
+            if (framingEnd > framingStart) {
+                buffers.add(framing.slice(framingStart, framingEnd - framingStart));
+            }
+            framingStart = framingEnd;
+            var payload = retainedPayloads.get(i);
+            for (var payloadBuffer : payload.nioBuffers(payload.readerIndex(), payload.readableBytes())) {
+                buffers.add(payloadBuffer);
+            }
+        }
+        if (framing.limit() > framingStart) {
+            buffers.add(framing.slice(framingStart, framing.limit() - framingStart));
+        }
+        return buffers.toArray(ByteBuffer[]::new);
+    }
+
+    /** Writes all of {@link #getNioBuffers()} to channel */
+    public void writeTo(GatheringByteChannel channel) throws IOException {
+        var buffers = getNioBuffers();
+        long remaining = getTotalBytesWritten();
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    /** @return a copy of the serialized TrafficStream, which is the only copy that its payloads go through */
+    public byte[] toByteArray() {
+        var bytes = new byte[getTotalBytesWritten()];
+        var target = ByteBuffer.wrap(bytes);
+        for (var buffer : getNioBuffers()) {
+            target.put(buffer);
+        }
+        return bytes;
+    }
+
+    /** Releases the retained payloads.  The framing buffer is left for the caller to recycle. */
+    public void release() {
+        retainedPayloads.forEach(ByteBuf::release);
+        retainedPayloads.clear();
+        framingBytesBeforePayloads.clear();
+        retainedPayloadBytes = 0;
+    }
+}
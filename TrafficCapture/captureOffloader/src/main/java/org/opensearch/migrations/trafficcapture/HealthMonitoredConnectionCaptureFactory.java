@@ -0,0 +1,49 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.io.IOException;
+
+import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps another factory so that every flush from the offloaders it creates is reported to an
+ * {@link OffloaderHealthMonitor}.  Only {@link StreamChannelConnectionCaptureSerializer}s can be
+ * tracked; other offloaders are returned as-is.  Closing this closes the delegate, if it can be closed.
+ */
+@Slf4j
+@AllArgsConstructor
+public class HealthMonitoredConnectionCaptureFactory<T> implements IConnectionCaptureFactory<T>, AutoCloseable {
+    @NonNull
+    private final IConnectionCaptureFactory<T> delegate;
+    @Getter
+    @NonNull
+    private final OffloaderHealthMonitor healthMonitor;
+
+    @Override
+    public IChannelConnectionCaptureSerializer<T> createOffloader(IConnectionContext ctx) throws IOException {
+        var offloader = delegate.createOffloader(ctx);
+        if (offloader instanceof StreamChannelConnectionCaptureSerializer<T> serializer) {
+            serializer.setHealthMonitor(healthMonitor);
+        } else {
+            log.atDebug().setMessage("Offloader {} does not support health monitoring")
+                .addArgument(() -> offloader.getClass().getName()).log();
+        }
+        return offloader;
+    }
+
+    @Override
+    public void sendBufferedCaptures() {
+        delegate.sendBufferedCaptures();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
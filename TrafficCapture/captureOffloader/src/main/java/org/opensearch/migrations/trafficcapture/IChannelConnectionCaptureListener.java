@@ -42,6 +42,12 @@ public interface IChannelConnectionCaptureListener<T> {
 
     default void addExceptionCaughtEvent(Instant timestamp, Throwable t) throws IOException {}
 
+    /**
+     * Records that the proxy changed how much of this connection's traffic it captures from this point
+     * on, so that consumers know that later requests may be missing or incomplete.
+     */
+    default void addCaptureModeChangeEvent(Instant timestamp, CaptureMode mode) throws IOException {}
+
     default void addEndOfFirstLineIndicator(int characterIndex) throws IOException {}
 
     default void addEndOfHeadersIndicator(int characterIndex) throws IOException {}
@@ -6,4 +6,10 @@ import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
 
 public interface IConnectionCaptureFactory<T> {
     IChannelConnectionCaptureSerializer<T> createOffloader(IConnectionContext ctx) throws IOException;
+
+    /**
+     * Sends any flushed captures that are being held back so that they can be sent together with others.
+     * Factories that send each flush as soon as it's made have nothing to do here.
+     */
+    default void sendBufferedCaptures() {}
 }
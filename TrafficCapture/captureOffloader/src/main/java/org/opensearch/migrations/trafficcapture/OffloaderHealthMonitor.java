@@ -0,0 +1,156 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks how far the offloader (Kafka, file, etc.) is behind the proxy and maps that onto a
+ * {@link CaptureMode}, so that the proxy can shed capture work instead of letting buffered streams
+ * and held requests pile up behind slow flushes.
+ *
+ * <p>The monitor watches every flush handed to a stream manager (see
+ * {@link HealthMonitoredConnectionCaptureFactory}) and keeps three signals: the
+ * number of flushes that haven't been acknowledged yet, the number of bytes in those flushes, and a
+ * moving average of how long acknowledgements take.  Each signal is divided by its configured limit and
+ * the largest ratio is the "pressure".  Latency only counts while flushes are outstanding, otherwise a
+ * single slow period would keep the proxy degraded after the offloader has drained.  Pressure under 1
+ * is {@link CaptureMode#FULL}, under 2 is {@link CaptureMode#HEADERS_ONLY}, under 4 is
+ * {@link CaptureMode#SAMPLED} and anything higher is {@link CaptureMode#PASS_THROUGH}.  Modes escalate as
+ * soon as pressure crosses a boundary, but only step back down once pressure is comfortably
+ * ({@link #RECOVERY_FACTOR}) below the boundary so that the proxy doesn't flap between modes.
+ *
+ * <p>All methods are safe to call from any thread.  {@link #getCurrentMode()} is cheap enough to be
+ * checked for every request.  While degraded, it also re-evaluates the mode once the last evaluation is
+ * older than {@link #STALE_EVALUATION_INTERVAL}, since little or no capture means few flushes to trigger
+ * an evaluation.
+ */
+@Slf4j
+public class OffloaderHealthMonitor {
+    /** A monitor that doesn't track anything and always reports {@link CaptureMode#FULL}. */
+    public static final OffloaderHealthMonitor DISABLED = new OffloaderHealthMonitor(
+        Integer.MAX_VALUE, Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE));
+
+    static final double RECOVERY_FACTOR = 0.75;
+    static final Duration STALE_EVALUATION_INTERVAL = Duration.ofSeconds(1);
+    private static final double[] MODE_PRESSURE_BOUNDARIES = { 1.0, 2.0, 4.0 };
+    /** Weight of each new acknowledgement latency sample in the moving average, as 1/N. */
+    private static final int LATENCY_SMOOTHING_DIVISOR = 8;
+
+    private final int maxInFlightFlushes;
+    private final long maxInFlightBytes;
+    private final long maxAckLatencyNanos;
+
+    private final AtomicInteger inFlightFlushes = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong smoothedAckLatencyNanos = new AtomicLong();
+    private final AtomicReference<CaptureMode> currentMode = new AtomicReference<>(CaptureMode.FULL);
+    private volatile long lastEvaluationNanos = System.nanoTime();
+
+    public OffloaderHealthMonitor(int maxInFlightFlushes, long maxInFlightBytes, @NonNull Duration maxAckLatency) {
+        if (maxInFlightFlushes <= 0 || maxInFlightBytes <= 0 || maxAckLatency.isNegative() || maxAckLatency.isZero()) {
+            throw new IllegalArgumentException("Offloader health limits must all be positive");
+        }
+        this.maxInFlightFlushes = maxInFlightFlushes;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxAckLatencyNanos = maxAckLatency.toNanos();
+    }
+
+    public CaptureMode getCurrentMode() {
+        var mode = currentMode.get();
+        if (mode != CaptureMode.FULL
+            && System.nanoTime() - lastEvaluationNanos > STALE_EVALUATION_INTERVAL.toNanos()) {
+            reevaluateMode();
+            mode = currentMode.get();
+        }
+        return mode;
+    }
+
+    public int getInFlightFlushes() {
+        return inFlightFlushes.get();
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    public Duration getSmoothedAckLatency() {
+        return Duration.ofNanos(smoothedAckLatencyNanos.get());
+    }
+
+    /**
+     * Counts the flush as in-flight until flushFuture completes (successfully or not).  Failures count
+     * toward the latency signal just like successes, since both mean that the proxy had to wait.
+     *
+     * @return a future that completes with the same result as flushFuture, after the bookkeeping is done
+     */
+    public <T> CompletableFuture<T> trackFlush(int bytes, CompletableFuture<T> flushFuture) {
+        if (this == DISABLED) {
+            return flushFuture;
+        }
+        var startNanos = System.nanoTime();
+        inFlightFlushes.incrementAndGet();
+        inFlightBytes.addAndGet(bytes);
+        reevaluateMode();
+        return flushFuture.whenComplete((v, t) -> {
+            inFlightFlushes.decrementAndGet();
+            inFlightBytes.addAndGet(-bytes);
+            recordAckLatency(System.nanoTime() - startNanos);
+            reevaluateMode();
+        });
+    }
+
+    private void recordAckLatency(long sampleNanos) {
+        smoothedAckLatencyNanos.updateAndGet(
+            avg -> avg == 0 ? sampleNanos : avg + (sampleNanos - avg) / LATENCY_SMOOTHING_DIVISOR
+        );
+    }
+
+    double getPressure() {
+        var flushes = inFlightFlushes.get();
+        var latencyPressure = flushes > 0 ? smoothedAckLatencyNanos.get() / (double) maxAckLatencyNanos : 0;
+        return Math.max(
+            Math.max(flushes / (double) maxInFlightFlushes, inFlightBytes.get() / (double) maxInFlightBytes),
+            latencyPressure
+        );
+    }
+
+    static CaptureMode modeForPressure(double pressure) {
+        var modes = CaptureMode.values();
+        for (int i = 0; i < MODE_PRESSURE_BOUNDARIES.length; i++) {
+            if (pressure < MODE_PRESSURE_BOUNDARIES[i]) {
+                return modes[i];
+            }
+        }
+        return CaptureMode.PASS_THROUGH;
+    }
+
+    void reevaluateMode() {
+        lastEvaluationNanos = System.nanoTime();
+        var pressure = getPressure();
+        var previous = currentMode.get();
+        var target = modeForPressure(pressure);
+        if (target.compareTo(previous) < 0) {
+            // only relax by as much as the pressure would allow with some headroom left over
+            target = modeForPressure(pressure / RECOVERY_FACTOR);
+            if (target.compareTo(previous) >= 0) {
+                return;
+            }
+        }
+        if (target != previous && currentMode.compareAndSet(previous, target)) {
+            log.atInfo().setMessage("Capture mode changed from {} to {} (in-flight flushes={}, in-flight bytes={}, "
+                    + "smoothed ack latency={})")
+                .addArgument(previous)
+                .addArgument(target)
+                .addArgument(inFlightFlushes::get)
+                .addArgument(inFlightBytes::get)
+                .addArgument(this::getSmoothedAckLatency)
+                .log();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 
+import org.opensearch.migrations.trafficcapture.protos.CaptureModeChange;
 import org.opensearch.migrations.trafficcapture.protos.CloseObservation;
 import org.opensearch.migrations.trafficcapture.protos.ConnectionExceptionObservation;
 import org.opensearch.migrations.trafficcapture.protos.EndOfMessageIndication;
@@ -28,6 +29,7 @@ import com.google.protobuf.Timestamp;
 import com.google.protobuf.WireFormat;
 import io.netty.buffer.ByteBuf;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -82,6 +84,10 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
     private final String nodeIdString;
     private final String connectionIdString;
     private CodedOutputStreamHolder currentCodedOutputStreamHolderOrNull;
+    /** Notified of every stream that is handed to the stream manager to be offloaded. */
+    @Setter
+    @NonNull
+    private OffloaderHealthMonitor healthMonitor = OffloaderHealthMonitor.DISABLED;
 
     public StreamChannelConnectionCaptureSerializer(
         String nodeId,
@@ -256,9 +262,18 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
     }
 
     private void readByteBufIntoCurrentStream(int fieldNum, ByteBuf buf) throws IOException {
-        var codedOutputStream = getOrCreateCodedOutputStream();
+        var codedOutputStreamHolder = getOrCreateCodedOutputStreamHolder();
+        var codedOutputStream = codedOutputStreamHolder.getOutputStream();
         final int bufReadableLength = buf.readableBytes();
-        if (bufReadableLength > 0) {
+        if (bufReadableLength > 0 && codedOutputStreamHolder instanceof GatheringCodedOutputStreamHolder
+            && bufReadableLength >= ((GatheringCodedOutputStreamHolder) codedOutputStreamHolder)
+                .getMinRetainedPayloadBytes()) {
+            // Keep a reference to the payload rather than copying it; the offloader writes it out in place
+            codedOutputStream.writeTag(fieldNum, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            codedOutputStream.writeUInt32NoTag(bufReadableLength);
+            ((GatheringCodedOutputStreamHolder) codedOutputStreamHolder)
+                .appendRetainedPayload(buf.readRetainedSlice(bufReadableLength));
+        } else if (bufReadableLength > 0) {
             // Here we are optimizing to reduce the number of internal copies and merges performed on the netty
             // ByteBuf to write to the CodedOutputStream especially in cases of Composite and Direct ByteBufs. We
             // can do this by delegating the individual ByteBuffer writes to netty which will retain the underlying
@@ -311,7 +326,10 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
             currentStream.flush();
             assert currentStream == currentCodedOutputStreamHolderOrNull.getOutputStream() : "Expected the stream that "
                 + "is being finalized to be the same stream contained by currentCodedOutputStreamHolderOrNull";
-            return streamManager.closeStream(currentCodedOutputStreamHolderOrNull, numFlushesSoFar);
+            return healthMonitor.trackFlush(
+                currentCodedOutputStreamHolderOrNull.getTotalBytesWritten(),
+                streamManager.closeStream(currentCodedOutputStreamHolderOrNull, numFlushesSoFar)
+            );
         } finally {
             currentCodedOutputStreamHolderOrNull = null;
             if (isFinal) {
@@ -548,6 +566,17 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
         );
     }
 
+    @Override
+    public void addCaptureModeChangeEvent(Instant timestamp, CaptureMode mode) throws IOException {
+        var observation = CaptureModeChange.newBuilder().setMode(mode.toProto()).build();
+        beginSubstreamObservation(
+            timestamp,
+            TrafficObservation.CAPTUREMODECHANGE_FIELD_NUMBER,
+            CodedOutputStream.computeMessageSizeNoTag(observation)
+        );
+        getOrCreateCodedOutputStream().writeMessage(TrafficObservation.CAPTUREMODECHANGE_FIELD_NUMBER, observation);
+    }
+
     @Override
     public void addEndOfFirstLineIndicator(int numBytes) throws IOException {
         firstLineByteLength = numBytes;
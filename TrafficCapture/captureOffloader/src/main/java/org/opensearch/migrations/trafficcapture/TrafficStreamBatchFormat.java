@@ -0,0 +1,46 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+
+import com.google.protobuf.CodedOutputStream;
+
+/**
+ * How offloaders that coalesce flushes mark and lay out records that hold more than one TrafficStream.  A
+ * coalesced record is a serialized {@link TrafficStreamBatch} and carries a {@link #RECORD_FORMAT_HEADER} header
+ * (e.g. a Kafka record header) with the value {@link #TRAFFIC_STREAM_BATCH}.  Records without that header hold a
+ * single TrafficStream, so readers can consume topics that have a mix of both.
+ */
+public final class TrafficStreamBatchFormat {
+    public static final String RECORD_FORMAT_HEADER = "trafficRecordFormat";
+    public static final String TRAFFIC_STREAM_BATCH = "TrafficStreamBatch";
+
+    private static final byte[] TRAFFIC_STREAM_BATCH_BYTES = TRAFFIC_STREAM_BATCH.getBytes(StandardCharsets.UTF_8);
+
+    private TrafficStreamBatchFormat() {}
+
+    public static byte[] getBatchHeaderValue() {
+        return TRAFFIC_STREAM_BATCH_BYTES.clone();
+    }
+
+    /** @param recordFormatHeaderValue the value of the {@link #RECORD_FORMAT_HEADER} header, or null if absent */
+    public static boolean isBatch(byte[] recordFormatHeaderValue) {
+        return recordFormatHeaderValue != null && Arrays.equals(recordFormatHeaderValue, TRAFFIC_STREAM_BATCH_BYTES);
+    }
+
+    /** @return how many bytes {@link #writeEntry} will write for a TrafficStream of this many bytes */
+    public static int computeEntrySize(int trafficStreamBytes) {
+        return CodedOutputStream.computeTagSize(TrafficStreamBatch.TRAFFICSTREAMS_FIELD_NUMBER)
+            + CodedOutputStream.computeUInt32SizeNoTag(trafficStreamBytes)
+            + trafficStreamBytes;
+    }
+
+    /** Appends a serialized TrafficStream to a batch that is being written to outputStream */
+    public static void writeEntry(CodedOutputStream outputStream, byte[] trafficStream, int offset, int length)
+        throws IOException {
+        outputStream.writeByteArray(TrafficStreamBatch.TRAFFICSTREAMS_FIELD_NUMBER, trafficStream, offset, length);
+    }
+}
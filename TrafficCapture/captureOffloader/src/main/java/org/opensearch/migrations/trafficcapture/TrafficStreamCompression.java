@@ -0,0 +1,195 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.opensearch.migrations.trafficcapture.protos.CompressedSubStreams;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compresses the observations of serialized TrafficStreams into {@link CompressedSubStreams} and expands them
+ * back again.  A single TrafficStream for one connection is usually too small for the offloader's own batch
+ * compression (e.g. Kafka's) to do much with, but the JSON bodies inside of it are very repetitive, especially
+ * when compressed against a dictionary trained on earlier traffic (e.g. with {@code zstd --train}).
+ *
+ * <p>Only the subStream field is compressed.  The connection id, node id and stream index are left as they
+ * were so that anything that routes or keys records by them keeps working without expanding the record.
+ * Records are left uncompressed when their observations are smaller than the configured minimum or when
+ * compressing them doesn't make them smaller, so readers always need to go through {@link #parse} or
+ * {@link #expand}, which pass uncompressed records through unchanged.
+ *
+ * <p>Instances are immutable and safe to share across threads.
+ */
+@Slf4j
+public class TrafficStreamCompression {
+    public static final int DEFAULT_LEVEL = 3;
+    public static final int DEFAULT_MIN_BYTES_TO_COMPRESS = 256;
+
+    /** Never compresses and can expand any record that was compressed without a dictionary. */
+    public static final TrafficStreamCompression DISABLED = forDecompression(null);
+
+    private final int level;
+    private final int minBytesToCompress;
+    private final ZstdDictCompress compressionDictionary;
+    private final ZstdDictDecompress decompressionDictionary;
+
+    /**
+     * @param dictionary         a zstd dictionary (or any sample content to use as a raw-content dictionary)
+     *                           that readers will also need, or null to compress without one
+     * @param minBytesToCompress streams whose observations are smaller than this are left uncompressed
+     */
+    public TrafficStreamCompression(int level, byte[] dictionary, int minBytesToCompress) {
+        this.level = level;
+        this.minBytesToCompress = minBytesToCompress;
+        this.compressionDictionary = dictionary == null ? null : new ZstdDictCompress(dictionary, level);
+        this.decompressionDictionary = dictionary == null ? null : new ZstdDictDecompress(dictionary);
+    }
+
+    /** An instance for readers, which only ever expand records. */
+    public static TrafficStreamCompression forDecompression(byte[] dictionary) {
+        return new TrafficStreamCompression(DEFAULT_LEVEL, dictionary, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the bytes of a TrafficStream equivalent to the one serialized in buffer, with its observations
+     * compressed when that's worthwhile.  The result never shares its array with buffer.
+     */
+    public byte[] compress(byte[] buffer, int offset, int length) {
+        var compressed = compressOrNull(buffer, offset, length);
+        return compressed != null ? compressed : Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+
+    /** Like {@link #compress(byte[], int, int)}, but returns trafficStream itself when it is left uncompressed */
+    public byte[] compress(byte[] trafficStream) {
+        var compressed = compressOrNull(trafficStream, 0, trafficStream.length);
+        return compressed != null ? compressed : trafficStream;
+    }
+
+    private byte[] compressOrNull(byte[] buffer, int offset, int length) {
+        if (length < minBytesToCompress) {
+            return null;
+        }
+        try {
+            var otherFieldsBytes = new ByteArrayOutputStream(length);
+            var subStreamsBytes = new ByteArrayOutputStream(length);
+            var otherFields = CodedOutputStream.newInstance(otherFieldsBytes);
+            var subStreams = CodedOutputStream.newInstance(subStreamsBytes);
+            var input = CodedInputStream.newInstance(buffer, offset, length);
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                var isSubStream = WireFormat.getTagFieldNumber(tag) == TrafficStream.SUBSTREAM_FIELD_NUMBER;
+                input.skipField(tag, isSubStream ? subStreams : otherFields);
+            }
+            otherFields.flush();
+            subStreams.flush();
+
+            var uncompressed = subStreamsBytes.toByteArray();
+            if (uncompressed.length < minBytesToCompress) {
+                return null;
+            }
+            var compressed = compressionDictionary != null
+                ? Zstd.compress(uncompressed, compressionDictionary)
+                : Zstd.compress(uncompressed, level);
+            if (compressed.length >= uncompressed.length) {
+                return null;
+            }
+
+            var result = otherFieldsBytes;
+            var resultStream = CodedOutputStream.newInstance(result);
+            resultStream.writeMessage(
+                TrafficStream.COMPRESSEDSUBSTREAMS_FIELD_NUMBER,
+                CompressedSubStreams.newBuilder()
+                    .setCodec(CompressedSubStreams.Codec.ZSTD)
+                    .setUncompressedSize(uncompressed.length)
+                    .setData(ByteString.copyFrom(compressed))
+                    .build()
+            );
+            resultStream.flush();
+            return result.toByteArray();
+        } catch (IOException | ZstdException e) {
+            log.atWarn().setCause(e).setMessage("Could not compress a traffic stream, sending it uncompressed").log();
+            return null;
+        }
+    }
+
+    public TrafficStream parse(byte[] bytes) throws InvalidProtocolBufferException {
+        return expand(TrafficStream.parseFrom(bytes));
+    }
+
+    /**
+     * Like {@link #parse}, but the payloads of the observations point into bytes rather than being copied out of
+     * it, so bytes must never be modified afterward (and stays reachable for as long as any of them are).
+     */
+    public TrafficStream parseWithoutCopying(byte[] bytes) throws InvalidProtocolBufferException {
+        return expand(TrafficStream.parser().parseFrom(newAliasingInput(UnsafeByteOperations.unsafeWrap(bytes))));
+    }
+
+    /** @return the TrafficStreams of a record in the {@link TrafficStreamBatchFormat}, each one expanded */
+    public List<TrafficStream> parseBatch(byte[] bytes) throws InvalidProtocolBufferException {
+        var batch = TrafficStreamBatch.parseFrom(bytes);
+        var trafficStreams = new ArrayList<TrafficStream>(batch.getTrafficStreamsCount());
+        for (var entry : batch.getTrafficStreamsList()) {
+            trafficStreams.add(expand(TrafficStream.parseFrom(entry)));
+        }
+        return trafficStreams;
+    }
+
+    /** Like {@link #parseBatch}, with the same caveats as {@link #parseWithoutCopying} */
+    public List<TrafficStream> parseBatchWithoutCopying(byte[] bytes) throws InvalidProtocolBufferException {
+        var batch = TrafficStreamBatch.parser().parseFrom(newAliasingInput(UnsafeByteOperations.unsafeWrap(bytes)));
+        var trafficStreams = new ArrayList<TrafficStream>(batch.getTrafficStreamsCount());
+        for (var entry : batch.getTrafficStreamsList()) {
+            // each entry is itself a view of bytes, so its observations can point into bytes too
+            trafficStreams.add(expand(TrafficStream.parser().parseFrom(newAliasingInput(entry))));
+        }
+        return trafficStreams;
+    }
+
+    private static CodedInputStream newAliasingInput(ByteString bytes) {
+        // aliasing only applies to inputs over immutable buffers, which is what ByteStrings provide
+        var input = bytes.newCodedInput();
+        input.enableAliasing(true);
+        return input;
+    }
+
+    /** @return trafficStream with its compressed observations (if any) moved back into subStream */
+    public TrafficStream expand(TrafficStream trafficStream) throws InvalidProtocolBufferException {
+        if (!trafficStream.hasCompressedSubStreams()) {
+            return trafficStream;
+        }
+        var compressed = trafficStream.getCompressedSubStreams();
+        if (compressed.getCodec() != CompressedSubStreams.Codec.ZSTD) {
+            throw new InvalidProtocolBufferException("Unknown traffic stream compression codec: "
+                + compressed.getCodecValue());
+        }
+        var data = compressed.getData().toByteArray();
+        byte[] uncompressed;
+        try {
+            uncompressed = decompressionDictionary != null
+                ? Zstd.decompress(data, decompressionDictionary, compressed.getUncompressedSize())
+                : Zstd.decompress(data, compressed.getUncompressedSize());
+        } catch (ZstdException e) {
+            throw new InvalidProtocolBufferException("Could not decompress the observations of traffic stream "
+                + trafficStream.getConnectionId() + " (compressed with dictionary id " + Zstd.getDictIdFromFrame(data)
+                + "): " + e.getMessage());
+        }
+        // the uncompressed bytes are a run of serialized subStream fields, so merging them appends the observations
+        return trafficStream.toBuilder().clearCompressedSubStreams().mergeFrom(uncompressed).build();
+    }
+}
@@ -0,0 +1,121 @@
+package org.opensearch.migrations.trafficcapture.segmentlog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
+import org.opensearch.migrations.trafficcapture.ByteBufferPool;
+import org.opensearch.migrations.trafficcapture.CodedOutputStreamAndByteBufferWrapper;
+import org.opensearch.migrations.trafficcapture.CodedOutputStreamHolder;
+import org.opensearch.migrations.trafficcapture.GatheringCodedOutputStreamHolder;
+import org.opensearch.migrations.trafficcapture.IChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.OrderedStreamLifecyleManager;
+import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offloads each TrafficStream as one record of a local {@link SegmentedLogWriter} log.  Every connection's
+ * streams share the same log, so a record costs a memory copy plus whatever the configured
+ * {@link SegmentedLogWriter.Durability} requires, rather than a network round-trip.  The replayer can read the
+ * log back with its segmented-log traffic source.
+ */
+@Slf4j
+public class SegmentedLogConnectionCaptureFactory implements IConnectionCaptureFactory<Void>, AutoCloseable {
+    private final String nodeId;
+    private final SegmentedLogWriter logWriter;
+    private final ByteBufferPool bufferPool;
+    // When set, large payloads are copied into the log straight from the Netty buffers that they were read from
+    private final boolean retainPayloads;
+
+    public SegmentedLogConnectionCaptureFactory(
+        String nodeId,
+        Path logDirectory,
+        int maxTrafficStreamBytes,
+        int segmentBytes,
+        SegmentedLogWriter.Durability durability,
+        Duration groupCommitInterval
+    ) throws IOException {
+        this(nodeId, logDirectory, maxTrafficStreamBytes, segmentBytes, durability, groupCommitInterval, false);
+    }
+
+    public SegmentedLogConnectionCaptureFactory(
+        String nodeId,
+        Path logDirectory,
+        int maxTrafficStreamBytes,
+        int segmentBytes,
+        SegmentedLogWriter.Durability durability,
+        Duration groupCommitInterval,
+        boolean retainPayloads
+    ) throws IOException {
+        this.nodeId = nodeId;
+        this.retainPayloads = retainPayloads;
+        this.logWriter = new SegmentedLogWriter(logDirectory, segmentBytes, durability, groupCommitInterval);
+        if (maxTrafficStreamBytes > logWriter.getMaxRecordBytes()) {
+            logWriter.close();
+            throw new IllegalArgumentException("Segments of " + segmentBytes + " bytes cannot hold traffic streams "
+                + "of up to " + maxTrafficStreamBytes + " bytes");
+        }
+        this.bufferPool = new ByteBufferPool(maxTrafficStreamBytes);
+    }
+
+    @AllArgsConstructor
+    class StreamManager extends OrderedStreamLifecyleManager<Void> {
+        String connectionId;
+
+        @Override
+        public CodedOutputStreamHolder createStream() {
+            return retainPayloads
+                ? new GatheringCodedOutputStreamHolder(bufferPool.acquire())
+                : new CodedOutputStreamAndByteBufferWrapper(bufferPool.acquire());
+        }
+
+        @Override
+        public CompletableFuture<Void> kickoffCloseStream(CodedOutputStreamHolder outputStreamHolder, int index) {
+            if (outputStreamHolder instanceof GatheringCodedOutputStreamHolder) {
+                var gosh = (GatheringCodedOutputStreamHolder) outputStreamHolder;
+                try {
+                    // append() copies the bytes into the log before returning
+                    return logWriter.append(gosh.getNioBuffers()).whenComplete((v, t) -> logIfFailed(t, index));
+                } finally {
+                    gosh.release();
+                    bufferPool.release(gosh.getByteBuffer());
+                }
+            }
+            if (!(outputStreamHolder instanceof CodedOutputStreamAndByteBufferWrapper)) {
+                throw new IllegalArgumentException(
+                    "Unknown outputStreamHolder sent back to StreamManager: " + outputStreamHolder
+                );
+            }
+            var bb = ((CodedOutputStreamAndByteBufferWrapper) outputStreamHolder).getByteBuffer();
+            try {
+                // append() copies the bytes into the log before returning
+                return logWriter.append(bb.array(), 0, bb.position()).whenComplete((v, t) -> logIfFailed(t, index));
+            } finally {
+                bufferPool.release(bb);
+            }
+        }
+
+        private void logIfFailed(Throwable t, int index) {
+            if (t != null) {
+                log.atError().setCause(t).setMessage("Failed to write traffic stream {}.{} to the log")
+                    .addArgument(connectionId).addArgument(index).log();
+            }
+        }
+    }
+
+    @Override
+    public IChannelConnectionCaptureSerializer<Void> createOffloader(IConnectionContext ctx) {
+        final var connectionId = ctx.getConnectionId();
+        return new StreamChannelConnectionCaptureSerializer<>(nodeId, connectionId, new StreamManager(connectionId));
+    }
+
+    @Override
+    public void close() throws IOException {
+        logWriter.close();
+    }
+}
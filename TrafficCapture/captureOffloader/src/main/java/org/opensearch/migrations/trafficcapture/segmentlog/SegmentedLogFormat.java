@@ -0,0 +1,109 @@
+package org.opensearch.migrations.trafficcapture.segmentlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk layout shared by {@link SegmentedLogWriter} and {@link SegmentedLogReader}.
+ *
+ * <p>A log is a directory of segments named by the number of the first record that they hold
+ * ({@code 00000000000000000000.segment}, ...).  Each segment is a pre-allocated file that starts with
+ * a {@link #SEGMENT_HEADER_BYTES}-byte header (magic, format version, base record number) and is followed by
+ * records of the form {@code [int length][int crc32c][payload]}.  The length is written last, so a zero length
+ * marks space that hasn't been written yet and a record with a bad checksum is a torn write; both end the
+ * readable portion of the segment.  A length of {@link #END_OF_SEGMENT} means that the writer moved on to the
+ * next segment.
+ *
+ * <p>Alongside each segment, a sparse {@code .index} file holds {@code [long recordNumber][int position]}
+ * entries so that readers can seek to a record without scanning the whole segment.  The index is only a hint;
+ * readers fall back to scanning from the start of the segment when it is missing or short.
+ */
+final class SegmentedLogFormat {
+    static final int MAGIC = 0x54534C47; // "TSLG"
+    static final int FORMAT_VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 8;
+    static final int END_OF_SEGMENT = -1;
+    static final int NO_RECORD = 0;
+    static final int INDEX_ENTRY_BYTES = 12;
+    static final int INDEX_INTERVAL_BYTES = 64 * 1024;
+
+    static final String SEGMENT_SUFFIX = ".segment";
+    static final String INDEX_SUFFIX = ".index";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{20})\\" + SEGMENT_SUFFIX);
+
+    private SegmentedLogFormat() {}
+
+    static Path segmentPath(Path directory, long baseRecordNumber) {
+        return directory.resolve(String.format("%020d%s", baseRecordNumber, SEGMENT_SUFFIX));
+    }
+
+    static Path indexPath(Path directory, long baseRecordNumber) {
+        return directory.resolve(String.format("%020d%s", baseRecordNumber, INDEX_SUFFIX));
+    }
+
+    /** Base record numbers of every segment in {@code directory}, in ascending order */
+    static List<Long> listSegmentBases(Path directory) throws IOException {
+        var bases = new ArrayList<Long>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(p -> {
+                var m = SEGMENT_NAME.matcher(p.getFileName().toString());
+                if (m.matches()) {
+                    bases.add(Long.parseLong(m.group(1)));
+                }
+            });
+        }
+        bases.sort(Long::compare);
+        return bases;
+    }
+
+    static void writeSegmentHeader(ByteBuffer segment, long baseRecordNumber) {
+        segment.putLong(8, baseRecordNumber);
+        segment.putInt(4, FORMAT_VERSION);
+        // Readers treat a segment without its magic number as not yet created, so set it last
+        segment.putInt(0, MAGIC);
+    }
+
+    static void validateSegmentHeader(ByteBuffer segment, Path path, long expectedBaseRecordNumber)
+        throws IOException {
+        if (segment.limit() < SEGMENT_HEADER_BYTES
+            || segment.getInt(0) != MAGIC
+            || segment.getInt(4) != FORMAT_VERSION
+            || segment.getLong(8) != expectedBaseRecordNumber) {
+            throw new IOException("Not a valid version " + FORMAT_VERSION + " traffic log segment: " + path);
+        }
+    }
+
+    static int checksum(ByteBuffer segment, int payloadPosition, int length) {
+        var crc = new CRC32C();
+        crc.update(segment.slice(payloadPosition, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Inspects the record slot at {@code position}.
+     * @return the payload length of a complete record, {@link #END_OF_SEGMENT} if the segment was sealed here,
+     * or {@link #NO_RECORD} if nothing (or only a torn write) is there
+     */
+    static int recordLengthAt(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER_BYTES > segment.limit()) {
+            return NO_RECORD;
+        }
+        int length = segment.getInt(position);
+        if (length == END_OF_SEGMENT) {
+            return END_OF_SEGMENT;
+        }
+        int payloadPosition = position + RECORD_HEADER_BYTES;
+        if (length <= 0 || length > segment.limit() - payloadPosition) {
+            return NO_RECORD;
+        }
+        return segment.getInt(position + 4) == checksum(segment, payloadPosition, length) ? length : NO_RECORD;
+    }
+}
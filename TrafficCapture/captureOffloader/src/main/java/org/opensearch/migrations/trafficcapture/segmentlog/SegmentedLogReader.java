@@ -0,0 +1,177 @@
+package org.opensearch.migrations.trafficcapture.segmentlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.INDEX_ENTRY_BYTES;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.RECORD_HEADER_BYTES;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.SEGMENT_HEADER_BYTES;
+
+/**
+ * Reads the records written by a {@link SegmentedLogWriter}, in order, starting from the first record or from
+ * any record number passed to {@link #seek}.  A reader may follow a log that is still being written: when it
+ * has caught up with the writer, {@link #next()} returns null until more records become available.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public class SegmentedLogReader implements AutoCloseable {
+    private final Path directory;
+
+    private long segmentBase = -1;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextRecordNumber;
+
+    public SegmentedLogReader(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Traffic log directory does not exist: " + directory);
+        }
+        this.directory = directory;
+        var bases = SegmentedLogFormat.listSegmentBases(directory);
+        if (!bases.isEmpty() && openSegment(bases.get(0), SEGMENT_HEADER_BYTES)) {
+            nextRecordNumber = bases.get(0);
+        }
+    }
+
+    /** The number of the record that the next successful call to {@link #next()} will return */
+    public long getNextRecordNumber() {
+        return nextRecordNumber;
+    }
+
+    /**
+     * Positions the reader so that {@link #next()} returns record {@code recordNumber}, using the segment index
+     * to skip directly to the right neighborhood.
+     */
+    public void seek(long recordNumber) throws IOException {
+        var bases = SegmentedLogFormat.listSegmentBases(directory);
+        long base = -1;
+        for (var candidate : bases) {
+            if (candidate <= recordNumber) {
+                base = candidate;
+            }
+        }
+        if (base < 0) {
+            throw new IOException("Record " + recordNumber + " is not present in traffic log " + directory);
+        }
+        long indexedRecord = base;
+        int indexedPosition = SEGMENT_HEADER_BYTES;
+        var indexPath = SegmentedLogFormat.indexPath(directory, base);
+        if (Files.exists(indexPath)) {
+            var index = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            for (int i = 0; i + INDEX_ENTRY_BYTES <= index.limit(); i += INDEX_ENTRY_BYTES) {
+                long entryRecord = index.getLong(i);
+                if (entryRecord > recordNumber) {
+                    break;
+                }
+                indexedRecord = entryRecord;
+                indexedPosition = index.getInt(i + Long.BYTES);
+            }
+        }
+        if (!openSegment(base, indexedPosition)) {
+            throw new IOException("Record " + recordNumber + " has not been written to traffic log " + directory);
+        }
+        nextRecordNumber = indexedRecord;
+        while (nextRecordNumber < recordNumber) {
+            if (next() == null) {
+                throw new IOException("Record " + recordNumber + " has not been written to traffic log " + directory);
+            }
+        }
+    }
+
+    /**
+     * Returns the payload of the next record, or null if the writer hasn't finished writing one yet.
+     */
+    public byte[] next() throws IOException {
+        while (true) {
+            if (segment == null) {
+                var bases = SegmentedLogFormat.listSegmentBases(directory);
+                if (bases.isEmpty()) {
+                    return null;
+                }
+                if (!openSegment(bases.get(0), SEGMENT_HEADER_BYTES)) {
+                    return null;
+                }
+                nextRecordNumber = bases.get(0);
+            }
+            refreshMappingIfGrown();
+            int length = SegmentedLogFormat.recordLengthAt(segment, position);
+            if (length > 0) {
+                var payload = new byte[length];
+                segment.get(position + RECORD_HEADER_BYTES, payload);
+                position += RECORD_HEADER_BYTES + length;
+                nextRecordNumber++;
+                return payload;
+            }
+            // Either this segment was sealed or its writer went away mid-record.  In both cases, the next
+            // segment (once it exists) continues from the first record that wasn't written intact here.
+            var laterSegment = nextSegmentBase();
+            if (laterSegment < 0) {
+                return null;
+            }
+            // The writer may have finished this record and rolled over since it was checked above.  It seals a
+            // segment before creating the next one, so what's here now is all that this segment will ever hold.
+            refreshMappingIfGrown();
+            if (SegmentedLogFormat.recordLengthAt(segment, position) > 0) {
+                continue;
+            }
+            if (!openSegment(laterSegment, SEGMENT_HEADER_BYTES)) {
+                return null;
+            }
+            nextRecordNumber = laterSegment;
+        }
+    }
+
+    /** Package-private so that tests can have the writer move on while the reader is looking for a segment */
+    long nextSegmentBase() throws IOException {
+        List<Long> bases = SegmentedLogFormat.listSegmentBases(directory);
+        for (var base : bases) {
+            if (base > segmentBase) {
+                return base;
+            }
+        }
+        return -1;
+    }
+
+    /** @return false if the writer has created the segment but not yet initialized it */
+    private boolean openSegment(long base, int startPosition) throws IOException {
+        var path = SegmentedLogFormat.segmentPath(directory, base);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < SEGMENT_HEADER_BYTES) {
+                return false;
+            }
+            var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) == 0) {
+                return false;
+            }
+            SegmentedLogFormat.validateSegmentHeader(mapped, path, base);
+            segment = mapped;
+        }
+        segmentBase = base;
+        position = startPosition;
+        return true;
+    }
+
+    /** Segments are pre-allocated by the writer, but remap in case this reader saw the file before that */
+    private void refreshMappingIfGrown() throws IOException {
+        if (position + RECORD_HEADER_BYTES <= segment.limit()) {
+            return;
+        }
+        var path = SegmentedLogFormat.segmentPath(directory, segmentBase);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > segment.limit()) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+    }
+}
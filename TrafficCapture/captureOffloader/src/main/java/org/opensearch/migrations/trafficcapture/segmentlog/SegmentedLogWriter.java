@@ -0,0 +1,325 @@
+package org.opensearch.migrations.trafficcapture.segmentlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.END_OF_SEGMENT;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.INDEX_ENTRY_BYTES;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.INDEX_INTERVAL_BYTES;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.NO_RECORD;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.RECORD_HEADER_BYTES;
+import static org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogFormat.SEGMENT_HEADER_BYTES;
+
+/**
+ * Appends records to memory-mapped, pre-allocated segment files (see {@link SegmentedLogFormat}), rolling over
+ * to a new segment whenever the current one is full.  Appends may come from any thread.
+ *
+ * <p>The future returned by {@link #append} completes once the record is as durable as the configured
+ * {@link Durability} promises.  Records are only ever forced to disk on the writer's own sync thread, so an
+ * append never waits on the disk, nor do other appends wait behind it.  When a writer is opened on a directory that already holds a log, the last
+ * segment is sealed after its final intact record and writing continues in a new segment.  A last segment that
+ * holds no records, or whose header was never written, is reused instead, since a new segment would have the
+ * same name.
+ */
+@Slf4j
+public class SegmentedLogWriter implements AutoCloseable {
+
+    public enum Durability {
+        /** Records are handed to the OS page cache; they survive a process crash but not a host crash */
+        NONE,
+        /**
+         * Every append is forced to disk before its future completes.  Each append asks the sync thread for a
+         * force right away, and appends that arrive while one is in progress share the next one.
+         */
+        EVERY_RECORD,
+        /** Appends are forced to disk together, periodically, and their futures complete after that force */
+        GROUP_COMMIT
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Durability durability;
+    // Forces records and sealed segments to disk; null when durability is NONE
+    private final ScheduledExecutorService syncExecutor;
+
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private FileChannel indexChannel;
+    private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+    private int lastIndexedPosition;
+    private long nextRecordNumber;
+    private List<CompletableFuture<Void>> awaitingSync = new ArrayList<>();
+    private List<SealedSegment> sealedAwaitingSync = new ArrayList<>();
+    private boolean closed;
+
+    /** A segment that has been rolled away from, whose files are closed once it has been forced to disk */
+    private record SealedSegment(MappedByteBuffer segment, FileChannel segmentChannel, FileChannel indexChannel) {
+        void forceAndClose() throws IOException {
+            try {
+                segment.force();
+                indexChannel.force(false);
+            } finally {
+                segmentChannel.close();
+                indexChannel.close();
+            }
+        }
+    }
+
+    public SegmentedLogWriter(Path directory, int segmentBytes, Durability durability, Duration groupCommitInterval)
+        throws IOException {
+        if (segmentBytes <= SEGMENT_HEADER_BYTES + RECORD_HEADER_BYTES + Integer.BYTES) {
+            throw new IllegalArgumentException("segmentBytes is too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.durability = durability;
+        Files.createDirectories(directory);
+        this.nextRecordNumber = sealExistingLog();
+        openSegment(nextRecordNumber, Files.exists(SegmentedLogFormat.segmentPath(directory, nextRecordNumber)));
+
+        if (durability == Durability.NONE) {
+            syncExecutor = null;
+        } else {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                var t = new Thread(r, "segmentedLogSync");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        if (durability == Durability.GROUP_COMMIT) {
+            long intervalNanos = groupCommitInterval.toNanos();
+            if (intervalNanos <= 0) {
+                syncExecutor.shutdown();
+                throw new IllegalArgumentException("groupCommitInterval must be positive: " + groupCommitInterval);
+            }
+            syncExecutor.scheduleWithFixedDelay(this::syncPending, intervalNanos, intervalNanos,
+                TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** The largest payload that a single record may carry */
+    public int getMaxRecordBytes() {
+        return segmentBytes - SEGMENT_HEADER_BYTES - RECORD_HEADER_BYTES - Integer.BYTES;
+    }
+
+    /** Copies {@code length} bytes from {@code bytes} into the log as a single record */
+    public CompletableFuture<Void> append(byte[] bytes, int offset, int length) {
+        return append(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Copies the remaining bytes of {@code parts}, one after another, into the log as a single record.  The
+     * positions of {@code parts} are left as they were.
+     */
+    public CompletableFuture<Void> append(ByteBuffer... parts) {
+        int length = 0;
+        for (var part : parts) {
+            length += part.remaining();
+        }
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Log writer has been closed"));
+            }
+            try {
+                int start = reserve(length);
+                int payloadPosition = start + RECORD_HEADER_BYTES;
+                int partPosition = payloadPosition;
+                for (var part : parts) {
+                    segment.put(partPosition, part, part.position(), part.remaining());
+                    partPosition += part.remaining();
+                }
+                segment.putInt(start + 4, SegmentedLogFormat.checksum(segment, payloadPosition, length));
+                // The length goes last; until it is set, readers treat this slot as unwritten
+                segment.putInt(start, length);
+                segment.position(payloadPosition + length);
+                nextRecordNumber++;
+
+                if (durability == Durability.NONE) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                var future = new CompletableFuture<Void>();
+                awaitingSync.add(future);
+                if (durability == Durability.EVERY_RECORD && awaitingSync.size() == 1) {
+                    // Later appends join this one's force until the sync thread picks it up
+                    syncExecutor.execute(this::syncPending);
+                }
+                return future;
+            } catch (IOException | RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+
+    /** Returns the position for a record of {@code length} bytes, rolling to a new segment if necessary */
+    private int reserve(int length) throws IOException {
+        if (length <= 0 || length > getMaxRecordBytes()) {
+            throw new IllegalArgumentException("Record of " + length + " bytes cannot be stored in segments of "
+                + segmentBytes + " bytes");
+        }
+        // Always leave room for an end-of-segment marker after the record
+        if (segment.position() + RECORD_HEADER_BYTES + length + Integer.BYTES > segmentBytes) {
+            sealSegment();
+            openSegment(nextRecordNumber, false);
+        }
+        int start = segment.position();
+        if (start == SEGMENT_HEADER_BYTES || start - lastIndexedPosition >= INDEX_INTERVAL_BYTES) {
+            indexEntry.clear();
+            indexEntry.putLong(nextRecordNumber).putInt(start).flip();
+            while (indexEntry.hasRemaining()) {
+                indexChannel.write(indexEntry);
+            }
+            lastIndexedPosition = start;
+        }
+        return start;
+    }
+
+    /**
+     * @param reuseExisting whether to overwrite an existing segment that holds no records rather than create a
+     *                      new one
+     */
+    private void openSegment(long baseRecordNumber, boolean reuseExisting) throws IOException {
+        var createOption = reuseExisting ? StandardOpenOption.CREATE : StandardOpenOption.CREATE_NEW;
+        segmentChannel = FileChannel.open(SegmentedLogFormat.segmentPath(directory, baseRecordNumber),
+            createOption, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (reuseExisting) {
+            segmentChannel.truncate(segmentBytes);
+        }
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        // A reused segment may have been sealed with nothing in it
+        segment.putInt(SEGMENT_HEADER_BYTES, NO_RECORD);
+        SegmentedLogFormat.writeSegmentHeader(segment, baseRecordNumber);
+        segment.position(SEGMENT_HEADER_BYTES);
+        indexChannel = FileChannel.open(SegmentedLogFormat.indexPath(directory, baseRecordNumber),
+            createOption, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        lastIndexedPosition = SEGMENT_HEADER_BYTES;
+    }
+
+    private void sealSegment() throws IOException {
+        segment.putInt(segment.position(), END_OF_SEGMENT);
+        if (durability == Durability.NONE) {
+            segmentChannel.close();
+            indexChannel.close();
+        } else {
+            // Records awaiting a sync may live in this segment, so the sync thread forces it before closing it
+            sealedAwaitingSync.add(new SealedSegment(segment, segmentChannel, indexChannel));
+        }
+    }
+
+    /**
+     * Finds the end of an existing log and seals its last segment there, unless that segment is empty or was
+     * never initialized, in which case it is left for {@link #openSegment} to reuse.
+     * @return the number for the next record
+     */
+    private long sealExistingLog() throws IOException {
+        var bases = SegmentedLogFormat.listSegmentBases(directory);
+        if (bases.isEmpty()) {
+            return 0;
+        }
+        long base = bases.get(bases.size() - 1);
+        var path = SegmentedLogFormat.segmentPath(directory, base);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            // Matching the reader, a segment without a magic number was created but never initialized
+            if (existing.limit() < SEGMENT_HEADER_BYTES || existing.getInt(0) == 0) {
+                log.atInfo().setMessage("Reusing uninitialized traffic log segment {}").addArgument(path).log();
+                return base;
+            }
+            SegmentedLogFormat.validateSegmentHeader(existing, path, base);
+            long recordNumber = base;
+            int position = SEGMENT_HEADER_BYTES;
+            int length;
+            while ((length = SegmentedLogFormat.recordLengthAt(existing, position)) > 0) {
+                position += RECORD_HEADER_BYTES + length;
+                recordNumber++;
+            }
+            if (recordNumber == base) {
+                log.atInfo().setMessage("Reusing empty traffic log segment {}").addArgument(path).log();
+                return base;
+            }
+            if (length != END_OF_SEGMENT) {
+                existing.putInt(position, END_OF_SEGMENT);
+                existing.force();
+            }
+            log.atInfo().setMessage("Resuming traffic log in {} at record {}")
+                .addArgument(directory).addArgument(recordNumber).log();
+            return recordNumber;
+        }
+    }
+
+    private void syncPending() {
+        MappedByteBuffer toForce;
+        List<SealedSegment> sealedToForce;
+        List<CompletableFuture<Void>> toComplete;
+        synchronized (this) {
+            if (awaitingSync.isEmpty() && sealedAwaitingSync.isEmpty()) {
+                return;
+            }
+            toForce = segment;
+            sealedToForce = sealedAwaitingSync;
+            toComplete = awaitingSync;
+            sealedAwaitingSync = new ArrayList<>();
+            awaitingSync = new ArrayList<>();
+        }
+        Exception failure = null;
+        for (var sealed : sealedToForce) {
+            try {
+                sealed.forceAndClose();
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+        }
+        try {
+            toForce.force();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        if (failure == null) {
+            toComplete.forEach(f -> f.complete(null));
+        } else {
+            log.atError().setCause(failure).setMessage("Failed to force traffic log segment to disk").log();
+            var cause = failure;
+            toComplete.forEach(f -> f.completeExceptionally(cause));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (syncExecutor != null) {
+            syncExecutor.shutdown();
+            try {
+                syncExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Nothing else can append now, so whatever is still pending is forced here
+            syncPending();
+        }
+        synchronized (this) {
+            if (durability != Durability.NONE) {
+                indexChannel.force(false);
+            }
+            segmentChannel.close();
+            indexChannel.close();
+        }
+    }
+}
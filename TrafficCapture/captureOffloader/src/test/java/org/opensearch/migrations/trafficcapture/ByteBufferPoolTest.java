@@ -0,0 +1,39 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ByteBufferPoolTest {
+
+    @Test
+    void testReleasedBuffersAreClearedAndReused() {
+        var pool = new ByteBufferPool(64, 2);
+        var first = pool.acquire();
+        first.put(new byte[] { 1, 2, 3 });
+        pool.release(first);
+
+        var second = pool.acquire();
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(0, second.position());
+        Assertions.assertEquals(64, second.limit());
+    }
+
+    @Test
+    void testPoolRetainsAtMostMaxBuffers() {
+        var pool = new ByteBufferPool(64, 2);
+        var buffers = new ByteBuffer[] { pool.acquire(), pool.acquire(), pool.acquire() };
+        for (var bb : buffers) {
+            pool.release(bb);
+        }
+        Assertions.assertEquals(2, pool.getPooledBufferCount());
+    }
+
+    @Test
+    void testForeignBuffersAreRejected() {
+        var pool = new ByteBufferPool(64, 2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocate(32)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocateDirect(64)));
+    }
+}
@@ -0,0 +1,72 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class OffloaderHealthMonitorTest {
+
+    @Test
+    void testModesEscalateWithOutstandingFlushesAndRecoverWithHysteresis() {
+        var monitor = new OffloaderHealthMonitor(4, Long.MAX_VALUE, Duration.ofHours(1));
+        var flushes = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 20; i++) {
+            var f = new CompletableFuture<Void>();
+            flushes.add(f);
+            monitor.trackFlush(10, f);
+        }
+        Assertions.assertEquals(CaptureMode.PASS_THROUGH, monitor.getCurrentMode());
+        Assertions.assertEquals(20, monitor.getInFlightFlushes());
+        Assertions.assertEquals(200, monitor.getInFlightBytes());
+
+        // 7 outstanding is a pressure of 1.75, which would be HEADERS_ONLY if we were escalating, but
+        // it's not far enough below the SAMPLED boundary (2.0 * RECOVERY_FACTOR) to step all the way down
+        for (int i = 0; i < 13; i++) {
+            flushes.remove(0).complete(null);
+        }
+        Assertions.assertEquals(CaptureMode.SAMPLED, monitor.getCurrentMode());
+
+        while (!flushes.isEmpty()) {
+            flushes.remove(0).complete(null);
+        }
+        Assertions.assertEquals(CaptureMode.FULL, monitor.getCurrentMode());
+        Assertions.assertEquals(0, monitor.getInFlightBytes());
+    }
+
+    @Test
+    void testSlowAcknowledgementsDegradeOnlyWhileFlushesAreOutstanding() throws Exception {
+        var monitor = new OffloaderHealthMonitor(1000, Long.MAX_VALUE, Duration.ofMillis(1));
+        var slow = new CompletableFuture<Void>();
+        monitor.trackFlush(1, slow);
+        Thread.sleep(10);
+        var outstanding = new CompletableFuture<Void>();
+        monitor.trackFlush(1, outstanding);
+        slow.complete(null);
+        Assertions.assertEquals(CaptureMode.PASS_THROUGH, monitor.getCurrentMode());
+
+        outstanding.complete(null);
+        Assertions.assertEquals(CaptureMode.FULL, monitor.getCurrentMode());
+    }
+
+    @Test
+    void testFailedFlushesAreStillTracked() {
+        var monitor = new OffloaderHealthMonitor(1, Long.MAX_VALUE, Duration.ofHours(1));
+        var flush = new CompletableFuture<Void>();
+        var tracked = monitor.trackFlush(5, flush);
+        flush.completeExceptionally(new IllegalStateException("broker unavailable"));
+        Assertions.assertTrue(tracked.isCompletedExceptionally());
+        Assertions.assertEquals(0, monitor.getInFlightFlushes());
+        Assertions.assertEquals(CaptureMode.FULL, monitor.getCurrentMode());
+    }
+
+    @Test
+    void testModeForPressureBoundaries() {
+        Assertions.assertEquals(CaptureMode.FULL, OffloaderHealthMonitor.modeForPressure(0.99));
+        Assertions.assertEquals(CaptureMode.HEADERS_ONLY, OffloaderHealthMonitor.modeForPressure(1.0));
+        Assertions.assertEquals(CaptureMode.SAMPLED, OffloaderHealthMonitor.modeForPressure(2.0));
+        Assertions.assertEquals(CaptureMode.PASS_THROUGH, OffloaderHealthMonitor.modeForPressure(4.0));
+    }
+}
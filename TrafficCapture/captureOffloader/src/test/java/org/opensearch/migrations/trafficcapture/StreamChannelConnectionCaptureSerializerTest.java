@@ -684,6 +684,41 @@ class StreamChannelConnectionCaptureSerializerTest {
         return Math.min(maxWriteBytesSpace, requestedWriteableSpace);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 5 })
+    public void testRetainedPayloadsSerializeTheSameAsCopiedOnes(int bufferSizeDivisor) throws Exception {
+        var largePayload = Unpooled.wrappedBuffer(FAKE_READ_PACKET_DATA.repeat(400).getBytes(StandardCharsets.UTF_8));
+        var smallPayload = Unpooled.wrappedBuffer(FAKE_READ_PACKET_DATA.getBytes(StandardCharsets.UTF_8));
+        var bufferSize = getEstimatedTrafficStreamByteSize(3, largePayload.readableBytes()) / bufferSizeDivisor;
+
+        var copiedBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+        var copyingSerializer = createSerializerWithTestHandler(copiedBuffers, bufferSize);
+        var gatheredStreams = new ConcurrentLinkedQueue<byte[]>();
+        var gatheringSerializer = new StreamChannelConnectionCaptureSerializer<>(
+            TEST_NODE_ID_STRING,
+            TEST_TRAFFIC_STREAM_ID_STRING,
+            new GatheringStreamManager(bufferSize, gatheredStreams)
+        );
+        for (var serializer : List.of(copyingSerializer, gatheringSerializer)) {
+            serializer.addReadEvent(REFERENCE_TIMESTAMP, largePayload);
+            serializer.addReadEvent(REFERENCE_TIMESTAMP, smallPayload);
+            serializer.commitEndOfHttpMessageIndicator(REFERENCE_TIMESTAMP);
+            serializer.addWriteEvent(REFERENCE_TIMESTAMP, largePayload);
+            serializer.flushCommitAndResetStream(true).get();
+        }
+
+        Assertions.assertEquals(1, largePayload.refCnt());
+        Assertions.assertEquals(copiedBuffers.size(), gatheredStreams.size());
+        var gatheredIterator = gatheredStreams.iterator();
+        for (var copied : copiedBuffers) {
+            var copiedBytes = new byte[copied.remaining()];
+            copied.duplicate().get(copiedBytes);
+            Assertions.assertArrayEquals(copiedBytes, gatheredIterator.next());
+        }
+        largePayload.release();
+        smallPayload.release();
+    }
+
     @Test
     public void testInitializationWithRealIds() {
         final String realNodeId = "b671d2f2-577b-414e-9eb4-8bc3e89ee182";
@@ -715,6 +750,28 @@ class StreamChannelConnectionCaptureSerializerTest {
         }
     }
 
+    @AllArgsConstructor
+    static class GatheringStreamManager extends OrderedStreamLifecyleManager<Void> {
+        int bufferSize;
+        ConcurrentLinkedQueue<byte[]> outputStreams;
+
+        @Override
+        public CodedOutputStreamHolder createStream() {
+            return new GatheringCodedOutputStreamHolder(ByteBuffer.allocate(bufferSize));
+        }
+
+        @Override
+        protected CompletableFuture<Void> kickoffCloseStream(CodedOutputStreamHolder outputStreamHolder, int index) {
+            var gosh = (GatheringCodedOutputStreamHolder) outputStreamHolder;
+            try {
+                outputStreams.add(gosh.toByteArray());
+            } finally {
+                gosh.release();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
     @AllArgsConstructor
     static class StreamManager extends OrderedStreamLifecyleManager<Void> {
 
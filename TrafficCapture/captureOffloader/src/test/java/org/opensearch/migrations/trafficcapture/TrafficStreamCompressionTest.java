@@ -0,0 +1,106 @@
+package org.opensearch.migrations.trafficcapture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.opensearch.migrations.trafficcapture.protos.ReadObservation;
+import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+import org.opensearch.migrations.trafficcapture.protos.WriteObservation;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TrafficStreamCompressionTest {
+    private static final String SEARCH_REQUEST = "POST /logs-2024/_search HTTP/1.1\r\nContent-Type: application/json"
+        + "\r\n\r\n{\"query\":{\"bool\":{\"must\":[{\"match\":{\"message\":\"error\"}},{\"range\":{\"@timestamp\":"
+        + "{\"gte\":\"now-1h\"}}}]}},\"size\":100}";
+    private static final String SEARCH_RESPONSE = "HTTP/1.1 200 OK\r\ncontent-type: application/json\r\n\r\n"
+        + "{\"took\":5,\"timed_out\":false,\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"},\"hits\":[]}}";
+
+    private static TrafficStream makeTrafficStream(int requests) {
+        var builder = TrafficStream.newBuilder().setConnectionId("connection").setNodeId("node").setNumber(7);
+        for (int i = 0; i < requests; i++) {
+            builder.addSubStream(TrafficObservation.newBuilder()
+                .setRead(ReadObservation.newBuilder().setData(ByteString.copyFromUtf8(SEARCH_REQUEST))));
+            builder.addSubStream(TrafficObservation.newBuilder()
+                .setWrite(WriteObservation.newBuilder().setData(ByteString.copyFromUtf8(SEARCH_RESPONSE))));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testCompressedStreamsExpandToTheOriginal() throws Exception {
+        var original = makeTrafficStream(20);
+        var bytes = original.toByteArray();
+        var compression = new TrafficStreamCompression(TrafficStreamCompression.DEFAULT_LEVEL, null, 256);
+        var compressed = compression.compress(bytes, 0, bytes.length);
+
+        Assertions.assertTrue(compressed.length * 4 < bytes.length);
+        var parsedWithoutExpanding = TrafficStream.parseFrom(compressed);
+        Assertions.assertTrue(parsedWithoutExpanding.hasCompressedSubStreams());
+        Assertions.assertEquals(0, parsedWithoutExpanding.getSubStreamCount());
+        Assertions.assertEquals("connection", parsedWithoutExpanding.getConnectionId());
+        Assertions.assertEquals(7, parsedWithoutExpanding.getNumber());
+
+        Assertions.assertEquals(original, TrafficStreamCompression.DISABLED.parse(compressed));
+    }
+
+    @Test
+    void testSmallStreamsAreLeftUncompressed() throws Exception {
+        var original = makeTrafficStream(1);
+        var bytes = original.toByteArray();
+        var compression = new TrafficStreamCompression(TrafficStreamCompression.DEFAULT_LEVEL, null, 4096);
+        var result = compression.compress(bytes, 0, bytes.length);
+
+        Assertions.assertArrayEquals(bytes, result);
+        Assertions.assertEquals(original, compression.parse(result));
+    }
+
+    @Test
+    void testDictionaryIsRequiredToExpand() throws Exception {
+        var dictionary = (SEARCH_REQUEST + SEARCH_RESPONSE).getBytes(StandardCharsets.UTF_8);
+        var original = makeTrafficStream(2);
+        var bytes = original.toByteArray();
+        var compression = new TrafficStreamCompression(TrafficStreamCompression.DEFAULT_LEVEL, dictionary, 256);
+        var compressed = compression.compress(bytes, 0, bytes.length);
+
+        Assertions.assertTrue(TrafficStream.parseFrom(compressed).hasCompressedSubStreams());
+        Assertions.assertEquals(original, TrafficStreamCompression.forDecompression(dictionary).parse(compressed));
+        Assertions.assertThrows(InvalidProtocolBufferException.class,
+            () -> TrafficStreamCompression.DISABLED.parse(compressed));
+    }
+
+    @Test
+    void testParsingWithoutCopyingSharesThePayloadBytes() throws Exception {
+        var original = makeTrafficStream(2);
+        var bytes = original.toByteArray();
+        var parsed = TrafficStreamCompression.DISABLED.parseWithoutCopying(bytes);
+        Assertions.assertEquals(original, parsed);
+
+        Arrays.fill(bytes, (byte) 0);
+        Assertions.assertNotEquals(original.getSubStream(0).getRead().getData(),
+            parsed.getSubStream(0).getRead().getData());
+    }
+
+    @Test
+    void testParsingBatchesWithoutCopyingSharesThePayloadBytes() throws Exception {
+        var originals = List.of(makeTrafficStream(1), makeTrafficStream(3));
+        var batchBytes = TrafficStreamBatch.newBuilder()
+            .addTrafficStreams(originals.get(0).toByteString())
+            .addTrafficStreams(originals.get(1).toByteString())
+            .build()
+            .toByteArray();
+        var parsed = TrafficStreamCompression.DISABLED.parseBatchWithoutCopying(batchBytes);
+        Assertions.assertEquals(originals, parsed);
+        Assertions.assertEquals(TrafficStreamCompression.DISABLED.parseBatch(batchBytes), parsed);
+
+        Arrays.fill(batchBytes, (byte) 0);
+        Assertions.assertNotEquals(originals.get(1).getSubStream(5).getWrite().getData(),
+            parsed.get(1).getSubStream(5).getWrite().getData());
+    }
+}
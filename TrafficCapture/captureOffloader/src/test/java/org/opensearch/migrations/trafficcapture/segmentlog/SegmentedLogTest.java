@@ -0,0 +1,184 @@
+package org.opensearch.migrations.trafficcapture.segmentlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SegmentedLogTest {
+    private static final int SMALL_SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path logDir;
+
+    private static byte[] record(int i) {
+        return ("record-" + i + "-" + "x".repeat(i * 5)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendAll(SegmentedLogWriter writer, int from, int to) throws Exception {
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (int i = from; i < to; i++) {
+            var bytes = record(i);
+            futures.add(writer.append(bytes, 0, bytes.length));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static void assertReads(SegmentedLogReader reader, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            Assertions.assertEquals(i, reader.getNextRecordNumber());
+            Assertions.assertArrayEquals(record(i), reader.next(), "record " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SegmentedLogWriter.Durability.class)
+    void testRecordsRoundTripAcrossSegments(SegmentedLogWriter.Durability durability) throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES, durability, Duration.ofMillis(1));
+             var reader = new SegmentedLogReader(logDir)) {
+            appendAll(writer, 0, 100);
+            assertReads(reader, 0, 100);
+            Assertions.assertNull(reader.next());
+
+            // The reader follows the log as it grows
+            appendAll(writer, 100, 110);
+            assertReads(reader, 100, 110);
+            Assertions.assertNull(reader.next());
+        }
+        Assertions.assertTrue(SegmentedLogFormat.listSegmentBases(logDir).size() > 1);
+    }
+
+    @Test
+    void testSeekUsesSegmentsAndIndex() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            appendAll(writer, 0, 100);
+        }
+        try (var reader = new SegmentedLogReader(logDir)) {
+            reader.seek(77);
+            assertReads(reader, 77, 100);
+            reader.seek(3);
+            assertReads(reader, 3, 5);
+        }
+    }
+
+    @Test
+    void testReopenedWriterSkipsTornRecordAndContinues() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, 1024 * 1024,
+            SegmentedLogWriter.Durability.EVERY_RECORD, Duration.ZERO)) {
+            appendAll(writer, 0, 10);
+        }
+        // Simulate a crash part-way through writing record 9 by corrupting its payload
+        long record9Position = SegmentedLogFormat.SEGMENT_HEADER_BYTES;
+        for (int i = 0; i < 9; i++) {
+            record9Position += SegmentedLogFormat.RECORD_HEADER_BYTES + record(i).length;
+        }
+        try (var channel = FileChannel.open(SegmentedLogFormat.segmentPath(logDir, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0 }), record9Position + SegmentedLogFormat.RECORD_HEADER_BYTES);
+        }
+
+        try (var writer = new SegmentedLogWriter(logDir, 1024 * 1024,
+            SegmentedLogWriter.Durability.EVERY_RECORD, Duration.ZERO)) {
+            appendAll(writer, 9, 12);
+        }
+        try (var reader = new SegmentedLogReader(logDir)) {
+            assertReads(reader, 0, 12);
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testWriterRestartsOverEmptyLastSegment() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            appendAll(writer, 0, 10);
+        }
+        // Restarting without appending anything leaves an empty segment behind, twice over
+        for (int i = 0; i < 2; i++) {
+            new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES, SegmentedLogWriter.Durability.NONE, Duration.ZERO)
+                .close();
+        }
+
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            appendAll(writer, 10, 12);
+        }
+        try (var reader = new SegmentedLogReader(logDir)) {
+            assertReads(reader, 0, 12);
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testWriterRestartsOverSegmentWithoutHeader() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            appendAll(writer, 0, 10);
+        }
+        // Simulate a crash after the next segment was created but before its header was written
+        try (var channel = FileChannel.open(SegmentedLogFormat.segmentPath(logDir, 10),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(SMALL_SEGMENT_BYTES));
+        }
+
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            appendAll(writer, 10, 12);
+        }
+        try (var reader = new SegmentedLogReader(logDir)) {
+            assertReads(reader, 0, 12);
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testReaderKeepsRecordWrittenJustBeforeRollover() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            var appended = new int[] { 0 };
+            // Once the reader has found nothing more in the first segment, but before it looks for a later one,
+            // the writer finishes that record and rolls over to a new segment
+            try (var reader = new SegmentedLogReader(logDir) {
+                @Override
+                long nextSegmentBase() throws IOException {
+                    while (appended[0] == 0 || SegmentedLogFormat.listSegmentBases(logDir).size() < 2) {
+                        try {
+                            appendAll(writer, appended[0], appended[0] + 1);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        appended[0]++;
+                    }
+                    return super.nextSegmentBase();
+                }
+            }) {
+                Assertions.assertArrayEquals(record(0), reader.next());
+                Assertions.assertTrue(appended[0] > 1);
+                assertReads(reader, 1, appended[0]);
+                Assertions.assertNull(reader.next());
+            }
+        }
+    }
+
+    @Test
+    void testOversizedRecordIsRejected() throws Exception {
+        try (var writer = new SegmentedLogWriter(logDir, SMALL_SEGMENT_BYTES,
+            SegmentedLogWriter.Durability.NONE, Duration.ZERO)) {
+            var tooBig = new byte[writer.getMaxRecordBytes() + 1];
+            var future = writer.append(tooBig, 0, tooBig.length);
+            Assertions.assertTrue(future.isCompletedExceptionally());
+        }
+    }
+}
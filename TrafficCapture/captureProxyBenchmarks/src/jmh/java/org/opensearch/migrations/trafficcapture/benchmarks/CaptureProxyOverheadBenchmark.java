@@ -0,0 +1,268 @@
+package org.opensearch.migrations.trafficcapture.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.opensearch.migrations.testutils.PortFinder;
+import org.opensearch.migrations.tracing.IContextTracker;
+import org.opensearch.migrations.trafficcapture.FileConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaCaptureFactory;
+import org.opensearch.migrations.trafficcapture.netty.RequestCapturePredicate;
+import org.opensearch.migrations.trafficcapture.proxyserver.CaptureProxy;
+import org.opensearch.migrations.trafficcapture.proxyserver.RootCaptureContext;
+import org.opensearch.migrations.trafficcapture.proxyserver.netty.BacksideConnectionPool;
+import org.opensearch.migrations.trafficcapture.proxyserver.netty.NettyScanningHttpProxy;
+import org.opensearch.migrations.trafficcapture.proxyserver.netty.ProxyChannelInitializer;
+import org.opensearch.migrations.trafficcapture.proxyserver.netty.ProxyTransport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.opentelemetry.api.OpenTelemetry;
+import lombok.Lombok;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Sends requests from an in-process Netty load generator through the capture proxy's full pipeline
+ * ({@link ProxyChannelInitializer}, so the capture handlers and serializer included) to a {@link StubBackend}.
+ * Each benchmark thread owns one keep-alive connection and sends one request at a time, so
+ * {@link Mode#SampleTime} reports request latency percentiles and {@link Mode#Throughput} reports how many
+ * round-trips the threads complete together.
+ *
+ * <p>{@link Capture#DIRECT} skips the proxy and is the baseline that the other settings add latency to.
+ * {@link Capture#NO_CAPTURE} is the cost of proxying alone, and the remaining settings add capture with the
+ * file offloader or with the Kafka offloader writing to an in-memory producer.  POSTs are held by the proxy
+ * until their capture has been offloaded while GETs are not, so the two methods show the blocking and the
+ * non-blocking capture paths.  The transport only applies to the proxy's sockets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class CaptureProxyOverheadBenchmark {
+    private static final int PROXY_THREADS = 4;
+    private static final int MAX_TRAFFIC_STREAM_BYTES = 1024 * 1024;
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(30);
+
+    public enum Capture {
+        DIRECT,
+        NO_CAPTURE,
+        FILE,
+        KAFKA_STAND_IN
+    }
+
+    @Param({ "DIRECT", "NO_CAPTURE", "FILE", "KAFKA_STAND_IN" })
+    public Capture capture;
+
+    @Param({ "256", "4096", "65536" })
+    public int requestBodyBytes;
+
+    @Param({ "GET", "POST" })
+    public String method;
+
+    @Param({ "nio", "native" })
+    public String transport;
+
+    private StubBackend backend;
+    private NettyScanningHttpProxy proxy;
+    private Path captureDirectory;
+    private EventLoopGroup clientGroup;
+    private int targetPort;
+    private FullHttpRequest request;
+
+    /**
+     * A producer that acknowledges every record right away and then forgets it, so that long runs don't keep
+     * every captured byte in memory the way that a plain {@link MockProducer} would.
+     */
+    static class DiscardingProducer extends MockProducer<String, byte[]> {
+        DiscardingProducer() {
+            super(true, null, new StringSerializer(), new ByteArraySerializer());
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+            var result = super.send(record, callback);
+            clear();
+            return result;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        backend = new StubBackend(PROXY_THREADS);
+        clientGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("loadGenerator"));
+        request = makeRequest();
+        if (capture == Capture.DIRECT) {
+            targetPort = backend.getPort();
+            return;
+        }
+
+        var rootContext = new RootCaptureContext(OpenTelemetry.noop(), IContextTracker.DO_NOTHING_TRACKER);
+        var proxyTransport = new ProxyTransport("native".equals(transport), true,
+            ProxyTransport.OS_DEFAULT_BUFFER_SIZE, ProxyTransport.OS_DEFAULT_BUFFER_SIZE);
+        var connectionPool = new BacksideConnectionPool(backend.getUri(), null, 0, Duration.ofSeconds(30),
+            proxyTransport);
+        var initializer = new ProxyChannelInitializer<>(rootContext, connectionPool, null,
+            makeCaptureFactory(rootContext), new RequestCapturePredicate());
+        PortFinder.retryWithNewPortUntilNoThrow(port -> {
+            var candidate = new NettyScanningHttpProxy(port);
+            try {
+                candidate.start(initializer, PROXY_THREADS, proxyTransport, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Lombok.sneakyThrow(e);
+            }
+            proxy = candidate;
+        });
+        targetPort = proxy.getProxyPort();
+    }
+
+    private IConnectionCaptureFactory<?> makeCaptureFactory(RootCaptureContext rootContext) throws IOException {
+        switch (capture) {
+            case NO_CAPTURE:
+                return CaptureProxy.getNullConnectionCaptureFactory();
+            case FILE:
+                captureDirectory = Files.createTempDirectory("captureProxyBenchmark");
+                return new FileConnectionCaptureFactory("benchmark", MAX_TRAFFIC_STREAM_BYTES, captureDirectory);
+            case KAFKA_STAND_IN:
+                return new KafkaCaptureFactory(rootContext, "benchmark", new DiscardingProducer(),
+                    KafkaCaptureFactory.DEFAULT_TOPIC_NAME_FOR_TRAFFIC, MAX_TRAFFIC_STREAM_BYTES);
+            default:
+                throw new IllegalStateException("No capture factory for " + capture);
+        }
+    }
+
+    private FullHttpRequest makeRequest() {
+        var isGet = HttpMethod.GET.name().equals(method);
+        var body = "{\"index\":{\"_index\":\"benchmark\"}}\n{\"message\":\"benchmark document\"}\n"
+            .repeat(requestBodyBytes / 64 + 1)
+            .substring(0, requestBodyBytes)
+            .getBytes(StandardCharsets.UTF_8);
+        var fullRequest = new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1,
+            HttpMethod.valueOf(method),
+            isGet ? "/benchmark/_search" : "/_bulk",
+            Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(body))
+        );
+        fullRequest.headers()
+            .set(HttpHeaderNames.HOST, "localhost")
+            .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+            .set(HttpHeaderNames.CONTENT_LENGTH, body.length);
+        return fullRequest;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            if (proxy != null) {
+                proxy.stop();
+            }
+            backend.close();
+        } finally {
+            clientGroup.shutdownGracefully();
+        }
+        if (captureDirectory != null) {
+            try (Stream<Path> files = Files.walk(captureDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /** One keep-alive connection from the load generator, with at most one request outstanding. */
+    @State(Scope.Thread)
+    public static class Connection {
+        private Channel channel;
+        private volatile CompletableFuture<Integer> pendingResponse;
+
+        @Setup(Level.Trial)
+        public void connect(CaptureProxyOverheadBenchmark benchmark) throws InterruptedException {
+            channel = new Bootstrap().group(benchmark.clientGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline()
+                            .addLast(new HttpClientCodec())
+                            .addLast(new HttpObjectAggregator(MAX_TRAFFIC_STREAM_BYTES))
+                            .addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                                    pendingResponse.complete(response.status().code());
+                                }
+
+                                @Override
+                                public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                                    pendingResponse.completeExceptionally(cause);
+                                    ctx.close();
+                                }
+                            });
+                    }
+                })
+                .connect("localhost", benchmark.targetPort)
+                .sync()
+                .channel();
+        }
+
+        int roundTrip(FullHttpRequest request) throws Exception {
+            var response = new CompletableFuture<Integer>();
+            pendingResponse = response;
+            channel.writeAndFlush(request.retainedDuplicate());
+            return response.get(RESPONSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            // the load generator's event loops shut down with the benchmark, so don't wait on them here
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public int roundTrip(Connection connection) throws Exception {
+        return connection.roundTrip(request);
+    }
+}
@@ -0,0 +1,101 @@
+package org.opensearch.migrations.trafficcapture.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.trafficcapture.CodedOutputStreamAndByteBufferWrapper;
+import org.opensearch.migrations.trafficcapture.CodedOutputStreamHolder;
+import org.opensearch.migrations.trafficcapture.OrderedStreamLifecyleManager;
+import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the per-chunk cost of {@link StreamChannelConnectionCaptureSerializer} on its own, with a stream
+ * manager that hands back the same buffer every time and completes every close immediately, so only the
+ * serialization (and the flushes that it triggers) is timed.
+ *
+ * <p>The read and write benchmarks keep appending to one connection's stream and include the flushes that
+ * happen whenever the stream fills up.  {@link #requestResponseCycle} is what one small request/response
+ * exchange costs when every exchange is flushed on its own, like requests that must be offloaded before they
+ * are forwarded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CaptureSerializerBenchmark {
+    private static final int MAX_TRAFFIC_STREAM_BYTES = 1024 * 1024;
+
+    @Param({"64", "1024", "16384"})
+    public int chunkBytes;
+
+    private final Instant timestamp = Instant.now();
+    private ByteBuf chunk;
+    private StreamChannelConnectionCaptureSerializer<Void> serializer;
+
+    /** Reuses a single buffer for every stream and discards whatever was written into it. */
+    static class DiscardingStreamManager extends OrderedStreamLifecyleManager<Void> {
+        private final ByteBuffer buffer = ByteBuffer.allocate(MAX_TRAFFIC_STREAM_BYTES);
+
+        @Override
+        public CodedOutputStreamHolder createStream() {
+            return new CodedOutputStreamAndByteBufferWrapper(buffer.clear());
+        }
+
+        @Override
+        protected CompletableFuture<Void> kickoffCloseStream(CodedOutputStreamHolder outputStreamHolder, int index) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var body = "{\"query\":{\"match\":{\"message\":\"benchmark\"}}}\n"
+            .repeat(chunkBytes / 40 + 1)
+            .substring(0, chunkBytes)
+            .getBytes(StandardCharsets.UTF_8);
+        chunk = Unpooled.directBuffer(chunkBytes).writeBytes(body);
+        serializer = new StreamChannelConnectionCaptureSerializer<>("node", "connection",
+            new DiscardingStreamManager());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        chunk.release();
+    }
+
+    @Benchmark
+    public void addReadEvent() throws IOException {
+        serializer.addReadEvent(timestamp, chunk);
+    }
+
+    @Benchmark
+    public void addWriteEvent() throws IOException {
+        serializer.addWriteEvent(timestamp, chunk);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> requestResponseCycle() throws IOException {
+        serializer.addReadEvent(timestamp, chunk);
+        serializer.addEndOfFirstLineIndicator(16);
+        serializer.addEndOfHeadersIndicator(Math.min(chunkBytes, 64));
+        serializer.commitEndOfHttpMessageIndicator(timestamp);
+        serializer.addWriteEvent(timestamp, chunk);
+        return serializer.flushCommitAndResetStream(false);
+    }
+}
@@ -0,0 +1,87 @@
+package org.opensearch.migrations.trafficcapture.benchmarks;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * A keep-alive HTTP server that answers every request with the same small JSON document, standing in for the
+ * cluster behind the proxy.  It does as little work as possible so that the benchmarks mostly measure the
+ * proxy.  Unlike the test fixtures' servers, it accepts request bodies of any size that the benchmarks send.
+ */
+class StubBackend implements AutoCloseable {
+    private static final byte[] RESPONSE_BODY =
+        "{\"took\":1,\"errors\":false,\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_REQUEST_BYTES = 64 * 1024 * 1024;
+
+    private final EventLoopGroup eventLoopGroup;
+    private final Channel serverChannel;
+
+    StubBackend(int numThreads) throws InterruptedException {
+        eventLoopGroup = new NioEventLoopGroup(numThreads, new DefaultThreadFactory("stubBackend"));
+        serverChannel = new ServerBootstrap().group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(new HttpServerCodec())
+                        .addLast(new HttpObjectAggregator(MAX_REQUEST_BYTES))
+                        .addLast(new SimpleChannelInboundHandler<FullHttpRequest>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                                var response = new DefaultFullHttpResponse(
+                                    HttpVersion.HTTP_1_1,
+                                    HttpResponseStatus.OK,
+                                    Unpooled.wrappedBuffer(RESPONSE_BODY)
+                                );
+                                response.headers()
+                                    .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                                    .set(HttpHeaderNames.CONTENT_LENGTH, RESPONSE_BODY.length);
+                                ctx.writeAndFlush(response);
+                            }
+                        });
+                }
+            })
+            .bind("localhost", 0)
+            .sync()
+            .channel();
+    }
+
+    int getPort() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    URI getUri() {
+        return URI.create("http://localhost:" + getPort());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            serverChannel.close().sync();
+        } finally {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.opensearch.migrations.trafficcapture.CaptureMode;
+import org.opensearch.migrations.trafficcapture.OffloaderHealthMonitor;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Decides, per request, how the {@link CaptureMode} reported by an {@link OffloaderHealthMonitor} is
+ * applied by {@link LoggingHttpHandler}.  The mode is sampled once at the start of each request and
+ * held for the whole request and its response.
+ *
+ * <p>A request is "large" when its Content-Length exceeds the configured threshold or when it is sent
+ * with chunked transfer encoding (since its size isn't known up front).  It is "non-mutating" when it
+ * is a GET/HEAD/OPTIONS or a POST to one of the read-only endpoints in {@link #READ_ONLY_ENDPOINTS}.
+ */
+public class AdaptiveCapturePolicy {
+    public static final AdaptiveCapturePolicy ALWAYS_CAPTURE =
+        new AdaptiveCapturePolicy(OffloaderHealthMonitor.DISABLED, Long.MAX_VALUE, 1);
+
+    static final Set<String> READ_ONLY_ENDPOINTS =
+        Set.of("_search", "_msearch", "_count", "_mget", "_field_caps", "_validate");
+
+    @Getter
+    private final OffloaderHealthMonitor healthMonitor;
+    private final long largeRequestBytes;
+    private final int sampleOneInN;
+
+    /**
+     * @param largeRequestBytes requests with bodies larger than this are captured headers-only while in
+     *                          {@link CaptureMode#HEADERS_ONLY} if they are non-mutating
+     * @param sampleOneInN      while in {@link CaptureMode#SAMPLED}, each request is captured with a
+     *                          probability of 1/sampleOneInN
+     */
+    public AdaptiveCapturePolicy(@NonNull OffloaderHealthMonitor healthMonitor,
+                                 long largeRequestBytes,
+                                 int sampleOneInN) {
+        if (sampleOneInN < 1) {
+            throw new IllegalArgumentException("sampleOneInN must be at least 1");
+        }
+        this.healthMonitor = healthMonitor;
+        this.largeRequestBytes = largeRequestBytes;
+        this.sampleOneInN = sampleOneInN;
+    }
+
+    public CaptureMode getCurrentMode() {
+        return healthMonitor.getCurrentMode();
+    }
+
+    /**
+     * Called at the start of each request, before its headers have been parsed.
+     * @return true when the request should not be captured at all
+     */
+    boolean shouldSuppressRequest(CaptureMode mode) {
+        switch (mode) {
+            case PASS_THROUGH:
+                return true;
+            case SAMPLED:
+                return sampleOneInN > 1 && ThreadLocalRandom.current().nextInt(sampleOneInN) != 0;
+            default:
+                return false;
+        }
+    }
+
+    /** Called once the request's headers have been parsed. */
+    boolean shouldCaptureHeadersOnly(CaptureMode mode, HttpRequest request) {
+        return mode == CaptureMode.HEADERS_ONLY && isLargeRequest(request) && isNonMutatingRequest(request);
+    }
+
+    boolean isLargeRequest(HttpRequest request) {
+        var headers = request.headers();
+        if (headers.containsValue(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED, true)) {
+            return true;
+        }
+        var contentLength = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(contentLength.trim()) > largeRequestBytes;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static boolean isNonMutatingRequest(HttpRequest request) {
+        var method = request.method();
+        if (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD) || method.equals(HttpMethod.OPTIONS)) {
+            return true;
+        }
+        if (!method.equals(HttpMethod.POST)) {
+            return false;
+        }
+        var uri = request.uri();
+        var queryStart = uri.indexOf('?');
+        var path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        for (var segment : path.split("/")) {
+            if (READ_ONLY_ENDPOINTS.contains(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,8 +1,10 @@
 package org.opensearch.migrations.trafficcapture.netty;
 
 import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
 import java.util.function.Predicate;
 
+import org.opensearch.migrations.trafficcapture.CaptureMode;
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.netty.tracing.IRootWireLoggingContext;
 import org.opensearch.migrations.trafficcapture.netty.tracing.IWireCaptureContexts;
@@ -17,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ConditionallyReliableLoggingHttpHandler<T> extends LoggingHttpHandler<T> {
     private final Predicate<HttpRequest> shouldBlockPredicate;
+    private final GroupCommitFlusher groupCommitFlusher;
 
     public ConditionallyReliableLoggingHttpHandler(
         @NonNull IRootWireLoggingContext rootContext,
@@ -26,8 +29,42 @@ public class ConditionallyReliableLoggingHttpHandler<T> extends LoggingHttpHandl
         @NonNull RequestCapturePredicate requestCapturePredicate,
         @NonNull Predicate<HttpRequest> headerPredicateForWhenToBlock
     ) throws IOException {
-        super(rootContext, nodeId, connectionId, trafficOffloaderFactory, requestCapturePredicate);
+        this(rootContext, nodeId, connectionId, trafficOffloaderFactory, requestCapturePredicate,
+            headerPredicateForWhenToBlock, GroupCommitFlusher.DISABLED);
+    }
+
+    public ConditionallyReliableLoggingHttpHandler(
+        @NonNull IRootWireLoggingContext rootContext,
+        @NonNull String nodeId,
+        String connectionId,
+        @NonNull IConnectionCaptureFactory<T> trafficOffloaderFactory,
+        @NonNull RequestCapturePredicate requestCapturePredicate,
+        @NonNull Predicate<HttpRequest> headerPredicateForWhenToBlock,
+        @NonNull GroupCommitFlusher groupCommitFlusher
+    ) throws IOException {
+        this(rootContext, nodeId, connectionId, trafficOffloaderFactory, requestCapturePredicate,
+            headerPredicateForWhenToBlock, groupCommitFlusher, AdaptiveCapturePolicy.ALWAYS_CAPTURE);
+    }
+
+    /**
+     * @param adaptiveCapturePolicy decides how much to capture as the offloader falls behind.  Outside of
+     *                              {@link CaptureMode#FULL}, requests that match headerPredicateForWhenToBlock
+     *                              are forwarded without waiting for their capture to be offloaded.
+     */
+    public ConditionallyReliableLoggingHttpHandler(
+        @NonNull IRootWireLoggingContext rootContext,
+        @NonNull String nodeId,
+        String connectionId,
+        @NonNull IConnectionCaptureFactory<T> trafficOffloaderFactory,
+        @NonNull RequestCapturePredicate requestCapturePredicate,
+        @NonNull Predicate<HttpRequest> headerPredicateForWhenToBlock,
+        @NonNull GroupCommitFlusher groupCommitFlusher,
+        @NonNull AdaptiveCapturePolicy adaptiveCapturePolicy
+    ) throws IOException {
+        super(rootContext, nodeId, connectionId, trafficOffloaderFactory, requestCapturePredicate,
+            adaptiveCapturePolicy);
         this.shouldBlockPredicate = headerPredicateForWhenToBlock;
+        this.groupCommitFlusher = groupCommitFlusher;
     }
 
     @Override
@@ -37,28 +74,37 @@ public class ConditionallyReliableLoggingHttpHandler<T> extends LoggingHttpHandl
         boolean shouldCapture,
         HttpRequest httpRequest
     ) throws Exception {
-        if (shouldCapture && shouldBlockPredicate.test(httpRequest)) {
+        if (shouldCapture
+            && getCaptureModeForCurrentRequest() == CaptureMode.FULL
+            && shouldBlockPredicate.test(httpRequest)) {
             ((IWireCaptureContexts.IRequestContext) messageContext).onBlockingRequest();
             messageContext = messageContext.createBlockingContext();
-            trafficOffloader.flushCommitAndResetStream(false).whenComplete((result, t) -> {
-                log.atInfo().setMessage("Done flushing").log();
+            groupCommitFlusher.flush(ctx.executor(), () -> !ctx.channel().isActive(),
+                    () -> trafficOffloader.flushCommitAndResetStream(false))
+                .whenComplete((result, t) -> {
+                    log.atInfo().setMessage("Done flushing").log();
 
-                if (t != null) {
-                    // This is a spot where we would benefit from having a behavioral policy that different users
-                    // could set as needed. Some users may be fine with just logging a failed offloading of a request
-                    // where other users may want to stop entirely. JIRA here:
-                    // https://opensearch.atlassian.net/browse/MIGRATIONS-1276
-                    log.atWarn().setCause(t)
-                        .setMessage("Error offloading the request, but forwarding it to the service anyway").log();
-                    ReferenceCountUtil.release(msg);
-                    messageContext.addCaughtException(t);
-                }
-                try {
-                    super.channelFinishedReadingAnHttpMessage(ctx, msg, shouldCapture, httpRequest);
-                } catch (Exception e) {
-                    throw Lombok.sneakyThrow(e);
-                }
-            });
+                    if (t instanceof ClosedChannelException) {
+                        // the connection went away while waiting for its group; there's nobody to forward to
+                        ReferenceCountUtil.release(msg);
+                        return;
+                    }
+                    if (t != null) {
+                        // This is a spot where we would benefit from having a behavioral policy that different
+                        // users could set as needed. Some users may be fine with just logging a failed offloading
+                        // of a request where other users may want to stop entirely. JIRA here:
+                        // https://opensearch.atlassian.net/browse/MIGRATIONS-1276
+                        log.atWarn().setCause(t)
+                            .setMessage("Error offloading the request, but forwarding it to the service anyway").log();
+                        ReferenceCountUtil.release(msg);
+                        messageContext.addCaughtException(t);
+                    }
+                    try {
+                        super.channelFinishedReadingAnHttpMessage(ctx, msg, shouldCapture, httpRequest);
+                    } catch (Exception e) {
+                        throw Lombok.sneakyThrow(e);
+                    }
+                });
         } else {
             assert messageContext instanceof IWireCaptureContexts.IRequestContext;
             super.channelFinishedReadingAnHttpMessage(ctx, msg, shouldCapture, httpRequest);
@@ -0,0 +1,127 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the blocking flushes that {@link ConditionallyReliableLoggingHttpHandler} performs for mutating
+ * requests.  Rather than starting an offload round-trip as soon as each such request has been read, the flushes
+ * requested by all of the connections on one event loop within a short window are handed to the offloader
+ * together, and then {@code sendGroup} is run once so that the offloader ships them all in a single send (e.g. one
+ * coalesced Kafka record per bucket, see {@code IConnectionCaptureFactory#sendBufferedCaptures}).  Every request
+ * in the group is released once the whole group has been committed, so a request waits at most one window longer
+ * than it would have otherwise.
+ *
+ * <p>Flushes for a channel must be requested from that channel's event loop, which is also where the group's
+ * flushes are started.  A channel that closes while its flush is waiting for the group is dropped from it, and
+ * its flush fails with a {@link ClosedChannelException}, since its offloader has already been closed.  A window of
+ * zero disables grouping: each flush starts immediately, as before.
+ */
+@Slf4j
+public class GroupCommitFlusher {
+    public static final GroupCommitFlusher DISABLED = new GroupCommitFlusher(Duration.ZERO, () -> {});
+
+    private final long windowNanos;
+    private final Runnable sendGroup;
+    private final FastThreadLocal<PendingGroup> openGroupForEventLoop = new FastThreadLocal<>();
+
+    private static class PendingGroup {
+        final List<BooleanSupplier> closedChecks = new ArrayList<>();
+        final List<Supplier<CompletableFuture<?>>> flushStarters = new ArrayList<>();
+        final List<CompletableFuture<Void>> releaseFutures = new ArrayList<>();
+    }
+
+    /**
+     * @param sendGroup run once all of a group's flushes have been started, to send whatever the offloader is
+     *                  still holding back so that the group goes out together
+     */
+    public GroupCommitFlusher(Duration window, Runnable sendGroup) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Group commit window must not be negative: " + window);
+        }
+        this.windowNanos = window.toNanos();
+        this.sendGroup = sendGroup;
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Arranges for {@code flushStarter} to be invoked, on {@code eventLoop}, as part of the next group commit.
+     * @param isClosed checked just before the group is committed; when true, the flush is not started
+     * @return a future that completes once every flush in the group has finished, exceptionally only if this
+     * caller's own flush failed or its channel closed first
+     */
+    public CompletableFuture<Void> flush(EventExecutor eventLoop,
+                                         BooleanSupplier isClosed,
+                                         Supplier<CompletableFuture<?>> flushStarter) {
+        if (!isEnabled()) {
+            return flushStarter.get().thenApply(v -> null);
+        }
+        assert eventLoop.inEventLoop() : "Group commit flushes must be requested from the channel's event loop";
+        var group = openGroupForEventLoop.get();
+        if (group == null) {
+            var newGroup = new PendingGroup();
+            openGroupForEventLoop.set(newGroup);
+            eventLoop.schedule(() -> commitGroup(newGroup), windowNanos, TimeUnit.NANOSECONDS);
+            group = newGroup;
+        }
+        var releaseFuture = new CompletableFuture<Void>();
+        group.closedChecks.add(isClosed);
+        group.flushStarters.add(flushStarter);
+        group.releaseFutures.add(releaseFuture);
+        return releaseFuture;
+    }
+
+    private void commitGroup(PendingGroup group) {
+        openGroupForEventLoop.remove();
+        log.atDebug().setMessage("Committing a group of {} blocking flushes")
+            .addArgument(group.flushStarters::size).log();
+        var flushFutures = new CompletableFuture<?>[group.flushStarters.size()];
+        var startedAny = false;
+        for (int i = 0; i < flushFutures.length; i++) {
+            if (group.closedChecks.get(i).getAsBoolean()) {
+                flushFutures[i] = CompletableFuture.failedFuture(new ClosedChannelException());
+                continue;
+            }
+            try {
+                flushFutures[i] = group.flushStarters.get(i).get();
+                startedAny = true;
+            } catch (Exception e) {
+                flushFutures[i] = CompletableFuture.failedFuture(e);
+            }
+        }
+        if (startedAny) {
+            try {
+                sendGroup.run();
+            } catch (Exception e) {
+                // The flushes were handed over, so they'll still be sent once the offloader gets to them
+                log.atWarn().setCause(e).setMessage("Unable to send a group of blocking flushes together").log();
+            }
+        }
+        CompletableFuture.allOf(flushFutures).whenComplete((v, groupFailure) -> {
+            for (int i = 0; i < flushFutures.length; i++) {
+                var flushFuture = flushFutures[i];
+                var releaseFuture = group.releaseFutures.get(i);
+                flushFuture.whenComplete((ignored, t) -> {
+                    if (t != null) {
+                        releaseFuture.completeExceptionally(t);
+                    } else {
+                        releaseFuture.complete(null);
+                    }
+                });
+            }
+        });
+    }
+}
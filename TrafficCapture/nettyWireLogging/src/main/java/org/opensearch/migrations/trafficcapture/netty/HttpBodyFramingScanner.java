@@ -0,0 +1,165 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+
+/**
+ * Finds where the body of an HTTP/1.1 request ends without decoding it.  Capture only needs to know when each
+ * request is complete, so once the request's headers have been decoded, this skips over a Content-Length body or
+ * walks the framing of a chunked body in place instead of having the full decoder turn the body into
+ * HttpContent objects.  Only the chunk-size lines and trailers are looked at byte by byte; chunk data and
+ * fixed-length bodies are skipped over in bulk.
+ *
+ * <p>The framing rules follow Netty's HttpObjectDecoder (a chunked Transfer-Encoding takes precedence over a
+ * Content-Length, chunk extensions are ignored and the line after each chunk's data is skipped through its LF),
+ * so requests end in the same place as they would with the full decoder.  A chunk size that the decoder would
+ * reject makes {@link #scan} return {@link Result#MALFORMED}, after which the decoder would discard everything
+ * else on the connection, so callers should stop looking for further requests too.
+ */
+class HttpBodyFramingScanner {
+    enum Result {
+        NEEDS_MORE_BYTES,
+        COMPLETE,
+        MALFORMED
+    }
+
+    private enum State {
+        IDLE,
+        FIXED_LENGTH,
+        CHUNK_SIZE,
+        CHUNK_EXTENSION,
+        CHUNK_DATA,
+        CHUNK_DELIMITER,
+        TRAILER
+    }
+
+    private State state = State.IDLE;
+    private long bytesLeftInBody;
+    private long chunkSize;
+    private boolean chunkSizeHasDigits;
+    private boolean trailerLineHasContent;
+
+    boolean isScanning() {
+        return state != State.IDLE;
+    }
+
+    /**
+     * Starts scanning the body of a request whose headers have just been decoded.
+     * @return false if the request's body should be left to the full decoder, which is the case for requests
+     * without a body and for framings that this doesn't handle
+     */
+    boolean startBody(HttpRequest request) {
+        if (!request.decoderResult().isSuccess()) {
+            return false;
+        }
+        if (HttpUtil.isTransferEncodingChunked(request)) {
+            state = State.CHUNK_SIZE;
+            chunkSize = 0;
+            chunkSizeHasDigits = false;
+            return true;
+        }
+        var contentLength = HttpUtil.getContentLength(request, -1L);
+        if (contentLength > 0) {
+            state = State.FIXED_LENGTH;
+            bytesLeftInBody = contentLength;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes body bytes from buffer, leaving its reader index just past the end of the body when the body is
+     * complete, or past all of its readable bytes otherwise.
+     */
+    Result scan(ByteBuf buffer) {
+        while (buffer.isReadable()) {
+            switch (state) {
+                case FIXED_LENGTH:
+                    if (skipBodyBytes(buffer)) {
+                        return finish(Result.COMPLETE);
+                    }
+                    break;
+                case CHUNK_DATA:
+                    if (skipBodyBytes(buffer)) {
+                        state = State.CHUNK_DELIMITER;
+                    }
+                    break;
+                default:
+                    var result = scanFramingByte(buffer.readByte());
+                    if (result != Result.NEEDS_MORE_BYTES) {
+                        return finish(result);
+                    }
+                    break;
+            }
+        }
+        return Result.NEEDS_MORE_BYTES;
+    }
+
+    /** @return true once all of the current body (or chunk) has been skipped */
+    private boolean skipBodyBytes(ByteBuf buffer) {
+        var bytesToSkip = (int) Math.min(bytesLeftInBody, buffer.readableBytes());
+        buffer.skipBytes(bytesToSkip);
+        bytesLeftInBody -= bytesToSkip;
+        return bytesLeftInBody == 0;
+    }
+
+    private Result scanFramingByte(byte b) {
+        switch (state) {
+            case CHUNK_SIZE:
+                var digit = Character.digit(b, 16);
+                if (digit >= 0) {
+                    chunkSize = (chunkSize << 4) + digit;
+                    chunkSizeHasDigits = true;
+                    // the decoder parses chunk sizes as ints
+                    return chunkSize > Integer.MAX_VALUE ? Result.MALFORMED : Result.NEEDS_MORE_BYTES;
+                } else if (b == ';' || b == ' ' || b == '\t' || b == '\r') {
+                    state = State.CHUNK_EXTENSION;
+                    return Result.NEEDS_MORE_BYTES;
+                } else if (b == '\n') {
+                    return endChunkSizeLine();
+                }
+                return Result.MALFORMED;
+            case CHUNK_EXTENSION:
+                return b == '\n' ? endChunkSizeLine() : Result.NEEDS_MORE_BYTES;
+            case CHUNK_DELIMITER:
+                if (b == '\n') {
+                    state = State.CHUNK_SIZE;
+                    chunkSize = 0;
+                    chunkSizeHasDigits = false;
+                }
+                return Result.NEEDS_MORE_BYTES;
+            case TRAILER:
+                if (b == '\n') {
+                    if (!trailerLineHasContent) {
+                        return Result.COMPLETE;
+                    }
+                    trailerLineHasContent = false;
+                } else if (b != '\r') {
+                    trailerLineHasContent = true;
+                }
+                return Result.NEEDS_MORE_BYTES;
+            default:
+                throw new IllegalStateException("Not scanning framing in state " + state);
+        }
+    }
+
+    private Result endChunkSizeLine() {
+        if (!chunkSizeHasDigits) {
+            return Result.MALFORMED;
+        }
+        if (chunkSize == 0) {
+            state = State.TRAILER;
+            trailerLineHasContent = false;
+        } else {
+            state = State.CHUNK_DATA;
+            bytesLeftInBody = chunkSize;
+        }
+        return Result.NEEDS_MORE_BYTES;
+    }
+
+    private Result finish(Result result) {
+        state = State.IDLE;
+        return result;
+    }
+}
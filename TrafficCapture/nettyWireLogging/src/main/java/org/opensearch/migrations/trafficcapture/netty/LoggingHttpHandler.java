@@ -2,19 +2,24 @@ package org.opensearch.migrations.trafficcapture.netty;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.List;
 
+import org.opensearch.migrations.trafficcapture.CaptureMode;
 import org.opensearch.migrations.trafficcapture.IChannelConnectionCaptureSerializer;
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.netty.tracing.IRootWireLoggingContext;
 import org.opensearch.migrations.trafficcapture.netty.tracing.IWireCaptureContexts;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpMessageDecoderResult;
@@ -35,6 +40,8 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         static final byte CAPTURE = 0;
         static final byte IGNORE_REQUEST = 1;
         static final byte IGNORE_RESPONSE = 2;
+        /** Capture until the read that completes the headers, then drop the rest of the request. */
+        static final byte CAPTURE_HEADERS_ONLY = 3;
 
         private CaptureIgnoreState() {}
     }
@@ -42,25 +49,47 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
     static class CaptureState {
         byte captureIgnoreState = CaptureIgnoreState.CAPTURE;
         boolean liveReadObservationsInOffloader = false;
+        boolean atStartOfRequest = true;
+        CaptureMode captureModeForRequest = CaptureMode.FULL;
+        boolean suppressedByCaptureMode = false;
 
         boolean shouldCapture() {
-            return captureIgnoreState == CaptureIgnoreState.CAPTURE;
+            return captureIgnoreState == CaptureIgnoreState.CAPTURE
+                || captureIgnoreState == CaptureIgnoreState.CAPTURE_HEADERS_ONLY;
         }
 
         public void setShouldCaptureForRequest(boolean b) {
             captureIgnoreState = b ? CaptureIgnoreState.CAPTURE : CaptureIgnoreState.IGNORE_REQUEST;
         }
 
+        public void startRequest(CaptureMode mode, boolean suppress) {
+            atStartOfRequest = false;
+            captureModeForRequest = mode;
+            suppressedByCaptureMode = suppress;
+            if (suppress) {
+                captureIgnoreState = CaptureIgnoreState.IGNORE_REQUEST;
+            }
+        }
+
         public void advanceStateModelIntoResponseGather() {
+            atStartOfRequest = true;
             if (CaptureIgnoreState.CAPTURE != captureIgnoreState) {
                 captureIgnoreState = CaptureIgnoreState.IGNORE_RESPONSE;
             }
         }
     }
 
+    /**
+     * Decodes the request line and headers with Netty's decoder, then finds the end of the body with an
+     * {@link HttpBodyFramingScanner} rather than decoding it into HttpContent objects that would only be released.
+     * Each request still comes out as its HttpRequest followed by a single LastHttpContent.
+     */
     static class SimpleHttpRequestDecoder extends HttpRequestDecoder {
         private final PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve;
         private final CaptureState captureState;
+        private final HttpBodyFramingScanner bodyScanner = new HttpBodyFramingScanner();
+        // set once a chunked body couldn't be framed, after which (like Netty's decoder) nothing else is parsed
+        private boolean discardingAfterBadMessage;
 
         public SimpleHttpRequestDecoder(
             @NonNull PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve,
@@ -85,6 +114,39 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
             );
         }
 
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> out) throws Exception {
+            if (discardingAfterBadMessage) {
+                buffer.skipBytes(buffer.readableBytes());
+                return;
+            }
+            if (bodyScanner.isScanning()) {
+                switch (bodyScanner.scan(buffer)) {
+                    case COMPLETE:
+                        out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+                        reset(); // picked up by the next call to super.decode()
+                        break;
+                    case MALFORMED:
+                        buffer.skipBytes(buffer.readableBytes());
+                        var badContent = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER);
+                        badContent.setDecoderResult(DecoderResult.failure(
+                            new IllegalArgumentException("Invalid chunk framing in request body")));
+                        out.add(badContent);
+                        discardingAfterBadMessage = true;
+                        break;
+                    default:
+                        break;
+                }
+                return;
+            }
+            var outputsBefore = out.size();
+            super.decode(ctx, buffer, out);
+            // Netty's decoder returns right after emitting the headers of a request that has a body
+            if (out.size() > outputsBefore && out.get(out.size() - 1) instanceof HttpRequest) {
+                bodyScanner.startBody((HttpRequest) out.get(out.size() - 1));
+            }
+        }
+
         @Override
         public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
             if (captureState.captureIgnoreState == CaptureIgnoreState.IGNORE_RESPONSE) {
@@ -98,11 +160,15 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         @Getter
         private HttpRequest currentRequest;
         final RequestCapturePredicate requestCapturePredicate;
+        final AdaptiveCapturePolicy adaptiveCapturePolicy;
         boolean haveParsedFullRequest;
         final CaptureState captureState;
 
-        SimpleDecodedHttpRequestHandler(RequestCapturePredicate requestCapturePredicate, CaptureState captureState) {
+        SimpleDecodedHttpRequestHandler(RequestCapturePredicate requestCapturePredicate,
+                                        AdaptiveCapturePolicy adaptiveCapturePolicy,
+                                        CaptureState captureState) {
             this.requestCapturePredicate = requestCapturePredicate;
+            this.adaptiveCapturePolicy = adaptiveCapturePolicy;
             this.currentRequest = null;
             this.haveParsedFullRequest = false;
             this.captureState = captureState;
@@ -112,9 +178,14 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) throws Exception {
             if (msg instanceof HttpRequest) {
                 currentRequest = (HttpRequest) msg;
-                captureState.setShouldCaptureForRequest(
-                    RequestCapturePredicate.CaptureDirective.CAPTURE == requestCapturePredicate.apply((HttpRequest) msg)
+                captureState.setShouldCaptureForRequest(!captureState.suppressedByCaptureMode
+                    && RequestCapturePredicate.CaptureDirective.CAPTURE == requestCapturePredicate.apply(currentRequest)
                 );
+                if (captureState.shouldCapture()
+                    && adaptiveCapturePolicy.shouldCaptureHeadersOnly(captureState.captureModeForRequest, currentRequest)
+                ) {
+                    captureState.captureIgnoreState = CaptureIgnoreState.CAPTURE_HEADERS_ONLY;
+                }
             } else if (msg instanceof HttpContent) {
                 ((HttpContent) msg).release();
                 if (msg instanceof LastHttpContent) {
@@ -139,6 +210,9 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
 
     protected IWireCaptureContexts.IHttpMessageContext messageContext;
 
+    private final AdaptiveCapturePolicy adaptiveCapturePolicy;
+    private CaptureMode lastRecordedCaptureMode = CaptureMode.FULL;
+
     public LoggingHttpHandler(
         @NonNull IRootWireLoggingContext rootContext,
         String nodeId,
@@ -146,6 +220,19 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         @NonNull IConnectionCaptureFactory<T> trafficOffloaderFactory,
         @NonNull RequestCapturePredicate httpHeadersCapturePredicate
     ) throws IOException {
+        this(rootContext, nodeId, channelKey, trafficOffloaderFactory, httpHeadersCapturePredicate,
+            AdaptiveCapturePolicy.ALWAYS_CAPTURE);
+    }
+
+    public LoggingHttpHandler(
+        @NonNull IRootWireLoggingContext rootContext,
+        String nodeId,
+        String channelKey,
+        @NonNull IConnectionCaptureFactory<T> trafficOffloaderFactory,
+        @NonNull RequestCapturePredicate httpHeadersCapturePredicate,
+        @NonNull AdaptiveCapturePolicy adaptiveCapturePolicy
+    ) throws IOException {
+        this.adaptiveCapturePolicy = adaptiveCapturePolicy;
         var parentContext = rootContext.createConnectionContext(channelKey, nodeId);
         this.messageContext = parentContext.createInitialRequestContext();
 
@@ -153,7 +240,7 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         var captureState = new CaptureState();
         httpDecoderChannel = new EmbeddedChannel(
             new SimpleHttpRequestDecoder(httpHeadersCapturePredicate.getHeadersRequiredForMatcher(), captureState),
-            new SimpleDecodedHttpRequestHandler(httpHeadersCapturePredicate, captureState)
+            new SimpleDecodedHttpRequestHandler(httpHeadersCapturePredicate, adaptiveCapturePolicy, captureState)
         );
     }
 
@@ -165,6 +252,24 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         return (SimpleDecodedHttpRequestHandler) httpDecoderChannel.pipeline().last();
     }
 
+    /** The capture mode that was in effect when the current (or most recent) request began. */
+    protected CaptureMode getCaptureModeForCurrentRequest() {
+        return getHandlerThatHoldsParsedHttpRequest().captureState.captureModeForRequest;
+    }
+
+    /**
+     * Samples the capture mode for a new request, records any change in the mode for this connection, and
+     * suppresses capture for the whole request if the mode calls for that.
+     */
+    private void startRequestCapture(Instant timestamp, CaptureState captureState) throws IOException {
+        var mode = adaptiveCapturePolicy.getCurrentMode();
+        if (mode != lastRecordedCaptureMode) {
+            trafficOffloader.addCaptureModeChangeEvent(timestamp, mode);
+            lastRecordedCaptureMode = mode;
+        }
+        captureState.startRequest(mode, adaptiveCapturePolicy.shouldSuppressRequest(mode));
+    }
+
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
         trafficOffloader.addCloseEvent(Instant.now());
@@ -233,13 +338,24 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         var timestamp = Instant.now();
         var requestParsingHandler = getHandlerThatHoldsParsedHttpRequest();
         var bb = ((ByteBuf) msg);
+        var captureState = requestParsingHandler.captureState;
+        if (captureState.atStartOfRequest) {
+            startRequestCapture(timestamp, captureState);
+        }
         httpDecoderChannel.writeInbound(bb.retainedDuplicate()); // the ByteBuf is consumed/release by this method
 
-        var captureState = requestParsingHandler.captureState;
         var shouldCapture = captureState.shouldCapture();
         if (shouldCapture) {
             captureState.liveReadObservationsInOffloader = true;
             trafficOffloader.addReadEvent(timestamp, bb);
+            if (captureState.captureIgnoreState == CaptureIgnoreState.CAPTURE_HEADERS_ONLY) {
+                // this read completed the headers; mark the rest of the request (and its response) as dropped
+                requestContext.onCaptureSuppressed();
+                trafficOffloader.cancelCaptureForCurrentRequest(timestamp);
+                captureState.captureIgnoreState = CaptureIgnoreState.IGNORE_REQUEST;
+                captureState.liveReadObservationsInOffloader = false;
+                shouldCapture = false;
+            }
         } else if (captureState.liveReadObservationsInOffloader) {
             requestContext.onCaptureSuppressed();
             trafficOffloader.cancelCaptureForCurrentRequest(timestamp);
@@ -4,10 +4,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -15,7 +17,9 @@ import java.util.stream.Stream;
 
 import org.opensearch.migrations.testutils.TestUtilities;
 import org.opensearch.migrations.testutils.WrapWithNettyLeakDetection;
+import org.opensearch.migrations.trafficcapture.OffloaderHealthMonitor;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.protos.CaptureModeChange;
 import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
@@ -270,6 +274,99 @@ public class ConditionallyReliableLoggingHttpHandlerTest {
         }
     }
 
+    /**
+     * Builds a monitor with an in-flight flush limit of 2 that has outstandingFlushes flushes that never
+     * complete, so 3 puts it in HEADERS_ONLY and 10 puts it in PASS_THROUGH.
+     */
+    private static OffloaderHealthMonitor monitorWithOutstandingFlushes(int outstandingFlushes) {
+        var monitor = new OffloaderHealthMonitor(2, Long.MAX_VALUE, Duration.ofHours(1));
+        for (int i = 0; i < outstandingFlushes; i++) {
+            monitor.trackFlush(1, new CompletableFuture<>());
+        }
+        return monitor;
+    }
+
+    @Test
+    public void testThatPassThroughModeForwardsWithoutCapturingOrBlocking() throws Exception {
+        try (var rootInstrumenter = new TestRootContext()) {
+            var streamMgr = new TestStreamManager();
+            var offloader = new StreamChannelConnectionCaptureSerializer("Test", "connection", streamMgr);
+            var monitor = monitorWithOutstandingFlushes(10);
+            EmbeddedChannel channel = new EmbeddedChannel(
+                new ConditionallyReliableLoggingHttpHandler(
+                    rootInstrumenter,
+                    "n",
+                    "c",
+                    ctx -> offloader,
+                    new RequestCapturePredicate(),
+                    x -> true,
+                    GroupCommitFlusher.DISABLED,
+                    new AdaptiveCapturePolicy(monitor, 0, 1)
+                )
+            );
+            var requestBytes = SimpleRequests.SMALL_POST.getBytes(StandardCharsets.UTF_8);
+            channel.writeInbound(Unpooled.wrappedBuffer(requestBytes));
+            // every request would otherwise block, so this shows that the request wasn't held
+            Assertions.assertEquals(0, streamMgr.flushCount.get());
+            Assertions.assertEquals(1, channel.inboundMessages().size());
+            channel.writeOutbound(Unpooled.wrappedBuffer("response".getBytes(StandardCharsets.UTF_8)));
+            channel.close();
+
+            var observations = TrafficStream.parseFrom(streamMgr.byteBufferAtomicReference.get()).getSubStreamList();
+            Assertions.assertEquals(
+                CaptureModeChange.Mode.PASS_THROUGH,
+                observations.get(0).getCaptureModeChange().getMode()
+            );
+            Assertions.assertTrue(observations.stream().noneMatch(o -> o.hasRead() || o.hasWrite()));
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void testThatHeadersOnlyModeDropsLargeSearchesButCapturesSmallRequests() throws Exception {
+        try (var rootInstrumenter = new TestRootContext()) {
+            var streamMgr = new TestStreamManager();
+            var offloader = new StreamChannelConnectionCaptureSerializer("Test", "connection", streamMgr);
+            var monitor = monitorWithOutstandingFlushes(3);
+            EmbeddedChannel channel = new EmbeddedChannel(
+                new ConditionallyReliableLoggingHttpHandler(
+                    rootInstrumenter,
+                    "n",
+                    "c",
+                    ctx -> offloader,
+                    new RequestCapturePredicate(),
+                    x -> false,
+                    GroupCommitFlusher.DISABLED,
+                    new AdaptiveCapturePolicy(monitor, 10, 1)
+                )
+            );
+            var largeSearch = "POST /idx/_search HTTP/1.1\r\nHost: localhost\r\nContent-Length: 20\r\n\r\n"
+                + "{\"query\":\"match\"}123";
+            channel.writeInbound(Unpooled.wrappedBuffer(largeSearch.getBytes(StandardCharsets.UTF_8)));
+            channel.writeOutbound(Unpooled.wrappedBuffer("response1".getBytes(StandardCharsets.UTF_8)));
+            var smallPostBytes = SimpleRequests.SMALL_POST.getBytes(StandardCharsets.UTF_8);
+            channel.writeInbound(Unpooled.wrappedBuffer(smallPostBytes));
+            var response2Bytes = "response2".getBytes(StandardCharsets.UTF_8);
+            channel.writeOutbound(Unpooled.wrappedBuffer(response2Bytes));
+            channel.close();
+
+            var observations = TrafficStream.parseFrom(streamMgr.byteBufferAtomicReference.get()).getSubStreamList();
+            Assertions.assertEquals(
+                CaptureModeChange.Mode.HEADERS_ONLY,
+                observations.get(0).getCaptureModeChange().getMode()
+            );
+            Assertions.assertEquals(largeSearch, observations.get(1).getRead().getData().toStringUtf8());
+            Assertions.assertTrue(observations.get(2).hasRequestDropped());
+            var remainingReads = observations.stream().skip(3).filter(TrafficObservation::hasRead)
+                .map(o -> o.getRead().getData().toStringUtf8()).collect(Collectors.joining());
+            Assertions.assertEquals(SimpleRequests.SMALL_POST, remainingReads);
+            var writes = observations.stream().filter(TrafficObservation::hasWrite)
+                .map(o -> o.getWrite().getData().toStringUtf8()).collect(Collectors.toList());
+            Assertions.assertEquals(List.of("response2"), writes);
+            channel.finishAndReleaseAll();
+        }
+    }
+
     private static Stream<TrafficObservation> skipReadsBeforeDrop(List<TrafficObservation> observations) {
         var sawRequestDropped = new AtomicBoolean(false);
         return observations.stream().dropWhile(o -> {
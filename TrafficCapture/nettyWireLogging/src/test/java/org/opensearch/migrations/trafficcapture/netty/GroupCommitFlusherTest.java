@@ -0,0 +1,125 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.channel.DefaultEventLoop;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GroupCommitFlusherTest {
+
+    @Test
+    public void testFlushesWithinWindowAreStartedAndReleasedTogether() throws Exception {
+        var eventLoop = new DefaultEventLoop();
+        try {
+            var groupSends = new AtomicInteger();
+            var flusher = new GroupCommitFlusher(Duration.ofMillis(50), groupSends::incrementAndGet);
+            var startedFlushes = new AtomicInteger();
+            var flushFutures = new ArrayList<CompletableFuture<Object>>();
+            var releaseFutures = eventLoop.submit(() -> {
+                var releases = new ArrayList<CompletableFuture<Void>>();
+                for (int i = 0; i < 3; i++) {
+                    var flushFuture = new CompletableFuture<Object>();
+                    flushFutures.add(flushFuture);
+                    releases.add(flusher.flush(eventLoop, () -> false, () -> {
+                        startedFlushes.incrementAndGet();
+                        return flushFuture;
+                    }));
+                }
+                return releases;
+            }).get();
+
+            Assertions.assertEquals(0, startedFlushes.get(), "Nothing should be sent before the window closes");
+            awaitCount(startedFlushes, 3);
+            awaitCount(groupSends, 1);
+
+            flushFutures.get(0).complete(null);
+            flushFutures.get(2).complete(null);
+            Assertions.assertTrue(releaseFutures.stream().noneMatch(CompletableFuture::isDone),
+                "No request should be released until the whole group is committed");
+
+            flushFutures.get(1).completeExceptionally(new IllegalStateException("offload failed"));
+            CompletableFuture.allOf(releaseFutures.get(0), releaseFutures.get(2)).get(1, TimeUnit.SECONDS);
+            var failure = Assertions.assertThrows(ExecutionException.class,
+                () -> releaseFutures.get(1).get(1, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(IllegalStateException.class, failure.getCause());
+        } finally {
+            eventLoop.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void testLaterFlushesStartANewGroup() throws Exception {
+        var eventLoop = new DefaultEventLoop();
+        try {
+            var flusher = new GroupCommitFlusher(Duration.ofMillis(5), () -> {});
+            List<CompletableFuture<Void>> releases = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                releases.add(eventLoop.submit(() ->
+                    flusher.flush(eventLoop, () -> false, () -> CompletableFuture.completedFuture(null))).get());
+                releases.get(i).get(1, TimeUnit.SECONDS);
+            }
+            Assertions.assertTrue(releases.stream().allMatch(CompletableFuture::isDone));
+        } finally {
+            eventLoop.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void testFlushForClosedChannelFailsWithoutBeingStarted() throws Exception {
+        var eventLoop = new DefaultEventLoop();
+        try {
+            var groupSends = new AtomicInteger();
+            var flusher = new GroupCommitFlusher(Duration.ofMillis(20), groupSends::incrementAndGet);
+            var startedFlushes = new AtomicInteger();
+            var closed = new AtomicBoolean();
+            var openRelease = new CompletableFuture<CompletableFuture<Void>>();
+            var closedRelease = eventLoop.submit(() -> {
+                openRelease.complete(flusher.flush(eventLoop, () -> false, () -> {
+                    startedFlushes.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                }));
+                return flusher.flush(eventLoop, closed::get, () -> {
+                    startedFlushes.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                });
+            }).get();
+            closed.set(true);
+
+            var failure = Assertions.assertThrows(ExecutionException.class,
+                () -> closedRelease.get(1, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(ClosedChannelException.class, failure.getCause());
+            openRelease.get().get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, startedFlushes.get());
+            Assertions.assertEquals(1, groupSends.get());
+        } finally {
+            eventLoop.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void testDisabledFlushesImmediately() {
+        var started = new AtomicInteger();
+        var release = GroupCommitFlusher.DISABLED.flush(null, () -> false, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        Assertions.assertEquals(1, started.get());
+        Assertions.assertTrue(release.isDone());
+    }
+
+    private static void awaitCount(AtomicInteger counter, int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && counter.get() < expected; i++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(expected, counter.get());
+    }
+}
@@ -0,0 +1,95 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.migrations.testutils.WrapWithNettyLeakDetection;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpMessageDecoderResult;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@WrapWithNettyLeakDetection
+public class SimpleHttpRequestDecoderTest {
+
+    private static final String FIXED_LENGTH_REQUEST = "PUT /idx/_doc/1 HTTP/1.1\r\n"
+        + "Host: localhost\r\n"
+        + "Content-Length: 12\r\n"
+        + "\r\n"
+        + "{\"a\":\"\r\n\r\n\"}";
+
+    private static final String CHUNKED_REQUEST = "POST /_bulk HTTP/1.1\r\n"
+        + "Host: localhost\r\n"
+        + "Transfer-Encoding: chunked\r\n"
+        + "\r\n"
+        + "5;ext=1\r\n"
+        + "0\r\n\r\n\r\n"
+        + "a\r\n"
+        + "{\"b\":\"cd\"}\r\n"
+        + "0\r\n"
+        + "Trailer: x\r\n"
+        + "\r\n";
+
+    private static final String GET_REQUEST = "GET / HTTP/1.1\r\n"
+        + "Host: localhost\r\n"
+        + "\r\n";
+
+    private static List<Object> decode(String wireBytes, int bytesPerRead) {
+        var channel = new EmbeddedChannel(new LoggingHttpHandler.SimpleHttpRequestDecoder(
+            new PassThruHttpHeaders.HttpHeadersToPreserve(),
+            new LoggingHttpHandler.CaptureState()
+        ));
+        var bytes = wireBytes.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += bytesPerRead) {
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, i, Math.min(bytesPerRead, bytes.length - i)));
+        }
+        var outputs = new ArrayList<>();
+        Object msg;
+        while ((msg = channel.readInbound()) != null) {
+            outputs.add(msg);
+            ReferenceCountUtil.release(msg);
+        }
+        channel.finishAndReleaseAll();
+        return outputs;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 1024 })
+    public void testPipelinedRequestsAreEachFollowedByOneLastContent(int bytesPerRead) {
+        var outputs = decode(FIXED_LENGTH_REQUEST + CHUNKED_REQUEST + GET_REQUEST, bytesPerRead);
+
+        Assertions.assertEquals(6, outputs.size(), () -> "outputs: " + outputs);
+        var expectedUris = List.of("/idx/_doc/1", "/_bulk", "/");
+        for (int i = 0; i < expectedUris.size(); i++) {
+            var request = (HttpRequest) outputs.get(2 * i);
+            Assertions.assertEquals(expectedUris.get(i), request.uri());
+            Assertions.assertInstanceOf(HttpMessageDecoderResult.class, request.decoderResult());
+            var lastContent = (LastHttpContent) outputs.get(2 * i + 1);
+            Assertions.assertTrue(lastContent.decoderResult().isSuccess());
+        }
+        var chunkedDecoderResult = (HttpMessageDecoderResult) ((HttpRequest) outputs.get(2)).decoderResult();
+        Assertions.assertEquals("POST /_bulk HTTP/1.1".length(), chunkedDecoderResult.initialLineLength());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 1024 })
+    public void testBadChunkSizeEndsTheRequestAndDiscardsTheRest(int bytesPerRead) {
+        var badRequest = "POST /_bulk HTTP/1.1\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "\r\n"
+            + "zz\r\n";
+        var outputs = decode(badRequest + GET_REQUEST, bytesPerRead);
+
+        Assertions.assertEquals(2, outputs.size(), () -> "outputs: " + outputs);
+        Assertions.assertInstanceOf(HttpRequest.class, outputs.get(0));
+        var lastContent = (LastHttpContent) outputs.get(1);
+        Assertions.assertTrue(lastContent.decoderResult().isFailure());
+    }
+}
@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,14 +30,21 @@ import org.opensearch.migrations.tracing.ActiveContextTrackerByActivityType;
 import org.opensearch.migrations.tracing.CompositeContextTracker;
 import org.opensearch.migrations.tracing.OtelCollectorEndpoints;
 import org.opensearch.migrations.tracing.RootOtelContext;
+import org.opensearch.migrations.trafficcapture.ByteBufferPool;
 import org.opensearch.migrations.trafficcapture.CodedOutputStreamHolder;
 import org.opensearch.migrations.trafficcapture.FileConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.HealthMonitoredConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.OffloaderHealthMonitor;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
 import org.opensearch.migrations.trafficcapture.StreamLifecycleManager;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaCaptureFactory;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaConfig;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaConfig.KafkaParameters;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaRecordCoalescer;
+import org.opensearch.migrations.trafficcapture.netty.AdaptiveCapturePolicy;
+import org.opensearch.migrations.trafficcapture.netty.GroupCommitFlusher;
 import org.opensearch.migrations.trafficcapture.netty.HeaderValueFilteringCapturePredicate;
 import org.opensearch.migrations.trafficcapture.netty.RequestCapturePredicate;
 import org.opensearch.migrations.trafficcapture.proxyserver.netty.BacksideConnectionPool;
@@ -43,6 +52,9 @@ import org.opensearch.migrations.trafficcapture.proxyserver.netty.HeaderAdderHan
 import org.opensearch.migrations.trafficcapture.proxyserver.netty.HeaderRemoverHandler;
 import org.opensearch.migrations.trafficcapture.proxyserver.netty.NettyScanningHttpProxy;
 import org.opensearch.migrations.trafficcapture.proxyserver.netty.ProxyChannelInitializer;
+import org.opensearch.migrations.trafficcapture.proxyserver.netty.ProxyTransport;
+import org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogWriter;
 import org.opensearch.migrations.utils.ProcessHelpers;
 import org.opensearch.migrations.utils.URIHelper;
 
@@ -70,6 +82,29 @@ public class CaptureProxy {
             arity = 1,
             description = "Directory to store trace files in.")
         public String traceDirectory;
+        @Parameter(required = false,
+            names = { "--segmentLogDirectory" },
+            arity = 1,
+            description = "Directory of a local, durable segmented log to append captured traffic to.  "
+                + "The replayer can read it with --inputSegmentLog.")
+        public String segmentLogDirectory;
+        @Parameter(required = false,
+            names = { "--segmentLogSegmentBytes" },
+            arity = 1,
+            description = "Size of each pre-allocated segment file of the --segmentLogDirectory log.")
+        public int segmentLogSegmentBytes = 64 * 1024 * 1024;
+        @Parameter(required = false,
+            names = { "--segmentLogDurability" },
+            arity = 1,
+            description = "When captured traffic written to --segmentLogDirectory counts as offloaded: "
+                + "NONE (once it is in the OS page cache), EVERY_RECORD (after forcing each record to disk), or "
+                + "GROUP_COMMIT (after the next periodic force, see --segmentLogGroupCommitMillis).")
+        public SegmentedLogWriter.Durability segmentLogDurability = SegmentedLogWriter.Durability.GROUP_COMMIT;
+        @Parameter(required = false,
+            names = { "--segmentLogGroupCommitMillis" },
+            arity = 1,
+            description = "How often the --segmentLogDirectory log is forced to disk when using GROUP_COMMIT.")
+        public int segmentLogGroupCommitMillis = 2;
         @Parameter(required = false,
             names = { "--noCapture" },
             arity = 0,
@@ -106,6 +141,16 @@ public class CaptureProxy {
             arity = 1,
             description = "The maximum number of bytes that will be written to a single TrafficStream object.")
         public int maximumTrafficStreamSize = 1024 * 1024;
+        @Parameter(required = false,
+            names = { "--zeroCopyCapture" },
+            arity = 0,
+            description = "Keep references to the Netty buffers that large request and response payloads arrive in "
+                + "and write captured traffic streams straight from them instead of copying each payload into a "
+                + "capture buffer first.  The file and segmented-log offloaders then never copy payloads on the "
+                + "proxy's event loops, and Kafka copies them once instead of twice.  Network buffers are held until "
+                + "their traffic stream has been offloaded, so idle keep-alive connections hold onto the buffers of "
+                + "their last requests for longer.")
+        public boolean zeroCopyCapture;
         @Parameter(required = false,
             names = { "--insecureDestination" },
             arity = 0,
@@ -127,6 +172,38 @@ public class CaptureProxy {
             description = "How many threads netty should create in its event loop group. "
                 + "A value of 0 will use the default number of threads (2 * number of available processors).")
         public int numThreads = 0;
+        @Parameter(required = false,
+            names = { "--nativeTransport" },
+            arity = 0,
+            description = "Use netty's native epoll transport for the client-facing and destination-facing "
+                + "sockets instead of NIO.  Falls back to NIO (with a warning) when the native transport is "
+                + "unavailable on this host.")
+        public boolean nativeTransport;
+        @Parameter(required = false,
+            names = { "--reusePort" },
+            arity = 0,
+            description = "Bind one listening socket per event loop with SO_REUSEPORT so that the kernel "
+                + "load-balances accepts across all threads instead of a single acceptor thread.  "
+                + "Requires --nativeTransport.")
+        public boolean reusePort;
+        @Parameter(required = false,
+            names = { "--tcpNoDelay" },
+            arity = 1,
+            description = "Value of TCP_NODELAY for client and destination connections (default true, which "
+                + "disables Nagle's algorithm).")
+        public boolean tcpNoDelay = true;
+        @Parameter(required = false,
+            names = { "--socketReceiveBufferBytes" },
+            arity = 1,
+            description = "SO_RCVBUF for client and destination connections.  0 (the default) keeps the "
+                + "operating system's default.")
+        public int socketReceiveBufferBytes = ProxyTransport.OS_DEFAULT_BUFFER_SIZE;
+        @Parameter(required = false,
+            names = { "--socketSendBufferBytes" },
+            arity = 1,
+            description = "SO_SNDBUF for client and destination connections.  0 (the default) keeps the "
+                + "operating system's default.")
+        public int socketSendBufferBytes = ProxyTransport.OS_DEFAULT_BUFFER_SIZE;
         @Parameter(required = false,
             names = { "--destinationConnectionPoolSize" },
             arity = 1,
@@ -141,6 +218,56 @@ public class CaptureProxy {
                 + "how long after connection should the be recycled "
                 + "(closed with a new connection taking its place)")
         public String destinationConnectionPoolTimeout = "PT30S";
+        @Parameter(required = false,
+            names = { "--blockingFlushGroupCommitMillis" },
+            arity = 1,
+            description = "When greater than 0, the captured contents of mutating requests (which are held until they "
+                + "have been offloaded) are committed in groups: the offloads requested by connections on the same "
+                + "event loop within this many milliseconds are sent as one coalesced Kafka record per bucket and "
+                + "the requests are released together.  This bounds the extra wait per request while cutting the "
+                + "number of offloader round-trips under load.  Requires --kafkaCoalesceRecords, since other "
+                + "offloaders send each flush on its own.  A value of 0 (the default) offloads each such request on "
+                + "its own.")
+        public int blockingFlushGroupCommitMillis = 0;
+        @Parameter(required = false,
+            names = { "--adaptiveCapture" },
+            arity = 0,
+            description = "Shed capture work when the offloader falls behind instead of letting held requests and "
+                + "buffered captures pile up.  As the offloader's backlog grows past the limits below, the proxy "
+                + "moves from full capture to headers-only capture of large non-mutating requests, then to "
+                + "sampled capture, then to pass-through, and back again as it recovers.  Each change is recorded "
+                + "in the captured streams.  Outside of full capture, mutating requests are no longer held until "
+                + "their capture has been offloaded.")
+        public boolean adaptiveCapture;
+        @Parameter(required = false,
+            names = { "--adaptiveCaptureMaxInFlightFlushes" },
+            arity = 1,
+            description = "With --adaptiveCapture, the number of unacknowledged offloads that the proxy tolerates "
+                + "before degrading capture.")
+        public int adaptiveCaptureMaxInFlightFlushes = 1000;
+        @Parameter(required = false,
+            names = { "--adaptiveCaptureMaxInFlightBytes" },
+            arity = 1,
+            description = "With --adaptiveCapture, the number of unacknowledged offloaded bytes that the proxy "
+                + "tolerates before degrading capture.")
+        public long adaptiveCaptureMaxInFlightBytes = 256L * 1024 * 1024;
+        @Parameter(required = false,
+            names = { "--adaptiveCaptureMaxAckLatencyMillis" },
+            arity = 1,
+            description = "With --adaptiveCapture, the average offload acknowledgement latency that the proxy "
+                + "tolerates before degrading capture.")
+        public int adaptiveCaptureMaxAckLatencyMillis = 500;
+        @Parameter(required = false,
+            names = { "--adaptiveCaptureLargeRequestBytes" },
+            arity = 1,
+            description = "With --adaptiveCapture, non-mutating requests with bodies larger than this are captured "
+                + "headers-only in the first degraded mode.")
+        public long adaptiveCaptureLargeRequestBytes = 64L * 1024;
+        @Parameter(required = false,
+            names = { "--adaptiveCaptureSampleOneInN" },
+            arity = 1,
+            description = "With --adaptiveCapture, the fraction (1/N) of requests still captured in sampled mode.")
+        public int adaptiveCaptureSampleOneInN = 10;
         @Parameter(
             required = false,
             names = { "--otelTraceCollectorEndpoint", "--otel-trace-collector-endpoint" },
@@ -199,6 +326,46 @@ public class CaptureProxy {
             arity = 1,
             description = "Name of the topic to write captured traffic to.")
         public String kafakTopicName = KafkaCaptureFactory.DEFAULT_TOPIC_NAME_FOR_TRAFFIC;
+        @Parameter(required = false,
+            names = { "--kafkaCompressTrafficStreams" },
+            arity = 0,
+            description = "Compress the observations of each traffic stream (with zstd) before sending it to Kafka.  "
+                + "This is far more effective than the producer's batch compression for small per-connection "
+                + "records.  Replayers from before this option existed cannot read compressed records.")
+        public boolean kafkaCompressTrafficStreams;
+        @Parameter(required = false,
+            names = { "--kafkaCompressionLevel" },
+            arity = 1,
+            description = "zstd level used with --kafkaCompressTrafficStreams.")
+        public int kafkaCompressionLevel = TrafficStreamCompression.DEFAULT_LEVEL;
+        @Parameter(required = false,
+            names = { "--kafkaCompressionDictionary" },
+            arity = 1,
+            description = "Path of a zstd dictionary (e.g. trained with 'zstd --train' on sample request and "
+                + "response bodies) to compress with when --kafkaCompressTrafficStreams is set.  The replayer must "
+                + "be given the same file with --captureCompressionDictionary.")
+        public String kafkaCompressionDictionary;
+        @Parameter(required = false,
+            names = { "--kafkaCoalesceRecords" },
+            arity = 0,
+            description = "Pack the traffic streams of many connections into shared Kafka records instead of sending "
+                + "one record per flush.  This cuts the per-record overhead of workloads with many short-lived "
+                + "connections, at the cost of holding each flush for up to --kafkaCoalesceLingerMillis.  "
+                + "Replayers from before this option existed cannot read coalesced records.")
+        public boolean kafkaCoalesceRecords;
+        @Parameter(required = false,
+            names = { "--kafkaCoalesceLingerMillis" },
+            arity = 1,
+            description = "The longest time that --kafkaCoalesceRecords holds a traffic stream while waiting for "
+                + "others to share its record.")
+        public long kafkaCoalesceLingerMillis = KafkaRecordCoalescer.DEFAULT_LINGER.toMillis();
+        @Parameter(required = false,
+            names = { "--kafkaCoalesceBuckets" },
+            arity = 1,
+            description = "How many records --kafkaCoalesceRecords fills at once.  Connections are spread across "
+                + "these by connection id, and each one's records share a key, so this should be at least the "
+                + "number of partitions of the topic to keep them all in use.")
+        public int kafkaCoalesceBuckets = KafkaRecordCoalescer.DEFAULT_NUM_BUCKETS;
         @ParametersDelegate
         public KafkaParameters kafkaParameters = new KafkaParameters();
     }
@@ -208,16 +375,24 @@ public class CaptureProxy {
         var parser = JsonCommandLineParser.newBuilder().addObject(p).build();
         try {
             parser.parse(args);
-            // Exactly one these 3 options are required. See that exactly one is set by summing up their presence
+            // Exactly one these 4 options are required. See that exactly one is set by summing up their presence
             p.kafkaParameters.validateKafkaAuthFlags();
-            if (Stream.of(p.traceDirectory, p.kafkaParameters.kafkaBrokers, (p.noCapture ? "" : null))
+            if (Stream.of(p.traceDirectory, p.segmentLogDirectory, p.kafkaParameters.kafkaBrokers,
+                    (p.noCapture ? "" : null))
                 .mapToInt(s -> s != null ? 1 : 0)
                 .sum() != 1) {
                 throw new ParameterException(
-                    "Expected exactly one of '--traceDirectory', '--kafkaBrokers'/'--kafkaConnection', or "
-                        + "'--noCapture' to be set"
+                    "Expected exactly one of '--traceDirectory', '--segmentLogDirectory', "
+                        + "'--kafkaBrokers'/'--kafkaConnection', or '--noCapture' to be set"
                 );
             }
+            if (p.blockingFlushGroupCommitMillis < 0) {
+                throw new ParameterException("--blockingFlushGroupCommitMillis must not be negative");
+            }
+            if (p.blockingFlushGroupCommitMillis > 0 && !p.kafkaCoalesceRecords) {
+                throw new ParameterException(
+                    "'--blockingFlushGroupCommitMillis' can only batch flushes when '--kafkaCoalesceRecords' is set");
+            }
             return p;
         } catch (ParameterException e) {
             System.err.println(e.getMessage());
@@ -228,7 +403,7 @@ public class CaptureProxy {
         }
     }
 
-    protected static IConnectionCaptureFactory<Object> getNullConnectionCaptureFactory() {
+    public static IConnectionCaptureFactory<Object> getNullConnectionCaptureFactory() {
         System.err.println("No trace log directory specified.  Logging to /dev/null");
         return ctx -> new StreamChannelConnectionCaptureSerializer<>(
             null,
@@ -273,14 +448,44 @@ public class CaptureProxy {
         var nodeId = getNodeId();
         // Resist the urge for now though until it comes in as a request/need.
         if (params.traceDirectory != null) {
-            return new FileConnectionCaptureFactory(nodeId, params.traceDirectory, params.maximumTrafficStreamSize);
+            return new FileConnectionCaptureFactory(
+                nodeId,
+                params.traceDirectory,
+                params.maximumTrafficStreamSize,
+                params.zeroCopyCapture
+            );
+        } else if (params.segmentLogDirectory != null) {
+            return new SegmentedLogConnectionCaptureFactory(
+                nodeId,
+                Paths.get(params.segmentLogDirectory),
+                params.maximumTrafficStreamSize,
+                params.segmentLogSegmentBytes,
+                params.segmentLogDurability,
+                Duration.ofMillis(params.segmentLogGroupCommitMillis),
+                params.zeroCopyCapture
+            );
         } else if (params.kafkaParameters.kafkaBrokers != null) {
+            var producer = new KafkaProducer<String, byte[]>(
+                KafkaConfig.buildKafkaProperties(params.kafkaParameters)
+            );
+            var coalescerOrNull = !params.kafkaCoalesceRecords ? null : new KafkaRecordCoalescer(
+                producer,
+                params.kafakTopicName,
+                nodeId,
+                params.maximumTrafficStreamSize - KafkaCaptureFactory.KAFKA_MESSAGE_OVERHEAD_BYTES,
+                Duration.ofMillis(params.kafkaCoalesceLingerMillis),
+                params.kafkaCoalesceBuckets
+            );
             return new KafkaCaptureFactory(
                 rootContext,
                 nodeId,
-                new KafkaProducer<>(KafkaConfig.buildKafkaProperties(params.kafkaParameters)),
+                producer,
                 params.kafakTopicName,
-                params.maximumTrafficStreamSize
+                params.maximumTrafficStreamSize,
+                ByteBufferPool.DEFAULT_MAX_POOLED_BUFFERS,
+                buildTrafficStreamCompression(params),
+                coalescerOrNull,
+                params.zeroCopyCapture
             );
         } else if (params.noCapture) {
             return getNullConnectionCaptureFactory();
@@ -289,6 +494,20 @@ public class CaptureProxy {
         }
     }
 
+    static TrafficStreamCompression buildTrafficStreamCompression(Parameters params) throws IOException {
+        if (!params.kafkaCompressTrafficStreams) {
+            return TrafficStreamCompression.DISABLED;
+        }
+        var dictionary = params.kafkaCompressionDictionary == null
+            ? null
+            : Files.readAllBytes(Paths.get(params.kafkaCompressionDictionary));
+        return new TrafficStreamCompression(
+            params.kafkaCompressionLevel,
+            dictionary,
+            TrafficStreamCompression.DEFAULT_MIN_BYTES_TO_COMPRESS
+        );
+    }
+
     // Utility method for converting uri string to an actual URI object. Similar logic is placed in the trafficReplayer
     // module: TrafficReplayer.java
     protected static URI convertStringToUri(String uriString) {
@@ -414,6 +633,9 @@ public class CaptureProxy {
 
         var sslEngineSupplier = buildSslEngineSupplier(params);
         var proxy = new NettyScanningHttpProxy(params.frontsidePort);
+        var transport = new ProxyTransport(params.nativeTransport, params.tcpNoDelay,
+            params.socketReceiveBufferBytes, params.socketSendBufferBytes);
+        IConnectionCaptureFactory<?> connectionCaptureFactory;
         try {
             var pooledConnectionTimeout = params.destinationConnectionPoolSize == 0
                 ? Duration.ZERO
@@ -422,7 +644,8 @@ public class CaptureProxy {
                 backsideUri,
                 loadBacksideSslContext(backsideUri, params.allowInsecureConnectionsToBackside),
                 params.destinationConnectionPoolSize,
-                pooledConnectionTimeout
+                pooledConnectionTimeout,
+                transport
             );
             var headerCapturePredicate = HeaderValueFilteringCapturePredicate.builder()
                 .methodPattern(params.suppressMethod)
@@ -431,10 +654,15 @@ public class CaptureProxy {
                 .protocolPattern("HTTP/2.*")
                 .suppressCaptureHeaderPairs(convertPairListToMap(params.suppressCaptureHeaderPairs))
                 .build();
+            var adaptiveCapturePolicy = buildAdaptiveCapturePolicy(params);
+            connectionCaptureFactory =
+                withHealthMonitoring(getConnectionCaptureFactory(params, ctx), adaptiveCapturePolicy);
+            var groupCommitFlusher = new GroupCommitFlusher(Duration.ofMillis(params.blockingFlushGroupCommitMillis),
+                connectionCaptureFactory::sendBufferedCaptures);
             var proxyChannelInitializer =
                 buildProxyChannelInitializer(ctx, backsideConnectionPool, sslEngineSupplier, headerCapturePredicate,
-                    params.headerOverrides, getConnectionCaptureFactory(params, ctx));
-            proxy.start(proxyChannelInitializer, params.numThreads);
+                    params.headerOverrides, connectionCaptureFactory, groupCommitFlusher, adaptiveCapturePolicy);
+            proxy.start(proxyChannelInitializer, params.numThreads, transport, params.reusePort);
         } catch (Exception e) {
             log.atError().setCause(e).setMessage("Caught exception while setting up the server and rethrowing").log();
             throw e;
@@ -444,6 +672,7 @@ public class CaptureProxy {
                 System.err.println("Received shutdown signal.  Trying to shutdown cleanly");
                 proxy.stop();
                 System.err.println("Done stopping the proxy.");
+                closeConnectionCaptureFactory(connectionCaptureFactory);
             } catch (InterruptedException e) {
                 System.err.println("Caught InterruptedException while shutting down, resetting interrupt status: " + e);
                 Thread.currentThread().interrupt();
@@ -454,13 +683,55 @@ public class CaptureProxy {
         proxy.waitForClose();
     }
 
+    /** Sends whatever captures the factory is still holding and releases its resources, if it has any */
+    static void closeConnectionCaptureFactory(IConnectionCaptureFactory<?> connectionCaptureFactory) {
+        if (connectionCaptureFactory instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+                System.err.println("Done closing the capture offloader.");
+            } catch (Exception e) {
+                System.err.println("Caught exception while closing the capture offloader: " + e);
+            }
+        }
+    }
+
+    static AdaptiveCapturePolicy buildAdaptiveCapturePolicy(Parameters params) {
+        if (!params.adaptiveCapture) {
+            return AdaptiveCapturePolicy.ALWAYS_CAPTURE;
+        }
+        var healthMonitor = new OffloaderHealthMonitor(
+            params.adaptiveCaptureMaxInFlightFlushes,
+            params.adaptiveCaptureMaxInFlightBytes,
+            Duration.ofMillis(params.adaptiveCaptureMaxAckLatencyMillis)
+        );
+        return new AdaptiveCapturePolicy(
+            healthMonitor,
+            params.adaptiveCaptureLargeRequestBytes,
+            params.adaptiveCaptureSampleOneInN
+        );
+    }
+
+    private static <T> IConnectionCaptureFactory<T> withHealthMonitoring(
+        IConnectionCaptureFactory<T> connectionCaptureFactory,
+        AdaptiveCapturePolicy adaptiveCapturePolicy
+    ) {
+        return adaptiveCapturePolicy == AdaptiveCapturePolicy.ALWAYS_CAPTURE
+            ? connectionCaptureFactory
+            : new HealthMonitoredConnectionCaptureFactory<>(
+                connectionCaptureFactory,
+                adaptiveCapturePolicy.getHealthMonitor()
+            );
+    }
+
     @SuppressWarnings("java:S4030") // Collections removeStrings and addBufs are incorrectly reported as being unused
     static <T> ProxyChannelInitializer<T> buildProxyChannelInitializer(RootCaptureContext rootContext,
                                                                 BacksideConnectionPool backsideConnectionPool,
                                                                 Supplier<SSLEngine> sslEngineSupplier,
                                                                 @NonNull RequestCapturePredicate headerCapturePredicate,
                                                                 List<String> headerOverridesArgs,
-                                                                IConnectionCaptureFactory<T> connectionFactory)
+                                                                IConnectionCaptureFactory<T> connectionFactory,
+                                                                GroupCommitFlusher groupCommitFlusher,
+                                                                AdaptiveCapturePolicy adaptiveCapturePolicy)
     {
         var headers = new ArrayList<>(convertPairListToMap(headerOverridesArgs).entrySet());
         Collections.reverse(headers);
@@ -480,7 +751,9 @@ public class CaptureProxy {
             backsideConnectionPool,
             sslEngineSupplier,
             connectionFactory,
-            headerCapturePredicate
+            headerCapturePredicate,
+            groupCommitFlusher,
+            adaptiveCapturePolicy
         ) {
             @Override
             protected void initChannel(@NonNull SocketChannel ch) throws IOException {
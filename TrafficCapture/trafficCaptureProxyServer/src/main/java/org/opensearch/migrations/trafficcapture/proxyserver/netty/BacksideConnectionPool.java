@@ -13,7 +13,6 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelPromise;
 import io.netty.channel.EventLoop;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.FastThreadLocal;
@@ -27,6 +26,7 @@ public class BacksideConnectionPool {
     private final FastThreadLocal<ExpiringSubstitutableItemPool<ChannelFuture, Void>> connectionCacheForEachThread;
     private final Duration inactivityTimeout;
     private final int poolSize;
+    private final ProxyTransport transport;
 
     public BacksideConnectionPool(
         URI backsideUri,
@@ -34,6 +34,21 @@ public class BacksideConnectionPool {
         int poolSize,
         Duration inactivityTimeout
     ) {
+        this(backsideUri, backsideSslContext, poolSize, inactivityTimeout, ProxyTransport.nio());
+    }
+
+    /**
+     * @param transport must be the same transport that the proxy's event loops were created with, since
+     *                  outbound channels are registered with the event loop of the inbound connection
+     */
+    public BacksideConnectionPool(
+        URI backsideUri,
+        SslContext backsideSslContext,
+        int poolSize,
+        Duration inactivityTimeout,
+        ProxyTransport transport
+    ) {
+        this.transport = transport;
         this.backsideUri = backsideUri;
         this.backsideSslContext = backsideSslContext;
         this.connectionCacheForEachThread = new FastThreadLocal<>();
@@ -84,9 +99,9 @@ public class BacksideConnectionPool {
 
     private ChannelFuture buildConnectionFuture(EventLoop eventLoop) {
         // Start the connection attempt.
-        Bootstrap b = new Bootstrap();
+        Bootstrap b = transport.applySocketOptions(new Bootstrap());
         b.group(eventLoop)
-            .channel(NioSocketChannel.class)
+            .channel(transport.getSocketChannelClass())
             .handler(new ChannelDuplexHandler())
             .option(ChannelOption.AUTO_READ, false);
         var f = b.connect(backsideUri.getHost(), backsideUri.getPort());
@@ -1,20 +1,25 @@
 package org.opensearch.migrations.trafficcapture.proxyserver.netty;
 
 
+import java.util.ArrayList;
+import java.util.List;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.util.concurrent.EventExecutor;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class NettyScanningHttpProxy {
     @Getter
     protected final int proxyPort;
     protected Channel mainChannel;
+    /** Every bound server channel; more than one only when SO_REUSEPORT acceptors are in use. */
+    protected final List<Channel> serverChannels = new ArrayList<>();
     protected EventLoopGroup workerGroup;
     protected EventLoopGroup bossGroup;
 
@@ -25,35 +30,76 @@ public class NettyScanningHttpProxy {
     public void start(ProxyChannelInitializer<?> proxyChannelInitializer, int numThreads)
         throws InterruptedException
     {
-        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("captureProxyPoolBoss"));
-        workerGroup = new NioEventLoopGroup(numThreads, new DefaultThreadFactory("captureProxyPoolWorker"));
-        ServerBootstrap serverBootstrap = new ServerBootstrap();
+        start(proxyChannelInitializer, numThreads, ProxyTransport.nio(), false);
+    }
+
+    /**
+     * @param reusePort when true and the transport supports it, one server socket is bound to the port
+     *                  (with SO_REUSEPORT) on every worker event loop, so that the kernel spreads incoming
+     *                  connections across acceptors instead of funneling them all through one boss thread.
+     *                  Otherwise, a single boss thread accepts for the whole worker group.
+     */
+    public void start(ProxyChannelInitializer<?> proxyChannelInitializer,
+                      int numThreads,
+                      ProxyTransport transport,
+                      boolean reusePort)
+        throws InterruptedException
+    {
+        boolean useReusePort = reusePort && transport.supportsReusePort();
+        if (reusePort && !useReusePort) {
+            log.atWarn()
+                .setMessage("SO_REUSEPORT acceptors require the native transport; using a single acceptor with {}")
+                .addArgument(transport).log();
+        }
+        workerGroup = transport.newEventLoopGroup(numThreads, "captureProxyPoolWorker");
+        bossGroup = useReusePort ? workerGroup : transport.newEventLoopGroup(1, "captureProxyPoolBoss");
+        ServerBootstrap serverBootstrap = transport.applyChildSocketOptions(new ServerBootstrap())
+            .group(bossGroup, workerGroup)
+            .channel(transport.getServerChannelClass())
+            .childHandler(proxyChannelInitializer)
+            .childOption(ChannelOption.AUTO_READ, false);
         try {
-            mainChannel = serverBootstrap.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .childHandler(proxyChannelInitializer)
-                .childOption(ChannelOption.AUTO_READ, false)
-                .bind(proxyPort)
-                .sync()
-                .channel();
+            if (useReusePort) {
+                serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+                // each bind registers its server channel with the next loop of the group, giving one
+                // acceptor per event loop
+                for (EventExecutor ignored : workerGroup) {
+                    serverChannels.add(serverBootstrap.bind(proxyPort).sync().channel());
+                }
+            } else {
+                serverChannels.add(serverBootstrap.bind(proxyPort).sync().channel());
+            }
+            mainChannel = serverChannels.get(0);
+            log.atInfo().setMessage("Proxy listening on port {} with {} acceptor(s) using {}")
+                .addArgument(proxyPort).addArgument(serverChannels::size).addArgument(transport).log();
         } catch (Exception e) {
-            workerGroup.shutdownGracefully();
-            bossGroup.shutdownGracefully();
+            serverChannels.forEach(Channel::close);
+            shutdownEventLoopGroups();
             throw e;
         }
     }
 
     public void stop() throws InterruptedException {
-        mainChannel.close();
+        serverChannels.forEach(Channel::close);
         try {
-            mainChannel.closeFuture().sync();
+            for (var channel : serverChannels) {
+                channel.closeFuture().sync();
+            }
         } finally {
-            workerGroup.shutdownGracefully();
+            shutdownEventLoopGroups();
+        }
+    }
+
+    private void shutdownEventLoopGroups() {
+        workerGroup.shutdownGracefully();
+        if (bossGroup != workerGroup) {
             bossGroup.shutdownGracefully();
         }
     }
 
     public void waitForClose() throws InterruptedException {
-        mainChannel.closeFuture().sync();
+        for (var channel : serverChannels) {
+            channel.closeFuture().sync();
+        }
     }
 }
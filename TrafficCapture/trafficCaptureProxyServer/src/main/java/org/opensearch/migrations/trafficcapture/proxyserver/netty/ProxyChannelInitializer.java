@@ -6,7 +6,9 @@ import java.io.IOException;
 import java.util.function.Supplier;
 
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.netty.AdaptiveCapturePolicy;
 import org.opensearch.migrations.trafficcapture.netty.ConditionallyReliableLoggingHttpHandler;
+import org.opensearch.migrations.trafficcapture.netty.GroupCommitFlusher;
 import org.opensearch.migrations.trafficcapture.netty.RequestCapturePredicate;
 import org.opensearch.migrations.trafficcapture.netty.tracing.IRootWireLoggingContext;
 
@@ -25,6 +27,8 @@ public class ProxyChannelInitializer<T> extends ChannelInitializer<SocketChannel
     protected final IRootWireLoggingContext rootContext;
     protected final BacksideConnectionPool backsideConnectionPool;
     protected final RequestCapturePredicate requestCapturePredicate;
+    protected final GroupCommitFlusher groupCommitFlusher;
+    protected final AdaptiveCapturePolicy adaptiveCapturePolicy;
 
     public ProxyChannelInitializer(
         IRootWireLoggingContext rootContext,
@@ -32,12 +36,39 @@ public class ProxyChannelInitializer<T> extends ChannelInitializer<SocketChannel
         Supplier<SSLEngine> sslEngineSupplier,
         IConnectionCaptureFactory<T> connectionCaptureFactory,
         @NonNull RequestCapturePredicate requestCapturePredicate
+    ) {
+        this(rootContext, backsideConnectionPool, sslEngineSupplier, connectionCaptureFactory, requestCapturePredicate,
+            GroupCommitFlusher.DISABLED);
+    }
+
+    public ProxyChannelInitializer(
+        IRootWireLoggingContext rootContext,
+        BacksideConnectionPool backsideConnectionPool,
+        Supplier<SSLEngine> sslEngineSupplier,
+        IConnectionCaptureFactory<T> connectionCaptureFactory,
+        @NonNull RequestCapturePredicate requestCapturePredicate,
+        @NonNull GroupCommitFlusher groupCommitFlusher
+    ) {
+        this(rootContext, backsideConnectionPool, sslEngineSupplier, connectionCaptureFactory, requestCapturePredicate,
+            groupCommitFlusher, AdaptiveCapturePolicy.ALWAYS_CAPTURE);
+    }
+
+    public ProxyChannelInitializer(
+        IRootWireLoggingContext rootContext,
+        BacksideConnectionPool backsideConnectionPool,
+        Supplier<SSLEngine> sslEngineSupplier,
+        IConnectionCaptureFactory<T> connectionCaptureFactory,
+        @NonNull RequestCapturePredicate requestCapturePredicate,
+        @NonNull GroupCommitFlusher groupCommitFlusher,
+        @NonNull AdaptiveCapturePolicy adaptiveCapturePolicy
     ) {
         this.rootContext = rootContext;
         this.backsideConnectionPool = backsideConnectionPool;
         this.sslEngineProvider = sslEngineSupplier;
         this.connectionCaptureFactory = connectionCaptureFactory;
         this.requestCapturePredicate = requestCapturePredicate;
+        this.groupCommitFlusher = groupCommitFlusher;
+        this.adaptiveCapturePolicy = adaptiveCapturePolicy;
     }
 
     public boolean shouldGuaranteeMessageOffloading(HttpRequest httpRequest) {
@@ -64,7 +95,9 @@ public class ProxyChannelInitializer<T> extends ChannelInitializer<SocketChannel
                     connectionId,
                     connectionCaptureFactory,
                     requestCapturePredicate,
-                    this::shouldGuaranteeMessageOffloading
+                    this::shouldGuaranteeMessageOffloading,
+                    groupCommitFlusher,
+                    adaptiveCapturePolicy
                 )
             );
         ch.pipeline().addLast(new FrontsideHandler(backsideConnectionPool));
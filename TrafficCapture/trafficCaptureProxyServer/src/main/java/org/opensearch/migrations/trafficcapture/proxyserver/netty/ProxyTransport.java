@@ -0,0 +1,117 @@
+package org.opensearch.migrations.trafficcapture.proxyserver.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chooses the netty transport (native epoll or NIO) and the socket options that the proxy uses for
+ * both the client-facing (frontside) and destination-facing (backside) channels.  The event loops,
+ * the server channel and the backside client channels must all come from the same transport, so
+ * {@link NettyScanningHttpProxy} and {@link BacksideConnectionPool} both take an instance of this
+ * class rather than each picking their own channel classes.
+ *
+ * <p>Native epoll is opt-in.  When it is requested but the native library cannot be loaded (e.g.
+ * non-Linux hosts or a missing native jar), this logs why and falls back to NIO.
+ */
+@Slf4j
+public class ProxyTransport {
+    /** Socket buffer sizes of 0 leave the operating system's defaults in place. */
+    public static final int OS_DEFAULT_BUFFER_SIZE = 0;
+
+    @Getter
+    private final boolean nativeEpoll;
+    @Getter
+    private final boolean tcpNoDelay;
+    private final int receiveBufferBytes;
+    private final int sendBufferBytes;
+
+    public ProxyTransport(boolean preferNativeTransport,
+                          boolean tcpNoDelay,
+                          int receiveBufferBytes,
+                          int sendBufferBytes) {
+        this.nativeEpoll = preferNativeTransport && checkEpollAvailable();
+        this.tcpNoDelay = tcpNoDelay;
+        this.receiveBufferBytes = receiveBufferBytes;
+        this.sendBufferBytes = sendBufferBytes;
+    }
+
+    /** The NIO transport with netty's default socket options, which is what the proxy always used. */
+    public static ProxyTransport nio() {
+        return new ProxyTransport(false, true, OS_DEFAULT_BUFFER_SIZE, OS_DEFAULT_BUFFER_SIZE);
+    }
+
+    private static boolean checkEpollAvailable() {
+        if (Epoll.isAvailable()) {
+            return true;
+        }
+        log.atWarn().setCause(Epoll.unavailabilityCause())
+            .setMessage("Native epoll transport was requested but is unavailable; falling back to NIO").log();
+        return false;
+    }
+
+    /** Only the native transport can bind several server sockets to the same port. */
+    public boolean supportsReusePort() {
+        return nativeEpoll;
+    }
+
+    public EventLoopGroup newEventLoopGroup(int numThreads, String poolName) {
+        var threadFactory = new DefaultThreadFactory(poolName);
+        return nativeEpoll
+            ? new EpollEventLoopGroup(numThreads, threadFactory)
+            : new NioEventLoopGroup(numThreads, threadFactory);
+    }
+
+    public Class<? extends ServerChannel> getServerChannelClass() {
+        return nativeEpoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        return nativeEpoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    /** Applies the per-connection socket options to the connections accepted by the server. */
+    public ServerBootstrap applyChildSocketOptions(ServerBootstrap serverBootstrap) {
+        serverBootstrap.childOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        if (receiveBufferBytes > 0) {
+            serverBootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBufferBytes);
+        }
+        if (sendBufferBytes > 0) {
+            serverBootstrap.childOption(ChannelOption.SO_SNDBUF, sendBufferBytes);
+        }
+        return serverBootstrap;
+    }
+
+    /** Applies the per-connection socket options to outbound (backside) connections. */
+    public Bootstrap applySocketOptions(Bootstrap bootstrap) {
+        bootstrap.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        if (receiveBufferBytes > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, receiveBufferBytes);
+        }
+        if (sendBufferBytes > 0) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, sendBufferBytes);
+        }
+        return bootstrap;
+    }
+
+    @Override
+    public String toString() {
+        return "ProxyTransport{" + (nativeEpoll ? "epoll" : "nio")
+            + ", tcpNoDelay=" + tcpNoDelay
+            + ", receiveBufferBytes=" + receiveBufferBytes
+            + ", sendBufferBytes=" + sendBufferBytes + "}";
+    }
+}
@@ -31,7 +31,8 @@ import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 import lombok.Lombok;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 @Slf4j
 class NettyScanningHttpProxyTest {
@@ -78,8 +79,9 @@ class NettyScanningHttpProxyTest {
     public static final String UPSTREAM_SERVER_RESPONSE_BODY = "Hello tester!\n";
     public static final String TEST_NODE_ID_STRING = "test_node_id";
 
-    @Test
-    public void testRoundTrip() throws IOException, InterruptedException,
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testRoundTrip(boolean nativeTransportWithReusePort) throws IOException, InterruptedException,
         PortFinder.ExceededMaxPortAssigmentAttemptException {
         final int NUM_EXPECTED_TRAFFIC_STREAMS = 1;
         final int NUM_INTERACTIONS = 3;
@@ -94,7 +96,9 @@ class NettyScanningHttpProxyTest {
             inMemoryInstrumentationBundle.openTelemetrySdk,
             IContextTracker.DO_NOTHING_TRACKER
         );
-        var servers = startServers(rootCtx, captureFactory);
+        // When epoll is unavailable on the test host, this still exercises the NIO fallback path
+        var transport = new ProxyTransport(nativeTransportWithReusePort, true, 64 * 1024, 64 * 1024);
+        var servers = startServers(rootCtx, captureFactory, transport, nativeTransportWithReusePort);
 
         try (var client = new SimpleHttpClientForTesting()) {
             var nettyEndpoint = URI.create("http://localhost:" + servers.getKey().getProxyPort() + "/");
@@ -180,7 +184,9 @@ class NettyScanningHttpProxyTest {
 
     private static Map.Entry<NettyScanningHttpProxy, Integer> startServers(
         RootWireLoggingContext rootCtx,
-        IConnectionCaptureFactory connectionCaptureFactory
+        IConnectionCaptureFactory connectionCaptureFactory,
+        ProxyTransport transport,
+        boolean reusePort
     ) throws PortFinder.ExceededMaxPortAssigmentAttemptException {
         var nshp = new AtomicReference<NettyScanningHttpProxy>();
         var upstreamTestServer = new AtomicReference<SimpleHttpServer>();
@@ -203,11 +209,12 @@ class NettyScanningHttpProxyTest {
         PortFinder.retryWithNewPortUntilNoThrow(port -> {
             nshp.set(new NettyScanningHttpProxy(port));
             try {
-                var connectionPool = new BacksideConnectionPool(testServerUri, null, 10, Duration.ofSeconds(10));
+                var connectionPool = new BacksideConnectionPool(testServerUri, null, 10, Duration.ofSeconds(10),
+                    transport);
 
                 nshp.get()
                     .start(new ProxyChannelInitializer(rootCtx, connectionPool, null,
-                        connectionCaptureFactory, new RequestCapturePredicate()), 1);
+                        connectionCaptureFactory, new RequestCapturePredicate()), 2, transport, reusePort);
                 System.out.println("proxy port = " + port);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
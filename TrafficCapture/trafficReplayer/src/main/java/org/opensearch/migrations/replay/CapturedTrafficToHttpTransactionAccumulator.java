@@ -376,6 +376,18 @@ public class CapturedTrafficToHttpTransactionAccumulator {
         var timestamp = TrafficStreamUtils.instantFromProtoTimestamp(observation.getTs());
         liveStreams.expireOldEntries(trafficStreamKey, accum, timestamp);
 
+        if (observation.hasCaptureModeChange()) {
+            // Requests that weren't captured because of this never show up in the stream (or show up as
+            // dropped), so there's nothing to reconcile here, but the gap should be visible to operators.
+            log.atInfo().setMessage("Capture mode for {} changed to {} at {}; requests may be missing from the "
+                    + "capture until it returns to FULL")
+                .addArgument(trafficStreamKey::getConnectionId)
+                .addArgument(() -> observation.getCaptureModeChange().getMode())
+                .addArgument(timestamp)
+                .log();
+            return CONNECTION_STATUS.ALIVE;
+        }
+
         return handleCloseObservationThatAffectEveryState(accum, observation, trafficStreamKey, timestamp).or(
             () -> handleObservationForSkipState(accum, observation)
         )
@@ -1,12 +1,15 @@
 package org.opensearch.migrations.replay;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 import org.opensearch.migrations.NettyFutureBinders;
 import org.opensearch.migrations.replay.datatypes.ConnectionReplaySession;
+import org.opensearch.migrations.replay.datatypes.SharedTargetChannelPool;
 import org.opensearch.migrations.replay.tracing.IReplayContexts;
 import org.opensearch.migrations.utils.TextTrackedFuture;
 import org.opensearch.migrations.utils.TrackedFuture;
@@ -32,8 +35,15 @@ public class ClientConnectionPool {
 
     private final BiFunction<EventLoop, IReplayContexts.ITargetRequestContext, TrackedFuture<String, ChannelFuture>>
         channelCreator;
+    private final SharedTargetChannelPool.ChannelCreator sharedChannelCreator;
     private final NioEventLoopGroup eventLoopGroup;
     private final LoadingCache<Key, ConnectionReplaySession> connectionId2ChannelCache;
+    /**
+     * When positive, sessions on each event loop share this many target connections (see
+     * {@link SharedTargetChannelPool}) rather than each having a connection of its own
+     */
+    private final int maxSharedConnectionsPerThread;
+    private final ConcurrentHashMap<EventLoop, SharedTargetChannelPool> sharedChannelPools = new ConcurrentHashMap<>();
     /** Called when any session's channel is closed. Default no-op; set by coordinator. */
     @Setter
     private Consumer<ConnectionReplaySession> globalOnSessionClose = session -> {};
@@ -54,7 +64,40 @@ public class ClientConnectionPool {
         @NonNull String targetConnectionPoolName,
         int numThreads
     ) {
+        this(channelCreator, targetConnectionPoolName, numThreads, 0);
+    }
+
+    public ClientConnectionPool(
+        BiFunction<EventLoop, IReplayContexts.ITargetRequestContext, TrackedFuture<String, ChannelFuture>> channelCreator,
+        @NonNull String targetConnectionPoolName,
+        int numThreads,
+        int maxSharedConnectionsPerThread
+    ) {
+        this(channelCreator, (eventLoop, ctx, socketOwnerCtx) -> channelCreator.apply(eventLoop, ctx),
+            targetConnectionPoolName, numThreads, maxSharedConnectionsPerThread);
+    }
+
+    /**
+     * @param sharedChannelCreator used instead of channelCreator to open the connections that are shared when
+     *                             maxSharedConnectionsPerThread is positive
+     * @param maxSharedConnectionsPerThread when positive, the requests of all of the sessions that are bound to
+     *                                      a thread are multiplexed over at most this many persistent target
+     *                                      connections.  Each source connection's requests are still sent one
+     *                                      at a time, in order.  When 0, every session gets its own connection.
+     */
+    public ClientConnectionPool(
+        BiFunction<EventLoop, IReplayContexts.ITargetRequestContext, TrackedFuture<String, ChannelFuture>> channelCreator,
+        SharedTargetChannelPool.ChannelCreator sharedChannelCreator,
+        @NonNull String targetConnectionPoolName,
+        int numThreads,
+        int maxSharedConnectionsPerThread
+    ) {
+        if (maxSharedConnectionsPerThread < 0) {
+            throw new IllegalArgumentException("maxSharedConnectionsPerThread must not be negative");
+        }
         this.channelCreator = channelCreator;
+        this.sharedChannelCreator = sharedChannelCreator;
+        this.maxSharedConnectionsPerThread = maxSharedConnectionsPerThread;
         this.eventLoopGroup = new NioEventLoopGroup(numThreads, new DefaultThreadFactory(targetConnectionPoolName));
 
         connectionId2ChannelCache = CacheBuilder.newBuilder().build(CacheLoader.from(key -> {
@@ -82,8 +125,11 @@ public class ClientConnectionPool {
         // event loop that was tied to the original channel to bind all future channels to
         // the same event loop. That means that we don't have to worry about concurrent
         // accesses/changes to the OTHER value that we're storing within the cache.
-        return new ConnectionReplaySession(eventLoopGroup.next(), channelKeyCtx, channelCreator, generation,
-            globalOnSessionClose);
+        var eventLoop = eventLoopGroup.next();
+        var sharedChannelPool = maxSharedConnectionsPerThread <= 0 ? null : sharedChannelPools.computeIfAbsent(
+            eventLoop, el -> new SharedTargetChannelPool(el, sharedChannelCreator, maxSharedConnectionsPerThread));
+        return new ConnectionReplaySession(eventLoop, channelKeyCtx, channelCreator, generation,
+            globalOnSessionClose, sharedChannelPool);
     }
 
     @SneakyThrows
@@ -164,7 +210,9 @@ public class ClientConnectionPool {
         log.atInfo().setMessage("Shutting down ClientConnectionPool").log();
         var rval = NettyFutureBinders.bindNettyFutureToCompletableFuture(eventLoopGroup.shutdownGracefully());
         connectionId2ChannelCache.invalidateAll();
-        return rval;
+        var sharedChannelPoolsToClose = List.copyOf(sharedChannelPools.values());
+        sharedChannelPools.clear();
+        return rval.whenComplete((v, t) -> sharedChannelPoolsToClose.forEach(SharedTargetChannelPool::close));
     }
 
     private TrackedFuture<String, Channel> closeClientConnectionChannel(ConnectionReplaySession session) {
@@ -12,6 +12,7 @@ import org.opensearch.migrations.transform.IAuthTransformerFactory;
 import org.opensearch.migrations.transform.IJsonTransformer;
 import org.opensearch.migrations.transform.ThreadSafeTransformerWrapper;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -32,6 +33,10 @@ public class PacketToTransformingHttpHandlerFactory
     // The authTransformerFactory is ThreadSafe and getAuthTransformer will be called for every request
     private final IAuthTransformerFactory authTransformerFactory;
 
+    // see HttpJsonTransformingConsumer
+    @Setter
+    private volatile boolean streamNdjsonBodies;
+
     public PacketToTransformingHttpHandlerFactory(
         Supplier<IJsonTransformer> jsonTransformerSupplier,
         IAuthTransformerFactory authTransformerFactory
@@ -49,7 +54,8 @@ public class PacketToTransformingHttpHandlerFactory
             threadSafeTransformer,
             authTransformerFactory,
             new TransformedPacketReceiver(),
-            httpTransactionContext
+            httpTransactionContext,
+            streamNdjsonBodies
         );
     }
 
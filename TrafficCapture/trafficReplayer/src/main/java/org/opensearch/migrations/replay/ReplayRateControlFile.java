@@ -0,0 +1,73 @@
+package org.opensearch.migrations.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lets operators change how fast traffic is replayed without restarting the replayer by writing to a file.  The
+ * file is expected to contain either a positive number, which becomes the new speedup factor, or
+ * {@value #CATCH_UP_COMMAND}, which replays as fast as possible until the replay has caught up with the present
+ * and then continues in real time (see {@link TimeShifter#startCatchUp()}).
+ *
+ * <p>{@link #poll()} is meant to be called periodically.  A command is applied when the file's contents change
+ * (including when it's first seen), so rewriting the same command doesn't apply it again.
+ */
+@Slf4j
+public class ReplayRateControlFile {
+    public static final String CATCH_UP_COMMAND = "catchup";
+
+    private final TimeShifter timeShifter;
+    private final Path controlFile;
+    private String lastContents;
+
+    public ReplayRateControlFile(TimeShifter timeShifter, Path controlFile) {
+        this.timeShifter = timeShifter;
+        this.controlFile = controlFile;
+    }
+
+    public synchronized void poll() {
+        String contents;
+        try {
+            if (!Files.exists(controlFile)) {
+                return;
+            }
+            contents = Files.readString(controlFile).trim();
+        } catch (IOException e) {
+            log.atWarn().setCause(e).setMessage("Could not read the replay rate control file {}")
+                .addArgument(controlFile).log();
+            return;
+        }
+        if (contents.equals(lastContents)) {
+            return;
+        }
+        lastContents = contents;
+        if (!contents.isEmpty()) {
+            applyCommand(contents);
+        }
+    }
+
+    void applyCommand(String command) {
+        if (CATCH_UP_COMMAND.equalsIgnoreCase(command.replace("-", ""))) {
+            log.atInfo().setMessage("Starting to catch up, as requested by {}").addArgument(controlFile).log();
+            timeShifter.startCatchUp();
+            return;
+        }
+        try {
+            var speedupFactor = Double.parseDouble(command);
+            log.atInfo().setMessage("Changing the speedup factor to {}, as requested by {}")
+                .addArgument(speedupFactor)
+                .addArgument(controlFile)
+                .log();
+            timeShifter.setRateMultiplier(speedupFactor);
+        } catch (IllegalArgumentException e) {
+            log.atWarn().setMessage("Ignoring unrecognized replay rate command \"{}\" in {}.  Expected a positive "
+                    + "speedup factor or \"" + CATCH_UP_COMMAND + "\"")
+                .addArgument(command)
+                .addArgument(controlFile)
+                .log();
+        }
+    }
+}
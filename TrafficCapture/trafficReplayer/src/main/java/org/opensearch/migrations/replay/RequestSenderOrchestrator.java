@@ -340,18 +340,24 @@ public class RequestSenderOrchestrator {
     private <T> TrackedFuture<String, T> scheduleOnConnectionReplaySession(
         IndexedChannelInteraction channelInteraction,
         ConnectionReplaySession channelFutureAndRequestSchedule,
-        Instant atTime,
+        Instant requestedTime,
         ChannelTask<T> task
     ) {
         log.atDebug().setMessage("{} scheduling {} at {}")
             .addArgument(channelInteraction)
             .addArgument(task.kind)
-            .addArgument(atTime)
+            .addArgument(requestedTime)
             .log();
 
         var schedule = channelFutureAndRequestSchedule.schedule;
         var eventLoop = channelFutureAndRequestSchedule.eventLoop;
 
+        // When the replay rate is raised mid-replay, a task can map to a time before ones that were already
+        // scheduled for this connection (at the old rate).  It runs right after them instead.
+        var lastScheduled = schedule.peekLastItem();
+        final var atTime = lastScheduled != null && requestedTime.isBefore(lastScheduled.startTime)
+            ? lastScheduled.startTime
+            : requestedTime;
         var wasEmpty = schedule.isEmpty();
         assert wasEmpty || !atTime.isBefore(schedule.peekFirstItem().startTime)
             : "Per-connection TrafficStream ordering should force a time ordering on incoming requests";
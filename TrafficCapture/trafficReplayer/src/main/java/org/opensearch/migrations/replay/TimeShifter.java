@@ -1,22 +1,48 @@
 package org.opensearch.migrations.replay;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.event.Level;
 
-// TODO - Reconsider how time shifting is done
+/**
+ * Maps the times that traffic was observed at on the source to the times that it should be replayed at.  The
+ * mapping is linear (scaled by a rate multiplier) from the first source timestamp, but the rate can be changed
+ * while replaying, in which case the mapping continues from the current replay position at the new rate so that
+ * it never jumps.  Times that have already been handed out (e.g. for requests that are already scheduled) are
+ * not revised.
+ *
+ * <p>In catch-up mode, the replay runs at the (high) catch-up rate until it has caught up with the wall clock,
+ * i.e. until the source time being replayed reaches the current time, and then it runs in real time.  The point
+ * where the two meet is computed up front, so the switch happens exactly when the lag reaches zero.
+ */
 @Slf4j
 public class TimeShifter {
+    public static final double DEFAULT_CATCH_UP_RATE_MULTIPLIER = 1000.0;
 
-    private final AtomicReference<Instant> sourceTimeStart = new AtomicReference<>();
-    private AtomicReference<Instant> systemTimeStart = new AtomicReference<>();
+    /** One linear piece of the mapping */
+    @AllArgsConstructor
+    private static class Segment {
+        final Instant sourceStart;
+        // the real time (before realtimeOffset is added) that sourceStart is replayed at
+        final Instant systemStart;
+        final double rateMultiplier;
+        // when catching up, the time at which the replay reaches real time, after which it runs at 1x
+        final Instant catchUpEndOrNull;
+    }
+
+    private volatile Segment segment;
+    // rate and mode to start with once the first timestamp has been seen
+    private volatile double initialRateMultiplier;
+    private volatile boolean initiallyCatchingUp;
 
-    private final double rateMultiplier;
     private final Duration realtimeOffset;
+    private final double catchUpRateMultiplier;
+    private final Clock clock;
 
     public TimeShifter() {
         this(1.0);
@@ -27,15 +53,40 @@ public class TimeShifter {
     }
 
     public TimeShifter(double rateMultiplier, Duration realtimeOffset) {
-        this.rateMultiplier = rateMultiplier;
+        this(rateMultiplier, realtimeOffset, DEFAULT_CATCH_UP_RATE_MULTIPLIER);
+    }
+
+    public TimeShifter(double rateMultiplier, Duration realtimeOffset, double catchUpRateMultiplier) {
+        this(rateMultiplier, realtimeOffset, catchUpRateMultiplier, Clock.systemUTC());
+    }
+
+    TimeShifter(double rateMultiplier, Duration realtimeOffset, double catchUpRateMultiplier, Clock clock) {
+        if (catchUpRateMultiplier <= 1.0) {
+            throw new IllegalArgumentException("catchUpRateMultiplier must be greater than 1, but was "
+                + catchUpRateMultiplier);
+        }
+        this.initialRateMultiplier = validateRateMultiplier(rateMultiplier);
         this.realtimeOffset = realtimeOffset;
+        this.catchUpRateMultiplier = catchUpRateMultiplier;
+        this.clock = clock;
+    }
+
+    private static double validateRateMultiplier(double rateMultiplier) {
+        if (!(rateMultiplier > 0) || Double.isInfinite(rateMultiplier)) {
+            throw new IllegalArgumentException("rateMultiplier must be a positive number, but was " + rateMultiplier);
+        }
+        return rateMultiplier;
     }
 
     public void setFirstTimestamp(Instant sourceTime) {
-        var didSet = sourceTimeStart.compareAndSet(null, sourceTime);
-        if (didSet) {
-            var didSetSystemStart = systemTimeStart.compareAndSet(null, Instant.now());
-            assert didSetSystemStart : "expected to always start systemTimeStart immediately after sourceTimeStart ";
+        boolean didSet = false;
+        if (segment == null) {
+            synchronized (this) {
+                if (segment == null) {
+                    segment = makeSegment(sourceTime, clock.instant(), initialRateMultiplier, initiallyCatchingUp);
+                    didSet = true;
+                }
+            }
         }
         log.atLevel(didSet ? Level.INFO : Level.TRACE)
             .setMessage("Set baseline source timestamp for all future interactions to {}")
@@ -43,32 +94,106 @@ public class TimeShifter {
             .log();
     }
 
-    Instant transformSourceTimeToRealTime(Instant sourceTime) {
-        if (sourceTimeStart.get() == null) {
+    /**
+     * Replays everything from the current replay position on at rateMultiplier times the speed that it was
+     * observed at.  This ends catch-up mode.
+     */
+    public void setRateMultiplier(double rateMultiplier) {
+        changeRate(validateRateMultiplier(rateMultiplier), false);
+    }
+
+    /**
+     * Replays at the catch-up rate (so as fast as the target and the replayer's limits allow, for large rates)
+     * until the replay has caught up with the wall clock, then continues in real time.  Requests from each
+     * connection stay in order and their relative timing is only compressed, never reordered.
+     */
+    public void startCatchUp() {
+        changeRate(catchUpRateMultiplier, true);
+    }
+
+    private synchronized void changeRate(double rateMultiplier, boolean catchUp) {
+        if (segment == null) {
+            initialRateMultiplier = rateMultiplier;
+            initiallyCatchingUp = catchUp;
+            return;
+        }
+        var now = clock.instant();
+        var sourceNow = transformRealTimeToSourceTime(now).orElseThrow();
+        segment = makeSegment(sourceNow, now.minus(realtimeOffset), rateMultiplier, catchUp);
+        log.atInfo().setMessage("Replaying from source time {} on with a rate multiplier of {}{}")
+            .addArgument(sourceNow)
+            .addArgument(segment.rateMultiplier)
+            .addArgument(() -> segment.catchUpEndOrNull == null ? ""
+                : " until catching up with real time at " + segment.catchUpEndOrNull)
+            .log();
+    }
+
+    private static Segment makeSegment(Instant sourceStart, Instant systemStart, double rateMultiplier,
+                                       boolean catchUp) {
+        if (!catchUp) {
+            return new Segment(sourceStart, systemStart, rateMultiplier, null);
+        }
+        var lag = Duration.between(sourceStart, systemStart);
+        if (!lag.isPositive()) {
+            log.atInfo().setMessage("Replay isn't behind real time (lag={}), so there's nothing to catch up on")
+                .addArgument(lag)
+                .log();
+            return new Segment(sourceStart, systemStart, 1.0, null);
+        }
+        // the replay gains (rateMultiplier - 1) seconds of source time on the wall clock every second
+        var catchUpEnd = systemStart.plusMillis((long) (lag.toMillis() / (rateMultiplier - 1)));
+        return new Segment(sourceStart, systemStart, rateMultiplier, catchUpEnd);
+    }
+
+    private Segment getSegment() {
+        var s = segment;
+        if (s == null) {
             throw new IllegalStateException("setFirstTimestamp has not yet been called");
         }
-        // realtime = systemTimeStart + ((sourceTime-sourceTimeStart) / rateMultiplier) + targetOffset
-        return systemTimeStart.get()
+        return s;
+    }
+
+    Instant transformSourceTimeToRealTime(Instant sourceTime) {
+        var s = getSegment();
+        if (s.catchUpEndOrNull != null && !sourceTime.isBefore(s.catchUpEndOrNull)) {
+            return sourceTime.plus(realtimeOffset);
+        }
+        // realtime = systemStart + ((sourceTime-sourceStart) / rateMultiplier) + targetOffset
+        return s.systemStart
             .plus(
                 Duration.ofMillis(
-                    (long) (Duration.between(sourceTimeStart.get(), sourceTime).toMillis() / rateMultiplier)
+                    (long) (Duration.between(s.sourceStart, sourceTime).toMillis() / s.rateMultiplier)
                 )
             )
             .plus(realtimeOffset);
     }
 
     Optional<Instant> transformRealTimeToSourceTime(Instant realTime) {
-        return Optional.ofNullable(sourceTimeStart.get()).map(start ->
-        // sourceTime = sourceTimeStart + (realTime-systemTimeStart-targetOffset) * rateMultiplier
-        start.plus(
-            Duration.ofMillis(
-                (long) (Duration.between(systemTimeStart.get(), realTime.minus(realtimeOffset)).toMillis()
-                    * rateMultiplier)
-            )
-        ));
+        return Optional.ofNullable(segment).map(s -> {
+            var systemTime = realTime.minus(realtimeOffset);
+            if (s.catchUpEndOrNull != null && !systemTime.isBefore(s.catchUpEndOrNull)) {
+                return systemTime;
+            }
+            // sourceTime = sourceStart + (realTime-systemStart-targetOffset) * rateMultiplier
+            return s.sourceStart.plus(
+                Duration.ofMillis(
+                    (long) (Duration.between(s.systemStart, systemTime).toMillis() * s.rateMultiplier)
+                )
+            );
+        });
+    }
+
+    /** @return true while the replay is running at the catch-up rate and hasn't yet reached real time */
+    public boolean isCatchingUp() {
+        var s = segment;
+        if (s == null) {
+            return initiallyCatchingUp;
+        }
+        return s.catchUpEndOrNull != null && clock.instant().minus(realtimeOffset).isBefore(s.catchUpEndOrNull);
     }
 
     public double maxRateMultiplier() {
-        return rateMultiplier;
+        var s = segment;
+        return s == null ? initialRateMultiplier : s.rateMultiplier;
     }
 }
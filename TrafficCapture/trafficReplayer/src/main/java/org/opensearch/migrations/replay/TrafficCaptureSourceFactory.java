@@ -2,6 +2,8 @@ package org.opensearch.migrations.replay;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Clock;
 import java.time.Duration;
 
@@ -11,6 +13,8 @@ import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.source.BlockingTrafficSource;
 import org.opensearch.migrations.replay.traffic.source.ISimpleTrafficCaptureSource;
 import org.opensearch.migrations.replay.traffic.source.InputStreamOfTraffic;
+import org.opensearch.migrations.replay.traffic.source.SegmentedLogTrafficCaptureSource;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,14 +41,28 @@ public class TrafficCaptureSourceFactory {
             appParams.kafkaTrafficGroupId
         );
         boolean isInputFileActive = appParams.inputFilename != null;
+        boolean isSegmentLogActive = appParams.inputSegmentLogDirectory != null;
 
         if (isInputFileActive && isKafkaActive) {
             throw new IllegalArgumentException(
                 "Only one traffic source can be specified, detected options for input file as well as Kafka"
             );
         }
+        if (isSegmentLogActive && (isInputFileActive || isKafkaActive)) {
+            throw new IllegalArgumentException(
+                "Only one traffic source can be specified, detected options for a segment log as well as another source"
+            );
+        }
 
-        if (isKafkaActive) {
+        var compression = buildTrafficStreamCompression(appParams);
+        if (isSegmentLogActive) {
+            return new SegmentedLogTrafficCaptureSource(
+                ctx,
+                Paths.get(appParams.inputSegmentLogDirectory),
+                appParams.inputSegmentLogStartRecord,
+                compression
+            );
+        } else if (isKafkaActive) {
             return KafkaTrafficCaptureSource.buildKafkaSource(
                 ctx,
                 appParams.kafkaTrafficBrokers,
@@ -55,13 +73,26 @@ public class TrafficCaptureSourceFactory {
                 appParams.kafkaTrafficPassword,
                 appParams.kafkaTrafficPropertyFile,
                 Clock.systemUTC(),
-                new KafkaBehavioralPolicy()
+                new KafkaBehavioralPolicy(),
+                compression,
+                appParams.kafkaTrafficDecodeThreads
             );
         } else {
             return new InputStreamOfTraffic(
                 ctx,
-                isInputFileActive ? new FileInputStream(appParams.inputFilename) : System.in
+                isInputFileActive ? new FileInputStream(appParams.inputFilename) : System.in,
+                compression
             );
         }
     }
+
+    public static TrafficStreamCompression buildTrafficStreamCompression(TrafficReplayer.Parameters appParams)
+        throws IOException {
+        if (appParams.captureCompressionDictionary == null) {
+            return TrafficStreamCompression.DISABLED;
+        }
+        return TrafficStreamCompression.forDecompression(
+            Files.readAllBytes(Paths.get(appParams.captureCompressionDictionary))
+        );
+    }
 }
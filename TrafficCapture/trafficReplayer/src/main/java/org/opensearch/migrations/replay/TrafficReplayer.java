@@ -3,6 +3,7 @@ package org.opensearch.migrations.replay;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -20,8 +22,10 @@ import org.opensearch.migrations.jcommander.EnvVarParameterPuller;
 import org.opensearch.migrations.jcommander.JsonCommandLineParser;
 import org.opensearch.migrations.replay.http.retries.BulkItemErrorClassifier;
 import org.opensearch.migrations.replay.kafka.KafkaTopicDumper;
+import org.opensearch.migrations.replay.sink.ComparisonAggregatingSink;
 import org.opensearch.migrations.replay.sink.S3TupleSink;
 import org.opensearch.migrations.replay.sink.ThreadLocalTupleWriter;
+import org.opensearch.migrations.replay.sink.TupleSink;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.source.TrafficStreamLimiter;
 import org.opensearch.migrations.replay.util.ActiveContextMonitor;
@@ -69,6 +73,7 @@ public class TrafficReplayer {
 
     public static final String LOOKAHEAD_TIME_WINDOW_PARAMETER_NAME = "--lookahead-time-window";
     private static final long ACTIVE_WORK_MONITOR_CADENCE_MS = 30 * 1000L;
+    private static final long REPLAY_RATE_CONTROL_FILE_POLL_INTERVAL_MS = 1000L;
 
     public static class DualException extends Exception {
         public final Throwable originalCause;
@@ -223,6 +228,19 @@ public class TrafficReplayer {
             arity = 1,
             description = "input file to read the request/response traces for the source cluster")
         String inputFilename;
+        @Parameter(
+            required = false,
+            names = { "--inputSegmentLog", "--input-segment-log" },
+            arity = 1,
+            description = "directory of a segmented traffic log written by the capture proxy (--segmentLogDirectory) "
+                + "to read the request/response traces for the source cluster from")
+        String inputSegmentLogDirectory;
+        @Parameter(
+            required = false,
+            names = { "--inputSegmentLogStartRecord", "--input-segment-log-start-record" },
+            arity = 1,
+            description = "number of the first record to replay from --inputSegmentLog (default: 0, the beginning)")
+        long inputSegmentLogStartRecord = 0;
         @Parameter(
             required = false,
             names = {"-t", PACKET_TIMEOUT_SECONDS_PARAMETER_NAME, "--packetTimeoutSeconds",
@@ -238,6 +256,29 @@ public class TrafficReplayer {
                 + "This means that between each interaction will be replayed at this rate faster "
                 + "than the original observations, provided that the replayer and target are able to keep up.")
         double speedupFactor = 1.0;
+        @Parameter(
+            required = false,
+            names = { "--catch-up", "--catchUp" },
+            arity = 0,
+            description = "Start by replaying as fast as the target allows (see --catch-up-speedup-factor) until "
+                + "the replay has caught up with the present, then continue in real time.  This is useful when "
+                + "restarting after an outage, with a backlog of captured traffic to work through.  Requests from "
+                + "each connection stay in order and keep their relative timing.")
+        boolean catchUp;
+        @Parameter(
+            required = false,
+            names = { "--catch-up-speedup-factor", "--catchUpSpeedupFactor" },
+            arity = 1,
+            description = "The speedup factor to replay at while catching up.  Must be greater than 1.")
+        double catchUpSpeedupFactor = TimeShifter.DEFAULT_CATCH_UP_RATE_MULTIPLIER;
+        @Parameter(
+            required = false,
+            names = { "--replay-rate-control-file", "--replayRateControlFile" },
+            arity = 1,
+            description = "A file that is checked every second for a new replay rate.  Writing a number to it "
+                + "changes the speedup factor and writing \"" + ReplayRateControlFile.CATCH_UP_COMMAND
+                + "\" starts catching up (as with --catch-up), without restarting the replayer.")
+        String replayRateControlFile;
         @Parameter(
             required = false,
             names = { LOOKAHEAD_TIME_WINDOW_PARAMETER_NAME,  "--lookaheadTimeWindow", "--lookaheadTimeSeconds" },
@@ -256,6 +297,16 @@ public class TrafficReplayer {
             arity = 1,
             description = "Number of threads to use to send requests from.")
         int numClientThreads = 0;
+        @Parameter(
+            required = false,
+            names = { "--max-shared-target-connections-per-thread", "--maxSharedTargetConnectionsPerThread" },
+            arity = 1,
+            description = "When set to a positive value, requests from all source connections that are replayed "
+                + "on a client thread are sent over at most this many persistent target connections instead of "
+                + "each source connection getting a target connection of its own.  Requests from each source "
+                + "connection are still sent in order, one at a time.  Defaults to 0, which mirrors source "
+                + "connections one-to-one.")
+        int maxSharedTargetConnectionsPerThread = 0;
 
         // https://github.com/opensearch-project/opensearch-java/blob/main/java-client/src/main/java/org/opensearch/client/transport/httpclient5/ApacheHttpClient5TransportBuilder.java#L49-L54
         @Parameter(
@@ -307,6 +358,22 @@ public class TrafficReplayer {
             arity = 1,
             description = "File path for Kafka properties file to use for additional or overriden Kafka properties")
         String kafkaTrafficPropertyFile;
+        @Parameter(
+            required = false,
+            names = { "--kafka-traffic-decode-threads", "--kafkaTrafficDecodeThreads" },
+            arity = 1,
+            description = "Number of threads that decode the records of each batch polled from Kafka in parallel.  "
+                + "The polling thread still waits for a whole batch to be decoded before it polls again, so this "
+                + "shortens that wait rather than removing it.  Set to 0 to decode on the polling thread.")
+        int kafkaTrafficDecodeThreads = 2;
+        @Parameter(
+            required = false,
+            names = { "--captureCompressionDictionary", "--capture-compression-dictionary" },
+            arity = 1,
+            description = "Path of the zstd dictionary that the capture proxy compressed traffic streams with "
+                + "(its --kafkaCompressionDictionary).  Compressed streams are always expanded; this is only needed "
+                + "when the proxy was configured with a dictionary.")
+        String captureCompressionDictionary;
         @Parameter(
             required = false,
             names = { "--kafkaAuthType", "--kafka-traffic-auth-type", "--kafkaTrafficAuthType" },
@@ -404,6 +471,25 @@ public class TrafficReplayer {
                 + "0 (default) means no count limit — rotation is controlled by size and age thresholds only.")
         int tupleMaxPerFile = 0;
 
+        @Parameter(
+            required = false,
+            names = { "--tuple-comparison-summary-seconds", "--tupleComparisonSummarySeconds" },
+            arity = 1,
+            description = "When positive, tuples are compared in-process and only summaries of the comparisons "
+                + "(status code matches, latency, response size and hit count differences per endpoint and per "
+                + "index) are logged, every this many seconds, instead of every tuple being written out.  When "
+                + "--tuple-s3-bucket is also set, only a sample of the mismatched tuples is written to S3 "
+                + "(see --tuple-mismatch-sample-rate).  0 (default) disables this.")
+        int tupleComparisonSummarySeconds = 0;
+
+        @Parameter(
+            required = false,
+            names = { "--tuple-mismatch-sample-rate", "--tupleMismatchSampleRate" },
+            arity = 1,
+            description = "The fraction (0-1) of the tuples whose status codes or hit counts didn't match that are "
+                + "written to S3 when --tuple-comparison-summary-seconds is set.")
+        double tupleMismatchSampleRate = 0.01;
+
         @Parameter(
             required = false,
             names = { "--non-retryable-doc-exception-types", "--nonRetryableDocExceptionTypes" },
@@ -415,6 +501,24 @@ public class TrafficReplayer {
                 + "Example: --non-retryable-doc-exception-types version_conflict_engine_exception")
         List<String> nonRetryableDocExceptionTypes;
 
+        @Parameter(
+            required = false,
+            names = { "--stream-ndjson-bodies", "--streamNdjsonBodies" },
+            arity = 0,
+            description = "Transform newline-delimited json bodies (e.g. _bulk requests) one action/document pair "
+                + "at a time, sending each transformed pair to the target as soon as it's ready, instead of "
+                + "parsing the whole body first.  This bounds memory by the largest document rather than by the "
+                + "whole request.  Changes to the request line or headers are taken from the transformation of "
+                + "the first pair and transformed bodies are always sent with a chunked transfer encoding.")
+        boolean streamNdjsonBodies;
+
+        void validateTupleComparisonFlags() {
+            if (!(tupleMismatchSampleRate >= 0 && tupleMismatchSampleRate <= 1)) {
+                throw new ParameterException(
+                    "--tuple-mismatch-sample-rate must be between 0 and 1, got " + tupleMismatchSampleRate);
+            }
+        }
+
         void validateKafkaAuthFlags() {
             if (kafkaTrafficAuthType != null && !kafkaTrafficAuthType.isBlank()) {
                 if (Boolean.TRUE.equals(kafkaTrafficEnableMSKAuth)
@@ -527,6 +631,7 @@ public class TrafficReplayer {
         try {
             parser.parse(args);
             p.validateKafkaAuthFlags();
+            p.validateTupleComparisonFlags();
         } catch (ParameterException e) {
             System.err.println(e.getMessage());
             System.err.println("Got args: " + String.join("; ", ArgLogUtils.getRedactedArgs(args, ArgNameConstants.CENSORED_ARGS)));
@@ -583,9 +688,9 @@ public class TrafficReplayer {
             new CompositeContextTracker(new ActiveContextTracker(), new ActiveContextTrackerByActivityType())
         );
 
-        var runner = new KafkaTopicDumper();
+        var runner = new KafkaTopicDumper(TrafficCaptureSourceFactory.buildTrafficStreamCompression(params));
 
-        if (params.inputFilename != null) {
+        if (params.inputFilename != null || params.inputSegmentLogDirectory != null) {
             try (var source = TrafficCaptureSourceFactory.createUnbufferedTrafficCaptureSource(topContext, params)) {
                 runner.runDumpFromSource(params.mode, source,
                     params.previewBytesRead, params.previewBytesWrite,
@@ -601,7 +706,8 @@ public class TrafficReplayer {
                 params.observedPacketConnectionTimeout, PACKET_TIMEOUT_SECONDS_PARAMETER_NAME,
                 topContext);
         } else {
-            System.err.println("Dump modes require either -i (file input) or --kafka-traffic-brokers and --kafka-traffic-topic");
+            System.err.println("Dump modes require either -i (file input), --input-segment-log, "
+                + "or --kafka-traffic-brokers and --kafka-traffic-topic");
             System.exit(2);
         }
     }
@@ -672,7 +778,15 @@ public class TrafficReplayer {
             var authTransformer = buildAuthTransformerFactory(params);
             var trafficStreamLimiter = new TrafficStreamLimiter(params.maxConcurrentRequests)
         ) {
-            var timeShifter = new TimeShifter(params.speedupFactor);
+            var timeShifter = new TimeShifter(params.speedupFactor, Duration.ZERO, params.catchUpSpeedupFactor);
+            if (params.catchUp) {
+                timeShifter.startCatchUp();
+            }
+            if (params.replayRateControlFile != null) {
+                var rateControlFile = new ReplayRateControlFile(timeShifter, Path.of(params.replayRateControlFile));
+                scheduledExecutorService.scheduleWithFixedDelay(rateControlFile::poll,
+                    0, REPLAY_RATE_CONTROL_FILE_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
             var serverTimeout = Duration.ofSeconds(params.targetServerResponseTimeoutSeconds);
 
             String requestTransformerConfig = TransformerConfigUtils.getTransformerConfig(params.requestTransformationParams);
@@ -705,16 +819,19 @@ public class TrafficReplayer {
                 TrafficReplayerTopLevel.makeNettyPacketConsumerConnectionPool(
                     uri,
                     params.allowInsecureConnections,
-                    params.numClientThreads
+                    params.numClientThreads,
+                    null,
+                    params.maxSharedTargetConnectionsPerThread
                 ),
                 trafficStreamLimiter,
                 orderedRequestTracker,
                 errorClassifier
             );
             configureResponsePostProcessor(tr, transformationLoader, params.responsePostProcessorConfig);
+            tr.setStreamNdjsonBodies(params.streamNdjsonBodies);
             log.atInfo().setMessage("ReplayerConfig - lookahead={}s speedup={} maxConcurrent={}" +
                     " serverResponseTimeout={}s observedPacketConnectionTimeout={}s" +
-                    " targetUri={} numClientThreads={}")
+                    " targetUri={} numClientThreads={} maxSharedTargetConnectionsPerThread={}")
                 .addArgument(params.lookaheadTimeSeconds)
                 .addArgument(params.speedupFactor)
                 .addArgument(params.maxConcurrentRequests)
@@ -722,6 +839,7 @@ public class TrafficReplayer {
                 .addArgument(params.observedPacketConnectionTimeout)
                 .addArgument(uri)
                 .addArgument(params.numClientThreads)
+                .addArgument(params.maxSharedTargetConnectionsPerThread)
                 .log();
             activeContextMonitor = new ActiveContextMonitor(
                 globalContextTracker,
@@ -752,7 +870,7 @@ public class TrafficReplayer {
             }, ACTIVE_WORK_MONITOR_CADENCE_MS, ACTIVE_WORK_MONITOR_CADENCE_MS, TimeUnit.MILLISECONDS);
 
             setupShutdownHookForReplayer(tr);
-            tupleWriter = createS3TupleWriterIfConfigured(
+            tupleWriter = createTupleWriterIfConfigured(
                 params,
                 () -> transformationLoader.getTransformerFactoryLoader(tupleTransformerConfig)
             );
@@ -821,10 +939,30 @@ public class TrafficReplayer {
         }
     }
 
-    private static ThreadLocalTupleWriter createS3TupleWriterIfConfigured(
+    private static ThreadLocalTupleWriter createTupleWriterIfConfigured(
         Parameters params,
         Supplier<IJsonTransformer> tupleTransformerSupplier
     ) {
+        var s3SinkFactory = createS3SinkFactoryIfConfigured(params);
+        IntFunction<TupleSink> sinkFactory;
+        if (params.tupleComparisonSummarySeconds > 0) {
+            log.info("In-process tuple comparison enabled — summaryIntervalSeconds={}, mismatchSampleRate={}",
+                params.tupleComparisonSummarySeconds, s3SinkFactory == null ? 0 : params.tupleMismatchSampleRate);
+            sinkFactory = sinkIndex -> new ComparisonAggregatingSink(
+                sinkIndex,
+                Duration.ofSeconds(params.tupleComparisonSummarySeconds),
+                params.tupleMismatchSampleRate,
+                s3SinkFactory == null ? null : s3SinkFactory.apply(sinkIndex)
+            );
+        } else if (s3SinkFactory != null) {
+            sinkFactory = s3SinkFactory;
+        } else {
+            return null;
+        }
+        return new ThreadLocalTupleWriter(sinkFactory, tupleTransformerSupplier);
+    }
+
+    private static IntFunction<TupleSink> createS3SinkFactoryIfConfigured(Parameters params) {
         if (params.tupleS3Bucket == null || params.tupleS3Bucket.isEmpty()) {
             return null;
         }
@@ -841,18 +979,15 @@ public class TrafficReplayer {
         }
         var s3Client = s3ClientBuilder.build();
         var replayerId = ProcessHelpers.getNodeInstanceName();
-        return new ThreadLocalTupleWriter(
-            sinkIndex -> new S3TupleSink(
-                s3Client,
-                params.tupleS3Bucket,
-                params.tupleS3Prefix,
-                replayerId,
-                sinkIndex,
-                params.tupleMaxFileSizeMb * 1024L * 1024L,
-                Duration.ofSeconds(params.tupleMaxBufferSeconds),
-                params.tupleMaxPerFile
-            ),
-            tupleTransformerSupplier
+        return sinkIndex -> new S3TupleSink(
+            s3Client,
+            params.tupleS3Bucket,
+            params.tupleS3Prefix,
+            replayerId,
+            sinkIndex,
+            params.tupleMaxFileSizeMb * 1024L * 1024L,
+            Duration.ofSeconds(params.tupleMaxBufferSeconds),
+            params.tupleMaxPerFile
         );
     }
 
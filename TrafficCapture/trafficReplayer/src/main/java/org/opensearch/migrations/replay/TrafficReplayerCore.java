@@ -94,6 +94,11 @@ public abstract class TrafficReplayerCore extends RequestTransformerAndSender<Tr
         stopReadingRef = new AtomicBoolean();
     }
 
+    /** Transform newline-delimited (e.g. _bulk) request bodies one bulk action at a time. */
+    public void setStreamNdjsonBodies(boolean streamNdjsonBodies) {
+        inputRequestTransformerFactory.setStreamNdjsonBodies(streamNdjsonBodies);
+    }
+
     protected abstract CompletableFuture<Void> shutdown(Error error);
 
     @AllArgsConstructor
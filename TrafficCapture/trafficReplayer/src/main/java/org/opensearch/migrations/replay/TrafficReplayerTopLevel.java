@@ -147,13 +147,26 @@ public class TrafficReplayerTopLevel extends TrafficReplayerCore implements Auto
         int numSendingThreads,
         String connectionPoolName
     ) {
+        return makeNettyPacketConsumerConnectionPool(serverUri, allowInsecureConnections, numSendingThreads,
+            connectionPoolName, 0);
+    }
+
+    public static ClientConnectionPool makeNettyPacketConsumerConnectionPool(
+        URI serverUri,
+        boolean allowInsecureConnections,
+        int numSendingThreads,
+        String connectionPoolName,
+        int maxSharedConnectionsPerThread
+    ) {
+        var sslContext = loadSslContext(serverUri, allowInsecureConnections);
         return new ClientConnectionPool(
-            NettyPacketToHttpConsumer.createClientConnectionFactory(
-                loadSslContext(serverUri, allowInsecureConnections), serverUri),
+            NettyPacketToHttpConsumer.createClientConnectionFactory(sslContext, serverUri),
+            NettyPacketToHttpConsumer.createSharedClientConnectionFactory(sslContext, serverUri),
             connectionPoolName != null
                 ? connectionPoolName
                 : getTargetConnectionPoolName(targetConnectionPoolUniqueCounter.getAndIncrement()),
-            numSendingThreads
+            numSendingThreads,
+            maxSharedConnectionsPerThread
         );
     }
 
@@ -16,6 +16,7 @@ import org.opensearch.migrations.replay.AggregatedRawResponse;
 import org.opensearch.migrations.replay.datahandlers.http.helpers.ReadMeteringHandler;
 import org.opensearch.migrations.replay.datahandlers.http.helpers.WriteMeteringHandler;
 import org.opensearch.migrations.replay.datatypes.ConnectionReplaySession;
+import org.opensearch.migrations.replay.datatypes.SharedTargetChannelPool;
 import org.opensearch.migrations.replay.netty.BacksideHttpWatcherHandler;
 import org.opensearch.migrations.replay.netty.BacksideSnifferHandler;
 import org.opensearch.migrations.replay.tracing.IReplayContexts;
@@ -169,6 +170,17 @@ public class NettyPacketToHttpConsumer implements IPacketFinalizingConsumer<Aggr
         return (eventLoop, ctx) -> NettyPacketToHttpConsumer.createClientConnection(eventLoop, sslContext, uri, ctx);
     }
 
+    /**
+     * Like {@link #createClientConnectionFactory}, but for connections that are shared between sessions, whose
+     * socket contexts are created from the context that the pool passes instead of from the requesting session's
+     * channel key context
+     */
+    public static SharedTargetChannelPool.ChannelCreator
+    createSharedClientConnectionFactory(SslContext sslContext, URI uri) {
+        return (eventLoop, ctx, socketOwnerCtx) -> NettyPacketToHttpConsumer.createClientConnection(eventLoop,
+            sslContext, uri, ctx, socketOwnerCtx, Duration.ofMillis(1));
+    }
+
     public static class ChannelNotActiveException extends IOException { }
 
     public static TrackedFuture<String, ChannelFuture> createClientConnection(
@@ -186,6 +198,23 @@ public class NettyPacketToHttpConsumer implements IPacketFinalizingConsumer<Aggr
             URI serverUri,
             IReplayContexts.ITargetRequestContext requestCtx,
             Duration nextRetryDuration
+    ) {
+        return createClientConnection(eventLoop, sslContext, serverUri, requestCtx,
+            requestCtx.getLogicalEnclosingScope().getChannelKeyContext(), nextRetryDuration);
+    }
+
+    /**
+     * @param socketOwnerCtx the context that the new connection's socket context is created from, which only
+     *                       differs from the request's own channel key context when the connection will outlive
+     *                       the session that's opening it
+     */
+    public static TrackedFuture<String, ChannelFuture> createClientConnection(
+            EventLoop eventLoop,
+            SslContext sslContext,
+            URI serverUri,
+            IReplayContexts.ITargetRequestContext requestCtx,
+            IReplayContexts.IChannelKeyContext socketOwnerCtx,
+            Duration nextRetryDuration
     ) {
         var connectingCtx = requestCtx.createHttpConnectingContext();
         if (eventLoop.isShuttingDown()) {
@@ -205,7 +234,7 @@ public class NettyPacketToHttpConsumer implements IPacketFinalizingConsumer<Aggr
             @Override
             protected void initChannel(@NonNull Channel ch) throws Exception {
                 ch.pipeline()
-                    .addFirst(CONNECTION_CLOSE_HANDLER_NAME, new ConnectionClosedListenerHandler(channelKeyCtx));
+                    .addFirst(CONNECTION_CLOSE_HANDLER_NAME, new ConnectionClosedListenerHandler(socketOwnerCtx));
             }
         }).channel(NioSocketChannel.class).option(ChannelOption.AUTO_READ, false);
 
@@ -229,6 +258,7 @@ public class NettyPacketToHttpConsumer implements IPacketFinalizingConsumer<Aggr
                     if (t instanceof Exception) { // let Throwables propagate
                         return NettyFutureBinders.bindNettyScheduleToCompletableFuture(eventLoop, nextRetryDuration)
                             .thenCompose(x -> createClientConnection(eventLoop, sslContext, serverUri, requestCtx,
+                                    socketOwnerCtx,
                                     Duration.ofMillis(Math.min(MAX_WAIT_BETWEEN_CREATE_RETRIES.toMillis(),
                                         nextRetryDuration.multipliedBy(2).toMillis()))),
                                 () -> "");
@@ -363,6 +393,7 @@ public class NettyPacketToHttpConsumer implements IPacketFinalizingConsumer<Aggr
                 .addArgument(channel)
                 .addArgument(pipeline)
                 .log();
+            replaySession.releaseChannel();
         } finally {
             getCurrentRequestSpan().close();
             getParentContext().close();
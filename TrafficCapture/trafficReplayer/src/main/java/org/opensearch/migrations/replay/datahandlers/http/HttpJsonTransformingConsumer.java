@@ -70,6 +70,21 @@ public class HttpJsonTransformingConsumer<R> implements IPacketFinalizingConsume
         IAuthTransformerFactory authTransformerFactory,
         IPacketFinalizingConsumer<R> transformedPacketReceiver,
         IReplayContexts.IReplayerHttpTransactionContext httpTransactionContext
+    ) {
+        this(transformer, authTransformerFactory, transformedPacketReceiver, httpTransactionContext, false);
+    }
+
+    /**
+     * @param streamNdjsonBodies when true, newline-delimited (e.g. _bulk) bodies that need to be transformed are
+     *                           transformed and sent one bulk action at a time (see
+     *                           {@link NettyNdjsonBodyStreamingTransformHandler}) rather than all at once
+     */
+    public HttpJsonTransformingConsumer(
+        IJsonTransformer transformer,
+        IAuthTransformerFactory authTransformerFactory,
+        IPacketFinalizingConsumer<R> transformedPacketReceiver,
+        IReplayContexts.IReplayerHttpTransactionContext httpTransactionContext,
+        boolean streamNdjsonBodies
     ) {
         transformationContext = httpTransactionContext.createTransformationContext();
         chunkSizes = new ArrayList<>(HTTP_MESSAGE_NUM_SEGMENTS);
@@ -80,7 +95,8 @@ public class HttpJsonTransformingConsumer<R> implements IPacketFinalizingConsume
             chunkSizes,
             transformedPacketReceiver,
             authTransformerFactory,
-            transformationContext
+            transformationContext,
+            streamNdjsonBodies
         );
         pipelineOrchestrator.addInitialHandlers(channel.pipeline(), transformer);
     }
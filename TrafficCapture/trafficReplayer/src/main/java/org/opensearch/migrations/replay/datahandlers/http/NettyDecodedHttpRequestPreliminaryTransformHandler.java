@@ -82,7 +82,8 @@ public class NettyDecodedHttpRequestPreliminaryTransformHandler<R> extends Chann
                     requestPipelineOrchestrator.addJsonParsingHandlers(
                             ctx,
                             transformer,
-                            getAuthTransformerAsStreamingTransformer(authTransformer));
+                            getAuthTransformerAsStreamingTransformer(authTransformer),
+                            httpJsonMessage);
                     ctx.fireChannelRead(handleAuthHeaders(httpJsonMessage, authTransformer));
                 } else {
                     throw new TransformationException(e);
@@ -0,0 +1,294 @@
+package org.opensearch.migrations.replay.datahandlers.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.opensearch.migrations.replay.datahandlers.JsonAccumulator;
+import org.opensearch.migrations.replay.datahandlers.JsonEmitter;
+import org.opensearch.migrations.replay.datahandlers.PayloadAccessFaultingMap;
+import org.opensearch.migrations.replay.tracing.IReplayContexts;
+import org.opensearch.migrations.transform.IJsonTransformer;
+import org.opensearch.migrations.transform.JsonKeysForHttpMessage;
+
+import com.fasterxml.jackson.core.JacksonException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes the place of the NettyJsonBodyAccumulateHandler, NettyJsonBodyConvertHandler and
+ * NettyJsonBodySerializeHandler for newline-delimited (e.g. _bulk) request bodies.  Rather than parsing the whole
+ * body before transforming it, this parses it one bulk action (the action line and, for everything but a delete,
+ * the document line after it) at a time.  Each action is handed to the transformer as a copy of the request whose
+ * payload holds only that action's lines in its ndjson list, and whatever comes back is serialized and sent
+ * downstream right away.  The only parsed json held at any time is that of the current action, so memory is
+ * bounded by the largest document rather than by the whole request.
+ *
+ * <p>Since the request line and headers have to go out before the first part of the body does, they're taken
+ * from what the transformer returned for the first action, and whatever it returns for them on later actions is
+ * ignored.  The transformed body's length isn't known up front, so the request is always sent with a chunked
+ * transfer encoding.  Bytes that can't be parsed as json (and any partial json left at the end of the body) are
+ * passed along as-is, the way that the accumulating handlers would pass them into the payload's text or binary
+ * body.
+ */
+@Slf4j
+public class NettyNdjsonBodyStreamingTransformHandler extends ChannelInboundHandlerAdapter {
+    private static final ByteBuf NEWLINE = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(new byte[]{'\n'}));
+    private static final String BULK_DELETE_ACTION = "delete";
+
+    private final IJsonTransformer transformer;
+    private final IReplayContexts.IRequestTransformationContext context;
+    private final JsonAccumulator jsonAccumulator;
+    private final List<Object> currentActionDocuments = new ArrayList<>(2);
+    HttpJsonRequestWithFaultingPayload originalHttpJsonMessage;
+    // bytes that have been fed to the parser since the start of the current action
+    CompositeByteBuf unconsumedBody;
+    // offset of unconsumedBody's reader index within the whole body
+    long unconsumedBodyOffset;
+    boolean headersWereSent;
+    boolean anyActionsWereTransformed;
+    boolean anyDocumentsWereSent;
+    boolean jsonWasInvalid;
+
+    @SneakyThrows
+    public NettyNdjsonBodyStreamingTransformHandler(
+        IJsonTransformer transformer,
+        IReplayContexts.IRequestTransformationContext context
+    ) {
+        this.transformer = transformer;
+        this.context = context;
+        this.jsonAccumulator = new JsonAccumulator();
+    }
+
+    /**
+     * @return true for requests whose body should be newline-delimited json, going by its content type or by
+     * whether it's a _bulk request
+     */
+    public static boolean isNdjsonRequest(HttpJsonRequestWithFaultingPayload message) {
+        var isNdjsonContentType = Optional.ofNullable(
+                message.headers().insensitiveGet(HttpHeaderNames.CONTENT_TYPE.toString()))
+            .map(values -> values.stream().anyMatch(v -> v.startsWith("application/x-ndjson")))
+            .orElse(false);
+        if (isNdjsonContentType) {
+            return true;
+        }
+        var path = Optional.ofNullable(message.path()).orElse("");
+        var queryStart = path.indexOf('?');
+        return (queryStart < 0 ? path : path.substring(0, queryStart)).endsWith("_bulk");
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        // Unpooled for the same reasons as in NettyJsonBodyAccumulateHandler, though this one only ever holds
+        // the bytes of the action that's being parsed
+        unconsumedBody = Unpooled.compositeBuffer(1024);
+        super.handlerAdded(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        ReferenceCountUtil.release(unconsumedBody);
+        unconsumedBody = null;
+        super.handlerRemoved(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpJsonRequestWithFaultingPayload) {
+            originalHttpJsonMessage = (HttpJsonRequestWithFaultingPayload) msg;
+        } else if (msg instanceof HttpContent) {
+            var contentBuf = ((HttpContent) msg).content();
+            if (jsonWasInvalid) {
+                sendRawBytes(ctx, contentBuf);
+            } else {
+                unconsumedBody.addComponent(true, contentBuf.retainedDuplicate());
+                var nioBuf = contentBuf.nioBuffer();
+                contentBuf.release();
+                consumeJson(ctx, nioBuf);
+            }
+            if (msg instanceof LastHttpContent) {
+                finishBody(ctx);
+            }
+        } else {
+            super.channelRead(ctx, msg);
+        }
+    }
+
+    private void consumeJson(ChannelHandlerContext ctx, ByteBuffer nioBuf) throws IOException {
+        try {
+            jsonAccumulator.consumeByteBuffer(nioBuf);
+            Object nextObj;
+            while ((nextObj = jsonAccumulator.getNextTopLevelObject()) != null) {
+                currentActionDocuments.add(nextObj);
+                if (currentActionDocuments.size() == 2 || isActionWithoutDocument(nextObj)) {
+                    transformAndSendCurrentAction(ctx);
+                }
+            }
+        } catch (JacksonException e) {
+            log.atInfo().setCause(e).setMessage("Error parsing ndjson body.  "
+                + "Will pass the rest of the payload bytes through as they are").log();
+            jsonWasInvalid = true;
+            currentActionDocuments.clear();
+            sendUnconsumedBytes(ctx);
+        }
+    }
+
+    private void finishBody(ChannelHandlerContext ctx) throws IOException {
+        if (!jsonWasInvalid) {
+            if (!currentActionDocuments.isEmpty() && !jsonAccumulator.hasPartialValues()) {
+                // e.g. an action line without the document that should have followed it
+                transformAndSendCurrentAction(ctx);
+            }
+            if (jsonAccumulator.hasPartialValues() || !anyActionsWereTransformed) {
+                currentActionDocuments.clear();
+                sendUnconsumedBytes(ctx);
+            } else {
+                context.onJsonPayloadParseSucceeded();
+                if (anyDocumentsWereSent) {
+                    ctx.fireChannelRead(new DefaultHttpContent(NEWLINE.retainedDuplicate()));
+                }
+            }
+        }
+        sendHeadersIfNecessary(ctx, null);
+        unconsumedBody.release();
+        unconsumedBody = null;
+        ctx.fireChannelRead(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    private static boolean isActionWithoutDocument(Object actionLine) {
+        return actionLine instanceof Map
+            && ((Map<?, ?>) actionLine).size() == 1
+            && ((Map<?, ?>) actionLine).containsKey(BULK_DELETE_ACTION);
+    }
+
+    private void transformAndSendCurrentAction(ChannelHandlerContext ctx) throws IOException {
+        var actionMessage = makeMessageWithPayload(new ArrayList<>(currentActionDocuments));
+        currentActionDocuments.clear();
+        HttpJsonRequestWithFaultingPayload transformedMessage;
+        try {
+            transformedMessage = NettyJsonBodyConvertHandler.transform(transformer, actionMessage);
+        } catch (Exception e) {
+            throw new TransformationException(e);
+        }
+        anyActionsWereTransformed = true;
+        var transformedPayload = transformedMessage.payload();
+        sendHeadersIfNecessary(ctx, transformedMessage);
+        sendDocuments(ctx, transformedPayload);
+
+        // drop the bytes of the action that was just sent
+        var bytesConsumed = jsonAccumulator.getTotalBytesFullyConsumed() - unconsumedBodyOffset;
+        unconsumedBody.skipBytes((int) bytesConsumed);
+        unconsumedBody.discardReadComponents();
+        unconsumedBodyOffset += bytesConsumed;
+    }
+
+    private HttpJsonRequestWithFaultingPayload makeMessageWithPayload(List<Object> documents) {
+        var message = new HttpJsonRequestWithFaultingPayload();
+        for (var entry : originalHttpJsonMessage.entrySet()) {
+            var key = entry.getKey();
+            if (!JsonKeysForHttpMessage.PAYLOAD_KEY.equals(key) && !JsonKeysForHttpMessage.HEADERS_KEY.equals(key)) {
+                message.put(key, entry.getValue());
+            }
+        }
+        var headers = new StrictCaseInsensitiveHttpHeadersMap();
+        for (var entry : originalHttpJsonMessage.headers().asStrictMap().entrySet()) {
+            headers.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        message.setHeaders(new ListKeyAdaptingCaseInsensitiveHeadersMap(headers));
+        var payload = new PayloadAccessFaultingMap(headers);
+        if (documents != null) {
+            payload.put(JsonKeysForHttpMessage.INLINED_NDJSON_BODIES_DOCUMENT_KEY, documents);
+        }
+        message.setPayloadFaultMap(payload);
+        return message;
+    }
+
+    /**
+     * @param transformedMessage the transformation of the first action, or null if there were no actions, in
+     *                           which case the transformer is run on the request with an empty payload so that
+     *                           its headers are still transformed
+     */
+    private void sendHeadersIfNecessary(
+        ChannelHandlerContext ctx,
+        HttpJsonRequestWithFaultingPayload transformedMessage
+    ) {
+        if (headersWereSent) {
+            return;
+        }
+        if (transformedMessage == null) {
+            try {
+                transformedMessage = NettyJsonBodyConvertHandler.transform(transformer, makeMessageWithPayload(null));
+            } catch (Exception e) {
+                throw new TransformationException(e);
+            }
+        }
+        var headers = transformedMessage.headers();
+        headers.remove(NettyJsonContentStreamToByteBufHandler.CONTENT_LENGTH_HEADER_NAME);
+        headers.put("Transfer-Encoding", "chunked");
+        var messageWithoutPayload = HttpJsonRequestWithFaultingPayload.fromObject(transformedMessage);
+        messageWithoutPayload.setPayloadFaultMap(null);
+        headersWereSent = true;
+        ctx.fireChannelRead(messageWithoutPayload);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendDocuments(ChannelHandlerContext ctx, Map<String, Object> payload) throws IOException {
+        List<Object> documents;
+        if (payload.containsKey(JsonKeysForHttpMessage.INLINED_NDJSON_BODIES_DOCUMENT_KEY)) {
+            documents = (List<Object>) payload.get(JsonKeysForHttpMessage.INLINED_NDJSON_BODIES_DOCUMENT_KEY);
+        } else if (payload.containsKey(JsonKeysForHttpMessage.INLINED_JSON_BODY_DOCUMENT_KEY)) {
+            documents = List.of(payload.get(JsonKeysForHttpMessage.INLINED_JSON_BODY_DOCUMENT_KEY));
+        } else {
+            return;
+        }
+        for (var document : documents) {
+            // newlines go between documents here, and after the last one once the body is known to be all json
+            if (anyDocumentsWereSent) {
+                ctx.fireChannelRead(new DefaultHttpContent(NEWLINE.retainedDuplicate()));
+            }
+            try (var jsonEmitter = new JsonEmitter(ctx.alloc())) {
+                var pac = jsonEmitter.getChunkAndContinuations(document,
+                    NettyJsonBodySerializeHandler.NUM_BYTES_TO_ACCUMULATE_BEFORE_FIRING);
+                while (true) {
+                    ctx.fireChannelRead(new DefaultHttpContent(pac.partialSerializedContents));
+                    if (pac.nextSupplier == null) {
+                        break;
+                    }
+                    pac = pac.nextSupplier.get();
+                }
+            }
+            anyDocumentsWereSent = true;
+        }
+    }
+
+    private void sendUnconsumedBytes(ChannelHandlerContext ctx) {
+        if (unconsumedBody.isReadable()) {
+            context.onPayloadSetBinary();
+            sendRawBytes(ctx, unconsumedBody.retainedSlice());
+        }
+        unconsumedBody.skipBytes(unconsumedBody.readableBytes());
+        unconsumedBody.discardReadComponents();
+    }
+
+    private void sendRawBytes(ChannelHandlerContext ctx, ByteBuf bytes) {
+        sendHeadersIfNecessary(ctx, null);
+        if (bytes.isReadable()) {
+            ctx.fireChannelRead(new DefaultHttpContent(bytes));
+        } else {
+            bytes.release();
+        }
+    }
+}
@@ -50,6 +50,8 @@ public class RequestPipelineOrchestrator<R> {
     final IAuthTransformerFactory authTransfomerFactory;
     @Getter
     private boolean deferredSigningMode;
+    // transform newline-delimited bodies one bulk action at a time instead of all at once
+    private final boolean streamNdjsonBodies;
 
     public RequestPipelineOrchestrator(
         List<List<Integer>> chunkSizes,
@@ -57,6 +59,17 @@ public class RequestPipelineOrchestrator<R> {
         IAuthTransformerFactory incomingAuthTransformerFactory,
         IReplayContexts.IRequestTransformationContext httpTransactionContext
     ) {
+        this(chunkSizes, packetReceiver, incomingAuthTransformerFactory, httpTransactionContext, false);
+    }
+
+    public RequestPipelineOrchestrator(
+        List<List<Integer>> chunkSizes,
+        IPacketFinalizingConsumer<R> packetReceiver,
+        IAuthTransformerFactory incomingAuthTransformerFactory,
+        IReplayContexts.IRequestTransformationContext httpTransactionContext,
+        boolean streamNdjsonBodies
+    ) {
+        this.streamNdjsonBodies = streamNdjsonBodies;
         this.chunkSizes = chunkSizes;
         this.packetReceiver = packetReceiver;
         this.authTransfomerFactory = incomingAuthTransformerFactory != null
@@ -89,15 +102,17 @@ public class RequestPipelineOrchestrator<R> {
         ChannelHandlerContext ctx,
         IAuthTransformer.StreamingFullMessageTransformer authTransfomer
     ) {
-        addContentParsingHandlers(ctx, null, authTransfomer);
+        addContentParsingHandlers(ctx, null, authTransfomer, false);
     }
 
     void addJsonParsingHandlers(
         ChannelHandlerContext ctx,
         IJsonTransformer transformer,
-        IAuthTransformer.StreamingFullMessageTransformer authTransfomer
+        IAuthTransformer.StreamingFullMessageTransformer authTransfomer,
+        HttpJsonRequestWithFaultingPayload httpJsonMessage
     ) {
-        addContentParsingHandlers(ctx, transformer, authTransfomer);
+        addContentParsingHandlers(ctx, transformer, authTransfomer,
+            streamNdjsonBodies && NettyNdjsonBodyStreamingTransformHandler.isNdjsonRequest(httpJsonMessage));
     }
 
     void addInitialHandlers(ChannelPipeline pipeline, IJsonTransformer transformer) {
@@ -140,7 +155,8 @@ public class RequestPipelineOrchestrator<R> {
     void addContentParsingHandlers(
         ChannelHandlerContext ctx,
         IJsonTransformer transformer,
-        IAuthTransformer.StreamingFullMessageTransformer authTransfomer
+        IAuthTransformer.StreamingFullMessageTransformer authTransfomer,
+        boolean streamNdjsonBody
     ) {
         httpTransactionContext.onPayloadParse();
         log.debug("Adding content parsing handlers to pipeline");
@@ -150,7 +166,16 @@ public class RequestPipelineOrchestrator<R> {
         // OUT: Netty HttpRequest(2) + HttpJsonRequest(1) with headers + HttpContent(2) uncompressed blocks
         pipeline.addLast(new HttpContentDecompressor(0));
         pipeline.addLast(new ReadMeteringHandler(httpTransactionContext::onUncompressedBytesIn));
-        if (transformer != null) {
+        if (transformer != null && streamNdjsonBody) {
+            httpTransactionContext.onJsonPayloadParseRequired();
+            log.debug("Adding streaming NDJSON handler to pipeline");
+            // IN: Netty HttpRequest(2) + HttpJsonRequest(1) with headers + HttpContent(2) blocks
+            // OUT: Netty HttpRequest(2) + HttpJsonRequest(3) with headers only (transformed and chunked)
+            // + HttpContent(3) blocks, sent as each bulk action is transformed
+            addLoggingHandler(pipeline, "C");
+            pipeline.addLast(new NettyNdjsonBodyStreamingTransformHandler(transformer, httpTransactionContext));
+            addLoggingHandler(pipeline, "F");
+        } else if (transformer != null) {
             httpTransactionContext.onJsonPayloadParseRequired();
             log.debug("Adding JSON handlers to pipeline");
             // IN: Netty HttpRequest(2) + HttpJsonRequest(1) with headers + HttpContent(2) blocks
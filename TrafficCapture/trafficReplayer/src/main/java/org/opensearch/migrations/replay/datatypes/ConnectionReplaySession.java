@@ -43,6 +43,11 @@ public class ConnectionReplaySession {
     public final int generation;
     /** Called when the session's channel is closed (regardless of cause). */
     public final Consumer<ConnectionReplaySession> onClose;
+    /**
+     * When set, channels are leased from this pool for each request instead of being created for (and kept by)
+     * this session.  See {@link #releaseChannel()}.
+     */
+    private final SharedTargetChannelPool sharedChannelPoolOrNull;
     /**
      * When true, this session has been cancelled due to a traffic source reader interruption.
      * {@link #getChannelFutureInActiveState} will return a failed future rather than reconnecting,
@@ -77,6 +82,18 @@ public class ConnectionReplaySession {
         BiFunction<EventLoop, IReplayContexts.ITargetRequestContext, TrackedFuture<String, ChannelFuture>> channelFutureFutureFactory,
         int generation,
         Consumer<ConnectionReplaySession> onClose
+    ) {
+        this(eventLoop, channelKeyContext, channelFutureFutureFactory, generation, onClose, null);
+    }
+
+    @SneakyThrows
+    public ConnectionReplaySession(
+        EventLoop eventLoop,
+        IReplayContexts.IChannelKeyContext channelKeyContext,
+        BiFunction<EventLoop, IReplayContexts.ITargetRequestContext, TrackedFuture<String, ChannelFuture>> channelFutureFutureFactory,
+        int generation,
+        Consumer<ConnectionReplaySession> onClose,
+        SharedTargetChannelPool sharedChannelPoolOrNull
     ) {
         this.eventLoop = eventLoop;
         this.channelKeyContext = channelKeyContext;
@@ -85,6 +102,7 @@ public class ConnectionReplaySession {
         this.channelFutureFutureFactory = channelFutureFutureFactory;
         this.generation = generation;
         this.onClose = onClose;
+        this.sharedChannelPoolOrNull = sharedChannelPoolOrNull;
     }
 
     public TrackedFuture<String, ChannelFuture> getChannelFutureInAnyState() {
@@ -106,7 +124,10 @@ public class ConnectionReplaySession {
             if (cachedChannel != null && cachedChannel.channel().isActive()) {
                 trigger.future.complete(cachedChannel);
             } else {
-                channelFutureFutureFactory.apply(eventLoop, ctx)
+                var channelFutureFuture = sharedChannelPoolOrNull != null
+                    ? sharedChannelPoolOrNull.acquire(ctx)
+                    : channelFutureFutureFactory.apply(eventLoop, ctx);
+                channelFutureFuture
                     .whenComplete((v, t) -> {
                         if (t == null) {
                             trigger.future.complete(v);
@@ -120,6 +141,22 @@ public class ConnectionReplaySession {
         return trigger;
     }
 
+    /**
+     * Hands the channel that this session is using back to its shared pool, once a request is done with it, so
+     * that other sessions can send over it.  This does nothing for sessions that own their channel.
+     */
+    public void releaseChannel() {
+        if (sharedChannelPoolOrNull == null) {
+            return;
+        }
+        eventLoop.execute(() -> {
+            if (cachedChannel != null) {
+                sharedChannelPoolOrNull.release(cachedChannel);
+                cachedChannel = null;
+            }
+        });
+    }
+
     public boolean hasWorkRemaining() {
         return !scheduleSequencer.isEmpty() || schedule.hasPendingTransmissions();
     }
@@ -0,0 +1,179 @@
+package org.opensearch.migrations.replay.datatypes;
+
+import java.util.ArrayDeque;
+
+import org.opensearch.migrations.replay.tracing.IReplayContexts;
+import org.opensearch.migrations.utils.TextTrackedFuture;
+import org.opensearch.migrations.utils.TrackedFuture;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A size-capped set of persistent target channels that belong to one EventLoop and that are shared by all of the
+ * {@link ConnectionReplaySession}s bound to that loop.  A session leases a channel when it starts sending a request
+ * and hands it back once the response has been read, so that many short-lived source connections can be replayed
+ * over a handful of long-lived target connections.  Per-source-connection ordering is unaffected since each
+ * session still sequences its own requests and only holds one channel at a time.
+ *
+ * <p>When all channels are leased, sessions wait (in the order that they asked) for one to be handed back.  A
+ * channel that closes frees its slot so that the next waiter gets a new connection.  All state is only touched
+ * from the EventLoop's thread.
+ *
+ * <p>Since a channel outlives the session that caused it to be opened, its socket context is created from a
+ * context that belongs to the pool rather than from that session's channel key context.  Each lease is still
+ * attributed to the session that made it (see {@link IReplayContexts.IChannelKeyContext#addReusedTargetConnection}).
+ */
+@Slf4j
+public class SharedTargetChannelPool {
+    public static final ISourceTrafficChannelKey SHARED_CONNECTIONS_KEY =
+        new ISourceTrafficChannelKey.PojoImpl("replayer", "sharedTargetConnections");
+
+    @FunctionalInterface
+    public interface ChannelCreator {
+        /**
+         * @param connectingCtx the request that the new channel is being opened for
+         * @param socketOwnerCtx the context that the channel's socket context should be created from
+         */
+        TrackedFuture<String, ChannelFuture> createChannel(
+            EventLoop eventLoop,
+            IReplayContexts.ITargetRequestContext connectingCtx,
+            IReplayContexts.IChannelKeyContext socketOwnerCtx
+        );
+    }
+
+    private final EventLoop eventLoop;
+    private final ChannelCreator channelCreator;
+    @Getter
+    private final int maxChannels;
+    // most recently returned channels are at the end so that they're reused first
+    private final ArrayDeque<ChannelFuture> idleChannels = new ArrayDeque<>();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    // includes channels that are still connecting
+    private int openChannels;
+    // created along with the first channel since that's the first time that a root context is at hand
+    private IReplayContexts.IChannelKeyContext sharedConnectionsContext;
+
+    @AllArgsConstructor
+    private static class Waiter {
+        final IReplayContexts.ITargetRequestContext ctx;
+        final TextTrackedFuture<ChannelFuture> leaseFuture;
+    }
+
+    public SharedTargetChannelPool(
+        EventLoop eventLoop,
+        ChannelCreator channelCreator,
+        int maxChannels
+    ) {
+        if (maxChannels < 1) {
+            throw new IllegalArgumentException("maxChannels must be at least 1, but was " + maxChannels);
+        }
+        this.eventLoop = eventLoop;
+        this.channelCreator = channelCreator;
+        this.maxChannels = maxChannels;
+    }
+
+    /**
+     * Leases an active channel to the caller, which must call {@link #release} with it once it's done.  This must
+     * be called from the EventLoop's thread.
+     */
+    public TrackedFuture<String, ChannelFuture> acquire(IReplayContexts.ITargetRequestContext ctx) {
+        assert eventLoop.inEventLoop();
+        var leaseFuture = new TextTrackedFuture<ChannelFuture>("leasing a shared target channel");
+        var channelKeyCtx = ctx.getLogicalEnclosingScope().getChannelKeyContext();
+        ChannelFuture idleChannel;
+        while ((idleChannel = idleChannels.pollLast()) != null) {
+            if (idleChannel.channel().isActive()) {
+                channelKeyCtx.addReusedTargetConnection();
+                leaseFuture.future.complete(idleChannel);
+                return leaseFuture;
+            }
+        }
+        if (openChannels < maxChannels) {
+            openChannel(ctx, leaseFuture);
+        } else {
+            log.atDebug().setMessage("All {} shared target channels are leased, {} waiting for one to be returned")
+                .addArgument(maxChannels)
+                .addArgument(channelKeyCtx)
+                .log();
+            channelKeyCtx.addWaitForSharedTargetConnection();
+            waiters.addLast(new Waiter(ctx, leaseFuture));
+        }
+        return leaseFuture;
+    }
+
+    /** Returns a channel that was leased from {@link #acquire}.  This may be called from any thread. */
+    public void release(ChannelFuture channelFuture) {
+        runOnEventLoop(() -> {
+            if (!channelFuture.channel().isActive()) {
+                // its slot was (or will be) freed by its close listener
+                return;
+            }
+            Waiter waiter;
+            while ((waiter = waiters.pollFirst()) != null) {
+                if (!waiter.leaseFuture.future.isDone()) {
+                    waiter.ctx.getLogicalEnclosingScope().getChannelKeyContext().addReusedTargetConnection();
+                    waiter.leaseFuture.future.complete(channelFuture);
+                    return;
+                }
+            }
+            idleChannels.addLast(channelFuture);
+        });
+    }
+
+    private void openChannel(IReplayContexts.ITargetRequestContext ctx, TextTrackedFuture<ChannelFuture> leaseFuture) {
+        openChannels++;
+        if (sharedConnectionsContext == null) {
+            sharedConnectionsContext = ctx.getLogicalEnclosingScope().getChannelKeyContext()
+                .createSharedTargetConnectionsContext(SHARED_CONNECTIONS_KEY);
+        }
+        var channelFutureFuture = channelCreator.createChannel(eventLoop, ctx, sharedConnectionsContext);
+        channelFutureFuture.whenComplete((channelFuture, t) -> runOnEventLoop(() -> {
+            if (t != null) {
+                openChannels--;
+                leaseFuture.future.completeExceptionally(TrackedFuture.unwindPossibleCompletionException(t));
+                openChannelForNextWaiter();
+            } else {
+                channelFuture.channel().closeFuture()
+                    .addListener(f -> runOnEventLoop(() -> onChannelClosed(channelFuture)));
+                leaseFuture.future.complete(channelFuture);
+            }
+        }), () -> "handing a newly created shared target channel to its first lessee");
+    }
+
+    private void onChannelClosed(ChannelFuture channelFuture) {
+        openChannels--;
+        idleChannels.remove(channelFuture);
+        openChannelForNextWaiter();
+    }
+
+    private void openChannelForNextWaiter() {
+        Waiter waiter;
+        while (openChannels < maxChannels && (waiter = waiters.pollFirst()) != null) {
+            if (!waiter.leaseFuture.future.isDone()) {
+                openChannel(waiter.ctx, waiter.leaseFuture);
+            }
+        }
+    }
+
+    /**
+     * Ends the context that the pool's connections were attributed to.  This should only be called once the
+     * EventLoop has been shut down, after which no more channels can be opened.
+     */
+    public void close() {
+        if (sharedConnectionsContext != null) {
+            sharedConnectionsContext.close();
+        }
+    }
+
+    private void runOnEventLoop(Runnable runnable) {
+        if (eventLoop.inEventLoop()) {
+            runnable.run();
+        } else {
+            eventLoop.execute(runnable);
+        }
+    }
+}
@@ -35,6 +35,10 @@ public class TimeToResponseFulfillmentFutureMap {
         return timeToRunnableMap.peekFirst();
     }
 
+    public FutureWorkPoint peekLastItem() {
+        return timeToRunnableMap.peekLast();
+    }
+
     public Instant removeFirstItem() {
         return timeToRunnableMap.isEmpty() ? null : timeToRunnableMap.pop().startTime;
     }
@@ -2,6 +2,7 @@ package org.opensearch.migrations.replay.kafka;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -10,9 +11,12 @@ import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamAndKey;
 import org.opensearch.migrations.replay.tracing.ChannelContextManager;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.source.ISimpleTrafficCaptureSource;
+import org.opensearch.migrations.trafficcapture.TrafficStreamBatchFormat;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -27,8 +31,17 @@ import org.apache.kafka.common.TopicPartition;
 @Slf4j
 public class KafkaTopicDumper {
 
+    private final TrafficStreamCompression compression;
     private long baseEpoch = -1;
 
+    public KafkaTopicDumper() {
+        this(TrafficStreamCompression.DISABLED);
+    }
+
+    public KafkaTopicDumper(@NonNull TrafficStreamCompression compression) {
+        this.compression = compression;
+    }
+
     private long getBaseEpoch(TrafficStream ts) {
         if (baseEpoch < 0 && !ts.getSubStreamList().isEmpty()) {
             baseEpoch = ts.getSubStreamList().get(0).getTs().getSeconds();
@@ -152,9 +165,10 @@ public class KafkaTopicDumper {
             for (var rec : polled) {
                 if (pastEnd(rec, endOffset, endTime, endOffsets)) return;
                 try {
-                    var ts = TrafficStream.parseFrom(rec.value());
-                    System.out.println(TrafficStreamDumper.format(
-                        ts, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, getBaseEpoch(ts)));
+                    for (var ts : parseRecord(rec)) {
+                        System.out.println(TrafficStreamDumper.format(
+                            ts, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, getBaseEpoch(ts)));
+                    }
                 } catch (InvalidProtocolBufferException e) {
                     log.warn("Skipping unparseable record at p:{} o:{}", rec.partition(), rec.offset());
                 }
@@ -227,24 +241,25 @@ public class KafkaTopicDumper {
         for (var rec : records) {
             if (pastEnd(rec, endOffset, endTime, endOffsets)) return true;
             try {
-                var trafficStream = TrafficStream.parseFrom(rec.value());
-                getBaseEpoch(trafficStream);
-                dumper.setBaseEpochSeconds(baseEpoch);
-                if (emitRaw) {
-                    System.out.println("RAW " + TrafficStreamDumper.format(
-                        trafficStream, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, baseEpoch));
-                }
-                accumulator.accept(new PojoTrafficStreamAndKey(
-                    trafficStream,
-                    new TrafficStreamKeyWithKafkaRecordId(
-                        tsk -> {
-                            var channelCtx = channelContextManager.retainOrCreateContext(tsk);
-                            return topContext.createTrafficStreamContextForKafkaSource(channelCtx, rec.key(), 0);
-                        },
+                for (var trafficStream : parseRecord(rec)) {
+                    getBaseEpoch(trafficStream);
+                    dumper.setBaseEpochSeconds(baseEpoch);
+                    if (emitRaw) {
+                        System.out.println("RAW " + TrafficStreamDumper.format(trafficStream,
+                            rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, baseEpoch));
+                    }
+                    accumulator.accept(new PojoTrafficStreamAndKey(
                         trafficStream,
-                        new PojoKafkaCommitOffsetData(0, rec.partition(), rec.offset())
-                    )
-                ));
+                        new TrafficStreamKeyWithKafkaRecordId(
+                            tsk -> {
+                                var channelCtx = channelContextManager.retainOrCreateContext(tsk);
+                                return topContext.createTrafficStreamContextForKafkaSource(channelCtx, rec.key(), 0);
+                            },
+                            trafficStream,
+                            new PojoKafkaCommitOffsetData(0, rec.partition(), rec.offset())
+                        )
+                    ));
+                }
             } catch (InvalidProtocolBufferException e) {
                 log.warn("Skipping unparseable record at p:{} o:{}", rec.partition(), rec.offset());
             }
@@ -252,6 +267,14 @@ public class KafkaTopicDumper {
         return false;
     }
 
+    /** @return the one TrafficStream of a plain record or every TrafficStream of a coalesced one */
+    private List<TrafficStream> parseRecord(ConsumerRecord<String, byte[]> rec) throws InvalidProtocolBufferException {
+        if (TrafficStreamBatchFormat.isBatch(KafkaTrafficCaptureSource.getRecordFormatHeaderValue(rec))) {
+            return compression.parseBatch(rec.value());
+        }
+        return List.of(compression.parse(rec.value()));
+    }
+
     private static boolean pastEnd(ConsumerRecord<String, byte[]> rec,
                                    Long endOffset, Long endTime,
                                    Map<TopicPartition, Long> endOffsets) {
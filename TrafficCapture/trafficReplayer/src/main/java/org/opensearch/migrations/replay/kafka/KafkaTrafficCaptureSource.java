@@ -9,13 +9,15 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
@@ -31,11 +33,14 @@ import org.opensearch.migrations.replay.datatypes.ITrafficStreamKey;
 import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamAndKey;
 import org.opensearch.migrations.replay.tracing.ChannelContextManager;
 import org.opensearch.migrations.replay.tracing.ITrafficSourceContexts;
+import org.opensearch.migrations.replay.tracing.KafkaConsumerContexts;
 import org.opensearch.migrations.replay.tracing.ReplayContexts;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.expiration.ScopedConnectionIdKey;
 import org.opensearch.migrations.replay.traffic.source.ISimpleTrafficCaptureSource;
 import org.opensearch.migrations.replay.traffic.source.ITrafficStreamWithKey;
+import org.opensearch.migrations.trafficcapture.TrafficStreamBatchFormat;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
@@ -46,7 +51,10 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.header.Header;
 
 /**
  * Adapt a Kafka stream into a TrafficCaptureSource.
@@ -106,11 +114,16 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
     private final ExecutorService kafkaExecutor;
     private final AtomicLong trafficStreamsRead;
     private final KafkaBehavioralPolicy behavioralPolicy;
+    private final TrafficStreamCompression compression;
+    // When set, a polled batch's records are decoded on these threads in parallel.  The consumer thread waits for
+    // each in turn as it hands them over, so it doesn't poll again until the whole batch has been decoded.
+    private final ExecutorService decodeExecutorOrNull;
     private final ChannelContextManager channelContextManager;
     private final AtomicBoolean isClosed;
     /** Active connections per Kafka partition. Entries removed when connections are closed */
     final ConcurrentHashMap<Integer, Set<ScopedConnectionIdKey>> partitionToActiveConnections =
         new ConcurrentHashMap<>();
+    private final AtomicBoolean warnedAboutConnectionSpanningPartitions = new AtomicBoolean();
     /** Batches of synthetic close events to drain before returning real Kafka records.
      *  Each entry is one batch from a single partition-revocation event. */
     private final Queue<List<TrafficSourceReaderInterruptedClose>> trafficSourceReaderInterruptedCloseQueue = new ConcurrentLinkedQueue<>();
@@ -150,6 +163,42 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         Clock clock,
         @NonNull KafkaBehavioralPolicy behavioralPolicy
     ) {
+        this(globalContext, kafkaConsumer, topic, keepAliveInterval, clock, behavioralPolicy,
+            TrafficStreamCompression.DISABLED);
+    }
+
+    public KafkaTrafficCaptureSource(
+        @NonNull RootReplayerContext globalContext,
+        Consumer<String, byte[]> kafkaConsumer,
+        @NonNull String topic,
+        Duration keepAliveInterval,
+        Clock clock,
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull TrafficStreamCompression compression
+    ) {
+        this(globalContext, kafkaConsumer, topic, keepAliveInterval, clock, behavioralPolicy, compression, 0);
+    }
+
+    /**
+     * @param decodeThreads how many threads to decode each polled batch's records with in parallel.  The
+     *                      consumer's thread still waits for the batch to be decoded before it polls again, so
+     *                      this bounds that wait rather than taking decoding off of its path.  With 0, records are
+     *                      decoded on the consumer's thread.  Either way, streams are returned in the order that
+     *                      their records were polled in.
+     */
+    public KafkaTrafficCaptureSource(
+        @NonNull RootReplayerContext globalContext,
+        Consumer<String, byte[]> kafkaConsumer,
+        @NonNull String topic,
+        Duration keepAliveInterval,
+        Clock clock,
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull TrafficStreamCompression compression,
+        int decodeThreads
+    ) {
+        this.compression = compression;
+        this.decodeExecutorOrNull = decodeThreads <= 0 ? null
+            : Executors.newFixedThreadPool(decodeThreads, new DefaultThreadFactory("kafkaTrafficDecode", true));
         this.channelContextManager = new ChannelContextManager(globalContext);
         trackingKafkaConsumer = new TrackingKafkaConsumer(
             globalContext,
@@ -253,6 +302,41 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         String propertyFilePath,
         @NonNull Clock clock,
         @NonNull KafkaBehavioralPolicy behavioralPolicy
+    ) throws IOException {
+        return buildKafkaSource(globalContext, brokers, topic, groupId, authType, kafkaUserName, kafkaPassword,
+            propertyFilePath, clock, behavioralPolicy, TrafficStreamCompression.DISABLED);
+    }
+
+    public static KafkaTrafficCaptureSource buildKafkaSource(
+        @NonNull RootReplayerContext globalContext,
+        @NonNull String brokers,
+        @NonNull String topic,
+        @NonNull String groupId,
+        @NonNull String authType,
+        String kafkaUserName,
+        String kafkaPassword,
+        String propertyFilePath,
+        @NonNull Clock clock,
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull TrafficStreamCompression compression
+    ) throws IOException {
+        return buildKafkaSource(globalContext, brokers, topic, groupId, authType, kafkaUserName, kafkaPassword,
+            propertyFilePath, clock, behavioralPolicy, compression, 0);
+    }
+
+    public static KafkaTrafficCaptureSource buildKafkaSource(
+        @NonNull RootReplayerContext globalContext,
+        @NonNull String brokers,
+        @NonNull String topic,
+        @NonNull String groupId,
+        @NonNull String authType,
+        String kafkaUserName,
+        String kafkaPassword,
+        String propertyFilePath,
+        @NonNull Clock clock,
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull TrafficStreamCompression compression,
+        int decodeThreads
     ) throws IOException {
         var kafkaProps = buildKafkaProperties(brokers, groupId, authType, kafkaUserName, kafkaPassword, propertyFilePath);
         kafkaProps.putIfAbsent(MAX_POLL_INTERVAL_KEY, defaultPollIntervalMs());
@@ -262,7 +346,9 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
             topic,
             DEFAULT_KEEP_ALIVE_PERIOD,
             clock,
-            behavioralPolicy
+            behavioralPolicy,
+            compression,
+            decodeThreads
         );
     }
 
@@ -346,58 +432,169 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
             return Collections.emptyList();
         }
         try {
-            return trackingKafkaConsumer.getNextBatchOfRecords(context, (offsetData, kafkaRecord) -> {
-                try {
-                    TrafficStream ts = TrafficStream.parseFrom(kafkaRecord.value());
-                    var trafficStreamsSoFar = trafficStreamsRead.incrementAndGet();
-                    log.atTrace().setMessage("Parsed traffic stream #{}: {} {}")
-                        .addArgument(trafficStreamsSoFar)
-                        .addArgument(offsetData)
-                        .addArgument(ts)
-                        .log();
-                    var key = new TrafficStreamKeyWithKafkaRecordId(tsk -> {
-                        var channelKeyCtx = channelContextManager.retainOrCreateContext(tsk);
-                        return channelContextManager.getGlobalContext()
-                            .createTrafficStreamContextForKafkaSource(
-                                channelKeyCtx,
-                                kafkaRecord.key(),
-                                kafkaRecord.serializedKeySize() + kafkaRecord.serializedValueSize()
-                            );
-                    }, ts, offsetData);
-                    // Track active connections per partition for synthetic close injection
-                    var connKey = new ScopedConnectionIdKey(
-                        ts.getNodeId(), ts.getConnectionId());
-                    var activeSet = partitionToActiveConnections
-                        .computeIfAbsent(offsetData.getPartition(),
-                            p -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                    boolean isNewConnection = activeSet.add(connKey);
-                    // Handoff: first time we see this connection on this partition AND no READ observation
-                    // (another replayer was mid-connection). Continuation streams for known connections are not resumeds.
-                    boolean startsWithRead = ts.getSubStreamList().stream()
-                        .findFirst()
-                        .map(TrafficObservation::hasRead)
-                        .orElse(false);
-                    final boolean resumed = isNewConnection && !startsWithRead;
-                    return (ITrafficStreamWithKey) new PojoTrafficStreamAndKey(ts, key) {
-                        @Override
-                        public boolean isResumedConnection() { return resumed; }
-                    };
-                } catch (InvalidProtocolBufferException e) {
-                    // Assume the behavioralPolicy instance does any logging that the host may be interested in
-                    RuntimeException recordError = behavioralPolicy.onInvalidKafkaRecord(kafkaRecord, e);
-                    if (recordError != null) {
-                        throw recordError;
-                    } else {
-                        return null;
+            var decodingRecords = new IdentityHashMap<ConsumerRecord<String, byte[]>,
+                CompletableFuture<List<TrafficStream>>>();
+            return trackingKafkaConsumer.getNextBatchOfRecordGroups(context,
+                records -> startDecoding(records, decodingRecords),
+                (offsetData, kafkaRecord) -> {
+                    try {
+                        var trafficStreams = finishDecoding(kafkaRecord, decodingRecords.remove(kafkaRecord));
+                        if (!TrafficStreamBatchFormat.isBatch(getRecordFormatHeaderValue(kafkaRecord))) {
+                            return Collections.singletonList(toTrafficStreamWithKey(offsetData, kafkaRecord,
+                                trafficStreams.get(0),
+                                kafkaRecord.serializedKeySize() + kafkaRecord.serializedValueSize()));
+                        }
+                        var trafficStreamsWithKeys = new ArrayList<ITrafficStreamWithKey>(trafficStreams.size());
+                        for (var ts : trafficStreams) {
+                            trafficStreamsWithKeys.add(
+                                toTrafficStreamWithKey(offsetData, kafkaRecord, ts, ts.getSerializedSize()));
+                        }
+                        return trafficStreamsWithKeys;
+                    } catch (InvalidProtocolBufferException e) {
+                        // Assume the behavioralPolicy instance does any logging that the host may be interested in
+                        RuntimeException recordError = behavioralPolicy.onInvalidKafkaRecord(kafkaRecord, e);
+                        if (recordError != null) {
+                            throw recordError;
+                        } else {
+                            return Collections.<ITrafficStreamWithKey>emptyList();
+                        }
                     }
-                }
-            }).filter(Objects::nonNull).collect(Collectors.<ITrafficStreamWithKey>toList());
+                }).collect(Collectors.<ITrafficStreamWithKey>toList());
         } catch (Exception e) {
             log.atError().setCause(e).setMessage("Terminating Kafka traffic stream due to exception").log();
             throw e;
         }
     }
 
+    private void startDecoding(
+        ConsumerRecords<String, byte[]> records,
+        Map<ConsumerRecord<String, byte[]>, CompletableFuture<List<TrafficStream>>> decodingRecords
+    ) {
+        if (decodeExecutorOrNull == null) {
+            return;
+        }
+        var listeningContext = new KafkaConsumerContexts.AsyncListeningContext(
+            channelContextManager.getGlobalContext());
+        for (var kafkaRecord : records) {
+            var decoded = new CompletableFuture<List<TrafficStream>>();
+            listeningContext.onDecodeQueueDepthChanged(1);
+            decodeExecutorOrNull.execute(() -> {
+                try {
+                    decoded.complete(decode(kafkaRecord));
+                } catch (Exception e) {
+                    decoded.completeExceptionally(e);
+                } finally {
+                    listeningContext.onDecodeQueueDepthChanged(-1);
+                }
+            });
+            decodingRecords.put(kafkaRecord, decoded);
+        }
+    }
+
+    private List<TrafficStream> finishDecoding(
+        ConsumerRecord<String, byte[]> kafkaRecord,
+        CompletableFuture<List<TrafficStream>> decodedOrNull
+    ) throws InvalidProtocolBufferException {
+        if (decodedOrNull == null) {
+            return decode(kafkaRecord);
+        }
+        try {
+            return decodedOrNull.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InvalidProtocolBufferException) {
+                throw (InvalidProtocolBufferException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<TrafficStream> decode(ConsumerRecord<String, byte[]> kafkaRecord)
+        throws InvalidProtocolBufferException {
+        // The consumer deserializes every record into its own array and never touches it again, so the parsed
+        // payloads can point into it rather than being copied
+        if (TrafficStreamBatchFormat.isBatch(getRecordFormatHeaderValue(kafkaRecord))) {
+            return compression.parseBatchWithoutCopying(kafkaRecord.value());
+        }
+        return Collections.singletonList(compression.parseWithoutCopying(kafkaRecord.value()));
+    }
+
+    static byte[] getRecordFormatHeaderValue(ConsumerRecord<String, byte[]> kafkaRecord) {
+        return Optional.ofNullable(kafkaRecord.headers().lastHeader(TrafficStreamBatchFormat.RECORD_FORMAT_HEADER))
+            .map(Header::value)
+            .orElse(null);
+    }
+
+    /**
+     * @param recordBytes the bytes that the traffic stream took up in its Kafka record, which is the whole
+     *                    record unless the record was a coalesced batch of streams
+     */
+    private ITrafficStreamWithKey toTrafficStreamWithKey(
+        KafkaCommitOffsetData offsetData,
+        ConsumerRecord<String, byte[]> kafkaRecord,
+        TrafficStream ts,
+        int recordBytes
+    ) {
+        var trafficStreamsSoFar = trafficStreamsRead.incrementAndGet();
+        log.atTrace().setMessage("Parsed traffic stream #{}: {} {}")
+            .addArgument(trafficStreamsSoFar)
+            .addArgument(offsetData)
+            .addArgument(ts)
+            .log();
+        var key = new TrafficStreamKeyWithKafkaRecordId(tsk -> {
+            var channelKeyCtx = channelContextManager.retainOrCreateContext(tsk);
+            return channelContextManager.getGlobalContext()
+                .createTrafficStreamContextForKafkaSource(channelKeyCtx, kafkaRecord.key(), recordBytes);
+        }, ts, offsetData);
+        // Track active connections per partition for synthetic close injection
+        var connKey = new ScopedConnectionIdKey(
+            ts.getNodeId(), ts.getConnectionId());
+        var activeSet = partitionToActiveConnections
+            .computeIfAbsent(offsetData.getPartition(),
+                p -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
+        boolean isNewConnection = activeSet.add(connKey);
+        if (isNewConnection) {
+            warnIfConnectionSpansPartitions(connKey, offsetData.getPartition());
+        }
+        // Handoff: first time we see this connection on this partition AND no READ observation
+        // (another replayer was mid-connection). Continuation streams for known connections are not resumeds.
+        boolean startsWithRead = ts.getSubStreamList().stream()
+            .findFirst()
+            .map(TrafficObservation::hasRead)
+            .orElse(false);
+        final boolean resumed = isNewConnection && !startsWithRead;
+        return new PojoTrafficStreamAndKey(ts, key) {
+            @Override
+            public boolean isResumedConnection() { return resumed; }
+        };
+    }
+
+    /**
+     * Handoffs between replayers in a consumer group are tracked per partition, which only works when every
+     * TrafficStream of a connection is on the same partition.  Captures keyed by connection (as the capture
+     * proxy does) guarantee that, but older captures keyed each record by connectionId.index.
+     */
+    private void warnIfConnectionSpansPartitions(ScopedConnectionIdKey connKey, int partition) {
+        if (warnedAboutConnectionSpanningPartitions.get()) {
+            return;
+        }
+        partitionToActiveConnections.entrySet().stream()
+            .filter(kvp -> kvp.getKey() != partition && kvp.getValue().contains(connKey))
+            .findFirst()
+            .ifPresent(kvp -> {
+                if (!warnedAboutConnectionSpanningPartitions.getAndSet(true)) {
+                    log.atWarn().setMessage("Connection {} has TrafficStreams on partitions {} and {}.  Replaying "
+                            + "with more than one replayer per consumer group may resume or interrupt connections "
+                            + "incorrectly unless the capture keys records by connection.  Not warning again.")
+                        .addArgument(connKey.connectionId)
+                        .addArgument(kvp.getKey())
+                        .addArgument(partition)
+                        .log();
+                }
+            });
+    }
+
     @Override
     public CommitResult commitTrafficStream(ITrafficStreamKey trafficStreamKey) {
         if (!(trafficStreamKey instanceof TrafficStreamKeyWithKafkaRecordId)) {
@@ -431,6 +628,9 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         if (isClosed.compareAndSet(false, true)) {
             kafkaExecutor.submit(trackingKafkaConsumer::close).get();
             kafkaExecutor.shutdownNow();
+            if (decodeExecutorOrNull != null) {
+                decodeExecutorOrNull.shutdownNow();
+            }
         }
     }
 }
@@ -16,7 +16,9 @@ import lombok.extern.slf4j.Slf4j;
  * removeAndReturnNewHead may be called in any order.  removeAndReturnNewHead returns
  * the new commit offset for the partition that this object is associated with.
  * It's also assumed that callers MUST call removeAndReturnNewHead for every offset
- * that was previously added for commit points to be advanced.
+ * that was previously added for commit points to be advanced.  An offset whose record
+ * holds several items (e.g. coalesced TrafficStreams) is added with the number of items
+ * and stays outstanding until removeAndReturnNewHead has been called once per item.
  */
 @Slf4j
 class OffsetLifecycleTracker {
@@ -29,10 +31,12 @@ class OffsetLifecycleTracker {
     static class OffsetMetadata {
         final String connectionId;
         final Instant addedAt;
+        int itemsLeftToRemove;
 
-        OffsetMetadata(String connectionId, Instant addedAt) {
+        OffsetMetadata(String connectionId, Instant addedAt, int itemsLeftToRemove) {
             this.connectionId = connectionId;
             this.addedAt = addedAt;
+            this.itemsLeftToRemove = itemsLeftToRemove;
         }
     }
 
@@ -58,10 +62,17 @@ class OffsetLifecycleTracker {
     }
 
     void add(long offset, String connectionId) {
+        add(offset, connectionId, 1);
+    }
+
+    void add(long offset, String connectionId, int itemCount) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("itemCount must be positive, but was " + itemCount);
+        }
         synchronized (pQueue) {
             cursorHighWatermark = offset;
             pQueue.add(offset);
-            offsetMetadataMap.put(offset, new OffsetMetadata(connectionId, clock.instant()));
+            offsetMetadataMap.put(offset, new OffsetMetadata(connectionId, clock.instant(), itemCount));
         }
     }
 
@@ -73,6 +84,14 @@ class OffsetLifecycleTracker {
                     "pQueue looks to have been empty by the time we tried to remove " + offsetToRemove
                 );
             }
+            var metadata = offsetMetadataMap.get(offsetToRemove);
+            if (metadata != null && --metadata.itemsLeftToRemove > 0) {
+                log.atDebug().setMessage("Commit called for {}, which still has {} item(s) outstanding")
+                    .addArgument(offsetToRemove)
+                    .addArgument(metadata.itemsLeftToRemove)
+                    .log();
+                return Optional.empty();
+            }
             var didRemove = pQueue.remove(offsetToRemove);
             if (!didRemove) {
                 throw new IllegalStateException(
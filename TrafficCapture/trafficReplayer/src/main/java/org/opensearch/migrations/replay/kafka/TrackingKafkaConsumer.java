@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.PriorityQueue;
@@ -343,28 +344,58 @@ public class TrackingKafkaConsumer implements ConsumerRebalanceListener {
     public <T> Stream<T> getNextBatchOfRecords(
         ITrafficSourceContexts.IReadChunkContext context,
         BiFunction<KafkaCommitOffsetData, ConsumerRecord<String, byte[]>, T> builder
+    ) {
+        return getNextBatchOfRecordGroups(
+            context,
+            (offsetDetails, kafkaRecord) -> Collections.singletonList(builder.apply(offsetDetails, kafkaRecord))
+        );
+    }
+
+    /**
+     * Like {@link #getNextBatchOfRecords}, but for records that can each hold several items (e.g. coalesced
+     * TrafficStreams).  A record's offset only becomes committable once every item that the builder returned
+     * for it has been committed.  A record that the builder returns no items for is held like a single item.
+     */
+    public <T> Stream<T> getNextBatchOfRecordGroups(
+        ITrafficSourceContexts.IReadChunkContext context,
+        BiFunction<KafkaCommitOffsetData, ConsumerRecord<String, byte[]>, List<T>> builder
+    ) {
+        return getNextBatchOfRecordGroups(context, records -> {}, builder);
+    }
+
+    /**
+     * Like {@link #getNextBatchOfRecordGroups(ITrafficSourceContexts.IReadChunkContext, BiFunction)}, but
+     * onRecordsPolled sees the whole batch of polled records before the builder is called for any of them, e.g.
+     * so that work for later records can be started while the builder is handling earlier ones.
+     */
+    public <T> Stream<T> getNextBatchOfRecordGroups(
+        ITrafficSourceContexts.IReadChunkContext context,
+        java.util.function.Consumer<ConsumerRecords<String, byte[]>> onRecordsPolled,
+        BiFunction<KafkaCommitOffsetData, ConsumerRecord<String, byte[]>, List<T>> builder
     ) {
         safeCommit(context::createCommitContext);
         var records = safePollWithSwallowedRuntimeExceptions(context);
         safeCommit(context::createCommitContext);
+        onRecordsPolled.accept(records);
         return applyBuilder(builder, records);
     }
 
     private <T> Stream<T> applyBuilder(
-        BiFunction<KafkaCommitOffsetData, ConsumerRecord<String, byte[]>, T> builder,
+        BiFunction<KafkaCommitOffsetData, ConsumerRecord<String, byte[]>, List<T>> builder,
         ConsumerRecords<String, byte[]> records
     ) {
-        return StreamSupport.stream(records.spliterator(), false).map(kafkaRecord -> {
+        return StreamSupport.stream(records.spliterator(), false).flatMap(kafkaRecord -> {
             var offsetTracker = partitionToOffsetLifecycleTrackerMap.get(kafkaRecord.partition());
             var offsetDetails = new PojoKafkaCommitOffsetData(
                 offsetTracker.consumerConnectionGeneration,
                 kafkaRecord.partition(),
                 kafkaRecord.offset()
             );
-            offsetTracker.add(offsetDetails.getOffset(), kafkaRecord.key());
+            var items = builder.apply(offsetDetails, kafkaRecord);
+            offsetTracker.add(offsetDetails.getOffset(), kafkaRecord.key(), Math.max(1, items.size()));
             kafkaRecordsLeftToCommitEventually.incrementAndGet();
             log.atTrace().setMessage("records in flight={}").addArgument(kafkaRecordsLeftToCommitEventually::get).log();
-            return builder.apply(offsetDetails, kafkaRecord);
+            return items.stream();
         });
     }
 
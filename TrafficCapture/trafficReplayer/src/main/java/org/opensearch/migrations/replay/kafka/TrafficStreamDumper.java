@@ -202,6 +202,7 @@ public class TrafficStreamDumper {
         if (obs.hasConnectionException()) return "EXCEPTION";
         if (obs.hasSegmentEnd()) return "SEGMENT_END"; // shouldn't normally appear; absorbed during coalescing
         if (obs.hasRequestReleasedDownstream()) return "REQUEST_RELEASED";
+        if (obs.hasCaptureModeChange()) return "CAPTURE_MODE_" + obs.getCaptureModeChange().getMode();
         return "UNKNOWN";
     }
 }
@@ -26,6 +26,7 @@ public interface IKafkaConsumerContexts {
         public static final String PARTITIONS_ASSIGNED_EVENT_COUNT = "partitionsAssigned";
         public static final String PARTITIONS_REVOKED_EVENT_COUNT = "partitionsRevoked";
         public static final String ACTIVE_PARTITIONS_ASSIGNED_COUNT = "numPartitionsAssigned";
+        public static final String DECODE_QUEUE_DEPTH = "kafkaRecordsWaitingToBeDecoded";
     }
 
     interface IAsyncListeningContext extends IInstrumentationAttributes {}
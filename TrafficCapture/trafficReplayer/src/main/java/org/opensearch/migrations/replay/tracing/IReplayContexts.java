@@ -66,6 +66,8 @@ public interface IReplayContexts {
         public static final String ACTIVE_TARGET_CONNECTIONS = "activeTargetConnections";
         public static final String CONNECTIONS_OPENED = "connectionsOpened";
         public static final String CONNECTIONS_CLOSED = "connectionsClosedCount";
+        public static final String CONNECTIONS_REUSED = "connectionsReused";
+        public static final String SHARED_CONNECTION_WAITS = "sharedConnectionWaits";
         public static final String BYTES_WRITTEN_TO_TARGET = "bytesWrittenToTarget";
         public static final String BYTES_READ_FROM_TARGET = "bytesReadFromTarget";
         public static final String TUPLE_COMPARISON = "tupleComparison";
@@ -98,7 +100,20 @@ public interface IReplayContexts {
 
         ISocketContext createSocketContext();
 
+        /**
+         * Creates a context, outside of any source connection, for the target connections that are shared by the
+         * sessions of many source connections.  Those connections' socket contexts belong to it rather than to
+         * whichever session happened to cause them to be opened.
+         */
+        IChannelKeyContext createSharedTargetConnectionsContext(ISourceTrafficChannelKey sharedConnectionsKey);
+
         void addFailedChannelCreation();
+
+        /** Called when a request is sent over an already open target connection that's shared between sessions */
+        void addReusedTargetConnection();
+
+        /** Called when every shared target connection is busy and a request has to wait for one */
+        void addWaitForSharedTargetConnection();
     }
 
     interface ISocketContext extends IAccumulationScope, IWithTypedEnclosingScope<IChannelKeyContext> {
@@ -36,6 +36,7 @@ public class KafkaConsumerContexts {
             public final LongCounter kafkaPartitionsRevokedCounter;
             public final LongCounter kafkaPartitionsAssignedCounter;
             public final LongUpDownCounter kafkaActivePartitionsCounter;
+            public final LongUpDownCounter kafkaDecodeQueueDepthCounter;
 
             private MetricInstruments(Meter meter) {
                 super(meter, "asyncKafkaProcessing");
@@ -48,6 +49,9 @@ public class KafkaConsumerContexts {
                 kafkaActivePartitionsCounter = meter.upDownCounterBuilder(
                     IKafkaConsumerContexts.MetricNames.ACTIVE_PARTITIONS_ASSIGNED_COUNT
                 ).build();
+                kafkaDecodeQueueDepthCounter = meter.upDownCounterBuilder(
+                    IKafkaConsumerContexts.MetricNames.DECODE_QUEUE_DEPTH
+                ).build();
             }
         }
 
@@ -73,6 +77,10 @@ public class KafkaConsumerContexts {
         private void onPartitionsAssignedChanged(int delta) {
             meterDeltaEvent(getMetrics().kafkaActivePartitionsCounter, delta);
         }
+
+        public void onDecodeQueueDepthChanged(int delta) {
+            meterDeltaEvent(getMetrics().kafkaDecodeQueueDepthCounter, delta);
+        }
     }
 
     public static class TouchScopeContext extends DirectNestedSpanContext<
@@ -95,15 +95,24 @@ public interface ReplayContexts extends IReplayContexts {
             return new SocketContext(this);
         }
 
+        @Override
+        public IChannelKeyContext createSharedTargetConnectionsContext(ISourceTrafficChannelKey sharedConnectionsKey) {
+            return getRootInstrumentationScope().createChannelContext(sharedConnectionsKey);
+        }
+
         public static class MetricInstruments extends CommonScopedMetricInstruments {
             final LongUpDownCounter activeChannelCounter;
             final LongCounter unretryableConnectionFailures;
+            final LongCounter reusedConnections;
+            final LongCounter sharedConnectionWaits;
 
             private MetricInstruments(Meter meter, String activityName) {
                 super(meter, activityName);
                 activeChannelCounter = meter.upDownCounterBuilder(MetricNames.ACTIVE_CHANNELS_YET_TO_BE_FULLY_DISCARDED)
                     .build();
                 unretryableConnectionFailures = meter.counterBuilder(MetricNames.NONRETRYABLE_CONNECTION_FAILURES).build();
+                reusedConnections = meter.counterBuilder(MetricNames.CONNECTIONS_REUSED).build();
+                sharedConnectionWaits = meter.counterBuilder(MetricNames.SHARED_CONNECTION_WAITS).build();
             }
         }
 
@@ -130,6 +139,16 @@ public interface ReplayContexts extends IReplayContexts {
         public void addFailedChannelCreation() {
             meterIncrementEvent(getMetrics().unretryableConnectionFailures);
         }
+
+        @Override
+        public void addReusedTargetConnection() {
+            meterIncrementEvent(getMetrics().reusedConnections);
+        }
+
+        @Override
+        public void addWaitForSharedTargetConnection() {
+            meterIncrementEvent(getMetrics().sharedConnectionWaits);
+        }
     }
 
     class KafkaRecordContext extends BaseNestedSpanContext<RootReplayerContext, IChannelKeyContext>
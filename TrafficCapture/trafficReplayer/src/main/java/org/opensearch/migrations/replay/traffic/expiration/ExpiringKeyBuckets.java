@@ -0,0 +1,71 @@
+package org.opensearch.migrations.replay.traffic.expiration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Groups the keys of live connections by the time of their latest observation, in buckets that are each
+ * granularity wide, so that {@link ExpiringTrafficStreamMap} can expire the connections that haven't been
+ * seen for a while without looking at all of them.  The maps are really just sets, the boolean value is just
+ * a dummy because there isn't a concurrent set class.
+ */
+interface ExpiringKeyBuckets {
+    /** @return the end of the latest bucket, which is later than any timestamp that has been bucketed so far */
+    Instant getLatestPossibleKeyValue();
+
+    EpochMillis getEarliestBucketStart();
+
+    EpochMillis getLatestBucketStart();
+
+    /**
+     * Returns null if the requested timestamp is in the expired range of timestamps, otherwise this returns
+     * the bucket that holds it, creating it (atomically) if it didn't exist yet.
+     */
+    ConcurrentHashMap<ScopedConnectionIdKey, Boolean> getHashSetForTimestamp(EpochMillis timestamp);
+
+    /**
+     * Expires the connections whose latest observation was more than minimumGuaranteedLifetime (rounded down
+     * to the granularity) before largestCurrentObservedTimestamp and drops the buckets that held them.
+     */
+    void expireOldSlots(
+        AccumulatorMap connectionAccumulatorMap,
+        BehavioralPolicy behavioralPolicy,
+        Duration minimumGuaranteedLifetime,
+        EpochMillis largestCurrentObservedTimestamp
+    );
+
+    void clear();
+
+    /**
+     * Expires every connection of keyMap whose accumulation hasn't seen anything since before
+     * earlierTimesToPreserve and drops the keys of connections that are already gone.
+     *
+     * @return how many connections in keyMap are still live
+     */
+    static int expireItemsBefore(
+        AccumulatorMap connectionAccumulatorMap,
+        BehavioralPolicy behavioralPolicy,
+        ConcurrentHashMap<ScopedConnectionIdKey, Boolean> keyMap,
+        EpochMillis earlierTimesToPreserve
+    ) {
+        int survivorCount = 0;
+        for (var scopedKey : keyMap.keySet()) {
+            var accumulation = connectionAccumulatorMap.get(scopedKey);
+            if (accumulation != null
+                && accumulation.getNewestPacketTimestampInMillisReference().get() < earlierTimesToPreserve.millis) {
+                var priorValue = connectionAccumulatorMap.remove(scopedKey);
+                if (priorValue != null) {
+                    priorValue.expire();
+                    behavioralPolicy.onExpireAccumulation(scopedKey.nodeId, accumulation);
+                }
+                keyMap.remove(scopedKey);
+            } else if (accumulation != null) {
+                survivorCount++;
+            } else {
+                keyMap.remove(scopedKey);
+            }
+        }
+        return survivorCount;
+    }
+}
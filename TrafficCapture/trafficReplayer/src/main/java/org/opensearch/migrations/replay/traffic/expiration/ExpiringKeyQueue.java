@@ -14,10 +14,14 @@ import lombok.extern.slf4j.Slf4j;
  * the boolean value is just a dummy because there isn't a concurrent set class.  Each element in the
  * sequence is composed of a timestamp and a map.  The timestamp at each element is guaranteed to be
  * greater than all items within all maps that preceded it.
+ * <p>
+ * {@link ExpiringTrafficStreamMap} uses the {@link ExpiringKeyWheel} instead, which finds buckets without
+ * searching; this remains as the reference that the wheel is tested and benchmarked against.
  */
 @Slf4j
 @EqualsAndHashCode(callSuper = true)
-class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHashMap<ScopedConnectionIdKey, Boolean>> {
+class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHashMap<ScopedConnectionIdKey, Boolean>>
+    implements ExpiringKeyBuckets {
     private final Duration granularity;
 
     ExpiringKeyQueue(Duration granularity, String ignored, EpochMillis startingTimestamp) {
@@ -25,10 +29,21 @@ class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHash
         addNewSet(startingTimestamp);
     }
 
+    @Override
     public Instant getLatestPossibleKeyValue() {
         return lastKey().toInstant().plus(granularity);
     }
 
+    @Override
+    public EpochMillis getEarliestBucketStart() {
+        return firstKey();
+    }
+
+    @Override
+    public EpochMillis getLatestBucketStart() {
+        return lastKey();
+    }
+
     private ConcurrentHashMap<ScopedConnectionIdKey, Boolean> addNewSet(EpochMillis timestampMillis) {
         var accumulatorMap = new ConcurrentHashMap<ScopedConnectionIdKey, Boolean>();
         this.put(timestampMillis, accumulatorMap);
@@ -43,7 +58,8 @@ class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHash
      * @param timestamp
      * @return
      */
-    ConcurrentHashMap<ScopedConnectionIdKey, Boolean> getHashSetForTimestamp(EpochMillis timestamp) {
+    @Override
+    public ConcurrentHashMap<ScopedConnectionIdKey, Boolean> getHashSetForTimestamp(EpochMillis timestamp) {
         return Optional.ofNullable(this.floorEntry(timestamp)).map(kvp -> {
             var shiftedKey = kvp.getKey().toInstant().plus(granularity);
             if (timestamp.test(shiftedKey, (newTimestamp, computedFloor) -> newTimestamp >= computedFloor)) {
@@ -72,7 +88,8 @@ class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHash
         return priorMap == null ? newMap : priorMap;
     }
 
-    void expireOldSlots(
+    @Override
+    public void expireOldSlots(
         AccumulatorMap connectionAccumulatorMap,
         BehavioralPolicy behavioralPolicy,
         Duration minimumGuaranteedLifetime,
@@ -84,7 +101,9 @@ class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHash
 
         for (var kvp = firstEntry(); kvp.getKey()
             .test(quantizedStartOfWindow, (first, windowStart) -> first < windowStart); kvp = firstEntry()) {
-            var orphaned = expireItemsBefore(connectionAccumulatorMap, behavioralPolicy, kvp.getValue(), quantizedStartOfWindow);
+            log.atTrace().setMessage("Expiring entries before {}").addArgument(quantizedStartOfWindow).log();
+            var orphaned = ExpiringKeyBuckets.expireItemsBefore(connectionAccumulatorMap, behavioralPolicy,
+                kvp.getValue(), quantizedStartOfWindow);
             if (orphaned > 0) {
                 log.atError().setMessage("Bucket {} has {} connections that survived sweep — " +
                         "this should not happen with deferred expiry. quantizedStartOfWindow={}")
@@ -95,31 +114,4 @@ class ExpiringKeyQueue extends ConcurrentSkipListMap<EpochMillis, ConcurrentHash
             remove(kvp.getKey());
         }
     }
-
-    private int expireItemsBefore(
-        AccumulatorMap connectionAccumulatorMap,
-        BehavioralPolicy behavioralPolicy,
-        ConcurrentHashMap<ScopedConnectionIdKey, Boolean> keyMap,
-        EpochMillis earlierTimesToPreserve
-    ) {
-        log.atTrace().setMessage("Expiring entries before {}").addArgument(earlierTimesToPreserve).log();
-        int survivorCount = 0;
-        for (var scopedKey : keyMap.keySet()) {
-            var accumulation = connectionAccumulatorMap.get(scopedKey);
-            if (accumulation != null
-                && accumulation.getNewestPacketTimestampInMillisReference().get() < earlierTimesToPreserve.millis) {
-                var priorValue = connectionAccumulatorMap.remove(scopedKey);
-                if (priorValue != null) {
-                    priorValue.expire();
-                    behavioralPolicy.onExpireAccumulation(scopedKey.nodeId, accumulation);
-                }
-                keyMap.remove(scopedKey);
-            } else if (accumulation != null) {
-                survivorCount++;
-            } else {
-                keyMap.remove(scopedKey);
-            }
-        }
-        return survivorCount;
-    }
 }
@@ -0,0 +1,150 @@
+package org.opensearch.migrations.replay.traffic.expiration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A hashed timing wheel of buckets.  Since connections are only ever kept for minimumGuaranteedLifetime past
+ * their latest observation, only that many buckets (plus a couple for the partially filled ones at either end)
+ * can be live at once, so the buckets live in a fixed ring of slots that's indexed by the bucket's number.
+ * Finding a connection's bucket is arithmetic and a read from an array rather than a search of a sorted map,
+ * and a sweep only visits the slots of the buckets that have fallen out of the window.
+ *
+ * <p>Timestamps are quantized the same way that {@link ExpiringKeyQueue} quantizes them, so both expire the
+ * same connections at the same times.  When timestamps jump ahead, a slot can still hold an older, live bucket
+ * when a newer one needs it.  The newer bucket then takes over the older bucket's keys, and the slot remembers
+ * the oldest bucket that it holds keys for, so that it's still swept when that bucket falls out of the window.
+ * That sweep only expires the connections that haven't been seen since before the window.
+ */
+@Slf4j
+class ExpiringKeyWheel implements ExpiringKeyBuckets {
+    @AllArgsConstructor
+    private static class Slot {
+        final long bucketStart;
+        // earlier than bucketStart when keys also holds the keys of the buckets that this slot took over
+        final long oldestBucketStart;
+        final ConcurrentHashMap<ScopedConnectionIdKey, Boolean> keys;
+    }
+
+    private final long granularityMs;
+    private final AtomicReferenceArray<Slot> slots;
+    // every bucket before this one has been swept
+    private final AtomicLong earliestBucketStart;
+    private final AtomicLong latestBucketStart;
+
+    ExpiringKeyWheel(Duration granularity, Duration minimumGuaranteedLifetime, EpochMillis startingTimestamp) {
+        this.granularityMs = granularity.toMillis();
+        if (granularityMs <= 0) {
+            throw new IllegalArgumentException("granularity must be at least 1ms, but was " + granularity);
+        }
+        var lifetimeInBuckets = (minimumGuaranteedLifetime.toMillis() + granularityMs - 1) / granularityMs;
+        this.slots = new AtomicReferenceArray<>(Math.toIntExact(lifetimeInBuckets + 2));
+        var startingBucket = quantize(startingTimestamp.millis);
+        this.earliestBucketStart = new AtomicLong(startingBucket);
+        this.latestBucketStart = new AtomicLong(startingBucket);
+    }
+
+    private long quantize(long millis) {
+        return (millis / granularityMs) * granularityMs;
+    }
+
+    private int slotIndex(long bucketStart) {
+        return (int) Math.floorMod(bucketStart / granularityMs, (long) slots.length());
+    }
+
+    @Override
+    public Instant getLatestPossibleKeyValue() {
+        return Instant.ofEpochMilli(latestBucketStart.get() + granularityMs);
+    }
+
+    @Override
+    public EpochMillis getEarliestBucketStart() {
+        return new EpochMillis(earliestBucketStart.get());
+    }
+
+    @Override
+    public EpochMillis getLatestBucketStart() {
+        return new EpochMillis(latestBucketStart.get());
+    }
+
+    @Override
+    public ConcurrentHashMap<ScopedConnectionIdKey, Boolean> getHashSetForTimestamp(EpochMillis timestamp) {
+        var bucketStart = quantize(timestamp.millis);
+        if (bucketStart < earliestBucketStart.get()) {
+            return null;
+        }
+        var index = slotIndex(bucketStart);
+        while (true) {
+            var slot = slots.get(index);
+            if (slot != null && slot.bucketStart >= bucketStart) {
+                // a later bucket only holds this slot once it has taken over this bucket's keys
+                return slot.keys;
+            }
+            var newSlot = slot == null
+                ? new Slot(bucketStart, bucketStart, new ConcurrentHashMap<>())
+                : new Slot(bucketStart, slot.oldestBucketStart, slot.keys);
+            if (slots.compareAndSet(index, slot, newSlot)) {
+                latestBucketStart.accumulateAndGet(bucketStart, Math::max);
+                return newSlot.keys;
+            }
+        }
+    }
+
+    @Override
+    public void expireOldSlots(
+        AccumulatorMap connectionAccumulatorMap,
+        BehavioralPolicy behavioralPolicy,
+        Duration minimumGuaranteedLifetime,
+        EpochMillis largestCurrentObservedTimestamp
+    ) {
+        var quantizedStartOfWindow = new EpochMillis(
+            quantize(largestCurrentObservedTimestamp.millis - minimumGuaranteedLifetime.toMillis()));
+        var firstBucketToSweep = earliestBucketStart.get();
+        if (quantizedStartOfWindow.millis <= firstBucketToSweep) {
+            return;
+        }
+        // however far the window moved, each slot only needs to be swept once
+        var bucketsToSweep = Math.min(
+            (quantizedStartOfWindow.millis - firstBucketToSweep) / granularityMs,
+            slots.length()
+        );
+        log.atTrace().setMessage("Expiring entries before {}").addArgument(quantizedStartOfWindow).log();
+        for (long i = 0; i < bucketsToSweep; i++) {
+            var index = slotIndex(firstBucketToSweep + i * granularityMs);
+            var slot = slots.get(index);
+            if (slot == null || slot.oldestBucketStart >= quantizedStartOfWindow.millis) {
+                continue;
+            }
+            var survivors = ExpiringKeyBuckets.expireItemsBefore(connectionAccumulatorMap, behavioralPolicy,
+                slot.keys, quantizedStartOfWindow);
+            if (slot.bucketStart >= quantizedStartOfWindow.millis) {
+                // the survivors belong to the live bucket that took the slot over
+                slots.compareAndSet(index, slot, new Slot(slot.bucketStart, slot.bucketStart, slot.keys));
+                continue;
+            }
+            if (survivors > 0) {
+                log.atError().setMessage("Bucket {} has {} connections that survived sweep — " +
+                        "this should not happen with deferred expiry. quantizedStartOfWindow={}")
+                    .addArgument(slot.bucketStart).addArgument(survivors).addArgument(quantizedStartOfWindow).log();
+            }
+            log.atDebug().setMessage("Swept and removing bucket {}, quantizedStartOfWindow={}")
+                .addArgument(slot.bucketStart).addArgument(quantizedStartOfWindow).log();
+            // if a newer bucket has just taken the slot over, it keeps it (and the keys)
+            slots.compareAndSet(index, slot, null);
+        }
+        earliestBucketStart.accumulateAndGet(quantizedStartOfWindow.millis, Math::max);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
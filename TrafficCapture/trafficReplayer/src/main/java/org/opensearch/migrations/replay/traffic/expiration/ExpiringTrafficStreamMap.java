@@ -23,7 +23,10 @@ import lombok.extern.slf4j.Slf4j;
  * First, we're fine buffering a variable number of items and secondly, this should be threadsafe and able to
  * be used in highly concurrent contexts.
  *
- * NOTE: This uses a single global ExpiringKeyQueue rather than per-nodeId queues. The original per-nodeId
+ * Connections are bucketed by the time of their latest observation in an {@link ExpiringKeyWheel}, so that
+ * moving a connection to a new bucket on every observation doesn't cost more as the number of buckets grows.
+ *
+ * NOTE: This uses a single global set of buckets rather than per-nodeId queues. The original per-nodeId
  * design was intended to handle clock skew between capture proxies, but it created a critical blind spot:
  * when a capture node went quiet, its stale connections would never be expired because the sweep only ran
  * on the active node's queue. Since all timestamps share a single monotonic timeline after adjustment,
@@ -42,7 +45,7 @@ public class ExpiringTrafficStreamMap {
     public static final int ACCUMULATION_TIMESTAMP_NOT_SET_YET_SENTINEL = 0;
 
     protected final AccumulatorMap connectionAccumulationMap;
-    protected final ExpiringKeyQueue expiringBucketQueue;
+    protected final ExpiringKeyBuckets expiringBucketQueue;
     protected final Duration minimumGuaranteedLifetime;
     protected final Duration granularity;
     protected final BehavioralPolicy behavioralPolicy;
@@ -52,16 +55,30 @@ public class ExpiringTrafficStreamMap {
         Duration minimumGuaranteedLifetime,
         Duration granularity,
         BehavioralPolicy behavioralPolicy
+    ) {
+        this(
+            minimumGuaranteedLifetime,
+            granularity,
+            behavioralPolicy,
+            new ExpiringKeyWheel(
+                granularity,
+                minimumGuaranteedLifetime,
+                new EpochMillis(ACCUMULATION_TIMESTAMP_NOT_SET_YET_SENTINEL))
+        );
+    }
+
+    ExpiringTrafficStreamMap(
+        Duration minimumGuaranteedLifetime,
+        Duration granularity,
+        BehavioralPolicy behavioralPolicy,
+        ExpiringKeyBuckets expiringBucketQueue
     ) {
         connectionAccumulationMap = new AccumulatorMap();
         this.granularity = granularity;
         this.minimumGuaranteedLifetime = minimumGuaranteedLifetime;
         this.behavioralPolicy = behavioralPolicy;
         this.newConnectionCounter = new AtomicInteger(0);
-        this.expiringBucketQueue = new ExpiringKeyQueue(
-            granularity,
-            "global",
-            new EpochMillis(ACCUMULATION_TIMESTAMP_NOT_SET_YET_SENTINEL));
+        this.expiringBucketQueue = expiringBucketQueue;
     }
 
     public int numberOfConnectionsCreated() {
@@ -80,7 +97,7 @@ public class ExpiringTrafficStreamMap {
         var latestPossibleKeyValueAtIncoming = expiringBucketQueue.getLatestPossibleKeyValue();
         // for expiration tracking purposes, push incoming packets' timestamps to be monotonic?
         var timestampMillis =
-            new EpochMillis(Math.max(observedTimestampMillis.millis, expiringBucketQueue.lastKey().millis));
+            new EpochMillis(Math.max(observedTimestampMillis.millis, expiringBucketQueue.getLatestBucketStart().millis));
 
         if (accumulation.hasBeenExpired()) {
             behavioralPolicy.onNewDataArrivingAfterItsAccumulationHadBeenRemoved(trafficStreamKey);
@@ -108,7 +125,7 @@ public class ExpiringTrafficStreamMap {
         var targetBucketHashSet = getHashSet(expiringBucketQueue, timestampMillis);
 
         if (targetBucketHashSet == null) {
-            var startOfWindow = expiringBucketQueue.firstKey().toInstant();
+            var startOfWindow = expiringBucketQueue.getEarliestBucketStart().toInstant();
             assert !timestampMillis.test(startOfWindow, (ts, windowStart) -> ts < windowStart)
                 : "Only expected the target bucket to be missing when the incoming timestamp was before the "
                     + "expiring queue's time window";
@@ -146,13 +163,13 @@ public class ExpiringTrafficStreamMap {
     }
 
     private ConcurrentHashMap<ScopedConnectionIdKey, Boolean> getHashSet(
-        ExpiringKeyQueue expiringQueue,
+        ExpiringKeyBuckets expiringQueue,
         EpochMillis timestampMillis
     ) {
         return expiringQueue.getHashSetForTimestamp(timestampMillis);
     }
 
-    private void runDeferredExpiry(ExpiringKeyQueue expiringQueue, EpochMillis timestampMillis) {
+    private void runDeferredExpiry(ExpiringKeyBuckets expiringQueue, EpochMillis timestampMillis) {
         expiringQueue.expireOldSlots(
             connectionAccumulationMap,
             behavioralPolicy,
@@ -19,9 +19,11 @@ import org.opensearch.migrations.replay.tracing.IReplayContexts;
 import org.opensearch.migrations.replay.tracing.ITrafficSourceContexts;
 import org.opensearch.migrations.replay.tracing.ReplayContexts;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
 import lombok.Lombok;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -29,9 +31,19 @@ public class InputStreamOfTraffic implements ISimpleTrafficCaptureSource, AutoCl
     private final BufferedReader bufferedReader;
     private final AtomicInteger trafficStreamsRead = new AtomicInteger();
     private final ChannelContextManager channelContextManager;
+    private final TrafficStreamCompression compression;
 
     public InputStreamOfTraffic(RootReplayerContext context, InputStream inputStream) {
+        this(context, inputStream, TrafficStreamCompression.DISABLED);
+    }
+
+    public InputStreamOfTraffic(
+        RootReplayerContext context,
+        InputStream inputStream,
+        @NonNull TrafficStreamCompression compression
+    ) {
         this.channelContextManager = new ChannelContextManager(context);
+        this.compression = compression;
         var isr = new InputStreamReader(inputStream);
         try {
             this.bufferedReader = new BufferedReader(isr);
@@ -73,7 +85,7 @@ public class InputStreamOfTraffic implements ISimpleTrafficCaptureSource, AutoCl
                 if (line == null) {
                     throw new EOFException();
                 }
-                ts = TrafficStream.parseFrom(Base64.getDecoder().decode(line));
+                ts = compression.parse(Base64.getDecoder().decode(line));
             } catch (Exception e) {
                 throw Lombok.sneakyThrow(e);
             }
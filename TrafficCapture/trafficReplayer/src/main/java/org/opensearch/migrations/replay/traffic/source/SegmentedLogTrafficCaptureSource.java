@@ -0,0 +1,99 @@
+package org.opensearch.migrations.replay.traffic.source;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.opensearch.migrations.replay.datatypes.ITrafficStreamKey;
+import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamAndKey;
+import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamKeyAndContext;
+import org.opensearch.migrations.replay.tracing.ChannelContextManager;
+import org.opensearch.migrations.replay.tracing.ITrafficSourceContexts;
+import org.opensearch.migrations.replay.tracing.RootReplayerContext;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
+import org.opensearch.migrations.trafficcapture.segmentlog.SegmentedLogReader;
+
+import lombok.Lombok;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads TrafficStreams from a local segmented log written by the capture proxy's segmented-log offloader.
+ * Like {@link InputStreamOfTraffic}, this source isn't transactional and reports end of input (via an
+ * {@link EOFException}) once it has read every record that has been written so far.
+ */
+@Slf4j
+public class SegmentedLogTrafficCaptureSource implements ISimpleTrafficCaptureSource {
+    private static final int MAX_STREAMS_PER_CHUNK = 256;
+
+    private final SegmentedLogReader logReader;
+    private final ChannelContextManager channelContextManager;
+    private final TrafficStreamCompression compression;
+
+    public SegmentedLogTrafficCaptureSource(RootReplayerContext context, Path logDirectory, long startRecordNumber)
+        throws IOException {
+        this(context, logDirectory, startRecordNumber, TrafficStreamCompression.DISABLED);
+    }
+
+    public SegmentedLogTrafficCaptureSource(
+        RootReplayerContext context,
+        Path logDirectory,
+        long startRecordNumber,
+        @NonNull TrafficStreamCompression compression
+    ) throws IOException {
+        this.channelContextManager = new ChannelContextManager(context);
+        this.compression = compression;
+        this.logReader = new SegmentedLogReader(logDirectory);
+        if (startRecordNumber > 0) {
+            logReader.seek(startRecordNumber);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<ITrafficStreamWithKey>> readNextTrafficStreamChunk(
+        Supplier<ITrafficSourceContexts.IReadChunkContext> contextSupplier
+    ) {
+        return CompletableFuture.<List<ITrafficStreamWithKey>>supplyAsync(() -> {
+            var chunk = new ArrayList<ITrafficStreamWithKey>();
+            try {
+                byte[] record;
+                while (chunk.size() < MAX_STREAMS_PER_CHUNK && (record = logReader.next()) != null) {
+                    var ts = compression.parse(record);
+                    chunk.add(new PojoTrafficStreamAndKey(ts, PojoTrafficStreamKeyAndContext.build(ts, tsk -> {
+                        var channelCtx = channelContextManager.retainOrCreateContext(tsk);
+                        return channelContextManager.getGlobalContext()
+                            .createTrafficStreamContextForStreamSource(channelCtx, tsk);
+                    })));
+                }
+                if (chunk.isEmpty()) {
+                    throw new EOFException();
+                }
+            } catch (Exception e) {
+                throw Lombok.sneakyThrow(e);
+            }
+            log.atTrace().setMessage("Read {} traffic streams, next record is #{}")
+                .addArgument(chunk::size).addArgument(logReader::getNextRecordNumber).log();
+            return chunk;
+        }).exceptionally(e -> {
+            var ecf = new CompletableFuture<List<ITrafficStreamWithKey>>();
+            ecf.completeExceptionally(e.getCause());
+            return ecf.join();
+        });
+    }
+
+    @Override
+    public CommitResult commitTrafficStream(ITrafficStreamKey trafficStreamKey) {
+        // do nothing - this datasource isn't transactional
+        channelContextManager.releaseContextFor(trafficStreamKey.getTrafficStreamsContext().getLogicalEnclosingScope());
+        return CommitResult.IMMEDIATE;
+    }
+
+    @Override
+    public void close() {
+        logReader.close();
+    }
+}
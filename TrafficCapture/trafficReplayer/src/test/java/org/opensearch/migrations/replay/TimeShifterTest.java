@@ -1,7 +1,10 @@
 package org.opensearch.migrations.replay;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Optional;
 
 import org.opensearch.migrations.testutils.WrapWithNettyLeakDetection;
@@ -37,4 +40,72 @@ class TimeShifterTest {
             shifter.transformRealTimeToSourceTime(shifter.transformSourceTimeToRealTime(sourceTime2)).get()
         );
     }
+
+    private static class SettableClock extends Clock {
+        Instant now;
+
+        SettableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    public void testChangingTheRateContinuesFromTheCurrentReplayPosition() {
+        var clock = new SettableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        var shifter = new TimeShifter(1, Duration.ZERO, 100, clock);
+        var sourceStart = Instant.parse("2024-01-01T00:00:00Z");
+        shifter.setFirstTimestamp(sourceStart);
+
+        clock.now = clock.now.plusSeconds(10);
+        shifter.setRateMultiplier(RATE_MULTIPLIER);
+
+        var sourceNow = sourceStart.plusSeconds(10);
+        Assertions.assertEquals(clock.now, shifter.transformSourceTimeToRealTime(sourceNow));
+        Assertions.assertEquals(clock.now.plusSeconds(1),
+            shifter.transformSourceTimeToRealTime(sourceNow.plusSeconds(RATE_MULTIPLIER)));
+        Assertions.assertEquals(sourceNow.plusSeconds(RATE_MULTIPLIER),
+            shifter.transformRealTimeToSourceTime(clock.now.plusSeconds(1)).get());
+        Assertions.assertEquals(RATE_MULTIPLIER, shifter.maxRateMultiplier());
+    }
+
+    @Test
+    public void testCatchUpRunsFastUntilTheLagIsGoneAndThenRunsInRealTime() {
+        var clock = new SettableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        var shifter = new TimeShifter(1, Duration.ZERO, 100, clock);
+        shifter.startCatchUp();
+        Assertions.assertTrue(shifter.isCatchingUp());
+
+        // 99 minutes behind, gaining 99 seconds of source time every second
+        var sourceStart = clock.now.minus(Duration.ofMinutes(99));
+        shifter.setFirstTimestamp(sourceStart);
+        Assertions.assertEquals(clock.now.plusSeconds(1),
+            shifter.transformSourceTimeToRealTime(sourceStart.plusSeconds(100)));
+
+        var caughtUpAt = clock.now.plusSeconds(60);
+        Assertions.assertEquals(caughtUpAt, shifter.transformSourceTimeToRealTime(caughtUpAt));
+        Assertions.assertEquals(caughtUpAt.plusSeconds(5), shifter.transformSourceTimeToRealTime(
+            caughtUpAt.plusSeconds(5)));
+        // just before meeting real time, it's still compressed 100x
+        Assertions.assertEquals(caughtUpAt.minusMillis(10), shifter.transformSourceTimeToRealTime(
+            caughtUpAt.minusSeconds(1)));
+
+        clock.now = caughtUpAt;
+        Assertions.assertFalse(shifter.isCatchingUp());
+        Assertions.assertEquals(clock.now, shifter.transformRealTimeToSourceTime(clock.now).get());
+    }
 }
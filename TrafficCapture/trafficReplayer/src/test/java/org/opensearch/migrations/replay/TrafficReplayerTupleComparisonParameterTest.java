@@ -0,0 +1,27 @@
+package org.opensearch.migrations.replay;
+
+import com.beust.jcommander.ParameterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TrafficReplayerTupleComparisonParameterTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0.0, 0.01, 1.0 })
+    public void testSampleRatesWithinRangeAreAccepted(double sampleRate) {
+        var parameters = new TrafficReplayer.Parameters();
+        parameters.tupleMismatchSampleRate = sampleRate;
+
+        Assertions.assertDoesNotThrow(parameters::validateTupleComparisonFlags);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { -0.1, 1.5, Double.NaN })
+    public void testSampleRatesOutsideRangeAreRejected(double sampleRate) {
+        var parameters = new TrafficReplayer.Parameters();
+        parameters.tupleMismatchSampleRate = sampleRate;
+
+        Assertions.assertThrows(ParameterException.class, parameters::validateTupleComparisonFlags);
+    }
+}
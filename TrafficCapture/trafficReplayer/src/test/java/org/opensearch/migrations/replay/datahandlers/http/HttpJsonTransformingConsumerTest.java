@@ -27,6 +27,10 @@ import org.opensearch.migrations.utils.TrackedFuture;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.util.ReferenceCountUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
@@ -362,6 +366,60 @@ class HttpJsonTransformingConsumerTest extends InstrumentationTest {
         Assertions.assertNull(returnedResponse.transformationStatus.getException());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkBodyIsTransformedOneActionAtATimeWhenStreaming() throws Exception {
+        final var dummyAggregatedResponse = new AggregatedRawResponse(null, 19, Duration.ZERO, List.of(), null);
+        var testPacketCapture = new TestCapturePacketToHttpHandler(Duration.ofMillis(100), dummyAggregatedResponse);
+        var listSizesSeen = new ArrayList<Integer>();
+        var docAddingTransformer = new JsonCompositeTransformer(incomingJson -> {
+            var payload = (Map) ((Map) incomingJson).get("payload");
+            var list = (List<Map<String, Object>>)
+                payload.get(JsonKeysForHttpMessage.INLINED_NDJSON_BODIES_DOCUMENT_KEY);
+            listSizesSeen.add(list.size());
+            if (list.size() == 2) {
+                list.get(1).put("field2", "added");
+            }
+            ((Map) ((Map) incomingJson).get("headers")).put("listSize", "" + list.size());
+            return incomingJson;
+        });
+        var transformingHandler = new HttpJsonTransformingConsumer<AggregatedRawResponse>(
+            docAddingTransformer,
+            null,
+            testPacketCapture,
+            rootContext.getTestConnectionRequestContext(0),
+            true
+        );
+
+        transformingHandler.consumeBytes(NDJSON_TEST_REQUEST.replace("POST /test", "POST /test/_bulk")
+            .getBytes(StandardCharsets.UTF_8));
+        var returnedResponse = transformingHandler.finalizeRequest().get();
+
+        Assertions.assertEquals(List.of(2, 1), listSizesSeen);
+        var captured = testPacketCapture.getCapturedAsString();
+        Assertions.assertTrue(captured.contains("Transfer-Encoding: chunked\r\n"), captured);
+        Assertions.assertFalse(captured.contains("Content-Length"), captured);
+
+        var decoderChannel = new EmbeddedChannel(new HttpRequestDecoder(), new HttpObjectAggregator(1024 * 1024));
+        decoderChannel.writeInbound(Unpooled.wrappedBuffer(testPacketCapture.getBytesCaptured()));
+        var fullRequest = (FullHttpRequest) decoderChannel.readInbound();
+        try {
+            Assertions.assertEquals("/test/_bulk", fullRequest.uri());
+            // header changes come from the transformation of the first action
+            Assertions.assertEquals("2", fullRequest.headers().get("listSize"));
+            Assertions.assertEquals(
+                "{\"index\":{\"_index\":\"test\",\"_id\":\"2\"}}\n"
+                    + "{\"field1\":\"value1\",\"field2\":\"added\"}\n"
+                    + "{\"delete\":{\"_index\":\"test\",\"_id\":\"1\"}}\n",
+                fullRequest.content().toString(StandardCharsets.UTF_8)
+            );
+        } finally {
+            fullRequest.release();
+            decoderChannel.finishAndReleaseAll();
+        }
+        Assertions.assertEquals(HttpRequestTransformationStatus.completed(), returnedResponse.transformationStatus);
+    }
+
     @Test
     public void testMalformedPayload_andThrowingTransformation_IsPassedThrough() throws Exception {
         final String HOST_NAME = "foo.example";
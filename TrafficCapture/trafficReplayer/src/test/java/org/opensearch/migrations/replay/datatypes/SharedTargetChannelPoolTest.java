@@ -0,0 +1,84 @@
+package org.opensearch.migrations.replay.datatypes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.migrations.replay.tracing.IReplayContexts;
+import org.opensearch.migrations.tracing.InstrumentationTest;
+import org.opensearch.migrations.utils.TextTrackedFuture;
+import org.opensearch.migrations.utils.TrackedFuture;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SharedTargetChannelPoolTest extends InstrumentationTest {
+
+    private IReplayContexts.ITargetRequestContext makeRequestContext(String connectionId) {
+        return rootContext.getTestConnectionRequestContext(connectionId, 0).createTargetRequestContext();
+    }
+
+    @Test
+    public void testChannelsAreReusedAcrossSessionsAndCappedPerEventLoop() throws Exception {
+        var eventLoop = new DefaultEventLoop();
+        var createdChannels = new ArrayList<EmbeddedChannel>();
+        var socketOwners = new ArrayList<IReplayContexts.IChannelKeyContext>();
+        var pool = new SharedTargetChannelPool(eventLoop, (el, ctx, socketOwnerCtx) -> {
+            var channel = new EmbeddedChannel();
+            createdChannels.add(channel);
+            socketOwners.add(socketOwnerCtx);
+            return TextTrackedFuture.completedFuture(channel.newSucceededFuture(), () -> "test channel");
+        }, 1);
+        try {
+            var first = acquire(eventLoop, pool, "conn-A");
+            var firstChannel = first.get(Duration.ofSeconds(5));
+            Assertions.assertEquals(1, createdChannels.size());
+
+            // the only channel is leased, so the next session has to wait for it
+            var second = acquire(eventLoop, pool, "conn-B");
+            Assertions.assertFalse(second.future.isDone());
+
+            pool.release(firstChannel);
+            Assertions.assertSame(firstChannel, second.get(Duration.ofSeconds(5)));
+            pool.release(firstChannel);
+            Assertions.assertSame(firstChannel, acquire(eventLoop, pool, "conn-C").get(Duration.ofSeconds(5)));
+            Assertions.assertEquals(1, createdChannels.size());
+
+            // a channel that closes while it's leased frees its slot for a new connection
+            var waitingForNewChannel = acquire(eventLoop, pool, "conn-D");
+            firstChannel.channel().close().sync();
+            pool.release(firstChannel);
+            var secondChannel = waitingForNewChannel.get(Duration.ofSeconds(5));
+            Assertions.assertNotSame(firstChannel, secondChannel);
+            Assertions.assertEquals(2, createdChannels.size());
+            // both connections belong to the pool rather than to conn-A and conn-D, which happened to open them
+            Assertions.assertSame(socketOwners.get(0), socketOwners.get(1));
+            Assertions.assertEquals(SharedTargetChannelPool.SHARED_CONNECTIONS_KEY, socketOwners.get(0).getChannelKey());
+            Assertions.assertEquals(2, getMetricSum("connectionsReused"));
+            Assertions.assertEquals(2, getMetricSum("sharedConnectionWaits"));
+        } finally {
+            createdChannels.forEach(EmbeddedChannel::finishAndReleaseAll);
+            eventLoop.shutdownGracefully().sync();
+            pool.close();
+        }
+    }
+
+    private TrackedFuture<String, ChannelFuture> acquire(DefaultEventLoop eventLoop,
+                                                         SharedTargetChannelPool pool,
+                                                         String connectionId) throws Exception {
+        var ctx = makeRequestContext(connectionId);
+        return eventLoop.submit(() -> pool.acquire(ctx)).get();
+    }
+
+    private long getMetricSum(String metricName) {
+        List<Long> values = rootContext.inMemoryInstrumentationBundle.getFinishedMetrics().stream()
+            .filter(md -> md.getName().startsWith(metricName))
+            .flatMap(md -> md.getLongSumData().getPoints().stream())
+            .map(point -> point.getValue())
+            .toList();
+        return values.isEmpty() ? 0 : values.get(values.size() - 1);
+    }
+}
@@ -4,6 +4,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import org.opensearch.migrations.replay.tracing.ChannelContextManager;
 import org.opensearch.migrations.replay.tracing.ReplayContexts;
 import org.opensearch.migrations.replay.traffic.source.ITrafficStreamWithKey;
 import org.opensearch.migrations.tracing.InstrumentationTest;
+import org.opensearch.migrations.trafficcapture.TrafficStreamCompression;
 import org.opensearch.migrations.trafficcapture.protos.ReadObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
@@ -176,6 +178,51 @@ class KafkaTrafficCaptureSourceTest extends InstrumentationTest {
         }
     }
 
+    @Test
+    public void testTrafficDecodedOffThePollThreadIsReturnedInOrder() throws Exception {
+        int numTrafficStreams = 50;
+        MockConsumer<String, byte[]> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        try (
+            var protobufConsumer = new KafkaTrafficCaptureSource(
+                rootContext,
+                mockConsumer,
+                TEST_TOPIC_NAME,
+                Duration.ofHours(1),
+                Clock.systemUTC(),
+                new KafkaBehavioralPolicy(),
+                TrafficStreamCompression.DISABLED,
+                4
+            )
+        ) {
+            initializeMockConsumerTopic(mockConsumer);
+
+            List<Integer> substreamCounts = new ArrayList<>();
+            mockConsumer.schedulePollTask(() -> {
+                mockConsumer.rebalance(Collections.singletonList(new TopicPartition(TEST_TOPIC_NAME, 0)));
+                // an invalid record is dropped without holding up the ones that follow it
+                mockConsumer.addRecord(new ConsumerRecord<>(TEST_TOPIC_NAME, 0, 0, Instant.now().toString(),
+                    "Invalid Data".getBytes(StandardCharsets.UTF_8)));
+                addGeneratedTrafficStreamsToTopic(numTrafficStreams, 1, mockConsumer, substreamCounts);
+            });
+
+            var streams = new ArrayList<ITrafficStreamWithKey>();
+            Assertions.assertTimeoutPreemptively(TEST_TIMEOUT, () -> {
+                while (streams.size() < numTrafficStreams) {
+                    streams.addAll(protobufConsumer.readNextTrafficStreamChunk(rootContext::createReadChunkContext)
+                        .get());
+                }
+            });
+            for (int i = 0; i < numTrafficStreams; i++) {
+                var stream = streams.get(i).getStream();
+                Assertions.assertEquals(substreamCounts.get(i), stream.getSubStreamCount());
+                if (stream.getSubStreamCount() > 0) {
+                    Assertions.assertEquals(("" + (char) ('A' + (char) i)).repeat(10),
+                        stream.getSubStream(0).getRead().getData().toStringUtf8());
+                }
+            }
+        }
+    }
+
     @Test
     public void testBuildPropertiesBaseCase() throws IOException {
         Properties props = KafkaTrafficCaptureSource.buildKafkaProperties("brokers", "groupId", "none", null, null, null);
@@ -0,0 +1,33 @@
+package org.opensearch.migrations.replay.kafka;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OffsetLifecycleTrackerTest {
+
+    @Test
+    public void testOffsetWithManyItemsIsHeldUntilEveryItemIsRemoved() {
+        var tracker = new OffsetLifecycleTracker(0);
+        tracker.add(10, "batch", 3);
+        tracker.add(11, "single");
+
+        Assertions.assertEquals(Optional.empty(), tracker.removeAndReturnNewHead(10));
+        Assertions.assertEquals(Optional.empty(), tracker.removeAndReturnNewHead(11));
+        Assertions.assertEquals(Optional.empty(), tracker.removeAndReturnNewHead(10));
+        Assertions.assertEquals(1, tracker.size());
+        Assertions.assertEquals(Optional.of(12L), tracker.removeAndReturnNewHead(10));
+        Assertions.assertTrue(tracker.isEmpty());
+    }
+
+    @Test
+    public void testRemovingAnOffsetTooManyTimesThrows() {
+        var tracker = new OffsetLifecycleTracker(0);
+        tracker.add(5, "batch", 2);
+        tracker.add(6, "single");
+        tracker.removeAndReturnNewHead(5);
+        Assertions.assertEquals(Optional.of(6L), tracker.removeAndReturnNewHead(5));
+        Assertions.assertThrows(IllegalStateException.class, () -> tracker.removeAndReturnNewHead(5));
+    }
+}
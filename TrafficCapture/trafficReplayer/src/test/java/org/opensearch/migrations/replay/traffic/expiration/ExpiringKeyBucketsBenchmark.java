@@ -0,0 +1,84 @@
+package org.opensearch.migrations.replay.traffic.expiration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.replay.Accumulation;
+import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamKeyAndContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of tracking a connection's observation with the skip-list queue and with the timing wheel.
+ * Every connection is observed round-robin and comes back every half lifetime, so none of them are expired, but
+ * the window keeps moving, so buckets are created and swept at the rate that they would be in a steady replay.
+ *
+ * <p>Run with {@code ./gradlew :TrafficCapture:trafficReplayer:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class ExpiringKeyBucketsBenchmark {
+    private static final Duration LIFETIME = Duration.ofSeconds(30);
+    private static final Duration GRANULARITY = Duration.ofSeconds(1);
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    public enum BucketsType { QUEUE, WHEEL }
+
+    @Param({ "10000", "100000", "1000000" })
+    public int connections;
+
+    @Param({ "QUEUE", "WHEEL" })
+    public BucketsType bucketsType;
+
+    private ExpiringTrafficStreamMap expiringMap;
+    private PojoTrafficStreamKeyAndContext[] keys;
+    private Accumulation[] accumulations;
+    private long microsBetweenObservations;
+    private long observationCount;
+
+    @Setup
+    public void setup() {
+        var start = new EpochMillis(ExpiringTrafficStreamMap.ACCUMULATION_TIMESTAMP_NOT_SET_YET_SENTINEL);
+        ExpiringKeyBuckets buckets = bucketsType == BucketsType.QUEUE
+            ? new ExpiringKeyQueue(GRANULARITY, "", start)
+            : new ExpiringKeyWheel(GRANULARITY, LIFETIME, start);
+        expiringMap = new ExpiringTrafficStreamMap(LIFETIME, GRANULARITY, new BehavioralPolicy(), buckets);
+        keys = new PojoTrafficStreamKeyAndContext[connections];
+        accumulations = new Accumulation[connections];
+        for (int i = 0; i < connections; i++) {
+            var tsk = PojoTrafficStreamKeyAndContext.build("node", "connection" + i, 0, k -> null);
+            keys[i] = tsk;
+            accumulations[i] = expiringMap.getOrCreateWithoutExpiration(tsk, k -> new Accumulation(tsk, 0));
+        }
+        microsBetweenObservations = Math.max(1, LIFETIME.toNanos() / 2000 / connections);
+        // put every connection into a bucket before measuring
+        for (int i = 0; i < connections; i++) {
+            observeNext();
+        }
+    }
+
+    private void observeNext() {
+        var i = (int) (observationCount % connections);
+        var timestamp = START_MILLIS + (observationCount * microsBetweenObservations) / 1000;
+        observationCount++;
+        expiringMap.expireOldEntries(keys[i], accumulations[i], Instant.ofEpochMilli(timestamp));
+    }
+
+    @Benchmark
+    public void observeConnection() {
+        observeNext();
+    }
+}
@@ -0,0 +1,75 @@
+package org.opensearch.migrations.replay.traffic.expiration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.opensearch.migrations.replay.Accumulation;
+import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamKeyAndContext;
+import org.opensearch.migrations.tracing.InstrumentationTest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ExpiringKeyWheelTest extends InstrumentationTest {
+    private static final Duration LIFETIME = Duration.ofSeconds(1);
+    private static final Duration GRANULARITY = Duration.ofMillis(100);
+
+    /** @return the connections that were expired after each observation */
+    private List<TreeSet<String>> replay(ExpiringKeyBuckets buckets, long[] timestamps, int[] connections) {
+        var expiredConnections = new ArrayList<String>();
+        var expiringMap = new ExpiringTrafficStreamMap(LIFETIME, GRANULARITY, new BehavioralPolicy() {
+            @Override
+            public void onExpireAccumulation(String partitionId, Accumulation accumulation) {
+                expiredConnections.add(accumulation.trafficChannelKey.getConnectionId());
+            }
+        }, buckets);
+        var expiredPerObservation = new ArrayList<TreeSet<String>>();
+        for (int i = 0; i < timestamps.length; i++) {
+            var tsk = PojoTrafficStreamKeyAndContext.build("node", "connection" + connections[i], 0,
+                rootContext::createTrafficStreamContextForTest);
+            var accumulation = expiringMap.getOrCreateWithoutExpiration(tsk, k -> new Accumulation(tsk, 0));
+            expiringMap.expireOldEntries(tsk, accumulation, Instant.ofEpochMilli(timestamps[i]));
+            expiredPerObservation.add(new TreeSet<>(expiredConnections));
+            expiredConnections.clear();
+        }
+        return expiredPerObservation;
+    }
+
+    @Test
+    public void testWheelExpiresTheSameConnectionsAsTheQueue() {
+        var random = new Random(3);
+        var numObservations = 2000;
+        var timestamps = new long[numObservations];
+        var connections = new int[numObservations];
+        var now = 1_700_000_000_000L;
+        for (int i = 0; i < numObservations; i++) {
+            // mostly moving forward, sometimes a little out of order, with an occasional quiet spell
+            now += random.nextInt(10) == 0 ? random.nextInt(1500) : random.nextInt(40);
+            timestamps[i] = now - random.nextInt(50);
+            connections[i] = random.nextInt(60);
+        }
+        var start = new EpochMillis(ExpiringTrafficStreamMap.ACCUMULATION_TIMESTAMP_NOT_SET_YET_SENTINEL);
+        var expiredByQueue = replay(new ExpiringKeyQueue(GRANULARITY, "", start), timestamps, connections);
+        var expiredByWheel = replay(new ExpiringKeyWheel(GRANULARITY, LIFETIME, start), timestamps, connections);
+
+        Assertions.assertTrue(expiredByQueue.stream().mapToInt(TreeSet::size).sum() > 0);
+        Assertions.assertEquals(expiredByQueue, expiredByWheel);
+    }
+
+    @Test
+    public void testKeysOfAnUnsweptBucketAreKeptWhenItsSlotIsReused() {
+        var wheel = new ExpiringKeyWheel(GRANULARITY, LIFETIME, new EpochMillis(0));
+        var key = new ScopedConnectionIdKey("node", "connection");
+        wheel.getHashSetForTimestamp(new EpochMillis(150)).put(key, Boolean.TRUE);
+
+        // 12 slots, so 1350ms lands in the slot that 150ms is in, before anything has been swept
+        var laterBucket = wheel.getHashSetForTimestamp(new EpochMillis(1350));
+        Assertions.assertTrue(laterBucket.containsKey(key));
+        Assertions.assertSame(laterBucket, wheel.getHashSetForTimestamp(new EpochMillis(150)));
+        Assertions.assertEquals(1400, wheel.getLatestPossibleKeyValue().toEpochMilli());
+    }
+}
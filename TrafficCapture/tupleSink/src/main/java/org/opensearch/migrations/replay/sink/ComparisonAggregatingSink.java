@@ -0,0 +1,448 @@
+package org.opensearch.migrations.replay.sink;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares each source response with its target response as tuples arrive and keeps only running aggregates,
+ * instead of writing every tuple out so that the same numbers can be computed offline.  For every endpoint
+ * (the method and the path, with the index name and ids replaced by placeholders), every index, and overall,
+ * this keeps
+ * <ul>
+ *     <li>a matrix of how often each source status code was answered with each target status code,</li>
+ *     <li>a histogram of the target's latency minus the source's latency,</li>
+ *     <li>a histogram of the target's response size minus the source's (from their Content-Length headers) and</li>
+ *     <li>how often search responses' hit counts (hits.total) differed, and by how much in total.</li>
+ * </ul>
+ *
+ * <p>A compact summary of those aggregates is emitted (by default, as a line of JSON to the
+ * {@value #SUMMARY_LOGGER} logger) once every summaryInterval, after which they start over.  Besides being
+ * checked as tuples arrive, the interval is checked by a timer of the sink's own, since its caller only hands it
+ * tuples and closes it.  That way, the summary of the last busy interval is still emitted once the traffic stops.
+ *
+ * <p>Tuples whose status codes or hit counts didn't match are passed to the mismatch sink, if there is one, with
+ * probability mismatchSampleRate, so that some examples can be examined in full.  Their futures are completed by
+ * that sink.  The futures of all the other tuples are completed right away.  The aggregates themselves aren't
+ * durable, so a summary interval that's cut short by a crash is lost.
+ *
+ * <p>Each instance is fed by one thread (one per Netty event loop).  The aggregates are guarded by the sink's
+ * lock so that the timer can emit them, which is only contended for once per interval.  The {@code sinkIndex} is
+ * included in every summary to tell the summaries of concurrent sinks apart.</p>
+ */
+@Slf4j
+public class ComparisonAggregatingSink implements TupleSink {
+    public static final String SUMMARY_LOGGER = "ComparisonSummaryLogger";
+    public static final int DEFAULT_MAX_KEYS_PER_DIMENSION = 500;
+    static final String OTHER_KEY = "(other)";
+    static final String NO_INDEX_KEY = "(none)";
+    static final String NO_STATUS = "none";
+
+    private static final String STATUS_CODE_KEY = "Status-Code";
+    private static final String RESPONSE_TIME_MS_KEY = "response_time_ms";
+    private static final String REQUEST_URI_KEY = "Request-URI";
+    private static final String METHOD_KEY = "Method";
+    private static final String PAYLOAD_KEY = "payload";
+    private static final String INLINED_JSON_BODY_DOCUMENT_KEY = "inlinedJsonBody";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    /** The aggregates for one endpoint, one index, or everything */
+    static class ComparisonStats {
+        long count;
+        long statusMatches;
+        final Map<String, Long> statusPairs = new TreeMap<>();
+        final DeltaHistogram latencyDeltaMs = new DeltaHistogram();
+        final DeltaHistogram responseSizeDeltaBytes = new DeltaHistogram();
+        long hitCountsCompared;
+        long hitCountMismatches;
+        long hitCountTotalAbsoluteDelta;
+
+        Map<String, Object> toSummaryMap() {
+            var map = new LinkedHashMap<String, Object>();
+            map.put("count", count);
+            map.put("statusMatches", statusMatches);
+            map.put("statusPairs", statusPairs);
+            map.put("latencyDeltaMs", latencyDeltaMs.toSummaryMap());
+            map.put("responseSizeDeltaBytes", responseSizeDeltaBytes.toSummaryMap());
+            if (hitCountsCompared > 0) {
+                var hits = new LinkedHashMap<String, Object>();
+                hits.put("compared", hitCountsCompared);
+                hits.put("mismatched", hitCountMismatches);
+                hits.put("totalAbsoluteDelta", hitCountTotalAbsoluteDelta);
+                map.put("hitCounts", hits);
+            }
+            return map;
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int sinkIndex;
+    private final Duration summaryInterval;
+    private final double mismatchSampleRate;
+    private final TupleSink mismatchSinkOrNull;
+    private final int maxKeysPerDimension;
+    private final Consumer<Map<String, Object>> summaryConsumer;
+    private final Clock clock;
+    private final DoubleSupplier random;
+    private final ScheduledExecutorService summaryTimer;
+
+    private Instant intervalStart;
+    private ComparisonStats overall;
+    private Map<String, ComparisonStats> byEndpoint;
+    private Map<String, ComparisonStats> byIndex;
+    private long mismatchesSampled;
+
+    /**
+     * @param mismatchSinkOrNull receives a sample of the tuples that didn't match.  It's closed along with this.
+     */
+    public ComparisonAggregatingSink(
+        int sinkIndex,
+        Duration summaryInterval,
+        double mismatchSampleRate,
+        TupleSink mismatchSinkOrNull
+    ) {
+        this(
+            sinkIndex,
+            summaryInterval,
+            mismatchSampleRate,
+            mismatchSinkOrNull,
+            DEFAULT_MAX_KEYS_PER_DIMENSION,
+            null,
+            Clock.systemUTC(),
+            () -> ThreadLocalRandom.current().nextDouble()
+        );
+    }
+
+    ComparisonAggregatingSink(
+        int sinkIndex,
+        Duration summaryInterval,
+        double mismatchSampleRate,
+        TupleSink mismatchSinkOrNull,
+        int maxKeysPerDimension,
+        Consumer<Map<String, Object>> summaryConsumerOrNull,
+        Clock clock,
+        DoubleSupplier random
+    ) {
+        if (!summaryInterval.isPositive()) {
+            throw new IllegalArgumentException("summaryInterval must be positive, but was " + summaryInterval);
+        }
+        if (!(mismatchSampleRate >= 0 && mismatchSampleRate <= 1)) {
+            throw new IllegalArgumentException(
+                "mismatchSampleRate must be between 0 and 1, but was " + mismatchSampleRate
+            );
+        }
+        this.sinkIndex = sinkIndex;
+        this.summaryInterval = summaryInterval;
+        this.mismatchSampleRate = mismatchSampleRate;
+        this.mismatchSinkOrNull = mismatchSinkOrNull;
+        this.maxKeysPerDimension = maxKeysPerDimension;
+        this.summaryConsumer = summaryConsumerOrNull != null
+            ? summaryConsumerOrNull
+            : makeLoggingSummaryConsumer(LoggerFactory.getLogger(SUMMARY_LOGGER));
+        this.clock = clock;
+        this.random = random;
+        this.summaryTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "comparison-summary-timer-" + sinkIndex);
+            thread.setDaemon(true);
+            return thread;
+        });
+        synchronized (this) {
+            startInterval(clock.instant());
+            scheduleNextIntervalCheck();
+        }
+    }
+
+    private Consumer<Map<String, Object>> makeLoggingSummaryConsumer(Logger summaryLogger) {
+        return summary -> {
+            try {
+                summaryLogger.atInfo().setMessage("{}").addArgument(mapper.writeValueAsString(summary)).log();
+            } catch (JsonProcessingException e) {
+                log.atError().setCause(e).setMessage("Could not serialize a comparison summary").log();
+            }
+        };
+    }
+
+    private void startInterval(Instant now) {
+        intervalStart = now;
+        overall = new ComparisonStats();
+        byEndpoint = new HashMap<>();
+        byIndex = new HashMap<>();
+        mismatchesSampled = 0;
+    }
+
+    @Override
+    public synchronized void accept(Map<String, Object> tupleMap, CompletableFuture<Void> future) {
+        boolean mismatched;
+        try {
+            mismatched = aggregate(tupleMap);
+        } catch (RuntimeException e) {
+            log.atWarn().setCause(e).setMessage("Could not compare tuple {}")
+                .addArgument(() -> tupleMap.get("connectionId")).log();
+            mismatched = true;
+        }
+        if (mismatched && mismatchSinkOrNull != null && random.getAsDouble() < mismatchSampleRate) {
+            mismatchesSampled++;
+            mismatchSinkOrNull.accept(tupleMap, future);
+        } else {
+            future.complete(null);
+        }
+        emitSummaryIfIntervalElapsed();
+    }
+
+    @Override
+    public void flush() {
+        synchronized (this) {
+            emitSummaryIfIntervalElapsed();
+        }
+        if (mismatchSinkOrNull != null) {
+            mismatchSinkOrNull.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            // a check that's already running will see that the timer is shut down and won't schedule another
+            summaryTimer.shutdownNow();
+            if (overall.count > 0) {
+                emitSummary(clock.instant());
+            }
+        }
+        if (mismatchSinkOrNull != null) {
+            mismatchSinkOrNull.close();
+        }
+    }
+
+    private synchronized void checkIntervalOnTimer() {
+        emitSummaryIfIntervalElapsed();
+        scheduleNextIntervalCheck();
+    }
+
+    /** Schedules the next check for when the current interval ends, which may move if a tuple ends it first */
+    private void scheduleNextIntervalCheck() {
+        if (summaryTimer.isShutdown()) {
+            return;
+        }
+        var delay = Duration.between(clock.instant(), intervalStart.plus(summaryInterval));
+        summaryTimer.schedule(this::checkIntervalOnTimer, Math.max(1, delay.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void emitSummaryIfIntervalElapsed() {
+        var now = clock.instant();
+        if (Duration.between(intervalStart, now).compareTo(summaryInterval) < 0) {
+            return;
+        }
+        if (overall.count > 0) {
+            emitSummary(now);
+        } else {
+            // nothing to report for an idle interval
+            startInterval(now);
+        }
+    }
+
+    private void emitSummary(Instant now) {
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("sinkIndex", sinkIndex);
+        summary.put("intervalStart", intervalStart.toString());
+        summary.put("intervalEnd", now.toString());
+        summary.put("mismatchesSampled", mismatchesSampled);
+        summary.put("overall", overall.toSummaryMap());
+        summary.put("byEndpoint", toSummaryMaps(byEndpoint));
+        summary.put("byIndex", toSummaryMaps(byIndex));
+        startInterval(now);
+        try {
+            summaryConsumer.accept(summary);
+        } catch (RuntimeException e) {
+            log.atError().setCause(e).setMessage("Could not emit a comparison summary").log();
+        }
+    }
+
+    private static Map<String, Object> toSummaryMaps(Map<String, ComparisonStats> statsByKey) {
+        var map = new TreeMap<String, Object>();
+        statsByKey.forEach((k, v) -> map.put(k, v.toSummaryMap()));
+        return map;
+    }
+
+    /** @return true if the status codes or the hit counts of the source and target responses didn't match */
+    private boolean aggregate(Map<String, Object> tupleMap) {
+        var request = asMap(tupleMap.get("sourceRequest"));
+        var sourceResponse = asMap(tupleMap.get("sourceResponse"));
+        var targetResponse = lastTargetResponse(tupleMap.get("targetResponses"));
+        var path = request == null ? null : asString(request.get(REQUEST_URI_KEY));
+        var method = request == null ? null : asString(request.get(METHOD_KEY));
+
+        var sourceStatus = sourceResponse == null ? null : asLong(sourceResponse.get(STATUS_CODE_KEY));
+        var targetStatus = targetResponse == null ? null : asLong(targetResponse.get(STATUS_CODE_KEY));
+        var statusMatches = sourceStatus != null && sourceStatus.equals(targetStatus);
+        var statusPair = (sourceStatus == null ? NO_STATUS : sourceStatus.toString()) + "->"
+            + (targetStatus == null ? NO_STATUS : targetStatus.toString());
+
+        var latencyDelta = delta(
+            sourceResponse == null ? null : asLong(sourceResponse.get(RESPONSE_TIME_MS_KEY)),
+            targetResponse == null ? null : asLong(targetResponse.get(RESPONSE_TIME_MS_KEY))
+        );
+        var sizeDelta = delta(contentLength(sourceResponse), contentLength(targetResponse));
+        var hitCountDelta = delta(hitCount(sourceResponse), hitCount(targetResponse));
+
+        var endpoint = getOrCreateStats(byEndpoint, normalizeEndpoint(method, path));
+        var index = getOrCreateStats(byIndex, indexOf(path));
+        for (var stats : List.of(overall, endpoint, index)) {
+            stats.count++;
+            if (statusMatches) {
+                stats.statusMatches++;
+            }
+            stats.statusPairs.merge(statusPair, 1L, Long::sum);
+            if (latencyDelta != null) {
+                stats.latencyDeltaMs.record(latencyDelta);
+            }
+            if (sizeDelta != null) {
+                stats.responseSizeDeltaBytes.record(sizeDelta);
+            }
+            if (hitCountDelta != null) {
+                stats.hitCountsCompared++;
+                if (hitCountDelta != 0) {
+                    stats.hitCountMismatches++;
+                    stats.hitCountTotalAbsoluteDelta += Math.abs(hitCountDelta);
+                }
+            }
+        }
+        return !statusMatches || (hitCountDelta != null && hitCountDelta != 0);
+    }
+
+    private ComparisonStats getOrCreateStats(Map<String, ComparisonStats> statsByKey, String key) {
+        var stats = statsByKey.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        // keep a flood of distinct paths from growing the summaries without bound
+        return statsByKey.computeIfAbsent(statsByKey.size() < maxKeysPerDimension ? key : OTHER_KEY,
+            k -> new ComparisonStats());
+    }
+
+    /**
+     * Replaces the index name (a leading path segment that doesn't start with '_') with {index} and any other
+     * segments that don't start with '_' (document ids, names of aliases, templates, etc.) with *, so that
+     * e.g. "GET /logs-2024/_doc/abc?pretty" becomes "GET /{index}/_doc/*".
+     */
+    static String normalizeEndpoint(String method, String uri) {
+        var sb = new StringBuilder(method == null ? "?" : method).append(' ');
+        var segments = pathSegments(uri);
+        if (segments.isEmpty()) {
+            return sb.append('/').toString();
+        }
+        for (int i = 0; i < segments.size(); ++i) {
+            var segment = segments.get(i);
+            sb.append('/').append(segment.startsWith("_") ? segment : (i == 0 ? "{index}" : "*"));
+        }
+        return sb.toString();
+    }
+
+    static String indexOf(String uri) {
+        var segments = pathSegments(uri);
+        return segments.isEmpty() || segments.get(0).startsWith("_") ? NO_INDEX_KEY : segments.get(0);
+    }
+
+    /** @return the non-empty segments of the path, before any query string */
+    private static List<String> pathSegments(String uri) {
+        var segments = new ArrayList<String>();
+        if (uri == null) {
+            return segments;
+        }
+        var queryStart = uri.indexOf('?');
+        var end = queryStart < 0 ? uri.length() : queryStart;
+        for (int start = 0; start < end;) {
+            var slash = uri.indexOf('/', start);
+            if (slash < 0 || slash > end) {
+                slash = end;
+            }
+            if (slash > start) {
+                segments.add(uri.substring(start, slash));
+            }
+            start = slash + 1;
+        }
+        return segments;
+    }
+
+    private static Long delta(Long sourceValue, Long targetValue) {
+        return sourceValue == null || targetValue == null ? null : targetValue - sourceValue;
+    }
+
+    private static Map<String, Object> lastTargetResponse(Object targetResponses) {
+        if (!(targetResponses instanceof List) || ((List<?>) targetResponses).isEmpty()) {
+            return null;
+        }
+        var responses = (List<?>) targetResponses;
+        return asMap(responses.get(responses.size() - 1));
+    }
+
+    private static Long contentLength(Map<String, Object> response) {
+        if (response == null) {
+            return null;
+        }
+        for (var entry : response.entrySet()) {
+            if (CONTENT_LENGTH_HEADER.equalsIgnoreCase(entry.getKey())) {
+                var value = entry.getValue();
+                if (value instanceof List && !((List<?>) value).isEmpty()) {
+                    value = ((List<?>) value).get(0);
+                }
+                return asLong(value);
+            }
+        }
+        return null;
+    }
+
+    /** @return hits.total of a search response, whether it's a number (before ES 7) or an object with a value */
+    private static Long hitCount(Map<String, Object> response) {
+        var payload = response == null ? null : asMap(response.get(PAYLOAD_KEY));
+        var body = payload == null ? null : asMap(payload.get(INLINED_JSON_BODY_DOCUMENT_KEY));
+        var hits = body == null ? null : asMap(body.get("hits"));
+        if (hits == null) {
+            return null;
+        }
+        var total = hits.get("total");
+        var totalMap = asMap(total);
+        return asLong(totalMap != null ? totalMap.get("value") : total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object o) {
+        return o instanceof Map ? (Map<String, Object>) o : null;
+    }
+
+    private static String asString(Object o) {
+        return o == null ? null : o.toString();
+    }
+
+    private static Long asLong(Object o) {
+        if (o instanceof Number) {
+            return ((Number) o).longValue();
+        }
+        if (o instanceof String) {
+            try {
+                return Long.parseLong(((String) o).trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package org.opensearch.migrations.replay.sink;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A histogram of signed differences (e.g. target latency minus source latency) in the style of HdrHistogram.
+ * Magnitudes below {@value #EXACT_MAGNITUDES} are counted exactly, and larger ones in buckets that split each
+ * power of two into {@value #SUB_BUCKETS} linear pieces, so any percentile is within 12.5% of the true value.
+ * Negative and positive differences are kept in separate arrays that only grow as far as the largest magnitude
+ * seen, which keeps small-valued histograms (like latency deltas in milliseconds) down to a few hundred bytes.
+ *
+ * This class is NOT thread safe.
+ */
+class DeltaHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_MAGNITUDES = 2 * SUB_BUCKETS;
+    private static final int FIRST_INEXACT_EXPONENT = SUB_BUCKET_BITS + 1;
+
+    private long[] positiveCounts = new long[0];
+    private long[] negativeCounts = new long[0];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    static int bucketIndex(long magnitude) {
+        if (magnitude < EXACT_MAGNITUDES) {
+            return (int) magnitude;
+        }
+        var exponent = 63 - Long.numberOfLeadingZeros(magnitude);
+        var subBucket = (int) (magnitude >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_MAGNITUDES + (exponent - FIRST_INEXACT_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /** @return the midpoint of the magnitudes that fall into the bucket */
+    static long bucketMagnitude(int index) {
+        if (index < EXACT_MAGNITUDES) {
+            return index;
+        }
+        var exponent = (index - EXACT_MAGNITUDES) / SUB_BUCKETS + FIRST_INEXACT_EXPONENT;
+        var subBucket = (index - EXACT_MAGNITUDES) % SUB_BUCKETS;
+        var width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + width / 2;
+    }
+
+    public void record(long value) {
+        var magnitude = value == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(value);
+        var index = bucketIndex(magnitude);
+        if (value < 0) {
+            negativeCounts = ensureLength(negativeCounts, index + 1);
+            negativeCounts[index]++;
+        } else {
+            positiveCounts = ensureLength(positiveCounts, index + 1);
+            positiveCounts[index]++;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    private static long[] ensureLength(long[] counts, int length) {
+        return counts.length >= length ? counts : Arrays.copyOf(counts, Math.max(length, counts.length * 2));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** @return an approximation of the value at the given percentile (0-100), or 0 if nothing was recorded */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        // from the most negative to the most positive
+        for (int i = negativeCounts.length - 1; i >= 0; --i) {
+            seen += negativeCounts[i];
+            if (seen >= rank) {
+                return clamp(-bucketMagnitude(i));
+            }
+        }
+        for (int i = 0; i < positiveCounts.length; ++i) {
+            seen += positiveCounts[i];
+            if (seen >= rank) {
+                return clamp(bucketMagnitude(i));
+            }
+        }
+        return max;
+    }
+
+    private long clamp(long value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public Map<String, Object> toSummaryMap() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("count", count);
+        if (count > 0) {
+            map.put("min", min);
+            map.put("max", max);
+            map.put("mean", sum / count);
+            map.put("p50", getValueAtPercentile(50));
+            map.put("p90", getValueAtPercentile(90));
+            map.put("p99", getValueAtPercentile(99));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,170 @@
+package org.opensearch.migrations.replay.sink;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComparisonAggregatingSinkTest {
+
+    private static class SettableClock extends Clock {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static Map<String, Object> makeResponse(int status, long latencyMs, String contentLength,
+                                                    Long hitsTotalOrNull) {
+        var response = new LinkedHashMap<String, Object>();
+        response.put("content-length", contentLength);
+        response.put("Status-Code", status);
+        response.put("response_time_ms", latencyMs);
+        if (hitsTotalOrNull != null) {
+            response.put("payload", Map.of("inlinedJsonBody",
+                Map.of("hits", Map.of("total", Map.of("value", hitsTotalOrNull, "relation", "eq")))));
+        }
+        return response;
+    }
+
+    private static Map<String, Object> makeTuple(String method, String uri, Map<String, Object> sourceResponse,
+                                                 Map<String, Object> targetResponse) {
+        var tuple = new LinkedHashMap<String, Object>();
+        tuple.put("sourceRequest", Map.of("Method", method, "Request-URI", uri));
+        tuple.put("sourceResponse", sourceResponse);
+        tuple.put("targetResponses", List.of(targetResponse));
+        tuple.put("connectionId", "c.0");
+        return tuple;
+    }
+
+    @Test
+    void normalizesEndpointsAndIndices() {
+        assertEquals("GET /{index}/_doc/*",
+            ComparisonAggregatingSink.normalizeEndpoint("GET", "/logs-2024/_doc/abc?pretty"));
+        assertEquals("GET /_cat/*", ComparisonAggregatingSink.normalizeEndpoint("GET", "//_cat/indices"));
+        assertEquals("HEAD /", ComparisonAggregatingSink.normalizeEndpoint("HEAD", "/"));
+        assertEquals("logs-2024", ComparisonAggregatingSink.indexOf("/logs-2024/_search"));
+        assertEquals(ComparisonAggregatingSink.NO_INDEX_KEY, ComparisonAggregatingSink.indexOf("/_bulk"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aggregatesComparisonsAndOnlySamplesMismatches() {
+        var clock = new SettableClock();
+        var summaries = new ArrayList<Map<String, Object>>();
+        var sampledTuples = new ArrayList<Map<String, Object>>();
+        var sink = new ComparisonAggregatingSink(3, Duration.ofMinutes(1), 0.5,
+            new CallbackTupleSink(sampledTuples::add), 10, summaries::add, clock, () -> 0.25);
+
+        var matchingFuture = new CompletableFuture<Void>();
+        sink.accept(makeTuple("GET", "/logs/_search",
+            makeResponse(200, 100, "1000", 7L), makeResponse(200, 130, "1100", 7L)), matchingFuture);
+        var mismatchedHitsFuture = new CompletableFuture<Void>();
+        sink.accept(makeTuple("POST", "/logs/_search",
+            makeResponse(200, 100, "1000", 7L), makeResponse(200, 90, "900", 5L)), mismatchedHitsFuture);
+        var mismatchedStatusFuture = new CompletableFuture<Void>();
+        sink.accept(makeTuple("PUT", "/logs/_doc/1",
+            makeResponse(201, 10, "50", null), makeResponse(400, 5, "200", null)), mismatchedStatusFuture);
+
+        assertTrue(matchingFuture.isDone());
+        assertTrue(mismatchedHitsFuture.isDone());
+        assertTrue(mismatchedStatusFuture.isDone());
+        assertEquals(2, sampledTuples.size());
+        assertTrue(summaries.isEmpty());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(1));
+        sink.flush();
+        assertEquals(1, summaries.size());
+        var summary = summaries.get(0);
+        assertEquals(3, summary.get("sinkIndex"));
+        assertEquals(2L, summary.get("mismatchesSampled"));
+
+        var overall = (Map<String, Object>) summary.get("overall");
+        assertEquals(3L, overall.get("count"));
+        assertEquals(2L, overall.get("statusMatches"));
+        assertEquals(Map.of("200->200", 2L, "201->400", 1L), overall.get("statusPairs"));
+        var latency = (Map<String, Object>) overall.get("latencyDeltaMs");
+        assertEquals(3L, latency.get("count"));
+        assertEquals(-10L, latency.get("min"));
+        assertEquals(30L, latency.get("max"));
+        var hits = (Map<String, Object>) overall.get("hitCounts");
+        assertEquals(2L, hits.get("compared"));
+        assertEquals(1L, hits.get("mismatched"));
+        assertEquals(2L, hits.get("totalAbsoluteDelta"));
+
+        var byEndpoint = (Map<String, Object>) summary.get("byEndpoint");
+        assertEquals(List.of("GET /{index}/_search", "POST /{index}/_search", "PUT /{index}/_doc/*"),
+            List.copyOf(byEndpoint.keySet()));
+        var byIndex = (Map<String, Object>) summary.get("byIndex");
+        var logs = (Map<String, Object>) byIndex.get("logs");
+        var logsSizes = (Map<String, Object>) logs.get("responseSizeDeltaBytes");
+        assertEquals(-100L, logsSizes.get("min"));
+        assertEquals(150L, logsSizes.get("max"));
+
+        // the next interval starts over, and an idle one isn't reported
+        clock.now = clock.now.plus(Duration.ofMinutes(1));
+        sink.flush();
+        sink.close();
+        assertEquals(1, summaries.size());
+    }
+
+    @Test
+    void emitsTheLastSummaryWithoutMoreTuplesOrFlushes() throws Exception {
+        var firstSummary = new CompletableFuture<Map<String, Object>>();
+        var sink = new ComparisonAggregatingSink(0, Duration.ofMillis(50), 0.0, null, 10, firstSummary::complete,
+            Clock.systemUTC(), () -> 0.0);
+        try {
+            sink.accept(makeTuple("GET", "/logs/_search",
+                makeResponse(200, 1, "1", null), makeResponse(200, 1, "1", null)), new CompletableFuture<>());
+            @SuppressWarnings("unchecked")
+            var overall = (Map<String, Object>) firstSummary.get(10, TimeUnit.SECONDS).get("overall");
+            assertEquals(1L, overall.get("count"));
+        } finally {
+            sink.close();
+        }
+    }
+
+    @Test
+    void capsTheNumberOfDistinctKeys() {
+        var summaries = new ArrayList<Map<String, Object>>();
+        var sink = new ComparisonAggregatingSink(0, Duration.ofMinutes(1), 0.0, null, 2, summaries::add,
+            new SettableClock(), () -> 0.0);
+        for (var index : List.of("a", "b", "c", "d")) {
+            var future = new CompletableFuture<Void>();
+            sink.accept(makeTuple("GET", "/" + index + "/_search",
+                makeResponse(200, 1, "1", null), makeResponse(500, 1, "1", null)), future);
+            assertFalse(future.isCompletedExceptionally());
+        }
+        sink.close();
+
+        assertEquals(1, summaries.size());
+        @SuppressWarnings("unchecked")
+        var byIndex = (Map<String, Object>) summaries.get(0).get("byIndex");
+        assertEquals(List.of("(other)", "a", "b"), List.copyOf(byIndex.keySet()));
+    }
+}
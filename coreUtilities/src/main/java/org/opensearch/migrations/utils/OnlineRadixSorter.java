@@ -1,8 +1,6 @@
 package org.opensearch.migrations.utils;
 
 import java.util.Optional;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 
@@ -12,9 +10,11 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * This provides a simple implementation to sort incoming elements that are ordered by a sequence
- * of unique and contiguous integers.  This implementation uses a SortedMap for staging out of order
- * elements and the memory utilization will be O(total number of items to be sequenced) in the worst case,
- * but O(1) when the items are arriving in order.
+ * of unique and contiguous integers.  This implementation stages out of order elements in a
+ * {@link SequenceRingBuffer}, indexed by their offset from the oldest outstanding slot.  Since every slot
+ * up to the latest one that was added is staged, the memory utilization will be O(total number of items
+ * to be sequenced) in the worst case, but O(1) when the items are arriving in order, and in-order and
+ * slightly out of order items don't allocate anything for the staging itself.
  *
  * After the item has been added, if other items were waiting for it, all the next currently sequenced
  * items are signaled.  This allows the calling context to visit the items in the natural
@@ -50,11 +50,11 @@ public class OnlineRadixSorter {
         }
     }
 
-    private final SortedMap<Integer, IndexedWork> items;
+    private final SequenceRingBuffer<IndexedWork> items;
     int currentOffset;
 
     public OnlineRadixSorter(int startingOffset) {
-        items = new TreeMap<>();
+        items = new SequenceRingBuffer<>();
         currentOffset = startingOffset;
     }
 
@@ -172,7 +172,7 @@ public class OnlineRadixSorter {
         cancelled = true;
         // Complete all pending signalWorkCompletedFutures — this cascades through the chain
         // since each slot's signalingToStartFuture is derived from the previous slot's signal
-        new java.util.ArrayList<>(items.values()).forEach(item ->
+        items.values().forEach(item ->
             item.signalWorkCompletedFuture.future.complete(null));
     }
 
@@ -0,0 +1,152 @@
+package org.opensearch.migrations.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Holds values keyed by int sequence numbers that all fall within one window that slides forward, which is how
+ * {@link OnlineRadixSorter} stages its slots.  The values are kept in a power-of-two sized ring, at the offset of
+ * their key from the first key that's still held, so a lookup is arithmetic and an array read, and adding and
+ * removing values at either end doesn't allocate (nor box the keys) unless the window has to grow.
+ *
+ * <p>Values can be removed from the middle of the window, which leaves a hole, but the window is trimmed so that
+ * it always starts and ends with a held value.  Keys can't be added before the first key that's held.
+ *
+ * This class is NOT thread safe.
+ */
+class SequenceRingBuffer<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    // once the window has emptied out, don't hold onto a ring that an unusually wide window needed
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] ring = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int firstKey;
+    // the number of keys from firstKey through the last key that's held, including any holes
+    private int span;
+    private int count;
+
+    private int indexOf(long offset) {
+        return (int) ((head + offset) & (ring.length - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(long offset) {
+        return (T) ring[indexOf(offset)];
+    }
+
+    public T get(int key) {
+        long offset = (long) key - firstKey;
+        return offset < 0 || offset >= span ? null : at(offset);
+    }
+
+    public void put(int key, T value) {
+        Objects.requireNonNull(value);
+        if (count == 0) {
+            firstKey = key;
+            head = 0;
+        }
+        long offset = (long) key - firstKey;
+        if (offset < 0) {
+            throw new IllegalArgumentException(
+                "key (" + key + ") must not be less than the first key that's held (" + firstKey + ")"
+            );
+        }
+        if (offset >= ring.length) {
+            grow(offset + 1);
+        }
+        var index = indexOf(offset);
+        if (ring[index] == null) {
+            ++count;
+        }
+        ring[index] = value;
+        span = (int) Math.max(span, offset + 1);
+    }
+
+    public T remove(int key) {
+        long offset = (long) key - firstKey;
+        if (offset < 0 || offset >= span) {
+            return null;
+        }
+        var index = indexOf(offset);
+        @SuppressWarnings("unchecked")
+        var value = (T) ring[index];
+        if (value == null) {
+            return null;
+        }
+        ring[index] = null;
+        if (--count == 0) {
+            span = 0;
+            if (ring.length > MAX_RETAINED_CAPACITY) {
+                ring = new Object[INITIAL_CAPACITY];
+            }
+            return value;
+        }
+        while (ring[head] == null) {
+            head = indexOf(1);
+            ++firstKey;
+            --span;
+        }
+        while (at(span - 1L) == null) {
+            --span;
+        }
+        return value;
+    }
+
+    private void grow(long minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException(
+                "Can't hold more than " + MAX_CAPACITY + " consecutive keys, but " + minCapacity + " were needed"
+            );
+        }
+        var newRing = new Object[Integer.highestOneBit((int) minCapacity - 1) << 1];
+        for (int i = 0; i < span; ++i) {
+            newRing[i] = at(i);
+        }
+        ring = newRing;
+        head = 0;
+    }
+
+    /** @throws NoSuchElementException if nothing is held, as {@link java.util.SortedMap#lastKey()} does */
+    public int lastKey() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return firstKey + span - 1;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** @return a copy of the values that are held, in key order */
+    public List<T> values() {
+        var rval = new ArrayList<T>(count);
+        for (int i = 0; i < span; ++i) {
+            var value = at(i);
+            if (value != null) {
+                rval.add(value);
+            }
+        }
+        return rval;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < span; ++i) {
+            var value = at(i);
+            if (value != null) {
+                sb.append(sb.length() > 1 ? ", " : "").append(firstKey + i).append('=').append(value);
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
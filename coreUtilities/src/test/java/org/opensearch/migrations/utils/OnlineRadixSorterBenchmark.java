@@ -0,0 +1,70 @@
+package org.opensearch.migrations.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures sequencing a connection's worth of work with {@link OnlineRadixSorter} when the work arrives in order,
+ * slightly out of order (shuffled within small windows, as requests that race through different threads are),
+ * and in reverse, where every slot is staged before the first one can run.
+ *
+ * <p>Run with {@code ./gradlew :coreUtilities:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class OnlineRadixSorterBenchmark {
+    private static final int ITEMS_PER_SORTER = 1024;
+    private static final int REORDERING_WINDOW = 4;
+
+    public enum ArrivalPattern { IN_ORDER, SLIGHTLY_REORDERED, REVERSED }
+
+    @Param({ "IN_ORDER", "SLIGHTLY_REORDERED", "REVERSED" })
+    public ArrivalPattern arrivalPattern;
+
+    private int[] arrivalOrder;
+
+    @Setup
+    public void setup() {
+        arrivalOrder = new int[ITEMS_PER_SORTER];
+        for (int i = 0; i < ITEMS_PER_SORTER; ++i) {
+            arrivalOrder[i] = arrivalPattern == ArrivalPattern.REVERSED ? ITEMS_PER_SORTER - 1 - i : i;
+        }
+        if (arrivalPattern == ArrivalPattern.SLIGHTLY_REORDERED) {
+            var random = new Random(1);
+            for (int windowStart = 0; windowStart < ITEMS_PER_SORTER; windowStart += REORDERING_WINDOW) {
+                for (int i = REORDERING_WINDOW - 1; i > 0; --i) {
+                    var j = random.nextInt(i + 1);
+                    var tmp = arrivalOrder[windowStart + i];
+                    arrivalOrder[windowStart + i] = arrivalOrder[windowStart + j];
+                    arrivalOrder[windowStart + j] = tmp;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void sequenceWork(Blackhole blackhole) {
+        var sorter = new OnlineRadixSorter(0);
+        for (var index : arrivalOrder) {
+            blackhole.consume(sorter.addFutureForWork(index, signalFuture -> signalFuture));
+        }
+        if (sorter.hasPending()) {
+            throw new IllegalStateException("Work was left unsequenced: " + sorter);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.opensearch.migrations.utils;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SequenceRingBufferTest {
+
+    @Test
+    void testWindowSlidesAndGrowsAcrossTheEndOfTheRing() {
+        var ring = new SequenceRingBuffer<String>();
+        for (int i = 10; i < 20; ++i) {
+            ring.put(i, "v" + i);
+        }
+        for (int i = 10; i < 18; ++i) {
+            Assertions.assertEquals("v" + i, ring.remove(i));
+        }
+        // wraps around the 16 slots that the ring started with, then grows while it's wrapped
+        for (int i = 20; i < 60; ++i) {
+            ring.put(i, "v" + i);
+        }
+        Assertions.assertEquals(42, ring.size());
+        Assertions.assertEquals(59, ring.lastKey());
+        Assertions.assertNull(ring.get(17));
+        for (int i = 18; i < 60; ++i) {
+            Assertions.assertEquals("v" + i, ring.get(i));
+        }
+        Assertions.assertNull(ring.get(60));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ring.put(17, "v17"));
+    }
+
+    @Test
+    void testHolesAreTrimmedFromBothEnds() {
+        var ring = new SequenceRingBuffer<String>();
+        for (int i = 0; i < 5; ++i) {
+            ring.put(i, "v" + i);
+        }
+        ring.remove(4);
+        ring.remove(2);
+        Assertions.assertEquals(3, ring.lastKey());
+        ring.remove(3);
+        Assertions.assertEquals(1, ring.lastKey());
+        ring.remove(0);
+        Assertions.assertEquals(List.of("v1"), ring.values());
+        Assertions.assertEquals("{1=v1}", ring.toString());
+        ring.remove(1);
+        Assertions.assertTrue(ring.isEmpty());
+        Assertions.assertThrows(NoSuchElementException.class, ring::lastKey);
+
+        // once empty, the window can start anywhere
+        ring.put(-3, "v-3");
+        Assertions.assertEquals(-3, ring.lastKey());
+    }
+
+    @Test
+    void testMatchesASortedMap() {
+        var random = new Random(7);
+        var ring = new SequenceRingBuffer<Integer>();
+        var expected = new TreeMap<Integer, Integer>();
+        for (int i = 0; i < 10_000; ++i) {
+            var key = expected.isEmpty() ? random.nextInt(100) : expected.firstKey() + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.put(key, i), ring.get(key));
+                ring.put(key, i);
+            } else {
+                Assertions.assertEquals(expected.remove(key), ring.remove(key));
+            }
+            Assertions.assertEquals(expected.size(), ring.size());
+            Assertions.assertEquals(List.copyOf(expected.values()), ring.values());
+            if (!expected.isEmpty()) {
+                Assertions.assertEquals(expected.lastKey(), ring.lastKey());
+            }
+        }
+    }
+}
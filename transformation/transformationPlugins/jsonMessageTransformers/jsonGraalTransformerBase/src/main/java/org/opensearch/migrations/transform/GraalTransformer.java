@@ -26,6 +26,16 @@ import org.slf4j.event.Level;
  */
 @Slf4j
 public abstract class GraalTransformer implements IJsonTransformer {
+    // one policy for every context so that contexts on a shared engine can also share its compiled code
+    private static final HostAccess HOST_ACCESS = HostAccess.newBuilder()
+        .allowAccessAnnotatedBy(HostAccess.Export.class)
+        .allowArrayAccess(true)
+        .allowMapAccess(true)
+        .allowListAccess(true)
+        .allowIterableAccess(true)
+        .allowBufferAccess(true)
+        .build();
+
     private Value mainTransformFunction;
     private final Context polyglotContext;
     private final OutputStream infoStream;
@@ -39,25 +49,28 @@ public abstract class GraalTransformer implements IJsonTransformer {
      */
     protected GraalTransformer(String languageId, String script, Object bindings,
                                Context.Builder contextBuilder) {
+        this(Source.create(languageId, script), bindings, contextBuilder);
+    }
+
+    /**
+     * @param source      the script, which may be shared between transformers (e.g. so that contexts that share
+     *                    an engine only parse and compile it once)
+     * @param bindings    object passed to the script's main function, or null
+     * @param contextBuilder pre-configured context builder (subclass provides language-specific setup)
+     */
+    protected GraalTransformer(Source source, Object bindings, Context.Builder contextBuilder) {
         var loggerName = getClass().getSimpleName();
         var scriptLogger = LoggerFactory.getLogger(loggerName);
         this.infoStream = new LoggingOutputStream(scriptLogger, Level.INFO);
         this.errorStream = new LoggingOutputStream(scriptLogger, Level.ERROR);
 
         this.polyglotContext = contextBuilder
-            .allowHostAccess(HostAccess.newBuilder()
-                .allowAccessAnnotatedBy(HostAccess.Export.class)
-                .allowArrayAccess(true)
-                .allowMapAccess(true)
-                .allowListAccess(true)
-                .allowIterableAccess(true)
-                .allowBufferAccess(true)
-                .build())
+            .allowHostAccess(HOST_ACCESS)
             .out(infoStream)
             .err(errorStream)
             .build();
 
-        var sourceCodeValue = this.polyglotContext.eval(Source.create(languageId, script));
+        var sourceCodeValue = this.polyglotContext.eval(source);
         if (bindings != null) {
             this.mainTransformFunction = sourceCodeValue.execute(this.polyglotContext.asValue(bindings));
         } else {
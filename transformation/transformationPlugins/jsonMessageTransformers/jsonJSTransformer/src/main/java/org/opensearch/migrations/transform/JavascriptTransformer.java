@@ -1,11 +1,17 @@
 package org.opensearch.migrations.transform;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
@@ -13,20 +19,85 @@ import org.graalvm.polyglot.proxy.ProxyExecutable;
  * Executes JavaScript transformations using GraalJS.
  *
  * <p>Supports both synchronous return values and JavaScript Promises.
+ *
+ * <p>Every instance in the process runs in its own Context, but all of those Contexts share one Engine, and
+ * instances made from the same script share one Source.  Instances for other threads (see
+ * ThreadSafeTransformerWrapper) therefore reuse the code that the engine has already parsed and compiled for the
+ * script rather than warming it up again from scratch.
  */
 @Slf4j
 public class JavascriptTransformer extends GraalTransformer {
     private static final String LANGUAGE_ID = "js";
+    private static final int MAX_CACHED_SOURCES = 64;
+
+    private static final Cache<String, Source> sourceCache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_SOURCES)
+        .build();
+    private static Engine sharedEngine;
+    private static Path engineCachePathOrNull;
 
     public JavascriptTransformer(String script, Object bindings) {
-        super(LANGUAGE_ID, script, bindings, createContextBuilder());
+        super(getSource(script), bindings, Context.newBuilder(LANGUAGE_ID).engine(getSharedEngine()));
+    }
+
+    /**
+     * Persists the shared engine's compiled code to path when the process exits, and starts the engine from what
+     * was persisted there by an earlier run, so that short-lived processes don't have to warm the same scripts up
+     * every time.  This only takes effect if it's called before the first transformer is created, and only on
+     * GraalVM distributions that support auxiliary engine caching.  Elsewhere, a warning is logged and the engine
+     * runs without a persisted cache.
+     */
+    public static synchronized void setEngineCachePath(Path path) {
+        if (sharedEngine != null) {
+            if (!path.equals(engineCachePathOrNull)) {
+                log.atWarn().setMessage("Ignoring engine cache path {} since the shared JavaScript engine has "
+                    + "already been created").addArgument(path).log();
+            }
+            return;
+        }
+        engineCachePathOrNull = path;
+    }
+
+    @SneakyThrows
+    private static Source getSource(String script) {
+        return sourceCache.get(script, () -> Source.create(LANGUAGE_ID, script));
+    }
+
+    static synchronized Engine getSharedEngine() {
+        if (sharedEngine == null) {
+            sharedEngine = createEngine();
+        }
+        return sharedEngine;
+    }
+
+    private static Engine createEngine() {
+        if (engineCachePathOrNull != null) {
+            var builder = newEngineBuilder().allowExperimentalOptions(true);
+            if (Files.exists(engineCachePathOrNull)) {
+                builder.option("engine.CacheLoad", engineCachePathOrNull.toString());
+            } else {
+                builder.option("engine.CacheStore", engineCachePathOrNull.toString());
+            }
+            try {
+                var engine = builder.build();
+                if (!Files.exists(engineCachePathOrNull)) {
+                    // the cache is written out when the engine is closed
+                    Runtime.getRuntime().addShutdownHook(new Thread(engine::close, "jsEngineCacheStore"));
+                }
+                log.atInfo().setMessage("Using persisted JavaScript engine cache at {}")
+                    .addArgument(engineCachePathOrNull).log();
+                return engine;
+            } catch (IllegalArgumentException | PolyglotException e) {
+                log.atWarn().setCause(e).setMessage("Engine caching isn't supported by this GraalVM distribution.  "
+                    + "Continuing without a persisted engine cache.").log();
+            }
+        }
+        return newEngineBuilder().build();
     }
 
-    private static Context.Builder createContextBuilder() {
-        var engine = Engine.newBuilder(LANGUAGE_ID)
-            .option("engine.WarnInterpreterOnly", "false")
-            .build();
-        return Context.newBuilder().engine(engine);
+    private static Engine.Builder newEngineBuilder() {
+        return Engine.newBuilder(LANGUAGE_ID)
+            .option("engine.WarnInterpreterOnly", "false");
     }
 
     @SneakyThrows
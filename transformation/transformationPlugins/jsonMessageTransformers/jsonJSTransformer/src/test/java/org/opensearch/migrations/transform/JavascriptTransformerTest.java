@@ -1,6 +1,7 @@
 package org.opensearch.migrations.transform;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +9,7 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -251,4 +253,32 @@ public class JavascriptTransformerTest {
             Assertions.assertEquals(RuntimeException.class, exception.getCause().getClass());
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransformersOnDifferentThreadsShareTheEnginesCompiledSource() throws Exception {
+        var results = new ArrayList<Object>();
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 2; ++i) {
+            threads.add(new Thread(() -> {
+                try (var testTransformer = new JavascriptTransformer(INIT_SCRIPT, Map.of())) {
+                    var result = testTransformer.transformJson(Map.of("hi", (Object) "world"));
+                    synchronized (results) {
+                        results.add(((Map<String, Object>) result).get("docSize"));
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(List.of(3, 3), results);
+        Assertions.assertTrue(JavascriptTransformer.getSharedEngine().getCachedSources()
+            .contains(Source.create("js", INIT_SCRIPT)));
+    }
 }
@@ -1,9 +1,12 @@
 package org.opensearch.migrations.transform;
 
+import java.nio.file.Path;
 import java.util.Map;
 
 public class JsonJSTransformerProvider extends ScriptTransformerProvider {
 
+    public static final String ENGINE_CACHE_PATH_KEY = "engineCachePath";
+
     @Override
     protected String getLanguageName() {
         return "JavaScript";
@@ -12,6 +15,17 @@ public class JsonJSTransformerProvider extends ScriptTransformerProvider {
     @Override
     protected IJsonTransformer buildTransformer(
             ResolvedScript script, Object bindingsObject, Map<String, Object> config) {
+        var engineCachePath = (String) config.get(ENGINE_CACHE_PATH_KEY);
+        if (engineCachePath != null) {
+            JavascriptTransformer.setEngineCachePath(Path.of(engineCachePath));
+        }
         return new JavascriptTransformer(script.source(), bindingsObject);
     }
+
+    @Override
+    protected String getConfigUsageStr() {
+        return super.getConfigUsageStr() + "\n"
+            + ENGINE_CACHE_PATH_KEY + " is an optional file path where the compiled code of the process-wide "
+            + "JavaScript engine is persisted between runs (on GraalVM distributions that support it).";
+    }
 }